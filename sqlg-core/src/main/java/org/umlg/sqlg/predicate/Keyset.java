@@ -0,0 +1,91 @@
+package org.umlg.sqlg.predicate;
+
+import com.google.common.base.Preconditions;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.structure.Element;
+
+import java.util.Objects;
+import java.util.function.BiPredicate;
+
+/**
+ * Keyset (seek) pagination, continues a traversal ordered on a property and the id after the last element of the
+ * previous page.
+ * <pre>
+ * List&lt;Vertex&gt; page = g.V().hasLabel("Person").order().by("created").by(T.id).limit(20).toList();
+ * Vertex last = page.get(page.size() - 1);
+ * page = g.V().hasLabel("Person").has("created", Keyset.after(last, "created")).order().by("created").by(T.id).limit(20).toList();
+ * </pre>
+ * The predicate is executed as {@code WHERE ("created", "ID") > (?, ?)}, for {@link Order#desc} as {@code <}.
+ * Unlike range() the database does not read and discard the previous pages, every page costs the same.
+ * The traversal must be ordered on the property and then on the id in the same direction.
+ * Elements with a null value for the property are not part of any page after the first.
+ * Properties stored in multiple columns, i.e. {@link java.time.ZonedDateTime}, {@link java.time.Period} and
+ * {@link java.time.Duration}, arrays and labels with user supplied identifiers are not supported.
+ */
+public class Keyset implements BiPredicate<Object, Object> {
+
+    private final Order order;
+    private final Object lastId;
+
+    private Keyset(Order order, Object lastId) {
+        Preconditions.checkArgument(order == Order.asc || order == Order.desc, "Keyset only supports Order.asc and Order.desc, not %s", order);
+        Preconditions.checkArgument(lastId != null, "Keyset needs the id of the last element");
+        this.order = order;
+        this.lastId = lastId;
+    }
+
+    /**
+     * @param lastValue The value of the property of the last element of the previous page.
+     * @param lastId    The id of the last element of the previous page.
+     */
+    public static P<Object> after(Order order, Object lastValue, Object lastId) {
+        return new P<>(new Keyset(order, lastId), lastValue);
+    }
+
+    public static P<Object> after(Element last, String key) {
+        return after(Order.asc, last, key);
+    }
+
+    public static P<Object> after(Order order, Element last, String key) {
+        return after(order, last.value(key), last.id());
+    }
+
+    public Order getOrder() {
+        return this.order;
+    }
+
+    public Object getLastId() {
+        return this.lastId;
+    }
+
+    /**
+     * Only the property is available here, not the id. Comparing the property alone would either repeat or skip the
+     * elements with the last value, a keyset is therefore only executed by the database.
+     */
+    @Override
+    public boolean test(Object value, Object lastValue) {
+        throw new IllegalStateException("Keyset pagination must be executed by the database, order the traversal on the property and the id directly after the has step");
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Keyset keyset)) {
+            return false;
+        }
+        return this.order == keyset.order && this.lastId.equals(keyset.lastId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.order, this.lastId);
+    }
+
+    @Override
+    public String toString() {
+        return "keyset(" + this.order + ", " + this.lastId + ")";
+    }
+}
@@ -15,6 +15,7 @@ import org.umlg.sqlg.structure.topology.VertexLabel;
 import org.umlg.sqlg.util.SqlgUtil;
 
 import java.io.IOException;
+import java.io.Writer;
 import java.sql.*;
 import java.util.*;
 
@@ -29,6 +30,30 @@ public abstract class BaseSqlDialect implements SqlDialect, SqlBulkDialect, SqlS
 
     final protected Logger logger = LoggerFactory.getLogger(getClass().getName());
 
+    /**
+     * Configuration key, the maximum number of rows per multi-row insert in streaming batch mode.
+     * At most this many rows are held in memory per streamed label.
+     */
+    public static final String BATCH_STREAMING_CHUNK_SIZE = "batch.streaming.chunk.size";
+    /**
+     * Configuration key, if true MariaDB and MySQL stream with 'LOAD DATA LOCAL INFILE' instead of multi-row inserts.
+     * The connection must allow it, i.e. 'allowLocalInfile=true' for MariaDB and 'allowLoadLocalInfile=true' for MySQL.
+     * Labels with property types that have no plain text form fall back to multi-row inserts.
+     */
+    public static final String BATCH_STREAMING_LOAD_DATA = "batch.streaming.load.data";
+    /**
+     * Configuration key, the maximum number of rows a normal batch mode flush inserts per jdbc batch.
+     * Only one chunk of the flushed elements is held for reading back their generated ids.
+     */
+    public static final String BATCH_FLUSH_CHUNK_SIZE = "batch.flush.chunk.size";
+    /**
+     * Configuration key, if true a normal batch mode flush inserts multi-row 'INSERT INTO ... VALUES (...), (...)'
+     * statements instead of jdbc batches of single row inserts. Labels whose ids are generated only use it if the
+     * dialect returns the generated keys of every row, see {@link SqlDialect#supportsMultiRowValuesGeneratedKeys()}.
+     */
+    public static final String BATCH_FLUSH_MULTI_ROW_VALUES = "batch.flush.multi.row.values";
+    private static final String LOAD_DATA = "LOAD DATA";
+
     protected BaseSqlDialect() {
     }
 
@@ -197,20 +222,13 @@ public abstract class BaseSqlDialect implements SqlDialect, SqlBulkDialect, SqlS
             } else {
                 sql.append(sqlgGraph.getSqlDialect().sqlInsertEmptyValues());
             }
-            if (sqlgGraph.getSqlDialect().needsSemicolon()) {
-                sql.append(";");
-            }
-            if (logger.isDebugEnabled()) {
-                logger.debug(sql.toString());
-            }
-            Connection conn = sqlgGraph.tx().getConnection();
-            try (PreparedStatement preparedStatement = (vertexLabel != null && !vertexLabel.hasIDPrimaryKey() ? conn.prepareStatement(sql.toString()) : conn.prepareStatement(sql.toString(), Statement.RETURN_GENERATED_KEYS))) {
-                List<SqlgVertex> sqlgVertices = new ArrayList<>();
+            boolean generatedKeys = vertexLabel == null || vertexLabel.hasIDPrimaryKey();
+            try (ChunkedBatchInsert<SqlgVertex> batchInsert = new ChunkedBatchInsert<>(sqlgGraph, sql.toString(), generatedKeys ? schemaTable : null)) {
                 for (Map.Entry<SqlgVertex, Map<String, Object>> rowEntry : rows.entrySet()) {
-                    int i = 1;
                     SqlgVertex sqlgVertex = rowEntry.getKey();
-                    sqlgVertices.add(sqlgVertex);
-                    if (!columns.isEmpty()) {
+                    if (columns.isEmpty()) {
+                        batchInsert.add(sqlgVertex, (preparedStatement, index) -> index);
+                    } else {
                         Map<String, Object> parameterValueMap = rowEntry.getValue();
                         List<Pair<PropertyDefinition, Object>> typeAndValues = new ArrayList<>();
                         for (String column : columns) {
@@ -229,16 +247,7 @@ public abstract class BaseSqlDialect implements SqlDialect, SqlBulkDialect, SqlS
                             sqlgVertex.setInternalPrimaryKey(RecordId.from(SchemaTable.of(schemaTable.getSchema(), schemaTable.getTable()), identifiers));
 
                         }
-                        SqlgUtil.setKeyValuesAsParameterUsingPropertyColumn(sqlgGraph, true, i, preparedStatement, typeAndValues);
-                    }
-                    preparedStatement.addBatch();
-                }
-                preparedStatement.executeBatch();
-                if (vertexLabel == null || vertexLabel.hasIDPrimaryKey()) {
-                    ResultSet generatedKeys = preparedStatement.getGeneratedKeys();
-                    int i = 0;
-                    while (generatedKeys.next()) {
-                        sqlgVertices.get(i++).setInternalPrimaryKey(RecordId.from(schemaTable, generatedKeys.getLong(1)));
+                        batchInsert.add(sqlgVertex, (preparedStatement, index) -> SqlgUtil.setKeyValuesAsParameterUsingPropertyColumn(sqlgGraph, true, index, preparedStatement, typeAndValues));
                     }
                 }
             } catch (SQLException e) {
@@ -367,55 +376,15 @@ public abstract class BaseSqlDialect implements SqlDialect, SqlBulkDialect, SqlS
                 }
             }
             sql.append(")");
-            if (sqlgGraph.getSqlDialect().needsSemicolon()) {
-                sql.append(";");
-            }
-            if (logger.isDebugEnabled()) {
-                logger.debug(sql.toString());
-            }
-            Connection conn = sqlgGraph.tx().getConnection();
-            try (PreparedStatement preparedStatement = conn.prepareStatement(sql.toString(), Statement.RETURN_GENERATED_KEYS)) {
-                List<SqlgEdge> sqlgEdges = new ArrayList<>();
+            try (ChunkedBatchInsert<SqlgEdge> batchInsert = new ChunkedBatchInsert<>(sqlgGraph, sql.toString(), edgeLabel.hasIDPrimaryKey() ? metaEdge.getSchemaTable() : null)) {
                 for (Map.Entry<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>> rowEntry : rows.entrySet()) {
-                    i = 1;
                     SqlgEdge sqlgEdge = rowEntry.getKey();
-                    sqlgEdges.add(sqlgEdge);
                     Triple<SqlgVertex, SqlgVertex, Map<String, Object>> parameterValueMap = rowEntry.getValue();
                     List<Pair<PropertyDefinition, Object>> typeAndValues = new ArrayList<>();
                     for (String column : columns) {
                         PropertyColumn propertyColumn = propertyColumns.get(column);
                         typeAndValues.add(Pair.of(propertyColumn.getPropertyDefinition(), parameterValueMap.getRight().get(column)));
                     }
-                    i = SqlgUtil.setKeyValuesAsParameterUsingPropertyColumn(sqlgGraph, true, i, preparedStatement, typeAndValues);
-
-                    if (outVertexLabel.hasIDPrimaryKey()) {
-                        preparedStatement.setLong(i++, ((RecordId) parameterValueMap.getLeft().id()).sequenceId());
-                    } else {
-                        for (String identifier : outVertexLabel.getIdentifiers()) {
-                            i = SqlgUtil.setKeyValueAsParameter(
-                                    sqlgGraph,
-                                    false,
-                                    i,
-                                    preparedStatement,
-                                    ImmutablePair.of(outVertexLabel.getProperty(identifier).orElseThrow(
-                                            () -> new IllegalStateException(String.format("Property for identifier %s not found", identifier))
-                                    ).getPropertyDefinition(), parameterValueMap.getLeft().value(identifier)));
-                        }
-                    }
-                    if (inVertexLabel.hasIDPrimaryKey()) {
-                        preparedStatement.setLong(i, ((RecordId) parameterValueMap.getMiddle().id()).sequenceId());
-                    } else {
-                        for (String identifier : inVertexLabel.getIdentifiers()) {
-                            i = SqlgUtil.setKeyValueAsParameter(
-                                    sqlgGraph,
-                                    false,
-                                    i,
-                                    preparedStatement,
-                                    ImmutablePair.of(inVertexLabel.getProperty(identifier).orElseThrow(
-                                            () -> new IllegalStateException(String.format("Property for identifier %s not found", identifier))
-                                    ).getPropertyDefinition(), parameterValueMap.getMiddle().value(identifier)));
-                        }
-                    }
                     if (!edgeLabel.hasIDPrimaryKey()) {
                         List<Comparable> identifiers = new ArrayList<>();
                         for (String identifier : edgeLabel.getIdentifiers()) {
@@ -423,23 +392,36 @@ public abstract class BaseSqlDialect implements SqlDialect, SqlBulkDialect, SqlS
                         }
                         sqlgEdge.setInternalPrimaryKey(RecordId.from(SchemaTable.of(metaEdge.getSchemaTable().getSchema(), metaEdge.getSchemaTable().getTable()), identifiers));
                     }
-                    preparedStatement.addBatch();
+                    batchInsert.add(sqlgEdge, (preparedStatement, index) -> {
+                        index = SqlgUtil.setKeyValuesAsParameterUsingPropertyColumn(sqlgGraph, true, index, preparedStatement, typeAndValues);
+                        index = setForeignKeyParameters(sqlgGraph, preparedStatement, index, outVertexLabel, parameterValueMap.getLeft());
+                        return setForeignKeyParameters(sqlgGraph, preparedStatement, index, inVertexLabel, parameterValueMap.getMiddle());
+                    });
                 }
-                preparedStatement.executeBatch();
-                if (edgeLabel.hasIDPrimaryKey()) {
-                    ResultSet generatedKeys = preparedStatement.getGeneratedKeys();
-                    i = 0;
-                    while (generatedKeys.next()) {
-                        sqlgEdges.get(i++).setInternalPrimaryKey(RecordId.from(metaEdge.getSchemaTable(), generatedKeys.getLong(1)));
-                    }
-                }
-//                insertGlobalUniqueIndex(keyValueMap, propertyColumns);
             } catch (SQLException e) {
                 throw new RuntimeException(e);
             }
         }
     }
 
+    private static int setForeignKeyParameters(SqlgGraph sqlgGraph, PreparedStatement preparedStatement, int i, VertexLabel vertexLabel, SqlgVertex vertex) throws SQLException {
+        if (vertexLabel.hasIDPrimaryKey()) {
+            preparedStatement.setLong(i++, ((RecordId) vertex.id()).sequenceId());
+        } else {
+            for (String identifier : vertexLabel.getIdentifiers()) {
+                i = SqlgUtil.setKeyValueAsParameter(
+                        sqlgGraph,
+                        false,
+                        i,
+                        preparedStatement,
+                        ImmutablePair.of(vertexLabel.getProperty(identifier).orElseThrow(
+                                () -> new IllegalStateException(String.format("Property for identifier %s not found", identifier))
+                        ).getPropertyDefinition(), vertex.value(identifier)));
+            }
+        }
+        return i;
+    }
+
     @Override
     public void flushVertexPropertyCache(SqlgGraph sqlgGraph, Map<SchemaTable, Pair<SortedSet<String>, Map<SqlgVertex, Map<String, Object>>>> vertexPropertyCache) {
         for (Map.Entry<SchemaTable, Pair<SortedSet<String>, Map<SqlgVertex, Map<String, Object>>>> entry : vertexPropertyCache.entrySet()) {
@@ -799,6 +781,220 @@ public abstract class BaseSqlDialect implements SqlDialect, SqlBulkDialect, SqlS
         return 1000;
     }
 
+    @Override
+    public boolean supportsStreamingBatchMode() {
+        return supportsBatchMode();
+    }
+
+    /**
+     * @return The driver's statement class with a 'setLocalInfileInputStream(InputStream)' method,
+     * null if the dialect does not support 'LOAD DATA LOCAL INFILE'.
+     */
+    protected String loadDataStatementClass() {
+        return null;
+    }
+
+    @Override
+    public String constructCompleteCopyCommandSqlVertex(SqlgGraph sqlgGraph, SqlgVertex vertex, Map<String, Object> keyValueMap) {
+        SchemaTable schemaTable = SchemaTable.of(vertex.getSchema(), VERTEX_PREFIX + vertex.getTable());
+        Map<String, PropertyDefinition> propertyDefinitionMap = sqlgGraph.getTopology().getTableFor(schemaTable);
+        List<Pair<String, PropertyDefinition>> columns = new ArrayList<>();
+        for (String key : keyValueMap.keySet()) {
+            //noinspection StringEquality
+            columns.add(Pair.of(key, key == Topology.ID ? PropertyDefinition.of(PropertyType.LONG) : propertyDefinitionMap.get(key)));
+        }
+        return streamingSql(sqlgGraph, schemaTable, columns);
+    }
+
+    @Override
+    public String constructCompleteCopyCommandSqlEdge(SqlgGraph sqlgGraph, SqlgEdge sqlgEdge, VertexLabel outVertexLabel, VertexLabel inVertexLabel, SqlgVertex outVertex, SqlgVertex inVertex, Map<String, Object> keyValueMap) {
+        SchemaTable schemaTable = SchemaTable.of(sqlgEdge.getSchema(), EDGE_PREFIX + sqlgEdge.getTable());
+        Map<String, PropertyDefinition> propertyDefinitionMap = sqlgGraph.getTopology().getTableFor(schemaTable);
+        List<Pair<String, PropertyDefinition>> columns = new ArrayList<>();
+        for (String key : keyValueMap.keySet()) {
+            columns.add(Pair.of(key, key.equals(Topology.ID) ? PropertyDefinition.of(PropertyType.LONG) : propertyDefinitionMap.get(key)));
+        }
+        addForeignKeyColumns(columns, outVertexLabel, outVertex, OUT_VERTEX_COLUMN_END);
+        addForeignKeyColumns(columns, inVertexLabel, inVertex, IN_VERTEX_COLUMN_END);
+        return streamingSql(sqlgGraph, schemaTable, columns);
+    }
+
+    private void addForeignKeyColumns(List<Pair<String, PropertyDefinition>> columns, VertexLabel vertexLabel, SqlgVertex vertex, String columnEnd) {
+        if (vertexLabel.hasIDPrimaryKey()) {
+            columns.add(Pair.of(vertex.getSchema() + "." + vertex.getTable() + columnEnd, PropertyDefinition.of(PropertyType.LONG)));
+        } else {
+            for (String identifier : vertexLabel.getIdentifiers()) {
+                columns.add(Pair.of(
+                        vertex.getSchema() + "." + vertex.getTable() + "." + identifier + columnEnd,
+                        vertexLabel.getProperty(identifier).orElseThrow(
+                                () -> new IllegalStateException(String.format("identifier %s must be present on %s", identifier, vertexLabel.getFullName()))
+                        ).getPropertyDefinition()
+                ));
+            }
+        }
+    }
+
+    /**
+     * @return a 'LOAD DATA LOCAL INFILE' statement if the dialect and the graph's configuration allow it,
+     * else a single row insert that {@link InsertValuesWriter} repeats per chunk.
+     */
+    private String streamingSql(SqlgGraph sqlgGraph, SchemaTable schemaTable, List<Pair<String, PropertyDefinition>> columns) {
+        StringBuilder sql = new StringBuilder();
+        if (useLoadData(sqlgGraph, columns)) {
+            sql.append(LOAD_DATA);
+            sql.append(" LOCAL INFILE 'sqlg' INTO TABLE ");
+            sql.append(maybeWrapInQoutes(schemaTable.getSchema()));
+            sql.append(".");
+            sql.append(maybeWrapInQoutes(schemaTable.getTable()));
+            sql.append(" CHARACTER SET utf8mb4 FIELDS TERMINATED BY '\\t' ESCAPED BY '\\\\' LINES TERMINATED BY '\\n' (");
+            int i = 1;
+            for (Pair<String, PropertyDefinition> column : columns) {
+                sql.append(maybeWrapInQoutes(column.getLeft()));
+                if (i++ < columns.size()) {
+                    sql.append(", ");
+                }
+            }
+            sql.append(")");
+        } else {
+            sql.append("INSERT INTO ");
+            sql.append(maybeWrapInQoutes(schemaTable.getSchema()));
+            sql.append(".");
+            sql.append(maybeWrapInQoutes(schemaTable.getTable()));
+            if (columns.isEmpty()) {
+                sql.append(sqlInsertEmptyValues());
+            } else {
+                StringBuilder values = new StringBuilder();
+                sql.append(" (");
+                int i = 1;
+                for (Pair<String, PropertyDefinition> column : columns) {
+                    PropertyType propertyType = column.getRight().propertyType();
+                    String[] sqlDefinitions = propertyTypeToSqlDefinition(propertyType);
+                    for (int count = 1; count <= sqlDefinitions.length; count++) {
+                        if (count > 1) {
+                            sql.append(", ");
+                            sql.append(maybeWrapInQoutes(column.getLeft() + propertyType.getPostFixes()[count - 2]));
+                            values.append(", ?");
+                        } else {
+                            sql.append(maybeWrapInQoutes(column.getLeft()));
+                            values.append("?");
+                        }
+                    }
+                    if (i++ < columns.size()) {
+                        sql.append(", ");
+                        values.append(", ");
+                    }
+                }
+                sql.append(") VALUES (");
+                sql.append(values);
+                sql.append(")");
+            }
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug(sql.toString());
+        }
+        return sql.toString();
+    }
+
+    private boolean useLoadData(SqlgGraph sqlgGraph, List<Pair<String, PropertyDefinition>> columns) {
+        if (loadDataStatementClass() == null || columns.isEmpty() || !sqlgGraph.configuration().getBoolean(BATCH_STREAMING_LOAD_DATA, false)) {
+            return false;
+        }
+        for (Pair<String, PropertyDefinition> column : columns) {
+            if (!LoadDataWriter.supports(column.getRight().propertyType())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Writer streamSql(SqlgGraph sqlgGraph, String sql) {
+        if (sql.startsWith(LOAD_DATA)) {
+            try {
+                return new LoadDataWriter(sqlgGraph.tx().getConnection(), sql, loadDataStatementClass());
+            } catch (SQLException | IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return new InsertValuesWriter(sqlgGraph, sql, sqlgGraph.configuration().getInt(BATCH_STREAMING_CHUNK_SIZE, 1000));
+    }
+
+    @Override
+    public void writeStreamingVertex(Writer writer, Map<String, Object> keyValueMap, VertexLabel vertexLabel) {
+        List<Pair<PropertyDefinition, Object>> row = new ArrayList<>();
+        for (Map.Entry<String, Object> entry : keyValueMap.entrySet()) {
+            String key = entry.getKey();
+            //noinspection StringEquality
+            if (key == Topology.ID) {
+                row.add(Pair.of(PropertyDefinition.of(PropertyType.LONG), entry.getValue()));
+            } else {
+                row.add(Pair.of(vertexLabel.getProperties().get(key).getPropertyDefinition(), entry.getValue()));
+            }
+        }
+        writeStreamingRow(writer, row);
+    }
+
+    @Override
+    public void writeStreamingEdge(
+            Writer writer,
+            SqlgEdge sqlgEdge,
+            VertexLabel outVertexLabel,
+            VertexLabel inVertexLabel,
+            SqlgVertex outVertex,
+            SqlgVertex inVertex,
+            Map<String, Object> keyValueMap,
+            EdgeLabel edgeLabel) {
+
+        List<Pair<PropertyDefinition, Object>> row = new ArrayList<>();
+        for (Map.Entry<String, Object> entry : keyValueMap.entrySet()) {
+            String key = entry.getKey();
+            if (key.equals(Topology.ID)) {
+                row.add(Pair.of(PropertyDefinition.of(PropertyType.LONG), entry.getValue()));
+            } else {
+                row.add(Pair.of(edgeLabel.getProperties().get(key).getPropertyDefinition(), entry.getValue()));
+            }
+        }
+        addForeignKeyValues(row, outVertexLabel, outVertex);
+        addForeignKeyValues(row, inVertexLabel, inVertex);
+        writeStreamingRow(writer, row);
+    }
+
+    private void addForeignKeyValues(List<Pair<PropertyDefinition, Object>> row, VertexLabel vertexLabel, SqlgVertex vertex) {
+        RecordId.ID id = ((RecordId) vertex.id()).getID();
+        if (vertexLabel.hasIDPrimaryKey()) {
+            row.add(Pair.of(PropertyDefinition.of(PropertyType.LONG), id.getSequenceId()));
+        } else {
+            int count = 0;
+            for (String identifier : vertexLabel.getIdentifiers()) {
+                row.add(Pair.of(
+                        vertexLabel.getProperty(identifier).orElseThrow(
+                                () -> new IllegalStateException(String.format("identifier %s must be present on %s", identifier, vertexLabel.getFullName()))
+                        ).getPropertyDefinition(),
+                        id.getIdentifiers().get(count++)
+                ));
+            }
+        }
+    }
+
+    private void writeStreamingRow(Writer writer, List<Pair<PropertyDefinition, Object>> row) {
+        try {
+            if (writer instanceof LoadDataWriter loadDataWriter) {
+                int i = 1;
+                for (Pair<PropertyDefinition, Object> value : row) {
+                    loadDataWriter.writeValue(value.getLeft().propertyType(), value.getRight());
+                    if (i++ < row.size()) {
+                        loadDataWriter.writeDelimiter();
+                    }
+                }
+                loadDataWriter.endRow();
+            } else {
+                ((InsertValuesWriter) writer).addRow(row);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     @Override
     public List<Triple<String, Integer, String>> getTableColumns(DatabaseMetaData metaData, String catalog, String schemaPattern,
                                                                  String tableNamePattern, String columnNamePattern) {
@@ -0,0 +1,172 @@
+package org.umlg.sqlg.sql.dialect;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.umlg.sqlg.structure.RecordId;
+import org.umlg.sqlg.structure.SchemaTable;
+import org.umlg.sqlg.structure.SqlgElement;
+import org.umlg.sqlg.structure.SqlgGraph;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Inserts the rows of a normal batch mode flush in chunks of at most 'batch.flush.chunk.size' rows.
+ * Only the current chunk's elements are held, their ids are read back from the generated keys of the chunk.
+ * <p>
+ * With 'batch.flush.multi.row.values' a chunk is inserted as multi-row 'INSERT INTO ... VALUES (...), (...)' statements
+ * instead of a jdbc batch of single row inserts.
+ * Date: 2026/10/18
+ */
+class ChunkedBatchInsert<E extends SqlgElement> implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChunkedBatchInsert.class);
+    private static final String VALUES = " VALUES ";
+
+    @FunctionalInterface
+    interface RowParameters {
+        /**
+         * @return the next parameter index.
+         */
+        int set(PreparedStatement preparedStatement, int parameterIndex) throws SQLException;
+    }
+
+    private final SqlgGraph sqlgGraph;
+    private final String sql;
+    //the table of the generated ids, null if the elements' ids are their identifiers
+    private final SchemaTable idSchemaTable;
+    private final boolean multiRowValues;
+    //'INSERT INTO ... (...) VALUES '
+    private final String insert;
+    //'(?, ?)'
+    private final String values;
+    private final int rowsPerStatement;
+    private final List<E> elements;
+    private final List<RowParameters> rows;
+    //full chunks all have the same sql
+    private PreparedStatement chunkStatement;
+
+    /**
+     * @param sql           A single row insert without a trailing semicolon.
+     * @param idSchemaTable The table of the generated ids, null if the elements' ids are their identifiers.
+     */
+    ChunkedBatchInsert(SqlgGraph sqlgGraph, String sql, SchemaTable idSchemaTable) {
+        this.sqlgGraph = sqlgGraph;
+        this.sql = sql;
+        this.idSchemaTable = idSchemaTable;
+        SqlDialect sqlDialect = sqlgGraph.getSqlDialect();
+        int chunkSize = sqlgGraph.configuration().getInt(BaseSqlDialect.BATCH_FLUSH_CHUNK_SIZE, 10_000);
+        int parameters = (int) sql.chars().filter(c -> c == '?').count();
+        this.multiRowValues = parameters > 0 &&
+                sqlgGraph.configuration().getBoolean(BaseSqlDialect.BATCH_FLUSH_MULTI_ROW_VALUES, false) &&
+                (idSchemaTable == null || sqlDialect.supportsMultiRowValuesGeneratedKeys());
+        if (this.multiRowValues) {
+            int index = sql.lastIndexOf(VALUES);
+            this.insert = sql.substring(0, index + VALUES.length());
+            this.values = sql.substring(index + VALUES.length()).trim();
+            //stay within the dialect's parameter limit
+            this.rowsPerStatement = Math.max(1, Math.min(chunkSize, sqlDialect.sqlInParameterLimit() / parameters));
+        } else {
+            this.insert = null;
+            this.values = null;
+            this.rowsPerStatement = Math.max(1, chunkSize);
+        }
+        this.elements = new ArrayList<>(Math.min(this.rowsPerStatement, 1024));
+        this.rows = new ArrayList<>(Math.min(this.rowsPerStatement, 1024));
+    }
+
+    void add(E element, RowParameters rowParameters) throws SQLException {
+        this.elements.add(element);
+        this.rows.add(rowParameters);
+        if (this.rows.size() == this.rowsPerStatement) {
+            insertChunk();
+        }
+    }
+
+    private void insertChunk() throws SQLException {
+        Connection connection = this.sqlgGraph.tx().getConnection();
+        if (!this.multiRowValues) {
+            if (this.chunkStatement == null) {
+                this.chunkStatement = prepare(connection, this.sql);
+            }
+            for (RowParameters row : this.rows) {
+                row.set(this.chunkStatement, 1);
+                this.chunkStatement.addBatch();
+            }
+            this.chunkStatement.executeBatch();
+            setIds(this.chunkStatement);
+        } else if (this.rows.size() == this.rowsPerStatement) {
+            if (this.chunkStatement == null) {
+                this.chunkStatement = prepare(connection, multiRowSql(this.rowsPerStatement));
+            }
+            setParameters(this.chunkStatement);
+            this.chunkStatement.executeUpdate();
+            setIds(this.chunkStatement);
+        } else {
+            try (PreparedStatement preparedStatement = prepare(connection, multiRowSql(this.rows.size()))) {
+                setParameters(preparedStatement);
+                preparedStatement.executeUpdate();
+                setIds(preparedStatement);
+            }
+        }
+        this.elements.clear();
+        this.rows.clear();
+    }
+
+    private PreparedStatement prepare(Connection connection, String sql) throws SQLException {
+        if (this.sqlgGraph.getSqlDialect().needsSemicolon()) {
+            sql += ";";
+        }
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(sql);
+        }
+        if (this.idSchemaTable != null) {
+            return connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+        } else {
+            return connection.prepareStatement(sql);
+        }
+    }
+
+    private String multiRowSql(int numberOfRows) {
+        return this.insert + String.join(", ", Collections.nCopies(numberOfRows, this.values));
+    }
+
+    private void setParameters(PreparedStatement preparedStatement) throws SQLException {
+        int i = 1;
+        for (RowParameters row : this.rows) {
+            i = row.set(preparedStatement, i);
+        }
+    }
+
+    private void setIds(PreparedStatement preparedStatement) throws SQLException {
+        if (this.idSchemaTable == null) {
+            return;
+        }
+        int i = 0;
+        try (ResultSet generatedKeys = preparedStatement.getGeneratedKeys()) {
+            while (generatedKeys.next()) {
+                this.elements.get(i++).setInternalPrimaryKey(RecordId.from(this.idSchemaTable, generatedKeys.getLong(1)));
+            }
+        }
+        if (this.multiRowValues && i != this.elements.size()) {
+            throw new IllegalStateException(String.format("Expected %d generated keys for %s, found %d.", this.elements.size(), this.idSchemaTable, i));
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            if (!this.rows.isEmpty()) {
+                insertChunk();
+            }
+        } finally {
+            if (this.chunkStatement != null) {
+                this.chunkStatement.close();
+                this.chunkStatement = null;
+            }
+        }
+    }
+
+}
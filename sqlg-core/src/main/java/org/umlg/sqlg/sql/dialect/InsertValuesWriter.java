@@ -0,0 +1,153 @@
+package org.umlg.sqlg.sql.dialect;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.umlg.sqlg.structure.PropertyDefinition;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.util.SqlgUtil;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Streams rows as chunked multi-row 'INSERT INTO ... VALUES (...), (...)' statements.
+ * At most one chunk of rows is held in memory, a full chunk is inserted as soon as it is complete.
+ * <p>
+ * It extends {@link Writer} so that it can travel through the {@link SqlBulkDialect} streaming api.
+ * Character data is not accepted.
+ * Date: 2026/10/18
+ */
+class InsertValuesWriter extends Writer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InsertValuesWriter.class);
+    private static final String VALUES = " VALUES ";
+
+    private final SqlgGraph sqlgGraph;
+    //'INSERT INTO ... (...) VALUES '
+    private final String insert;
+    //'(?, ?)' or empty if the table is inserted with default values only.
+    private final String values;
+    private final int rowsPerStatement;
+    private final List<List<Pair<PropertyDefinition, Object>>> rows;
+    //full chunks all have the same sql
+    private PreparedStatement chunkStatement;
+
+    /**
+     * @param sql       A single row insert, 'INSERT INTO ... (...) VALUES (?, ?)'
+     *                  or a default values insert without parameters that is repeated per row.
+     * @param chunkSize The maximum number of rows per statement.
+     */
+    InsertValuesWriter(SqlgGraph sqlgGraph, String sql, int chunkSize) {
+        this.sqlgGraph = sqlgGraph;
+        int parameters = (int) sql.chars().filter(c -> c == '?').count();
+        if (parameters == 0) {
+            this.insert = sql;
+            this.values = "";
+            this.rowsPerStatement = chunkSize;
+        } else {
+            int index = sql.lastIndexOf(VALUES);
+            this.insert = sql.substring(0, index + VALUES.length());
+            String values = sql.substring(index + VALUES.length()).trim();
+            if (values.endsWith(";")) {
+                values = values.substring(0, values.length() - 1);
+            }
+            this.values = values;
+            //stay within the dialect's parameter limit
+            this.rowsPerStatement = Math.max(1, Math.min(chunkSize, sqlgGraph.getSqlDialect().sqlInParameterLimit() / parameters));
+        }
+        this.rows = new ArrayList<>(this.rowsPerStatement);
+    }
+
+    void addRow(List<Pair<PropertyDefinition, Object>> row) throws IOException {
+        this.rows.add(row);
+        if (this.rows.size() == this.rowsPerStatement) {
+            insertRows();
+        }
+    }
+
+    private void insertRows() throws IOException {
+        Connection connection = this.sqlgGraph.tx().getConnection();
+        try {
+            if (this.values.isEmpty()) {
+                try (PreparedStatement preparedStatement = connection.prepareStatement(this.insert)) {
+                    for (int i = 0; i < this.rows.size(); i++) {
+                        preparedStatement.addBatch();
+                    }
+                    preparedStatement.executeBatch();
+                }
+            } else if (this.rows.size() == this.rowsPerStatement) {
+                if (this.chunkStatement == null) {
+                    this.chunkStatement = connection.prepareStatement(sql(this.rowsPerStatement));
+                }
+                setParameters(this.chunkStatement);
+                this.chunkStatement.executeUpdate();
+            } else {
+                try (PreparedStatement preparedStatement = connection.prepareStatement(sql(this.rows.size()))) {
+                    setParameters(preparedStatement);
+                    preparedStatement.executeUpdate();
+                }
+            }
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+        this.rows.clear();
+    }
+
+    private String sql(int numberOfRows) {
+        String sql = this.insert + String.join(", ", Collections.nCopies(numberOfRows, this.values));
+        if (this.sqlgGraph.getSqlDialect().needsSemicolon()) {
+            sql += ";";
+        }
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(sql);
+        }
+        return sql;
+    }
+
+    private void setParameters(PreparedStatement preparedStatement) throws SQLException {
+        int i = 1;
+        for (List<Pair<PropertyDefinition, Object>> row : this.rows) {
+            i = SqlgUtil.setKeyValuesAsParameterUsingPropertyColumn(this.sqlgGraph, true, i, preparedStatement, row);
+        }
+    }
+
+    @Override
+    public void write(char[] cbuf) {
+        write(cbuf, 0, cbuf.length);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) {
+        throw new UnsupportedOperationException("INSERT streaming does not accept character data");
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (!this.rows.isEmpty()) {
+                insertRows();
+            }
+        } finally {
+            if (this.chunkStatement != null) {
+                try {
+                    this.chunkStatement.close();
+                } catch (SQLException e) {
+                    throw new IOException(e);
+                }
+                this.chunkStatement = null;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,156 @@
+package org.umlg.sqlg.sql.dialect;
+
+import org.umlg.sqlg.structure.PropertyType;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.umlg.sqlg.structure.PropertyType.*;
+
+/**
+ * Streams rows to a MariaDB/MySQL 'LOAD DATA LOCAL INFILE' statement through a pipe.
+ * The statement runs on its own thread and reads the rows as they are written, nothing is buffered beyond the pipe.
+ * <p>
+ * Rows are tab separated lines, '\N' is null and tabs, newlines and backslashes in values are escaped with a backslash.
+ * Date: 2026/10/18
+ */
+class LoadDataWriter extends Writer {
+
+    static final String NULL = "\\N";
+    static final char DELIMITER = '\t';
+    private static final int PIPE_SIZE = 64 * 1024;
+
+    private final ExecutorService executorService;
+    private final Future<?> load;
+    private final Writer writer;
+    private boolean closed;
+
+    /**
+     * @param statementClass The driver's statement class that has a 'setLocalInfileInputStream(InputStream)' method.
+     */
+    LoadDataWriter(Connection connection, String sql, String statementClass) throws SQLException, IOException {
+        PipedInputStream in = new PipedInputStream(PIPE_SIZE);
+        PipedOutputStream out = new PipedOutputStream(in);
+        Statement statement = connection.createStatement();
+        try {
+            Class<?> driverStatementClass = Class.forName(statementClass);
+            Object driverStatement = statement.unwrap(driverStatementClass);
+            driverStatementClass.getMethod("setLocalInfileInputStream", InputStream.class).invoke(driverStatement, in);
+        } catch (ReflectiveOperationException e) {
+            statement.close();
+            throw new IllegalStateException(String.format("'LOAD DATA LOCAL INFILE' streaming needs the %s driver on the classpath.", statementClass), e);
+        }
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), PIPE_SIZE);
+        this.executorService = Executors.newSingleThreadExecutor(r -> new Thread(r, "Sqlg load data"));
+        this.load = this.executorService.submit(() -> {
+            try (statement; in) {
+                statement.execute(sql);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * @return true if values of the propertyType can be written as text that the server parses back, the other types are inserted.
+     */
+    static boolean supports(PropertyType propertyType) {
+        return switch (propertyType.ordinal()) {
+            case BOOLEAN_ORDINAL, BYTE_ORDINAL, SHORT_ORDINAL, INTEGER_ORDINAL, LONG_ORDINAL, FLOAT_ORDINAL, DOUBLE_ORDINAL,
+                    STRING_ORDINAL, VARCHAR_ORDINAL, LOCALDATE_ORDINAL, LOCALDATETIME_ORDINAL, LOCALTIME_ORDINAL -> true;
+            default -> false;
+        };
+    }
+
+    void writeValue(PropertyType propertyType, Object value) throws IOException {
+        if (value == null) {
+            this.writer.write(NULL);
+            return;
+        }
+        switch (propertyType.ordinal()) {
+            case BOOLEAN_ORDINAL -> this.writer.write((Boolean) value ? "1" : "0");
+            case BYTE_ORDINAL, SHORT_ORDINAL, INTEGER_ORDINAL, LONG_ORDINAL, FLOAT_ORDINAL, DOUBLE_ORDINAL ->
+                    this.writer.write(value.toString());
+            case LOCALDATE_ORDINAL -> this.writer.write(((LocalDate) value).toString());
+            case LOCALDATETIME_ORDINAL -> this.writer.write(((LocalDateTime) value).toString());
+            case LOCALTIME_ORDINAL -> this.writer.write(((LocalTime) value).toString());
+            default -> escape(value.toString());
+        }
+    }
+
+    private void escape(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> this.writer.write("\\\\");
+                case '\t' -> this.writer.write("\\t");
+                case '\n' -> this.writer.write("\\n");
+                case '\r' -> this.writer.write("\\r");
+                case '\0' -> this.writer.write("\\0");
+                default -> this.writer.write(c);
+            }
+        }
+    }
+
+    void writeDelimiter() throws IOException {
+        this.writer.write(DELIMITER);
+    }
+
+    void endRow() throws IOException {
+        this.writer.write('\n');
+    }
+
+    @Override
+    public void write(char[] cbuf) throws IOException {
+        write(cbuf, 0, cbuf.length);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        this.writer.write(cbuf, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        //a failed load breaks the pipe, its own exception is the one to report.
+        IOException writeException = null;
+        try {
+            //end of file for the server
+            this.writer.close();
+        } catch (IOException e) {
+            writeException = e;
+        }
+        try {
+            this.load.get();
+            if (writeException != null) {
+                throw writeException;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        } finally {
+            this.executorService.shutdown();
+        }
+    }
+
+}
@@ -411,14 +411,33 @@ public interface SqlDialect {
     }
 
     /**
-     * This is primarily for Postgresql's copy command.
+     * Streaming batch mode, i.e. {@link org.umlg.sqlg.structure.SqlgGraph#streamVertex(Object...)} and
+     * {@link org.umlg.sqlg.structure.SqlgVertex#streamEdge(String, org.apache.tinkerpop.gremlin.structure.Vertex)}.
+     * Postgresql streams with its copy command, the other dialects with chunked inserts.
      *
-     * @return true if data can be streamed in via a socket.
+     * @return true if data can be streamed in without caching it.
      */
     default boolean supportsStreamingBatchMode() {
         return false;
     }
 
+    /**
+     * Postgresql's copy command. It streams temporary vertices, bulk adds edges, parses string literals for typed
+     * columns and streams with lock, taking the ids from the label's sequence.
+     */
+    default boolean supportsCopyCommand() {
+        return false;
+    }
+
+    /**
+     * Used by 'batch.flush.multi.row.values'.
+     *
+     * @return true if the driver returns the generated keys of every row of a multi-row insert, in order.
+     */
+    default boolean supportsMultiRowValuesGeneratedKeys() {
+        return false;
+    }
+
     default boolean supportsJsonType() {
         return false;
     }
@@ -545,12 +564,50 @@ public interface SqlDialect {
 
     long nextSequenceVal(SqlgGraph sqlgGraph, SchemaTable schemaTable, String prefix);
 
+    /**
+     * Reserves count values from the ID sequence of the vertex or edge table.
+     * Dialects should override this to reserve all the values in one round trip.
+     */
+    default long[] nextSequenceValues(SqlgGraph sqlgGraph, SchemaTable schemaTable, String prefix, int count) {
+        long[] result = new long[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = nextSequenceVal(sqlgGraph, schemaTable, prefix);
+        }
+        return result;
+    }
+
     long currSequenceVal(SqlgGraph sqlgGraph, SchemaTable schemaTable, String prefix);
 
     String sequenceName(SqlgGraph sqlgGraph, SchemaTable outSchemaTable, String prefix);
 
     boolean supportsBulkWithinOut();
 
+    /**
+     * If true then a bulk within/without is bound as a single array parameter, 'x = ANY(?)' or 'x <> ALL(?)',
+     * instead of joining onto a VALUES expression. This keeps the sql independent of the values so that it can be cached.
+     */
+    default boolean supportsBulkWithinOutArrayParameter() {
+        return false;
+    }
+
+    /**
+     * If true then a homogeneous repeat is executed as one 'WITH RECURSIVE' query, see {@link org.umlg.sqlg.step.barrier.SqlgRecursiveRepeatStep}.
+     * The dialect must support recursive common table expressions, 'unnest(?)' of an array parameter and array concatenation for the cycle detection.
+     */
+    default boolean supportsRecursiveRepeat() {
+        return false;
+    }
+
+    /**
+     * Used by the slow query log to capture the plan of a slow select.
+     * The returned sql takes the same parameters as the given sql.
+     *
+     * @return the sql that executes and explains the given sql, null if not supported.
+     */
+    default String explainAnalyze(String sql) {
+        return null;
+    }
+
     String afterCreateTemporaryTableStatement();
 
     /**
@@ -632,6 +689,71 @@ public interface SqlDialect {
         return " OFFSET " + skip;
     }
 
+    /**
+     * Used to execute dedup() in the db.
+     *
+     * @return true if the dialect supports 'SELECT DISTINCT ON (...)'.
+     */
+    default boolean supportsDistinctOn() {
+        return false;
+    }
+
+    /**
+     * Used to execute the distinct queries of a traversal that fans out over many labels as one statement,
+     * see {@link org.umlg.sqlg.sql.parse.UnionAllQuery}.
+     *
+     * @return true if the dialect supports 'UNION ALL' of selects with 'CAST(NULL AS type)' columns.
+     */
+    default boolean supportsUnionAll() {
+        return false;
+    }
+
+    /**
+     * A {@link org.umlg.sqlg.sql.parse.UnionAllQuery} selects the columns of all its branches, it takes no more
+     * branches than fit in this limit.
+     *
+     * @return the maximum number of columns a select may return.
+     */
+    default int getMaximumSelectColumns() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Used for 'batch.mode.auto', transactions start in normal batch mode and the cached elements get their id from the
+     * {@link org.umlg.sqlg.structure.IdBlockAllocator} when they are added.
+     *
+     * @return true if the dialect's batch flush inserts the ids the elements already have.
+     */
+    default boolean supportsAutoBatchMode() {
+        return false;
+    }
+
+    /**
+     * Used to execute the distinct queries of a traversal concurrently on connections that see the same data as the
+     * transaction's connection, see {@link org.umlg.sqlg.sql.parse.ParallelQueries}.
+     *
+     * @return true if the dialect can export a transaction's snapshot and import it on other connections.
+     */
+    default boolean supportsSnapshotExport() {
+        return false;
+    }
+
+    /**
+     * A select returning the transaction's exported snapshot id in the first column and, in the second, a non-null
+     * value if the transaction has already written. A transaction's own uncommitted writes are not visible in its
+     * exported snapshot.
+     */
+    default String exportSnapshot() {
+        throw new RuntimeException("snapshot export is not supported.");
+    }
+
+    /**
+     * The statement that makes a newly started transaction see the snapshot exported by {@link #exportSnapshot()}.
+     */
+    default String importSnapshot(String snapshotId) {
+        throw new RuntimeException("snapshot export is not supported.");
+    }
+
     /**
      * get the full text query for the given predicate and column
      *
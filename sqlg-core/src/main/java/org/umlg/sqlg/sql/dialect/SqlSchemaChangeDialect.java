@@ -5,6 +5,8 @@ import org.umlg.sqlg.structure.SqlgExceptions;
 import org.umlg.sqlg.structure.SqlgGraph;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
 
 /**
  * Date: 2016/09/03
@@ -16,6 +18,40 @@ public interface SqlSchemaChangeDialect extends SqlDialect {
         throw SqlgExceptions.multipleJvmNotSupported(dialectName());
     }
 
+    /**
+     * Locks the whole topology until the transaction ends.
+     * Waits for all other schema changes to complete and blocks new ones.
+     * A deadlock with another transaction's locks is reported as a {@link org.umlg.sqlg.structure.SqlgExceptions.DeadLockDetected}.
+     */
+    default void lockTopology(SqlgGraph sqlgGraph) {
+    }
+
+    /**
+     * Locks the whole topology shared until the transaction ends, taken before the transaction's first
+     * {@link #lockSchemaChange(SqlgGraph, Collection)}. A global change via {@link #lockTopology(SqlgGraph)} waits.
+     */
+    default void lockTopologyShared(SqlgGraph sqlgGraph) {
+    }
+
+    /**
+     * Locks the given schemas and tables until the transaction ends.
+     * Schema changes on other schemas and tables proceed concurrently.
+     *
+     * A deadlock with another transaction's locks is reported as a {@link org.umlg.sqlg.structure.SqlgExceptions.DeadLockDetected}.
+     *
+     * @param keys The qualified names to lock, i.e. 'public' or 'public.V_Person'. The locks are acquired in the given order.
+     */
+    default void lockSchemaChange(SqlgGraph sqlgGraph, Collection<String> keys) {
+    }
+
+    /**
+     * The order {@link #lockSchemaChange(SqlgGraph, Collection)} is called in, it must order the keys by the locks they
+     * map to.
+     */
+    default Comparator<String> schemaChangeLockOrder() {
+        return Comparator.naturalOrder();
+    }
+
     default void registerListener(SqlgGraph sqlgGraph) {
         throw SqlgExceptions.multipleJvmNotSupported(dialectName());
     }
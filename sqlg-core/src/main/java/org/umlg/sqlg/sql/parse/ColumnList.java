@@ -205,6 +205,45 @@ public class ColumnList {
         return containsAggregate;
     }
 
+    /**
+     * @return the columns and their aliases in the order of the select clause.
+     */
+    Map<Column, String> getColumns() {
+        return Collections.unmodifiableMap(this.columns);
+    }
+
+    /**
+     * The sql type of every column in the order of the select clause.
+     * A UNION ALL needs them to type the NULLs it selects for the columns of the other queries.
+     */
+    List<String> toSqlTypes() {
+        String idType = this.sqlgGraph.getSqlDialect().propertyTypeToSqlDefinition(PropertyType.LONG)[0];
+        //the postfix columns, i.e. a ZonedDateTime's zone, follow the property's column.
+        Map<String, String> postFixTypes = new HashMap<>();
+        List<String> result = new ArrayList<>(this.columns.size());
+        for (Column column : this.columns.keySet()) {
+            String key = column.stepDepth + "." + column.schema + "." + column.table + "." + column.column;
+            if (column.isID() || (column.isForeignKey() && !column.isForeignKeyProperty())) {
+                result.add(idType);
+            } else if (column.getPropertyDefinition() != null) {
+                PropertyType propertyType = column.getPropertyDefinition().propertyType();
+                String[] sqlDefinitions = this.sqlgGraph.getSqlDialect().propertyTypeToSqlDefinition(propertyType);
+                if (!column.isForeignKey()) {
+                    String[] postFixes = propertyType.getPostFixes();
+                    for (int i = 0; i < postFixes.length; i++) {
+                        postFixTypes.put(key + postFixes[i], sqlDefinitions[i + 1]);
+                    }
+                }
+                result.add(sqlDefinitions[0]);
+            } else {
+                String sqlType = postFixTypes.get(key);
+                Preconditions.checkState(sqlType != null, "No sql type found for column %s", column);
+                result.add(sqlType);
+            }
+        }
+        return result;
+    }
+
     @Override
     public String toString() {
         return toSelectString(false);
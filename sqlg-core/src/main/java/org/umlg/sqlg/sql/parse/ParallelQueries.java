@@ -0,0 +1,246 @@
+package org.umlg.sqlg.sql.parse;
+
+import com.google.common.base.Preconditions;
+import org.apache.commons.lang3.tuple.Triple;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.umlg.sqlg.sql.dialect.SqlDialect;
+import org.umlg.sqlg.structure.QueryProbe;
+import org.umlg.sqlg.structure.SchemaTable;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.util.SqlgUtil;
+
+import javax.annotation.Nullable;
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Executes the distinct queries of a traversal concurrently, see 'query.parallel.threads'.
+ * <p>
+ * The transaction's snapshot is exported and imported by read only connections from the pool, every query sees the
+ * same data as it would on the transaction's connection. A transaction's own uncommitted writes are not part of its
+ * exported snapshot, if the transaction has written the queries are not executed in parallel, see {@link #execute(Step)}.
+ * <p>
+ * The statements are prepared and their parameters are set on the calling thread, the other threads only execute them.
+ * Their rows are fully read by the driver, they are read into elements on the calling thread in the order of the
+ * queries. A query's result is handed over as soon as that query has executed, the calling thread does not wait for
+ * the other queries, see {@link #getQueryResult(int)}. Every query keeps its own {@link AliasMapHolder}, it is set on
+ * the query's root {@link SchemaTableTree} before reading its rows, see {@link #activate(int)}.
+ * <p>
+ * Date: 2026/10/18
+ */
+public class ParallelQueries {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelQueries.class);
+
+    private final SqlgGraph sqlgGraph;
+    private final List<Query> queries = new ArrayList<>();
+    private final List<Connection> connections = new ArrayList<>();
+    private final List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+    private static final class Query {
+        private final SchemaTableTree rootSchemaTableTree;
+        private final LinkedList<SchemaTableTree> distinctQueryStack;
+        private final List<LinkedList<SchemaTableTree>> subQueryStacks;
+        private AliasMapHolder aliasMapHolder;
+        private PreparedStatement preparedStatement;
+        private ResultSet resultSet;
+        private ResultSetMetaData resultSetMetaData;
+        private QueryProbe queryProbe;
+        //completes once the query has executed on its connection's thread
+        private final CompletableFuture<Void> executed = new CompletableFuture<>();
+
+        private Query(SchemaTableTree rootSchemaTableTree, LinkedList<SchemaTableTree> distinctQueryStack) {
+            this.rootSchemaTableTree = rootSchemaTableTree;
+            this.distinctQueryStack = distinctQueryStack;
+            this.subQueryStacks = SchemaTableTree.splitIntoSubStacks(distinctQueryStack);
+        }
+    }
+
+    public ParallelQueries(SqlgGraph sqlgGraph) {
+        this.sqlgGraph = sqlgGraph;
+    }
+
+    public void add(SchemaTableTree rootSchemaTableTree, LinkedList<SchemaTableTree> distinctQueryStack) {
+        this.queries.add(new Query(rootSchemaTableTree, distinctQueryStack));
+    }
+
+    public int size() {
+        return this.queries.size();
+    }
+
+    /**
+     * Starts executing all the queries, it does not wait for them to complete.
+     *
+     * @return false if the transaction has uncommitted writes, nothing is executed and the queries must be executed on
+     * the transaction's connection.
+     */
+    public boolean execute(@Nullable Step<?, ?> step) {
+        if (this.sqlgGraph.tx().isInBatchMode()) {
+            Set<SchemaTable> schemaTables = new HashSet<>();
+            for (Query query : this.queries) {
+                for (SchemaTableTree schemaTableTree : query.distinctQueryStack) {
+                    schemaTables.add(schemaTableTree.getSchemaTable());
+                }
+            }
+            this.sqlgGraph.tx().flush(schemaTables, false);
+        }
+        SqlDialect sqlDialect = this.sqlgGraph.getSqlDialect();
+        try {
+            String snapshotId;
+            try (Statement statement = this.sqlgGraph.tx().getConnection().createStatement();
+                 ResultSet resultSet = statement.executeQuery(sqlDialect.exportSnapshot())) {
+                Preconditions.checkState(resultSet.next());
+                snapshotId = resultSet.getString(1);
+                resultSet.getObject(2);
+                if (!resultSet.wasNull()) {
+                    return false;
+                }
+            }
+            int threads = Math.min(this.sqlgGraph.getParallelQueryThreads(), this.queries.size());
+            for (int i = 0; i < threads; i++) {
+                Connection connection = this.sqlgGraph.getConnection();
+                this.connections.add(connection);
+                //closed with the transaction if the traversal is not iterated to the end
+                this.sqlgGraph.tx().addSnapshotConnection(connection);
+                connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+                connection.setAutoCommit(false);
+                connection.setReadOnly(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute(sqlDialect.importSnapshot(snapshotId));
+                }
+            }
+            //the queries are distributed over the connections, every connection is used by one thread only.
+            for (int i = 0; i < this.queries.size(); i++) {
+                Query query = this.queries.get(i);
+                query.aliasMapHolder = new AliasMapHolder();
+                query.rootSchemaTableTree.setAliasMapHolder(query.aliasMapHolder);
+                query.rootSchemaTableTree.resetColumnAliasMaps();
+                String sql = query.rootSchemaTableTree.constructSql(query.distinctQueryStack);
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug(sql);
+                }
+                query.queryProbe = QueryProbe.start(this.sqlgGraph, step);
+                query.preparedStatement = this.connections.get(i % threads).prepareStatement(sql);
+                int parameterCount = SqlgUtil.setParametersOnStatement(this.sqlgGraph, query.distinctQueryStack, query.preparedStatement, false);
+                if (query.queryProbe != null) {
+                    query.queryProbe.prepared(sql, null, parameterCount);
+                }
+            }
+            ExecutorService executorService = this.sqlgGraph.getParallelQueryExecutor();
+            for (int i = 0; i < threads; i++) {
+                int connectionIndex = i;
+                this.futures.add(CompletableFuture.runAsync(() -> executeQueries(connectionIndex, threads), executorService));
+            }
+            return true;
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void executeQueries(int connectionIndex, int threads) {
+        for (int i = connectionIndex; i < this.queries.size(); i += threads) {
+            Query query = this.queries.get(i);
+            try {
+                query.resultSet = query.preparedStatement.executeQuery();
+                query.resultSetMetaData = query.resultSet.getMetaData();
+                if (query.queryProbe != null) {
+                    query.queryProbe.executed();
+                }
+                query.executed.complete(null);
+            } catch (SQLException | RuntimeException e) {
+                //the connection's remaining queries are not executed
+                for (int j = i; j < this.queries.size(); j += threads) {
+                    this.queries.get(j).executed.completeExceptionally(e);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sets the query's alias map on its root {@link SchemaTableTree}, the query's rows are read with it.
+     */
+    public void activate(int queryIndex) {
+        Query query = this.queries.get(queryIndex);
+        query.rootSchemaTableTree.setAliasMapHolder(query.aliasMapHolder);
+    }
+
+    public SchemaTableTree getRootSchemaTableTree(int queryIndex) {
+        return this.queries.get(queryIndex).rootSchemaTableTree;
+    }
+
+    public List<LinkedList<SchemaTableTree>> getSubQueryStacks(int queryIndex) {
+        return this.queries.get(queryIndex).subQueryStacks;
+    }
+
+    /**
+     * Waits for the query to have executed, the other queries may still be executing.
+     */
+    public Triple<ResultSet, ResultSetMetaData, PreparedStatement> getQueryResult(int queryIndex) {
+        Query query = this.queries.get(queryIndex);
+        try {
+            query.executed.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+        return Triple.of(query.resultSet, query.resultSetMetaData, query.preparedStatement);
+    }
+
+    public QueryProbe getQueryProbe(int queryIndex) {
+        return this.queries.get(queryIndex).queryProbe;
+    }
+
+    /**
+     * Closes the statements and returns the connections to the pool, a transaction that ends first closes the connections.
+     * The queries that are still executing are cancelled first.
+     */
+    public void close() {
+        for (Query query : this.queries) {
+            if (query.preparedStatement != null && !query.executed.isDone()) {
+                try {
+                    query.preparedStatement.cancel();
+                } catch (SQLException e) {
+                    LOGGER.warn("failed to cancel parallel query statement", e);
+                }
+            }
+        }
+        //the connections are only closed once their threads are done with them
+        for (CompletableFuture<Void> future : this.futures) {
+            try {
+                future.join();
+            } catch (CompletionException e) {
+                LOGGER.warn("parallel query failed", e.getCause());
+            }
+        }
+        this.futures.clear();
+        for (Query query : this.queries) {
+            try {
+                if (query.preparedStatement != null) {
+                    query.preparedStatement.close();
+                }
+            } catch (SQLException e) {
+                LOGGER.warn("failed to close parallel query statement", e);
+            }
+            query.rootSchemaTableTree.setAliasMapHolder(query.aliasMapHolder != null ? query.aliasMapHolder : new AliasMapHolder());
+            query.rootSchemaTableTree.resetColumnAliasMaps();
+        }
+        for (Connection connection : this.connections) {
+            this.sqlgGraph.tx().removeSnapshotConnection(connection);
+            try {
+                connection.rollback();
+                connection.close();
+            } catch (SQLException e) {
+                LOGGER.warn("failed to close parallel query connection", e);
+            }
+        }
+        this.connections.clear();
+    }
+}
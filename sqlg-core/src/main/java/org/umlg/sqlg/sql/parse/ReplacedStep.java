@@ -17,6 +17,8 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.structure.*;
 import org.umlg.sqlg.strategy.BaseStrategy;
 import org.umlg.sqlg.strategy.SqlgComparatorHolder;
+import org.umlg.sqlg.strategy.SqlgDedupHolder;
+import org.umlg.sqlg.strategy.SqlgPathFilterHolder;
 import org.umlg.sqlg.strategy.SqlgRangeHolder;
 import org.umlg.sqlg.strategy.TopologyStrategy;
 import org.umlg.sqlg.structure.*;
@@ -51,6 +53,14 @@ public class ReplacedStep<S, E> {
      * range limitation if any
      */
     private SqlgRangeHolder sqlgRangeHolder;
+    /**
+     * dedup, if any
+     */
+    private SqlgDedupHolder sqlgDedupHolder;
+    /**
+     * simplePath or cyclicPath, if any
+     */
+    private SqlgPathFilterHolder sqlgPathFilterHolder;
     //This indicates the distanced of the replaced steps from the starting step. i.e. g.V(1).out().out().out() will be 0,1,2 for the 3 outs
     private int depth;
     private boolean emit;
@@ -565,6 +575,8 @@ public class ReplacedStep<S, E> {
                 idOnly
         );
         schemaTableTree.setRestrictedProperties(getRestrictedProperties());
+        schemaTableTree.setSqlgDedupHolder(this.sqlgDedupHolder);
+        schemaTableTree.setSqlgPathFilterHolder(this.sqlgPathFilterHolder);
         return schemaTableTree;
     }
 
@@ -848,6 +860,30 @@ public class ReplacedStep<S, E> {
         return this.getSqlgRangeHolder().isApplyInStep();
     }
 
+    public SqlgDedupHolder getSqlgDedupHolder() {
+        return this.sqlgDedupHolder;
+    }
+
+    public void setSqlgDedupHolder(SqlgDedupHolder sqlgDedupHolder) {
+        this.sqlgDedupHolder = sqlgDedupHolder;
+    }
+
+    public boolean hasDedup() {
+        return this.sqlgDedupHolder != null;
+    }
+
+    public SqlgPathFilterHolder getSqlgPathFilterHolder() {
+        return this.sqlgPathFilterHolder;
+    }
+
+    public void setSqlgPathFilterHolder(SqlgPathFilterHolder sqlgPathFilterHolder) {
+        this.sqlgPathFilterHolder = sqlgPathFilterHolder;
+    }
+
+    public boolean hasPathFilter() {
+        return this.sqlgPathFilterHolder != null;
+    }
+
     public void markAsJoinToLeftJoin() {
         this.joinToLeftJoin = true;
     }
@@ -0,0 +1,124 @@
+package org.umlg.sqlg.sql.parse;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.umlg.sqlg.structure.PropertyDecoder;
+import org.umlg.sqlg.structure.PropertyDefinition;
+import org.umlg.sqlg.structure.PropertyType;
+import org.umlg.sqlg.structure.SqlgElement;
+import org.umlg.sqlg.structure.SqlgGraph;
+
+import java.lang.ref.WeakReference;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The compiled plan to read a {@link SchemaTableTree}'s element from the rows of one result set.
+ * The columns, their {@link PropertyDecoder}s and the id columns are resolved once for the result set, reading a row
+ * is then a loop over the decoders without any alias or property type lookups.
+ * Date: 2026/10/18
+ */
+class RowDecoder {
+
+    private final WeakReference<ResultSet> resultSet;
+    private final PropertyDecoder[] propertyDecoders;
+    //the aggregate results default to NaN when the query returned nothing
+    private final boolean[] aggregates;
+    //resolved by the first row, volatile as the decoder is published to the other threads reading the tree
+    private volatile int idColumn = -1;
+    private volatile int[] identifierColumns;
+
+    private RowDecoder(ResultSet resultSet, PropertyDecoder[] propertyDecoders, boolean[] aggregates) {
+        this.resultSet = new WeakReference<>(resultSet);
+        this.propertyDecoders = propertyDecoders;
+        this.aggregates = aggregates;
+    }
+
+    static RowDecoder compile(SqlgGraph sqlgGraph, ResultSet resultSet, SchemaTableTree schemaTableTree, List<ColumnList> columnListStack) {
+        List<PropertyDecoder> propertyDecoders = new ArrayList<>();
+        List<Boolean> aggregates = new ArrayList<>();
+        Map<String, String> columnNameAliasMap = schemaTableTree.getColumnNameAliasMap();
+        for (ColumnList columnList : columnListStack) {
+            LinkedHashMap<ColumnList.Column, String> columns = columnList.getFor(schemaTableTree.getStepDepth(), schemaTableTree.getSchemaTable());
+            for (ColumnList.Column column : columns.keySet()) {
+                if (!column.getColumn().equals("index") && !column.isID() && !column.isForeignKey()) {
+                    String aggregateFunction = column.getAggregateFunction();
+                    PropertyDefinition propertyDefinition = column.getPropertyDefinition();
+                    int columnIndex = column.getColumnIndex();
+                    boolean isAverage = false;
+                    if (aggregateFunction != null && aggregateFunction.equalsIgnoreCase("avg")) {
+                        propertyDefinition = PropertyDefinition.of(PropertyType.DOUBLE);
+                        columnIndex = columnIndex - 1;
+                        isAverage = true;
+                    } else if (aggregateFunction != null && aggregateFunction.equalsIgnoreCase("sum")) {
+                        if (propertyDefinition.propertyType() == PropertyType.INTEGER || propertyDefinition.propertyType() == PropertyType.SHORT) {
+                            propertyDefinition = PropertyDefinition.of(PropertyType.LONG);
+                        }
+                    } else if (aggregateFunction != null && aggregateFunction.equals(GraphTraversal.Symbols.count)) {
+                        propertyDefinition = PropertyDefinition.of(PropertyType.LONG);
+                    }
+                    PropertyDecoder propertyDecoder = PropertyDecoder.of(
+                            sqlgGraph,
+                            resultSet,
+                            schemaTableTree.getSchemaTable(),
+                            column.getColumn(),
+                            columnIndex,
+                            columnNameAliasMap,
+                            schemaTableTree.getStepDepth(),
+                            propertyDefinition,
+                            isAverage
+                    );
+                    if (propertyDecoder != null) {
+                        propertyDecoders.add(propertyDecoder);
+                        aggregates.add(aggregateFunction != null);
+                    }
+                }
+            }
+        }
+        boolean[] aggregatesArray = new boolean[aggregates.size()];
+        for (int i = 0; i < aggregatesArray.length; i++) {
+            aggregatesArray[i] = aggregates.get(i);
+        }
+        return new RowDecoder(resultSet, propertyDecoders.toArray(new PropertyDecoder[0]), aggregatesArray);
+    }
+
+    boolean isFor(ResultSet resultSet) {
+        return this.resultSet.get() == resultSet;
+    }
+
+    void loadProperties(ResultSet resultSet, SqlgElement sqlgElement) throws SQLException {
+        for (int i = 0; i < this.propertyDecoders.length; i++) {
+            PropertyDecoder propertyDecoder = this.propertyDecoders[i];
+            boolean settedProperty = propertyDecoder.decode(resultSet, sqlgElement);
+            //Check if the query returned anything at all, if not default the aggregate result
+            if (!settedProperty && this.aggregates[i]) {
+                sqlgElement.internalSetProperty(propertyDecoder.getPropertyName(), Double.NaN);
+            }
+        }
+    }
+
+    /**
+     * @return The id column, -1 until it is resolved.
+     */
+    int getIdColumn() {
+        return this.idColumn;
+    }
+
+    void setIdColumn(int idColumn) {
+        this.idColumn = idColumn;
+    }
+
+    /**
+     * @return The identifier columns in identifier order, null until they are resolved.
+     */
+    int[] getIdentifierColumns() {
+        return this.identifierColumns;
+    }
+
+    void setIdentifierColumns(int[] identifierColumns) {
+        this.identifierColumns = identifierColumns;
+    }
+}
@@ -15,6 +15,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.structure.*;
 import org.umlg.sqlg.predicate.Existence;
 import org.umlg.sqlg.predicate.FullText;
+import org.umlg.sqlg.sql.dialect.SqlDialect;
 import org.umlg.sqlg.strategy.*;
 import org.umlg.sqlg.structure.PropertyType;
 import org.umlg.sqlg.structure.*;
@@ -28,6 +29,7 @@ import java.util.*;
 import java.util.function.BiPredicate;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import static org.apache.tinkerpop.gremlin.structure.T.label;
 import static org.umlg.sqlg.structure.topology.Topology.EDGE_PREFIX;
@@ -81,6 +83,10 @@ public class SchemaTableTree {
     //Cached for query load performance
     private Map<String, Pair<String, PropertyType>> columnNamePropertyName;
     private String labeledAliasId;
+    //Compiled per result set for query load performance.
+    //Volatile as the parallel queries read the tree from their pool threads, every read checks that the decoder is
+    //for its own result set and compiles one if it is not.
+    private volatile RowDecoder rowDecoder;
     private ListOrderedSet<String> identifiers;
     private String distributionColumn;
     private boolean localStep = false;
@@ -96,6 +102,14 @@ public class SchemaTableTree {
      * range limitation, if any
      */
     private SqlgRangeHolder sqlgRangeHolder;
+    /**
+     * dedup, if any. Only applied on the last SchemaTableTree of a query.
+     */
+    private SqlgDedupHolder sqlgDedupHolder;
+    /**
+     * simplePath or cyclicPath, if any. Only applied on the last SchemaTableTree of a query.
+     */
+    private SqlgPathFilterHolder sqlgPathFilterHolder;
     //This is the incoming element id and the traversals start elements index, for SqlgVertexStep.
     private List<Pair<RecordId.ID, Long>> parentIdsAndIndexes;
     private Set<String> restrictedProperties = null;
@@ -573,6 +587,8 @@ public class SchemaTableTree {
                 replacedStep.getSqlgComparatorHolder(),
                 replacedStep.getSqlgComparatorHolder().getComparators(),
                 replacedStep.getSqlgRangeHolder(),
+                replacedStep.getSqlgDedupHolder(),
+                replacedStep.getSqlgPathFilterHolder(),
                 replacedStep.getRestrictedProperties(),
                 replacedStep.getAggregateFunction(),
                 replacedStep.getGroupBy(),
@@ -612,6 +628,8 @@ public class SchemaTableTree {
                 replacedStep.getSqlgComparatorHolder(),
                 replacedStep.getSqlgComparatorHolder().getComparators(),
                 replacedStep.getSqlgRangeHolder(),
+                replacedStep.getSqlgDedupHolder(),
+                replacedStep.getSqlgPathFilterHolder(),
                 replacedStep.getRestrictedProperties(),
                 replacedStep.getAggregateFunction(),
                 replacedStep.getGroupBy(),
@@ -633,6 +651,8 @@ public class SchemaTableTree {
             SqlgComparatorHolder sqlgComparatorHolder,
             List<org.javatuples.Pair<Traversal.Admin<?, ?>, Comparator<?>>> dbComparators,
             SqlgRangeHolder sqlgRangeHolder,
+            SqlgDedupHolder sqlgDedupHolder,
+            SqlgPathFilterHolder sqlgPathFilterHolder,
             Set<String> restrictedProperties,
             Pair<String, List<String>> aggregateFunction,
             List<String> groupBy,
@@ -652,6 +672,8 @@ public class SchemaTableTree {
             schemaTableTree.sqlgComparatorHolder = sqlgComparatorHolder;
             schemaTableTree.dbComparators = new ArrayList<>(dbComparators);
             schemaTableTree.sqlgRangeHolder = sqlgRangeHolder;
+            schemaTableTree.sqlgDedupHolder = sqlgDedupHolder;
+            schemaTableTree.sqlgPathFilterHolder = sqlgPathFilterHolder;
         }
         schemaTableTree.parent = this;
         schemaTableTree.direction = direction;
@@ -717,6 +739,19 @@ public class SchemaTableTree {
         return walkUp(this);
     }
 
+    /**
+     * @return the tables of this SchemaTableTree and its parents, a query that reads it joins them all.
+     */
+    public Set<SchemaTable> getSchemaTablesFromRoot() {
+        Set<SchemaTable> result = new HashSet<>();
+        SchemaTableTree schemaTableTree = this;
+        while (schemaTableTree != null) {
+            result.add(schemaTableTree.getSchemaTable());
+            schemaTableTree = schemaTableTree.parent;
+        }
+        return result;
+    }
+
     private SchemaTableTree walkUp(SchemaTableTree schemaTableTree) {
         if (schemaTableTree.hasParent()) {
             return schemaTableTree.walkUp(schemaTableTree.getParent());
@@ -747,6 +782,10 @@ public class SchemaTableTree {
 //        this.columnListStack.clear();
     }
 
+    SqlgGraph getSqlgGraph() {
+        return this.sqlgGraph;
+    }
+
     public SchemaTable getSchemaTable() {
         return schemaTable;
     }
@@ -821,6 +860,45 @@ public class SchemaTableTree {
         return result;
     }
 
+    /**
+     * @return true if the distinct query is a plain select that may be executed as a branch of a {@link UnionAllQuery}.
+     * Queries with incoming traversers, ordering, ranges, aggregates, drops or optional, emit and duplicate paths
+     * are executed on their own.
+     */
+    public boolean isUnionAllBranch(LinkedList<SchemaTableTree> distinctQueryStack) {
+        Preconditions.checkState(this.parent == null, "isUnionAllBranch may only be called on the root object");
+        if (this.stepType != STEP_TYPE.GRAPH_STEP || this.fakeEmit || duplicatesInStack(distinctQueryStack)) {
+            return false;
+        }
+        for (SchemaTableTree schemaTableTree : distinctQueryStack) {
+            if (schemaTableTree.drop ||
+                    schemaTableTree.emit ||
+                    schemaTableTree.untilFirst ||
+                    schemaTableTree.optionalLeftJoin ||
+                    schemaTableTree.localStep ||
+                    schemaTableTree.localBarrierStep ||
+                    schemaTableTree.hasAggregateFunction() ||
+                    (schemaTableTree.groupBy != null && !schemaTableTree.groupBy.isEmpty()) ||
+                    !schemaTableTree.dbComparators.isEmpty() ||
+                    (schemaTableTree.sqlgRangeHolder != null && schemaTableTree.sqlgRangeHolder.isApplyOnDb()) ||
+                    schemaTableTree.sqlgDedupHolder != null ||
+                    schemaTableTree.sqlgPathFilterHolder != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int getRootAliasCounter() {
+        Preconditions.checkState(this.parent == null, "The alias counter is only kept on the root object");
+        return this.rootAliasCounter;
+    }
+
+    void setRootAliasCounter(int rootAliasCounter) {
+        Preconditions.checkState(this.parent == null, "The alias counter is only kept on the root object");
+        this.rootAliasCounter = rootAliasCounter;
+    }
+
     /**
      * Construct a sql statement for one original path to a leaf node.
      * As the path contains the same label more than once it's been split into a List of Stacks.
@@ -859,12 +937,67 @@ public class SchemaTableTree {
             }
             lastOfPrevious = subQueryLinkedList.getLast();
         }
+        singlePathSql.append(constructOuterPathFilterClause(subQueryLinkedLists));
         singlePathSql.append(constructOuterGroupByClause(sqlgGraph, subQueryLinkedLists, isDrop()));
         singlePathSql.append(constructOuterOrderByClause(subQueryLinkedLists));
         String result = "SELECT\n\t" + constructOuterFromClause(subQueryLinkedLists);
         return result + singlePathSql;
     }
 
+    /**
+     * simplePath() and cyclicPath() compare the path's elements of the same label on their ids.
+     * The path's elements are the labeled SchemaTableTrees, a label only occurs more than once if the path is split into
+     * sub queries so the comparison is on the outer select's aliases.
+     */
+    private String constructOuterPathFilterClause(List<LinkedList<SchemaTableTree>> subQueryLinkedLists) {
+        SqlgPathFilterHolder pathFilterHolder = subQueryLinkedLists.get(subQueryLinkedLists.size() - 1).getLast().sqlgPathFilterHolder;
+        if (pathFilterHolder == null) {
+            return "";
+        }
+        List<Pair<String, SchemaTableTree>> pathElements = new ArrayList<>();
+        int count = 1;
+        for (LinkedList<SchemaTableTree> subQueryLinkedList : subQueryLinkedLists) {
+            for (SchemaTableTree schemaTableTree : subQueryLinkedList) {
+                if (schemaTableTree.hasLabels()) {
+                    pathElements.add(Pair.of("a" + count, schemaTableTree));
+                }
+            }
+            count++;
+        }
+        List<String> conditions = new ArrayList<>();
+        for (int i = 0; i < pathElements.size(); i++) {
+            for (int j = i + 1; j < pathElements.size(); j++) {
+                Pair<String, SchemaTableTree> first = pathElements.get(i);
+                Pair<String, SchemaTableTree> second = pathElements.get(j);
+                if (first.getRight().getSchemaTable().equals(second.getRight().getSchemaTable())) {
+                    conditions.add(toPathFilterCondition(pathFilterHolder.isSimple(), first.getLeft(), first.getRight(), second.getLeft(), second.getRight()));
+                }
+            }
+        }
+        if (pathFilterHolder.isSimple()) {
+            return conditions.isEmpty() ? "" : "\nWHERE\n\t" + String.join(" AND ", conditions);
+        } else {
+            //no label occurs more than once, there are no cycles.
+            return conditions.isEmpty() ? "\nWHERE\n\t1 = 0" : "\nWHERE\n\t(" + String.join(" OR ", conditions) + ")";
+        }
+    }
+
+    private String toPathFilterCondition(boolean simple, String alias, SchemaTableTree schemaTableTree, String otherAlias, SchemaTableTree otherSchemaTableTree) {
+        SqlDialect sqlDialect = this.sqlgGraph.getSqlDialect();
+        if (schemaTableTree.hasIDPrimaryKey) {
+            return alias + "." + sqlDialect.maybeWrapInQoutes(schemaTableTree.getColumnNameAliasMap().get(schemaTableTree.labeledAliasId())) +
+                    (simple ? " <> " : " = ") +
+                    otherAlias + "." + sqlDialect.maybeWrapInQoutes(otherSchemaTableTree.getColumnNameAliasMap().get(otherSchemaTableTree.labeledAliasId()));
+        } else {
+            //a simple path differs on any identifier, a cyclic path is equal on all identifiers.
+            return schemaTableTree.getIdentifiers().stream()
+                    .map(identifier -> alias + "." + sqlDialect.maybeWrapInQoutes(schemaTableTree.lastMappedAliasIdentifier(identifier)) +
+                            (simple ? " <> " : " = ") +
+                            otherAlias + "." + sqlDialect.maybeWrapInQoutes(otherSchemaTableTree.lastMappedAliasIdentifier(identifier)))
+                    .collect(Collectors.joining(simple ? " OR " : " AND ", "(", ")"));
+        }
+    }
+
     private String constructOuterFromClause(List<LinkedList<SchemaTableTree>> subQueryLinkedLists) {
         StringBuilder result = new StringBuilder();
         int countOuter = 1;
@@ -940,6 +1073,16 @@ public class SchemaTableTree {
         SchemaTableTree firstSchemaTableTree = distinctQueryStack.getFirst();
         SchemaTable firstSchemaTable = firstSchemaTableTree.getSchemaTable();
 
+        //a dedup on the leaf element, only for queries that have no incoming traversers to keep apart.
+        boolean distinctOn = !partOfDuplicateQuery &&
+                !dropStep &&
+                firstSchemaTableTree.stepType == STEP_TYPE.GRAPH_STEP &&
+                distinctQueryStack.getLast().sqlgDedupHolder != null &&
+                this.sqlgGraph.getSqlDialect().supportsDistinctOn();
+        if (distinctOn) {
+            singlePathSql.append(distinctQueryStack.getLast().toDistinctOnClause());
+        }
+
         //The SqlgVertexStep's incoming/parent element index and ids
         //dropStep must not have the index as it uses 'delete from where in (select...)' or 'WITH (SELECT) DELETE...'
         //the first column in the select must be the ID.
@@ -1215,6 +1358,12 @@ public class SchemaTableTree {
         for (SchemaTableTree schemaTableTree : leftJoinOn) {
             singlePathSql.append(schemaTableTree.toOptionalLeftJoinWhereClause(mutableWhere));
         }
+        //a path without a label more than once has no cycles, if partOfDuplicateQuery the path is filtered on the outer select.
+        if (!partOfDuplicateQuery && !dropStep && distinctQueryStack.getLast().sqlgPathFilterHolder != null && !distinctQueryStack.getLast().sqlgPathFilterHolder.isSimple()) {
+            singlePathSql.append(mutableWhere.booleanValue() ? " AND " : "\nWHERE\n\t");
+            singlePathSql.append("1 = 0");
+            mutableWhere.setTrue();
+        }
 
         //if partOfDuplicateQuery then the order by clause is on the outer select
         if (!partOfDuplicateQuery) {
@@ -1239,6 +1388,13 @@ public class SchemaTableTree {
                 singlePathSql.append(this.sqlgGraph.getSqlDialect().maybeWrapInQoutes("index"));
             }
 
+            //DISTINCT ON requires the ORDER BY to start with its expressions, so the distinct rows are ordered in an outer select.
+            if (distinctOn && distinctQueryStack.stream().anyMatch(t -> !t.dbComparators.isEmpty())) {
+                singlePathSql.insert(0, "\nSELECT * FROM (");
+                singlePathSql.append("\n) AS ");
+                singlePathSql.append(this.sqlgGraph.getSqlDialect().maybeWrapInQoutes("distinct"));
+            }
+
             if (!dropStep && lastOfPrevious == null && distinctQueryStack.getFirst().stepType != STEP_TYPE.GRAPH_STEP) {
                 singlePathSql.append("\nORDER BY\n\t");
                 singlePathSql.append(this.sqlgGraph.getSqlDialect().maybeWrapInQoutes("index"));
@@ -1256,14 +1412,22 @@ public class SchemaTableTree {
         return singlePathSql.toString();
     }
 
+    /**
+     * @return true if a bulk within/without needs to join onto a VALUES expression.
+     * Bulk within/without bound as an array parameter are part of the where clause.
+     */
     public boolean hasBulkWithinOrOut() {
-        return this.hasContainers.stream().anyMatch(h -> SqlgUtil.isBulkWithinAndOut(sqlgGraph, h));
+        return this.hasContainers.stream().anyMatch(this::isBulkWithinOrOutJoin);
+    }
+
+    private boolean isBulkWithinOrOutJoin(HasContainer hasContainer) {
+        return SqlgUtil.isBulkWithinAndOut(this.sqlgGraph, hasContainer) && !SqlgUtil.isBulkWithinAndOutArrayParameter(this.sqlgGraph, this, hasContainer);
     }
 
     @SuppressWarnings("unchecked")
     private String bulkWithJoin() {
         StringBuilder sb = new StringBuilder();
-        List<HasContainer> bulkHasContainers = this.hasContainers.stream().filter(h -> SqlgUtil.isBulkWithinAndOut(this.sqlgGraph, h)).toList();
+        List<HasContainer> bulkHasContainers = this.hasContainers.stream().filter(this::isBulkWithinOrOutJoin).toList();
         Map<String, PropertyDefinition> propertyDefinitionMap = this.filteredAllTables.get(toString());
         for (HasContainer hasContainer : bulkHasContainers) {
             P<List<Object>> predicate = (P<List<Object>>) hasContainer.getPredicate();
@@ -1492,7 +1656,7 @@ public class SchemaTableTree {
         final StringBuilder result = new StringBuilder();
         if (sqlgGraph.getSqlDialect().supportsBulkWithinOut()) {
             for (HasContainer hasContainer : this.hasContainers) {
-                if (!SqlgUtil.isBulkWithin(sqlgGraph, hasContainer)) {
+                if (!SqlgUtil.isBulkWithin(sqlgGraph, hasContainer) || SqlgUtil.isBulkWithinAndOutArrayParameter(sqlgGraph, this, hasContainer)) {
                     if (!printedWhere.booleanValue()) {
                         printedWhere.setTrue();
                         result.append("\nWHERE\n\t(");
@@ -1674,6 +1838,23 @@ public class SchemaTableTree {
         return result.toString();
     }
 
+    private String toDistinctOnClause() {
+        StringBuilder result = new StringBuilder("DISTINCT ON (");
+        String table = this.sqlgGraph.getSqlDialect().maybeWrapInQoutes(this.schemaTable.getSchema()) + "." +
+                this.sqlgGraph.getSqlDialect().maybeWrapInQoutes(this.schemaTable.getTable()) + ".";
+        if (this.sqlgDedupHolder.hasKey()) {
+            result.append(table).append(this.sqlgGraph.getSqlDialect().maybeWrapInQoutes(this.sqlgDedupHolder.getKey()));
+        } else if (this.hasIDPrimaryKey) {
+            result.append(table).append(this.sqlgGraph.getSqlDialect().maybeWrapInQoutes(Topology.ID));
+        } else {
+            result.append(this.identifiers.stream()
+                    .map(identifier -> table + this.sqlgGraph.getSqlDialect().maybeWrapInQoutes(identifier))
+                    .collect(Collectors.joining(", ")));
+        }
+        result.append(")\n\t");
+        return result.toString();
+    }
+
     private String toRangeClause(MutableBoolean mutableOrderBy) {
         if (this.sqlgRangeHolder != null && this.sqlgRangeHolder.isApplyOnDb()) {
             if (this.sqlgRangeHolder.hasRange()) {
@@ -2685,6 +2866,16 @@ public class SchemaTableTree {
         }
     }
 
+    /**
+     * The number of '?' a within/without generates, or -1 if the values are bound as one array parameter.
+     */
+    private int containsParameterShape(HasContainer hasContainer) {
+        if (SqlgUtil.isBulkWithinAndOutArrayParameter(this.sqlgGraph, this, hasContainer)) {
+            return -1;
+        }
+        return ((Collection<?>) hasContainer.getPredicate().getValue()).size();
+    }
+
     private int internalHashCode() {
         int hasContainerHashCode = 1;
         for (HasContainer hasContainer : this.hasContainers) {
@@ -2694,8 +2885,7 @@ public class SchemaTableTree {
             BiPredicate<?, ?> biPredicate = predicate.getBiPredicate();
             if (biPredicate == Contains.within || biPredicate == Contains.without) {
                 //this logic is because of generating '?' for the parameters in the sql
-                Collection<?> values = (Collection<?>) predicate.getValue();
-                hasContainerHashCode = 31 * hasContainerHashCode + values.size();
+                hasContainerHashCode = 31 * hasContainerHashCode + containsParameterShape(hasContainer);
             }
             hasContainerHashCode = 31 * hasContainerHashCode + biPredicate.hashCode();
         }
@@ -2709,6 +2899,8 @@ public class SchemaTableTree {
                 this.sqlgComparatorHolder,
                 this.dbComparators,
                 this.sqlgRangeHolder,
+                this.sqlgDedupHolder,
+                this.sqlgPathFilterHolder,
                 this.stepType,
                 this.emit,
                 this.untilFirst,
@@ -2746,6 +2938,9 @@ public class SchemaTableTree {
                 BiPredicate<?, ?> biPredicate = hasContainer.getPredicate().getBiPredicate();
                 BiPredicate<?, ?> otherBiPredicate = otherHasContainer.getPredicate().getBiPredicate();
                 hasContainerEquals = key.equals(otherKey) && biPredicate.equals(otherBiPredicate);
+                if (hasContainerEquals && (biPredicate == Contains.within || biPredicate == Contains.without)) {
+                    hasContainerEquals = containsParameterShape(hasContainer) == other.containsParameterShape(otherHasContainer);
+                }
                 if (!hasContainerEquals) {
                     break;
                 }
@@ -2760,6 +2955,8 @@ public class SchemaTableTree {
                 Objects.equals(this.sqlgComparatorHolder, other.sqlgComparatorHolder) &&
                 Objects.equals(this.dbComparators, other.dbComparators) &&
                 Objects.equals(this.sqlgRangeHolder, other.sqlgRangeHolder) &&
+                Objects.equals(this.sqlgDedupHolder, other.sqlgDedupHolder) &&
+                Objects.equals(this.sqlgPathFilterHolder, other.sqlgPathFilterHolder) &&
                 Objects.equals(this.stepType, other.stepType) &&
                 Objects.equals(this.emit, other.emit) &&
                 Objects.equals(this.untilFirst, other.untilFirst) &&
@@ -2820,74 +3017,32 @@ public class SchemaTableTree {
     }
 
     public void loadProperty(ResultSet resultSet, SqlgElement sqlgElement) throws SQLException {
-        for (ColumnList columnList : this.getRootColumnListStack()) {
-            LinkedHashMap<ColumnList.Column, String> columns = columnList.getFor(this.stepDepth, this.schemaTable);
-            for (ColumnList.Column column : columns.keySet()) {
-                if (!column.getColumn().equals("index") && !column.isID() && !column.isForeignKey()) {
-                    String propertyName = column.getColumn();
-                    PropertyDefinition propertyDefinition = column.getPropertyDefinition();
-                    boolean settedProperty;
-                    if (column.getAggregateFunction() != null && column.getAggregateFunction().equalsIgnoreCase("avg")) {
-                        settedProperty = sqlgElement.loadProperty(
-                                resultSet,
-                                propertyName,
-                                column.getColumnIndex() - 1,
-                                getColumnNameAliasMap(),
-                                this.stepDepth,
-                                PropertyDefinition.of(PropertyType.DOUBLE),
-                                true);
-
-                    } else if (column.getAggregateFunction() != null && column.getAggregateFunction().equalsIgnoreCase("sum")) {
-                        PropertyDefinition becomes;
-                        if (column.getPropertyDefinition().propertyType() == PropertyType.INTEGER || column.getPropertyDefinition().propertyType() == PropertyType.SHORT) {
-                            becomes = PropertyDefinition.of(PropertyType.LONG);
-                        } else {
-                            becomes = column.getPropertyDefinition();
-                        }
-                        settedProperty = sqlgElement.loadProperty(
-                                resultSet,
-                                propertyName,
-                                column.getColumnIndex(),
-                                getColumnNameAliasMap(),
-                                this.stepDepth,
-                                becomes
-                        );
-                    } else if (column.getAggregateFunction() != null && column.getAggregateFunction().equals(GraphTraversal.Symbols.count)) {
-                        PropertyDefinition becomes = PropertyDefinition.of(PropertyType.LONG);
-                        settedProperty = sqlgElement.loadProperty(
-                                resultSet,
-                                propertyName,
-                                column.getColumnIndex(),
-                                getColumnNameAliasMap(),
-                                this.stepDepth,
-                                becomes
-                        );
-                    } else if (column.getAggregateFunction() != null) {
-                        settedProperty = sqlgElement.loadProperty(
-                                resultSet,
-                                propertyName,
-                                column.getColumnIndex(),
-                                getColumnNameAliasMap(),
-                                this.stepDepth,
-                                propertyDefinition
-                        );
-                    } else {
-                        settedProperty = sqlgElement.loadProperty(
-                                resultSet,
-                                propertyName,
-                                column.getColumnIndex(),
-                                getColumnNameAliasMap(),
-                                this.stepDepth,
-                                propertyDefinition
-                        );
-                    }
-                    //Check if the query returned anything at all, if not default the aggregate result
-                    if (!settedProperty && column.getAggregateFunction() != null) {
-                        sqlgElement.internalSetProperty(propertyName, Double.NaN);
-                    }
-                }
-            }
+        rowDecoder(resultSet).loadProperties(resultSet, sqlgElement);
+    }
+
+    /**
+     * @return The row decoder compiled for the result set, it is recompiled when the result set changes.
+     */
+    private RowDecoder rowDecoder(ResultSet resultSet) {
+        RowDecoder result = this.rowDecoder;
+        if (result == null || !result.isFor(resultSet)) {
+            result = RowDecoder.compile(this.sqlgGraph, resultSet, this, this.getRootColumnListStack());
+            this.rowDecoder = result;
         }
+        return result;
+    }
+
+    /**
+     * @return The id of the element in the current row.
+     */
+    public long loadId(Map<String, Integer> idColumnCountMap, ResultSet resultSet) throws SQLException {
+        RowDecoder rowDecoder = rowDecoder(resultSet);
+        int idColumn = rowDecoder.getIdColumn();
+        if (idColumn == -1) {
+            idColumn = idColumnCountMap.get(labeledAliasId());
+            rowDecoder.setIdColumn(idColumn);
+        }
+        return resultSet.getLong(idColumn);
     }
 
     public void loadEdgeInOutVertices(ResultSet resultSet, SqlgEdge sqlgEdge) throws SQLException {
@@ -2917,11 +3072,19 @@ public class SchemaTableTree {
     }
 
     public List<Comparable> loadIdentifierObjects(Map<String, Integer> idColumnCountMap, ResultSet resultSet) throws SQLException {
-        List<Comparable> identifierObjects = new ArrayList<>();
-        for (String identifier : this.identifiers) {
-            String labelledAliasIdentifier = labeledAliasIdentifier(identifier);
-            Integer count = idColumnCountMap.get(labelledAliasIdentifier);
-            identifierObjects.add((Comparable) resultSet.getObject(count));
+        RowDecoder rowDecoder = rowDecoder(resultSet);
+        int[] identifierColumns = rowDecoder.getIdentifierColumns();
+        if (identifierColumns == null) {
+            identifierColumns = new int[this.identifiers.size()];
+            int i = 0;
+            for (String identifier : this.identifiers) {
+                identifierColumns[i++] = idColumnCountMap.get(labeledAliasIdentifier(identifier));
+            }
+            rowDecoder.setIdentifierColumns(identifierColumns);
+        }
+        List<Comparable> identifierObjects = new ArrayList<>(identifierColumns.length);
+        for (int identifierColumn : identifierColumns) {
+            identifierObjects.add((Comparable) resultSet.getObject(identifierColumn));
         }
         return identifierObjects;
     }
@@ -3017,6 +3180,14 @@ public class SchemaTableTree {
         this.restrictedProperties = restrictedColumns;
     }
 
+    public void setSqlgDedupHolder(SqlgDedupHolder sqlgDedupHolder) {
+        this.sqlgDedupHolder = sqlgDedupHolder;
+    }
+
+    public void setSqlgPathFilterHolder(SqlgPathFilterHolder sqlgPathFilterHolder) {
+        this.sqlgPathFilterHolder = sqlgPathFilterHolder;
+    }
+
     /**
      * should we select the given property?
      *
@@ -3044,6 +3215,13 @@ public class SchemaTableTree {
         }
     }
 
+    /**
+     * @return true if every property of the element is part of the select clause, i.e. the loaded element is complete.
+     */
+    public boolean selectsAllProperties() {
+        return !hasAggregateFunction() && (this.restrictedProperties == null || getRoot().eagerLoad);
+    }
+
     /**
      * calculate property restrictions from explicit restrictions and required properties
      */
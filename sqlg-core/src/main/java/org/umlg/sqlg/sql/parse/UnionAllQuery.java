@@ -0,0 +1,190 @@
+package org.umlg.sqlg.sql.parse;
+
+import com.google.common.base.Preconditions;
+import org.umlg.sqlg.sql.dialect.SqlDialect;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.structure.topology.Topology;
+
+import java.util.*;
+
+/**
+ * Executes the distinct queries of a traversal that fans out over many labels as one UNION ALL statement instead of
+ * a statement per query.
+ * <p>
+ * Every branch selects its own columns and typed NULLs for the columns of the other branches. The first column is the
+ * branch's index, the row is read with the branch's {@link SchemaTableTree}s. A union therefore selects the columns of
+ * all its branches, it takes no more branches than fit in {@link SqlDialect#getMaximumSelectColumns()}.
+ * Every branch keeps its own {@link AliasMapHolder} and its aliases are unique across the union. The branch's holder
+ * is set on its root {@link SchemaTableTree} before reading its rows, see {@link #activate(int)}.
+ * <p>
+ * Date: 2026/10/18
+ */
+public class UnionAllQuery {
+
+    public static final String UNION_INDEX = "sqlg_union";
+
+    private final SqlgGraph sqlgGraph;
+    private final List<Branch> branches = new ArrayList<>();
+    //the aliases are numbered on across the branches.
+    private int aliasCounter = 1;
+    //the branch index column and the columns of every branch
+    private int columnCount = 1;
+
+    private static final class Branch {
+        private final SchemaTableTree rootSchemaTableTree;
+        private final LinkedList<SchemaTableTree> distinctQueryStack;
+        private final List<LinkedList<SchemaTableTree>> subQueryStacks;
+        private AliasMapHolder aliasMapHolder;
+        private ColumnList columnList;
+        private List<String> sqlTypes;
+        private String sql;
+        private final Map<String, Integer> idColumnCountMap = new HashMap<>();
+
+        private Branch(SchemaTableTree rootSchemaTableTree, LinkedList<SchemaTableTree> distinctQueryStack) {
+            this.rootSchemaTableTree = rootSchemaTableTree;
+            this.distinctQueryStack = distinctQueryStack;
+            this.subQueryStacks = SchemaTableTree.splitIntoSubStacks(distinctQueryStack);
+        }
+    }
+
+    public UnionAllQuery(SqlgGraph sqlgGraph) {
+        this.sqlgGraph = sqlgGraph;
+    }
+
+    /**
+     * Constructs the branch's select with its own alias map. Every branch adds all its columns to every select of the
+     * union, the first branch is always added, the others only if the union stays within the dialect's
+     * {@link SqlDialect#getMaximumSelectColumns()}.
+     *
+     * @return false if the branch was not added as the union would select too many columns.
+     */
+    public boolean add(SchemaTableTree rootSchemaTableTree, LinkedList<SchemaTableTree> distinctQueryStack) {
+        Preconditions.checkState(rootSchemaTableTree.isUnionAllBranch(distinctQueryStack));
+        Branch branch = new Branch(rootSchemaTableTree, distinctQueryStack);
+        branch.aliasMapHolder = new AliasMapHolder();
+        branch.rootSchemaTableTree.setAliasMapHolder(branch.aliasMapHolder);
+        branch.rootSchemaTableTree.setRootAliasCounter(this.aliasCounter);
+        branch.sql = branch.rootSchemaTableTree.constructSql(branch.distinctQueryStack);
+        List<ColumnList> columnListStack = branch.aliasMapHolder.getColumnListStack();
+        Preconditions.checkState(columnListStack.size() == 1, "A union branch must have one select clause");
+        branch.columnList = columnListStack.get(0);
+        branch.sqlTypes = branch.columnList.toSqlTypes();
+        if (!this.branches.isEmpty() && this.columnCount + branch.sqlTypes.size() > this.sqlgGraph.getSqlDialect().getMaximumSelectColumns()) {
+            return false;
+        }
+        this.aliasCounter = branch.rootSchemaTableTree.getRootAliasCounter();
+        this.columnCount += branch.sqlTypes.size();
+        this.branches.add(branch);
+        return true;
+    }
+
+    public int size() {
+        return this.branches.size();
+    }
+
+    public String constructSql() {
+        //the branch index is the first column
+        int columnIndex = 2;
+        for (Branch branch : this.branches) {
+            branch.columnList.indexColumns(columnIndex);
+            columnIndex += branch.sqlTypes.size();
+            populateIdColumnCountMap(branch);
+        }
+        SqlDialect sqlDialect = this.sqlgGraph.getSqlDialect();
+        StringBuilder sql = new StringBuilder();
+        for (int i = 0; i < this.branches.size(); i++) {
+            if (i > 0) {
+                sql.append("\nUNION ALL");
+            }
+            sql.append("\nSELECT\n\t");
+            sql.append(i);
+            sql.append(" AS ");
+            sql.append(sqlDialect.maybeWrapInQoutes(UNION_INDEX));
+            for (int j = 0; j < this.branches.size(); j++) {
+                Branch branch = this.branches.get(j);
+                int count = 0;
+                for (String alias : branch.columnList.getColumns().values()) {
+                    sql.append(",\n\t");
+                    if (i == j) {
+                        sql.append(sqlDialect.maybeWrapInQoutes("u"));
+                        sql.append(".");
+                        sql.append(sqlDialect.maybeWrapInQoutes(alias));
+                    } else {
+                        sql.append("CAST(NULL AS ");
+                        sql.append(branch.sqlTypes.get(count));
+                        sql.append(")");
+                    }
+                    sql.append(" AS ");
+                    sql.append(sqlDialect.maybeWrapInQoutes(alias));
+                    count++;
+                }
+            }
+            sql.append("\nFROM (");
+            sql.append(this.branches.get(i).sql);
+            sql.append("\n) AS ");
+            sql.append(sqlDialect.maybeWrapInQoutes("u"));
+        }
+        return sql.toString();
+    }
+
+    /**
+     * The parameters of the branches in the order of the branches.
+     */
+    public LinkedList<SchemaTableTree> getParameterStack() {
+        LinkedList<SchemaTableTree> result = new LinkedList<>();
+        for (Branch branch : this.branches) {
+            result.addAll(branch.distinctQueryStack);
+        }
+        return result;
+    }
+
+    /**
+     * Sets the branch's alias map on its root {@link SchemaTableTree}, the branch's rows are read with it.
+     */
+    public void activate(int branchIndex) {
+        Branch branch = this.branches.get(branchIndex);
+        branch.rootSchemaTableTree.setAliasMapHolder(branch.aliasMapHolder);
+    }
+
+    public List<LinkedList<SchemaTableTree>> getSubQueryStacks(int branchIndex) {
+        return this.branches.get(branchIndex).subQueryStacks;
+    }
+
+    public Map<String, Integer> getIdColumnCountMap(int branchIndex) {
+        return this.branches.get(branchIndex).idColumnCountMap;
+    }
+
+    /**
+     * Resets the alias maps of the roots, they are no longer needed once the union's rows are read.
+     */
+    public void close() {
+        for (Branch branch : this.branches) {
+            branch.rootSchemaTableTree.setAliasMapHolder(branch.aliasMapHolder);
+            branch.rootSchemaTableTree.resetColumnAliasMaps();
+        }
+    }
+
+    /**
+     * As {@link org.umlg.sqlg.util.SqlgUtil#loadResultSetIntoResultIterator} does from the result set's column labels,
+     * but from the branch's own columns.
+     */
+    private static void populateIdColumnCountMap(Branch branch) {
+        Set<String> identifiers = null;
+        if (branch.rootSchemaTableTree.isHasIdentifierPrimaryKeyInHierarchy()) {
+            identifiers = new HashSet<>();
+            for (String identifier : branch.rootSchemaTableTree.getAllIdentifiers()) {
+                identifiers.add(SchemaTableTree.ALIAS_SEPARATOR + identifier);
+            }
+        }
+        for (Map.Entry<ColumnList.Column, String> columnEntry : branch.columnList.getColumns().entrySet()) {
+            String alias = columnEntry.getValue();
+            String unAliased = branch.aliasMapHolder.getAliasColumnNameMap().get(alias);
+            String mapKey = unAliased != null ? unAliased : alias;
+            if (mapKey.endsWith(SchemaTableTree.ALIAS_SEPARATOR + Topology.ID) ||
+                    (identifiers != null && identifiers.stream().anyMatch(mapKey::endsWith))) {
+
+                branch.idColumnCountMap.put(mapKey, columnEntry.getKey().getColumnIndex());
+            }
+        }
+    }
+}
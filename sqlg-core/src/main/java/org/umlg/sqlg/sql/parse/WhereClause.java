@@ -4,6 +4,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.Multimap;
 import org.apache.tinkerpop.gremlin.process.traversal.Compare;
 import org.apache.tinkerpop.gremlin.process.traversal.Contains;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.util.AndP;
@@ -80,6 +81,15 @@ public class WhereClause {
                 result.append(compareToSql((Compare) p.getBiPredicate()));
             }
             return result.toString();
+        } else if (!isInAndOrHsContainer && SqlgUtil.isBulkWithinAndOutArrayParameter(sqlgGraph, schemaTableTree, hasContainer)) {
+            String column = prefix + "." + sqlgGraph.getSqlDialect().maybeWrapInQoutes(hasContainer.getKey().equals(T.id.getAccessor()) ? "ID" : hasContainer.getKey());
+            if (p.getBiPredicate() == Contains.within) {
+                result.append(column).append(" = ANY(?)");
+            } else {
+                //same as the 'LEFT JOIN ... IS NULL' of the VALUES join, nulls are not in the list.
+                result.append(column).append(" IS NULL OR ").append(column).append(" <> ALL(?)");
+            }
+            return result.toString();
         } else if ((!sqlgGraph.getSqlDialect().supportsBulkWithinOut() || (!SqlgUtil.isBulkWithinAndOut(sqlgGraph, hasContainer)) || isInAndOrHsContainer) &&
                 p.getBiPredicate() instanceof Contains) {
 
@@ -177,6 +187,18 @@ public class WhereClause {
             prefix += "." + sqlgGraph.getSqlDialect().maybeWrapInQoutes(hasContainer.getKey());
             result.append(sqlgGraph.getSqlDialect().getArrayOverlapsQueryText(prefix));
             return result.toString();
+        } else if (p.getBiPredicate() instanceof Keyset keyset) {
+            Preconditions.checkState(schemaTableTree.isHasIDPrimaryKey(), "Keyset pagination is only supported on labels with an ID primary key, %s", schemaTableTree.getSchemaTable());
+            String column = prefix + "." + sqlgGraph.getSqlDialect().maybeWrapInQoutes(hasContainer.getKey());
+            String id = prefix + "." + sqlgGraph.getSqlDialect().maybeWrapInQoutes("ID");
+            String compare = keyset.getOrder() == Order.asc ? " > " : " < ";
+            if (sqlgGraph.getSqlDialect().isMssqlServer()) {
+                //MSSqlServer does not support row value comparison
+                result.append("(").append(column).append(compare).append("? OR (").append(column).append(" = ? AND ").append(id).append(compare).append("?))");
+            } else {
+                result.append("(").append(column).append(", ").append(id).append(")").append(compare).append("(?, ?)");
+            }
+            return result.toString();
         }
         throw new IllegalStateException("Unhandled BiPredicate " + p.getBiPredicate().toString());
     }
@@ -371,6 +393,15 @@ public class WhereClause {
             keyValueMapAgain.put(propertyDefinition, hasContainer.getValue());
         } else if (this.p.getBiPredicate() instanceof Existence) {
             // no value
+        } else if (this.p.getBiPredicate() instanceof Keyset keyset) {
+            PropertyDefinition propertyDefinition = schemaTableTree.getPropertyDefinitions().get(hasContainer.getKey());
+            Objects.requireNonNull(propertyDefinition, "PropertyDefinition not found for " + hasContainer.getKey());
+            keyValueMapAgain.put(propertyDefinition, hasContainer.getValue());
+            if (schemaTableTree.getSqlgGraph().getSqlDialect().isMssqlServer()) {
+                keyValueMapAgain.put(propertyDefinition, hasContainer.getValue());
+            }
+            RecordId recordId = keyset.getLastId() instanceof RecordId r ? r : RecordId.from(keyset.getLastId());
+            keyValueMapAgain.put(PropertyDefinition.of(PropertyType.LONG), recordId.sequenceId());
         } else if (hasContainer.getKey().equals(T.id.getAccessor()) &&
                 hasContainer.getValue() instanceof RecordId recordId &&
                 !((RecordId) hasContainer.getValue()).hasSequenceId()) {
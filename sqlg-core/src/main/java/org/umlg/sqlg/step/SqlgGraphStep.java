@@ -9,11 +9,13 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.map.SackStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.umlg.sqlg.sql.parse.ReplacedStep;
 import org.umlg.sqlg.sql.parse.ReplacedStepTree;
 import org.umlg.sqlg.sql.parse.SchemaTableTree;
 import org.umlg.sqlg.strategy.Emit;
 import org.umlg.sqlg.strategy.SqlgComparatorHolder;
+import org.umlg.sqlg.strategy.SqlgDedupHolder;
 import org.umlg.sqlg.structure.SqlgCompiledResultIterator;
 import org.umlg.sqlg.structure.SqlgElement;
 import org.umlg.sqlg.structure.SqlgGraph;
@@ -46,6 +48,11 @@ public class SqlgGraphStep<S, E extends SqlgElement> extends GraphStep implement
     private long rangeCount = 0;
     private boolean eagerLoad = false;
     private boolean isForMultipleQueries = false;
+    /**
+     * 'DISTINCT ON' is per query, the step dedups if there is more than one query, or the query joins a label more than once.
+     */
+    private boolean dedupInStep = false;
+    private final Set<Object> dedupObjects = new HashSet<>();
 
     /**
      * This is a jippo of sorts.
@@ -69,7 +76,7 @@ public class SqlgGraphStep<S, E extends SqlgElement> extends GraphStep implement
             if (this.traversersLstIter != null && this.traversersLstIter.hasNext()) {
                 Emit<E> emit = this.traversersLstIter.next();
                 this.labels = emit.getLabels();
-                if (applyRange(emit)) {
+                if (applyDedup(emit) || applyRange(emit)) {
                     continue;
                 }
                 return emit.getTraverser();
@@ -84,7 +91,7 @@ public class SqlgGraphStep<S, E extends SqlgElement> extends GraphStep implement
             if (this.traversersLstIter != null && this.traversersLstIter.hasNext()) {
                 Emit<E> emit = this.traversersLstIter.next();
                 this.labels = emit.getLabels();
-                if (applyRange(emit)) {
+                if (applyDedup(emit) || applyRange(emit)) {
                     continue;
                 }
                 return emit.getTraverser();
@@ -97,6 +104,7 @@ public class SqlgGraphStep<S, E extends SqlgElement> extends GraphStep implement
                     }
                     this.done = true;
                 }
+                CloseableIterator.closeIterator(this.elementIter);
                 this.elementIter = elements();
                 if (this.eagerLoad) {
                     eagerLoad();
@@ -108,6 +116,16 @@ public class SqlgGraphStep<S, E extends SqlgElement> extends GraphStep implement
         }
     }
 
+    private boolean applyDedup(Emit<E> emit) {
+        if (this.lastReplacedStep.hasDedup() && this.lastReplacedStep.getSqlgDedupHolder().isApplyInStep() && this.lastReplacedStep.getDepth() == emit.getReplacedStepDepth()) {
+            SqlgDedupHolder sqlgDedupHolder = this.lastReplacedStep.getSqlgDedupHolder();
+            E element = emit.getElement();
+            Object dedupObject = sqlgDedupHolder.hasKey() ? element.value(sqlgDedupHolder.getKey()) : element;
+            return !this.dedupObjects.add(dedupObject);
+        }
+        return false;
+    }
+
     private boolean applyRange(Emit<E> emit) {
         if (this.lastReplacedStep.hasRange() && this.lastReplacedStep.applyInStep() && this.lastReplacedStep.getDepth() == emit.getReplacedStepDepth()) {
             if (this.lastReplacedStep.getSqlgRangeHolder().hasRange()) {
@@ -183,7 +201,16 @@ public class SqlgGraphStep<S, E extends SqlgElement> extends GraphStep implement
     @Override
     public void reset() {
         super.reset();
+        CloseableIterator.closeIterator(this.elementIter);
+        this.elementIter = null;
         this.previousHead = null;
+        this.dedupObjects.clear();
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        CloseableIterator.closeIterator(this.elementIter);
     }
 
     @Override
@@ -199,7 +226,7 @@ public class SqlgGraphStep<S, E extends SqlgElement> extends GraphStep implement
         Preconditions.checkState(this.replacedSteps.size() > 0, "There must be at least one replacedStep");
         Preconditions.checkState(this.replacedSteps.get(0).isGraphStep(), "The first step must a SqlgGraphStep");
         Set<SchemaTableTree> rootSchemaTableTrees = prepare();
-        return new SqlgCompiledResultIterator<>(this.sqlgGraph, rootSchemaTableTrees);
+        return new SqlgCompiledResultIterator<>(this.sqlgGraph, rootSchemaTableTrees, false, this);
     }
 
     private Set<SchemaTableTree> prepare() {
@@ -238,6 +265,16 @@ public class SqlgGraphStep<S, E extends SqlgElement> extends GraphStep implement
                 }
             }
         }
+        ReplacedStep<?, ?> lastReplacedStep = this.replacedSteps.get(this.replacedSteps.size() - 1);
+        if (lastReplacedStep.hasDedup()) {
+            boolean applyInStep = this.dedupInStep || !this.isStart;
+            lastReplacedStep.getSqlgDedupHolder().setApplyInStep(applyInStep);
+            //the range must follow the dedup in the step.
+            if (applyInStep && this.replacedStepTree.hasRange()) {
+                this.replacedStepTree.reset();
+                this.replacedStepTree.doNotApplyRangeOnDb();
+            }
+        }
         return rootSchemaTableTrees;
     }
 
@@ -263,6 +300,7 @@ public class SqlgGraphStep<S, E extends SqlgElement> extends GraphStep implement
 
     private Set<SchemaTableTree> parseForStrategy() {
         this.isForMultipleQueries = false;
+        this.dedupInStep = false;
         Preconditions.checkState(this.replacedSteps.size() > 0, "There must be at least one replacedStep");
         Preconditions.checkState(this.replacedSteps.get(0).isGraphStep(), "The first step must a SqlgGraphStep");
         Set<SchemaTableTree> rootSchemaTableTrees = this.sqlgGraph.getGremlinParser().parse(this.replacedStepTree);
@@ -280,8 +318,11 @@ public class SqlgGraphStep<S, E extends SqlgElement> extends GraphStep implement
                 //Regular
                 List<LinkedList<SchemaTableTree>> distinctQueries = rootSchemaTableTree.constructDistinctQueries();
                 this.isForMultipleQueries = distinctQueries.size() > 1;
+                this.dedupInStep = this.isForMultipleQueries ||
+                        (distinctQueries.size() == 1 && rootSchemaTableTree.duplicatesInStack(distinctQueries.get(0)));
             } else {
                 this.isForMultipleQueries = true;
+                this.dedupInStep = true;
             }
         }
         return rootSchemaTableTrees;
@@ -297,7 +297,7 @@ public class SqlgVertexStep<E extends SqlgElement> extends SqlgAbstractStep impl
         Set<SchemaTableTree> rootSchemaTableTrees = new HashSet<>();
         rootSchemaTableTrees.add(rootSchemaTableTree);
         rootSchemaTableTree.close();
-        return new SqlgCompiledResultListIterator<>(new SqlgCompiledResultIterator<>(this.sqlgGraph, rootSchemaTableTrees, true));
+        return new SqlgCompiledResultListIterator<>(new SqlgCompiledResultIterator<>(this.sqlgGraph, rootSchemaTableTrees, true, this));
     }
 
     @Override
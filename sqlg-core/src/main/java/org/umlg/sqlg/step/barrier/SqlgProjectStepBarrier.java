@@ -0,0 +1,231 @@
+package org.umlg.sqlg.step.barrier;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.ProjectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalProduct;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.umlg.sqlg.step.SqlgAbstractStep;
+import org.umlg.sqlg.step.SqlgVertexStep;
+import org.umlg.sqlg.structure.traverser.ISqlgTraverser;
+
+import java.util.*;
+
+/**
+ * Replaces {@link ProjectStep}. The by() traversals that start with a vertex step are executed once for all the
+ * incoming traversers, the {@link SqlgVertexStep} queries all the incoming elements together and its traversers keep
+ * the index of the incoming traverser they belong to. A fold() or count() at the end of such a by() traversal is
+ * applied per incoming traverser by the barrier.
+ * The other by() traversals are executed per traverser as {@link ProjectStep} does.
+ * <p>
+ * Date: 2026/10/18
+ */
+public class SqlgProjectStepBarrier<S, E> extends SqlgAbstractStep<S, Map<String, E>> implements TraversalParent {
+
+    public enum Reducer {
+        NONE,
+        FOLD,
+        COUNT
+    }
+
+    private final List<String> projectKeys;
+    private List<Traversal.Admin<S, E>> projectTraversals;
+    /**
+     * Per project traversal, null if the traversal is executed per traverser.
+     */
+    private final List<Reducer> reducers;
+    private final List<Traverser.Admin<Map<String, E>>> results = new ArrayList<>();
+    private Iterator<Traverser.Admin<Map<String, E>>> resultIterator;
+
+    public SqlgProjectStepBarrier(final Traversal.Admin traversal, List<String> projectKeys, List<Traversal.Admin<S, E>> projectTraversals, List<Reducer> reducers) {
+        super(traversal);
+        this.projectKeys = projectKeys;
+        this.projectTraversals = projectTraversals;
+        this.reducers = reducers;
+    }
+
+    @Override
+    public List<Traversal.Admin<S, E>> getLocalChildren() {
+        return Collections.unmodifiableList(this.projectTraversals);
+    }
+
+    @Override
+    public Set<TraverserRequirement> getRequirements() {
+        return this.getSelfAndChildRequirements();
+    }
+
+    @Override
+    protected Traverser.Admin<Map<String, E>> processNextStart() throws NoSuchElementException {
+        while (true) {
+            if (this.resultIterator != null && this.resultIterator.hasNext()) {
+                return this.resultIterator.next();
+            }
+            if (!this.starts.hasNext()) {
+                throw FastNoSuchElementException.instance();
+            }
+            project();
+        }
+    }
+
+    private void project() {
+        List<Traverser.Admin<S>> starts = new ArrayList<>();
+        while (this.starts.hasNext()) {
+            starts.add(this.starts.next());
+        }
+        List<Map<String, E>> projections = new ArrayList<>(starts.size());
+        for (int i = 0; i < starts.size(); i++) {
+            projections.add(new LinkedHashMap<>(this.projectKeys.size(), 1.0f));
+        }
+        for (int i = 0; i < this.projectKeys.size(); i++) {
+            String projectKey = this.projectKeys.get(i);
+            if (this.projectTraversals.isEmpty()) {
+                for (int j = 0; j < starts.size(); j++) {
+                    //noinspection unchecked
+                    projections.get(j).put(projectKey, (E) starts.get(j).get());
+                }
+                continue;
+            }
+            //the by() traversals are a ring as in ProjectStep, fewer by() than keys start over with the first.
+            int traversalIndex = i % this.projectTraversals.size();
+            Traversal.Admin<S, E> projectTraversal = this.projectTraversals.get(traversalIndex);
+            Reducer reducer = this.reducers.get(traversalIndex);
+            if (reducer == null) {
+                for (int j = 0; j < starts.size(); j++) {
+                    TraversalProduct product = TraversalUtil.produce(starts.get(j), projectTraversal);
+                    if (product.isProductive()) {
+                        //noinspection unchecked
+                        projections.get(j).put(projectKey, (E) product.get());
+                    }
+                }
+            } else {
+                List<List<Traverser.Admin<E>>> traversersPerStart = executeForAllStarts(projectTraversal, starts);
+                for (int j = 0; j < starts.size(); j++) {
+                    reduce(projections.get(j), projectKey, reducer, traversersPerStart.get(j));
+                }
+            }
+        }
+        this.results.clear();
+        for (int i = 0; i < starts.size(); i++) {
+            this.results.add(starts.get(i).split(projections.get(i), this));
+        }
+        this.resultIterator = this.results.iterator();
+    }
+
+    /**
+     * @return the traversers per incoming traverser, in the order of the incoming traversers.
+     */
+    private List<List<Traverser.Admin<E>>> executeForAllStarts(Traversal.Admin<S, E> projectTraversal, List<Traverser.Admin<S>> starts) {
+        List<List<Traverser.Admin<E>>> result = new ArrayList<>(starts.size());
+        for (int i = 0; i < starts.size(); i++) {
+            result.add(new ArrayList<>());
+        }
+        //equal starts would be merged by the SqlgVertexStep's incoming traverser set, losing the index of all but one of them.
+        boolean batch = projectTraversal.getStartStep() instanceof SqlgVertexStep &&
+                TraversalHelper.getStepsOfAssignableClassRecursively(SqlgVertexStep.class, projectTraversal).size() == 1 &&
+                starts.stream().allMatch(s -> s instanceof ISqlgTraverser) &&
+                new HashSet<>(starts).size() == starts.size();
+        if (batch) {
+            //the SqlgVertexStep's start index starts at 1 in the order the starts are added.
+            projectTraversal.reset();
+            for (Traverser.Admin<S> start : starts) {
+                projectTraversal.addStart(splitForChild(start, projectTraversal));
+            }
+            while (projectTraversal.hasNext()) {
+                Traverser.Admin<E> traverser = projectTraversal.nextTraverser();
+                long startIndex = ((ISqlgTraverser) traverser).getStartElementIndex();
+                result.get((int) startIndex - 1).add(traverser);
+            }
+        } else {
+            for (int i = 0; i < starts.size(); i++) {
+                projectTraversal.reset();
+                projectTraversal.addStart(splitForChild(starts.get(i), projectTraversal));
+                while (projectTraversal.hasNext()) {
+                    result.get(i).add(projectTraversal.nextTraverser());
+                }
+            }
+        }
+        return result;
+    }
+
+    private Traverser.Admin<S> splitForChild(Traverser.Admin<S> start, Traversal.Admin<S, E> projectTraversal) {
+        Traverser.Admin<S> split = start.split();
+        split.setSideEffects(projectTraversal.getSideEffects());
+        split.setBulk(1L);
+        return split;
+    }
+
+    private void reduce(Map<String, E> projection, String projectKey, Reducer reducer, List<Traverser.Admin<E>> traversers) {
+        switch (reducer) {
+            case NONE -> {
+                if (!traversers.isEmpty()) {
+                    projection.put(projectKey, traversers.get(0).get());
+                }
+            }
+            case FOLD -> {
+                List<E> fold = new ArrayList<>();
+                for (Traverser.Admin<E> traverser : traversers) {
+                    for (long i = 0; i < traverser.bulk(); i++) {
+                        fold.add(traverser.get());
+                    }
+                }
+                //noinspection unchecked
+                projection.put(projectKey, (E) fold);
+            }
+            case COUNT -> {
+                long count = 0;
+                for (Traverser.Admin<E> traverser : traversers) {
+                    count += traverser.bulk();
+                }
+                //noinspection unchecked
+                projection.put(projectKey, (E) Long.valueOf(count));
+            }
+        }
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.results.clear();
+        this.resultIterator = null;
+        for (Traversal.Admin<S, E> projectTraversal : this.projectTraversals) {
+            projectTraversal.reset();
+        }
+    }
+
+    @Override
+    public SqlgProjectStepBarrier<S, E> clone() {
+        final SqlgProjectStepBarrier<S, E> clone = (SqlgProjectStepBarrier<S, E>) super.clone();
+        clone.projectTraversals = new ArrayList<>();
+        for (Traversal.Admin<S, E> projectTraversal : this.projectTraversals) {
+            clone.projectTraversals.add(projectTraversal.clone());
+        }
+        return clone;
+    }
+
+    @Override
+    public void setTraversal(final Traversal.Admin<?, ?> parentTraversal) {
+        super.setTraversal(parentTraversal);
+        for (Traversal.Admin<S, E> projectTraversal : this.projectTraversals) {
+            this.integrateChild(projectTraversal);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.projectKeys, this.projectTraversals, this.reducers);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = super.hashCode() ^ this.projectKeys.hashCode();
+        for (Traversal.Admin<S, E> projectTraversal : this.projectTraversals) {
+            result ^= projectTraversal.hashCode();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,392 @@
+package org.umlg.sqlg.step.barrier;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.lambda.LoopTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.lambda.TrueTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.branch.RepeatStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.umlg.sqlg.sql.dialect.SqlDialect;
+import org.umlg.sqlg.step.SqlgAbstractStep;
+import org.umlg.sqlg.step.SqlgStep;
+import org.umlg.sqlg.structure.*;
+import org.umlg.sqlg.structure.topology.EdgeLabel;
+import org.umlg.sqlg.structure.topology.Schema;
+import org.umlg.sqlg.structure.topology.VertexLabel;
+import org.umlg.sqlg.util.SqlgUtil;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.function.BiPredicate;
+
+import static org.umlg.sqlg.structure.topology.Topology.*;
+
+/**
+ * Executes a homogeneous repeat, i.e. 'repeat(out("parent")).until(has("name", "root"))' where the edge label starts and ends
+ * on the same vertex label, as one 'WITH RECURSIVE' query instead of one query per level or a join per level.
+ * <p>
+ * Supported are a single out or in step on one edge label, 'times(n)' or an 'until' of has containers on the vertex label's
+ * properties and an optional 'emit()'. An 'until' recursion stops following a branch when it reaches a vertex already on its path.
+ * The path of the traversers is not kept, traversals that require the path are not compiled.
+ * <p>
+ * 'times(n)' is only compiled from 'repeat.recursive.times.threshold' (default 8) loops on, less loops are joined.
+ * 'repeat.recursive.enabled' (default true) switches the compilation off.
+ * <p>
+ * Date: 2026/10/18
+ */
+public class SqlgRecursiveRepeatStep<S> extends SqlgAbstractStep<S, S> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SqlgRecursiveRepeatStep.class);
+    private static final List<BiPredicate<?, ?>> SUPPORTED_UNTIL_PREDICATES = List.of(
+            Compare.eq, Compare.neq, Compare.lt, Compare.lte, Compare.gt, Compare.gte, Contains.within, Contains.without
+    );
+    private static final String REPEAT = "repeat";
+
+    private final SqlgGraph sqlgGraph;
+    private final VertexLabel vertexLabel;
+    private final EdgeLabel edgeLabel;
+    private final Direction direction;
+    private final int times;
+    private final List<HasContainer> untilHasContainers;
+    private final boolean untilFirst;
+    private final boolean emit;
+    private final boolean emitFirst;
+    private List<Traverser.Admin<S>> results = new ArrayList<>();
+    private Iterator<Traverser.Admin<S>> resultIterator = Collections.emptyIterator();
+
+    private SqlgRecursiveRepeatStep(
+            Traversal.Admin<?, ?> traversal,
+            SqlgGraph sqlgGraph,
+            RepeatStep<S> repeatStep,
+            VertexLabel vertexLabel,
+            EdgeLabel edgeLabel,
+            Direction direction) {
+
+        super(traversal);
+        this.sqlgGraph = sqlgGraph;
+        this.vertexLabel = vertexLabel;
+        this.edgeLabel = edgeLabel;
+        this.direction = direction;
+        if (repeatStep.getUntilTraversal() instanceof LoopTraversal<?> loopTraversal) {
+            this.times = (int) loopTraversal.getMaxLoops();
+            this.untilHasContainers = Collections.emptyList();
+        } else {
+            this.times = -1;
+            this.untilHasContainers = untilHasContainers(repeatStep.getUntilTraversal());
+        }
+        this.untilFirst = repeatStep.untilFirst;
+        this.emit = repeatStep.getEmitTraversal() != null;
+        this.emitFirst = repeatStep.emitFirst;
+        for (String label : repeatStep.getLabels()) {
+            addLabel(label);
+        }
+    }
+
+    /**
+     * @return the recursive step if the repeat step can be compiled to a recursive query, else empty.
+     */
+    public static <S> Optional<SqlgRecursiveRepeatStep<S>> from(Traversal.Admin<?, ?> traversal, SqlgGraph sqlgGraph, RepeatStep<S> repeatStep) {
+        SqlDialect sqlDialect = sqlgGraph.getSqlDialect();
+        if (!sqlDialect.supportsRecursiveRepeat() || !sqlgGraph.configuration().getBoolean("repeat.recursive.enabled", true) || !repeatStep.getClass().equals(RepeatStep.class)) {
+            return Optional.empty();
+        }
+        Traversal.Admin<?, ?> emitTraversal = repeatStep.getEmitTraversal();
+        if (emitTraversal != null && !(emitTraversal instanceof TrueTraversal)) {
+            return Optional.empty();
+        }
+        Traversal.Admin<?, ?> untilTraversal = repeatStep.getUntilTraversal();
+        if (untilTraversal instanceof LoopTraversal<?> loopTraversal) {
+            if (loopTraversal.getMaxLoops() < sqlgGraph.configuration().getInt("repeat.recursive.times.threshold", 8)) {
+                return Optional.empty();
+            }
+        } else if (untilTraversal == null || untilTraversal.getSteps().size() != 1 || !(untilTraversal.getStartStep() instanceof HasContainerHolder)) {
+            return Optional.empty();
+        }
+        List<Step> repeatSteps = repeatStep.getRepeatTraversal().getSteps();
+        if (repeatSteps.size() != 2 || !(repeatSteps.get(0) instanceof VertexStep<?> vertexStep) || !(repeatSteps.get(1) instanceof RepeatStep.RepeatEndStep)) {
+            return Optional.empty();
+        }
+        if (!vertexStep.returnsVertex() || vertexStep.getDirection() == Direction.BOTH || vertexStep.getEdgeLabels().length != 1 || !vertexStep.getLabels().isEmpty()) {
+            return Optional.empty();
+        }
+        //The traversers only keep the vertices the repeat ends on, not the path to them.
+        //Sqlg's own steps always declare the path requirement, only steps that consume the path matter.
+        Traversal.Admin<?, ?> root = TraversalHelper.getRootTraversal(traversal);
+        if (TraversalHelper.anyStepRecursively(s -> !(s instanceof SqlgStep) && !(s instanceof SqlgAbstractStep) &&
+                (s.getRequirements().contains(TraverserRequirement.PATH) || s.getRequirements().contains(TraverserRequirement.LABELED_PATH)), root)) {
+            return Optional.empty();
+        }
+        EdgeLabel edgeLabel = null;
+        for (Schema schema : sqlgGraph.getTopology().getSchemas()) {
+            Optional<EdgeLabel> edgeLabelOptional = schema.getEdgeLabel(vertexStep.getEdgeLabels()[0]);
+            if (edgeLabelOptional.isPresent()) {
+                if (edgeLabel != null) {
+                    return Optional.empty();
+                }
+                edgeLabel = edgeLabelOptional.get();
+            }
+        }
+        if (edgeLabel == null || edgeLabel.getOutVertexLabels().size() != 1 || !edgeLabel.getOutVertexLabels().equals(edgeLabel.getInVertexLabels())) {
+            return Optional.empty();
+        }
+        VertexLabel vertexLabel = edgeLabel.getOutVertexLabels().iterator().next();
+        if (!vertexLabel.hasIDPrimaryKey() || !edgeLabel.hasIDPrimaryKey()) {
+            return Optional.empty();
+        }
+        List<HasContainer> untilHasContainers = untilTraversal instanceof LoopTraversal ? Collections.emptyList() : untilHasContainers(untilTraversal);
+        for (HasContainer hasContainer : untilHasContainers) {
+            if (!SUPPORTED_UNTIL_PREDICATES.contains(hasContainer.getBiPredicate()) || vertexLabel.getProperty(hasContainer.getKey()).isEmpty() ||
+                    hasContainer.getValue() == null || (hasContainer.getValue() instanceof Collection<?> values && (values.isEmpty() || values.contains(null)))) {
+                return Optional.empty();
+            }
+            //the until condition compares one column, properties stored in more than one column and arrays are not compiled.
+            PropertyType propertyType = vertexLabel.getProperty(hasContainer.getKey()).get().getPropertyType();
+            if (propertyType.getPostFixes().length > 0 || propertyType.isArray()) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(new SqlgRecursiveRepeatStep<>(traversal, sqlgGraph, repeatStep, vertexLabel, edgeLabel, vertexStep.getDirection()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<HasContainer> untilHasContainers(Traversal.Admin<?, ?> untilTraversal) {
+        return ((HasContainerHolder) untilTraversal.getStartStep()).getHasContainers();
+    }
+
+    @Override
+    protected Traverser.Admin<S> processNextStart() throws NoSuchElementException {
+        while (true) {
+            if (this.resultIterator.hasNext()) {
+                return this.resultIterator.next();
+            }
+            if (!this.starts.hasNext()) {
+                throw FastNoSuchElementException.instance();
+            }
+            this.results.clear();
+            ListMultimap<Long, Traverser.Admin<S>> seeds = ArrayListMultimap.create();
+            while (this.starts.hasNext()) {
+                Traverser.Admin<S> start = this.starts.next();
+                SqlgVertex sqlgVertex = (SqlgVertex) start.get();
+                if (this.untilFirst && !this.untilHasContainers.isEmpty() && HasContainer.testAll(sqlgVertex, this.untilHasContainers)) {
+                    this.results.add(start);
+                    continue;
+                }
+                if (this.emit && this.emitFirst) {
+                    this.results.add(start.split());
+                }
+                //only vertices of the label have edges of the edge label.
+                RecordId recordId = (RecordId) sqlgVertex.id();
+                if (recordId.getSchemaTable().equals(SchemaTable.of(this.vertexLabel.getSchema().getName(), this.vertexLabel.getName()))) {
+                    seeds.put(recordId.sequenceId(), start);
+                }
+            }
+            if (!seeds.isEmpty()) {
+                executeRecursiveQuery(seeds);
+            }
+            this.resultIterator = this.results.iterator();
+        }
+    }
+
+    private void executeRecursiveQuery(ListMultimap<Long, Traverser.Admin<S>> seeds) {
+        if (this.sqlgGraph.tx().isInBatchMode()) {
+            //the query reads the label's vertices and edges, the steps before it only flushed the tables they read.
+            this.sqlgGraph.tx().flush(Set.of(
+                    SchemaTable.of(this.vertexLabel.getSchema().getName(), VERTEX_PREFIX + this.vertexLabel.getName()),
+                    SchemaTable.of(this.edgeLabel.getSchema().getName(), EDGE_PREFIX + this.edgeLabel.getName())
+            ), false);
+        }
+        String sql = recursiveSql();
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(sql);
+        }
+        ConnectionStatementCache statementCache = this.sqlgGraph.tx().getStatementCache();
+        ElementIdentityMap identityMap = this.sqlgGraph.tx().getIdentityMap();
+        LazyPropertyLoader lazyPropertyLoader = this.sqlgGraph.tx().getLazyPropertyLoader();
+        QueryProbe queryProbe = QueryProbe.start(this.sqlgGraph, this);
+        try {
+            PreparedStatement preparedStatement = statementCache.prepare(sql);
+            try {
+                int parameterIndex = 1;
+                Array array = preparedStatement.getConnection().createArrayOf(
+                        this.sqlgGraph.getSqlDialect().getArrayDriverType(PropertyType.LONG_ARRAY),
+                        seeds.keySet().toArray(new Long[0])
+                );
+                preparedStatement.setArray(parameterIndex++, array);
+                for (HasContainer hasContainer : this.untilHasContainers) {
+                    PropertyDefinition propertyDefinition = this.vertexLabel.getProperty(hasContainer.getKey()).orElseThrow().getPropertyDefinition();
+                    if (hasContainer.getValue() instanceof Collection<?> values) {
+                        for (Object value : values) {
+                            parameterIndex = SqlgUtil.setKeyValueAsParameter(this.sqlgGraph, false, parameterIndex, preparedStatement, ImmutablePair.of(propertyDefinition, value));
+                        }
+                    } else {
+                        parameterIndex = SqlgUtil.setKeyValueAsParameter(this.sqlgGraph, false, parameterIndex, preparedStatement, ImmutablePair.of(propertyDefinition, hasContainer.getValue()));
+                    }
+                }
+                if (queryProbe != null) {
+                    //the parameters are not bound from a query stack, the plan is not captured
+                    queryProbe.prepared(sql, null, parameterIndex - 1);
+                }
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    if (queryProbe != null) {
+                        queryProbe.executed();
+                    }
+                    while (resultSet.next()) {
+                        if (queryProbe != null) {
+                            queryProbe.row();
+                        }
+                        long start = resultSet.getLong(1);
+                        long id = resultSet.getLong(2);
+                        SqlgVertex sqlgVertex = identityMap.get(SchemaTable.of(this.vertexLabel.getSchema().getName(), this.vertexLabel.getName()), id);
+                        if (sqlgVertex == null) {
+                            sqlgVertex = SqlgVertex.of(this.sqlgGraph, id, this.vertexLabel.getSchema().getName(), this.vertexLabel.getName());
+                            lazyPropertyLoader.register(sqlgVertex);
+                        }
+                        for (Traverser.Admin<S> traverser : seeds.get(start)) {
+                            //noinspection unchecked
+                            this.results.add(traverser.split((S) sqlgVertex, this));
+                        }
+                    }
+                }
+            } finally {
+                statementCache.release(preparedStatement);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+        if (queryProbe != null) {
+            queryProbe.completed();
+        }
+    }
+
+    /**
+     * WITH RECURSIVE "repeat"("start", "id", "depth", "path", "done") AS (
+     * SELECT "start", "start", 0, ARRAY["start"], false FROM unnest(?) AS "starts"("start")
+     * UNION ALL
+     * SELECT r."start", e."public.A__I", r."depth" + 1, r."path" || e."public.A__I", v."name" = ?
+     * FROM "repeat" r JOIN "public"."E_ab" e ON e."public.A__O" = r."id" JOIN "public"."V_A" v ON v."ID" = e."public.A__I"
+     * WHERE NOT r."done" AND e."public.A__I" <> ALL(r."path")
+     * )
+     * SELECT "start", "id" FROM "repeat" WHERE "depth" > 0 AND "done" ORDER BY "depth"
+     */
+    private String recursiveSql() {
+        SqlDialect sqlDialect = this.sqlgGraph.getSqlDialect();
+        boolean until = this.times == -1;
+        String from = sqlDialect.maybeWrapInQoutes(this.vertexLabel.getFullName() + (this.direction == Direction.OUT ? OUT_VERTEX_COLUMN_END : IN_VERTEX_COLUMN_END));
+        String to = sqlDialect.maybeWrapInQoutes(this.vertexLabel.getFullName() + (this.direction == Direction.OUT ? IN_VERTEX_COLUMN_END : OUT_VERTEX_COLUMN_END));
+        StringBuilder sql = new StringBuilder("WITH RECURSIVE ");
+        sql.append(sqlDialect.maybeWrapInQoutes(REPEAT));
+        sql.append("(\"start\", \"id\", \"depth\"");
+        if (until) {
+            sql.append(", \"path\", \"done\"");
+        }
+        sql.append(") AS (\n\tSELECT \"start\", \"start\", 0");
+        if (until) {
+            sql.append(", ARRAY[\"start\"], false");
+        }
+        sql.append(" FROM unnest(?) AS \"starts\"(\"start\")\nUNION ALL\n\tSELECT r.\"start\", e.");
+        sql.append(to);
+        sql.append(", r.\"depth\" + 1");
+        if (until) {
+            sql.append(", r.\"path\" || e.").append(to).append(", COALESCE(");
+            int count = 1;
+            for (HasContainer hasContainer : this.untilHasContainers) {
+                sql.append(untilCondition(sqlDialect, hasContainer));
+                if (count++ < this.untilHasContainers.size()) {
+                    sql.append(" AND ");
+                }
+            }
+            sql.append(", false)");
+        }
+        sql.append("\n\tFROM ").append(sqlDialect.maybeWrapInQoutes(REPEAT)).append(" r JOIN ");
+        sql.append(sqlDialect.maybeWrapInQoutes(this.edgeLabel.getSchema().getName())).append(".").append(sqlDialect.maybeWrapInQoutes(EDGE_PREFIX + this.edgeLabel.getName()));
+        sql.append(" e ON e.").append(from).append(" = r.\"id\"");
+        if (until) {
+            sql.append(" JOIN ");
+            sql.append(sqlDialect.maybeWrapInQoutes(this.vertexLabel.getSchema().getName())).append(".").append(sqlDialect.maybeWrapInQoutes(VERTEX_PREFIX + this.vertexLabel.getName()));
+            sql.append(" v ON v.").append(sqlDialect.maybeWrapInQoutes(ID)).append(" = e.").append(to);
+            sql.append("\n\tWHERE NOT r.\"done\" AND e.").append(to).append(" <> ALL(r.\"path\")");
+        } else {
+            sql.append("\n\tWHERE r.\"depth\" < ").append(this.times);
+        }
+        sql.append("\n)\nSELECT \"start\", \"id\" FROM ").append(sqlDialect.maybeWrapInQoutes(REPEAT)).append(" WHERE \"depth\" > 0");
+        if (!this.emit) {
+            sql.append(until ? " AND \"done\"" : " AND \"depth\" = " + this.times);
+        }
+        sql.append(" ORDER BY \"depth\"");
+        if (sqlDialect.needsSemicolon()) {
+            sql.append(";");
+        }
+        return sql.toString();
+    }
+
+    private static String untilCondition(SqlDialect sqlDialect, HasContainer hasContainer) {
+        String column = "v." + sqlDialect.maybeWrapInQoutes(hasContainer.getKey());
+        BiPredicate<?, ?> biPredicate = hasContainer.getBiPredicate();
+        if (biPredicate == Contains.within || biPredicate == Contains.without) {
+            StringBuilder in = new StringBuilder(column);
+            in.append(biPredicate == Contains.within ? " IN (" : " NOT IN (");
+            int size = ((Collection<?>) hasContainer.getValue()).size();
+            for (int i = 0; i < size; i++) {
+                in.append(i == 0 ? "?" : ", ?");
+            }
+            return in.append(")").toString();
+        } else if (biPredicate == Compare.eq) {
+            return column + " = ?";
+        } else if (biPredicate == Compare.neq) {
+            return column + " <> ?";
+        } else if (biPredicate == Compare.lt) {
+            return column + " < ?";
+        } else if (biPredicate == Compare.lte) {
+            return column + " <= ?";
+        } else if (biPredicate == Compare.gt) {
+            return column + " > ?";
+        } else if (biPredicate == Compare.gte) {
+            return column + " >= ?";
+        } else {
+            throw new IllegalStateException("Unhandled until predicate " + biPredicate);
+        }
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.results.clear();
+        this.resultIterator = Collections.emptyIterator();
+    }
+
+    @Override
+    public SqlgRecursiveRepeatStep<S> clone() {
+        SqlgRecursiveRepeatStep<S> clone = (SqlgRecursiveRepeatStep<S>) super.clone();
+        clone.results = new ArrayList<>();
+        clone.resultIterator = Collections.emptyIterator();
+        return clone;
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode() ^ this.edgeLabel.hashCode() ^ this.direction.hashCode() ^ Integer.hashCode(this.times) ^ this.untilHasContainers.hashCode() ^ Boolean.hashCode(this.emit);
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.direction, this.edgeLabel.getName(), this.times != -1 ? "times(" + this.times + ")" : "until(" + this.untilHasContainers + ")", this.emit ? "emit" : "");
+    }
+}
@@ -84,7 +84,9 @@ public abstract class BaseStrategy {
             CountGlobalStep.class,
             GroupStep.class,
             GroupCountStep.class,
-            IdStep.class
+            IdStep.class,
+            DedupGlobalStep.class,
+            PathFilterStep.class
 //            FoldStep.class
     );
 
@@ -174,6 +176,18 @@ public abstract class BaseStrategy {
                 handleRangeGlobalSteps(stepIterator, pathCount);
             } else if (step instanceof RangeGlobalStep) {
                 handleRangeGlobalSteps(stepIterator, pathCount);
+            } else if (step instanceof DedupGlobalStep<?> dedupGlobalStep) {
+                if (!handleDedupGlobalStep(dedupGlobalStep, pathCount)) {
+                    return false;
+                }
+                handleOrderGlobalSteps(stepIterator, pathCount);
+                handleRangeGlobalSteps(stepIterator, pathCount);
+            } else if (step instanceof PathFilterStep<?> pathFilterStep) {
+                if (!handlePathFilterStep(pathFilterStep, pathCount)) {
+                    return false;
+                }
+                handleOrderGlobalSteps(stepIterator, pathCount);
+                handleRangeGlobalSteps(stepIterator, pathCount);
             } else if (step instanceof SelectStep || (step instanceof SelectOneStep)) {
                 handleOrderGlobalSteps(stepIterator, pathCount);
                 handleRangeGlobalSteps(step, stepIterator, pathCount);
@@ -390,6 +404,102 @@ public abstract class BaseStrategy {
         return true;
     }
 
+    /**
+     * Folds a dedup() or dedup().by(key) of the sqlgStep's element into the current ReplacedStep, it is executed as
+     * 'SELECT DISTINCT ON'. Only for dialects that support 'DISTINCT ON' and only for the {@link SqlgGraphStep}, as
+     * the {@link SqlgVertexStep}'s rows are per incoming traverser.
+     * Order and range steps that follow the dedup are folded as well.
+     *
+     * @return false if the dedup can not be optimized.
+     */
+    private boolean handleDedupGlobalStep(DedupGlobalStep<?> dedupGlobalStep, MutableInt pathCount) {
+        if (!this.sqlgGraph.getSqlDialect().supportsDistinctOn() || !(this.sqlgStep instanceof SqlgGraphStep)) {
+            return false;
+        }
+        //dedup("a", "b") is on the labeled elements of the path.
+        if (!dedupGlobalStep.getScopeKeys().isEmpty()) {
+            return false;
+        }
+        //The dedup must be on the sqlgStep's element, not on its id, properties or a map.
+        if (dedupGlobalStep.getPreviousStep() != this.sqlgStep) {
+            return false;
+        }
+        ReplacedStep<?, ?> replacedStep = this.currentReplacedStep;
+        if (replacedStep.isEmit() || replacedStep.isLeftJoin() || replacedStep.hasAggregateFunction() ||
+                replacedStep.hasRange() || replacedStep.hasDedup()) {
+            return false;
+        }
+        //DISTINCT ON keeps one row per element, the other labeled elements on the row and the path would be arbitrary.
+        //DISTINCT ON orders by its own expressions first, the row that is kept would not be the first of an order() before the dedup.
+        for (ReplacedStep<?, ?> r : this.sqlgStep.getReplacedSteps()) {
+            if ((r != replacedStep && r.hasLabels()) || r.getSqlgComparatorHolder().hasComparators()) {
+                return false;
+            }
+        }
+        if (precedesPathOrTreeStep(this.traversal)) {
+            return false;
+        }
+        List<? extends Traversal<?, ?>> dedupTraversals = dedupGlobalStep.getLocalChildren();
+        String key = null;
+        if (!dedupTraversals.isEmpty()) {
+            if (dedupTraversals.size() != 1 || !(dedupTraversals.get(0) instanceof ValueTraversal<?, ?> valueTraversal)) {
+                return false;
+            }
+            key = valueTraversal.getPropertyKey();
+        }
+        if (key != null) {
+            //an element without the property is filtered by the dedup.
+            replacedStep.addHasContainer(new HasContainer(key, new P<>(Existence.NOTNULL, null)));
+            replacedStep.setSqlgDedupHolder(SqlgDedupHolder.from(key));
+        } else {
+            replacedStep.setSqlgDedupHolder(SqlgDedupHolder.from());
+        }
+        for (String label : dedupGlobalStep.getLabels()) {
+            replacedStep.addLabel(pathCount.getValue() + BaseStrategy.PATH_LABEL_SUFFIX + label);
+        }
+        this.traversal.removeStep(dedupGlobalStep);
+        //the dedup is on the last ReplacedStep, only order and range may follow.
+        this.reset = true;
+        return true;
+    }
+
+    /**
+     * Folds a simplePath() or cyclicPath() into the current ReplacedStep. The path's elements of the same label are
+     * compared on their ids in the sql. Only for the {@link SqlgGraphStep} that starts the traversal, else the path
+     * contains elements that are not part of the sql.
+     * Order and range steps that follow the path filter are folded as well.
+     *
+     * @return false if the path filter can not be optimized.
+     */
+    private boolean handlePathFilterStep(PathFilterStep<?> pathFilterStep, MutableInt pathCount) {
+        if (!(this.sqlgStep instanceof SqlgGraphStep<?, ?> sqlgGraphStep) || !sqlgGraphStep.isStartStep() || !this.traversal.isRoot()) {
+            return false;
+        }
+        //from, to and by are for a section of the path or on the elements' values.
+        if (pathFilterStep.getFromLabel() != null || pathFilterStep.getToLabel() != null || !pathFilterStep.getLocalChildren().isEmpty()) {
+            return false;
+        }
+        if (pathFilterStep.getPreviousStep() != this.sqlgStep) {
+            return false;
+        }
+        //every element of the path must be labeled, emit and optional traversers have partial paths.
+        for (ReplacedStep<?, ?> r : this.sqlgStep.getReplacedSteps()) {
+            if (!r.hasLabels() || r.isEmit() || r.isUntilFirst() || r.isLeftJoin() || r.hasAggregateFunction() ||
+                    r.hasRange() || r.hasDedup() || r.hasPathFilter()) {
+                return false;
+            }
+        }
+        ReplacedStep<?, ?> replacedStep = this.currentReplacedStep;
+        replacedStep.setSqlgPathFilterHolder(pathFilterStep.isSimple() ? SqlgPathFilterHolder.simplePath() : SqlgPathFilterHolder.cyclicPath());
+        for (String label : pathFilterStep.getLabels()) {
+            replacedStep.addLabel(pathCount.getValue() + BaseStrategy.PATH_LABEL_SUFFIX + label);
+        }
+        this.traversal.removeStep(pathFilterStep);
+        //the path filter is on the whole path, only order and range may follow.
+        this.reset = true;
+        return true;
+    }
+
     private void handleDropStep() {
         this.currentReplacedStep.markAsDrop();
     }
@@ -587,6 +697,8 @@ public abstract class BaseStrategy {
             if (currentStep instanceof HasContainerHolder hasContainerHolder) {
                 List<HasContainer> hasContainers = hasContainerHolder.getHasContainers();
                 List<HasContainer> toRemoveHasContainers = new ArrayList<>();
+                //before isNotWithMultipleColumnValue, a keyset must never be left to its in memory predicate.
+                checkKeyset(hasContainers);
                 if (isNotWithMultipleColumnValue(hasContainerHolder)) {
                     toRemoveHasContainers.addAll(isForSqlgSchema(this.currentReplacedStep, hasContainers));
                     toRemoveHasContainers.addAll(optimizeLabelHas(this.currentReplacedStep, hasContainers));
@@ -602,6 +714,7 @@ public abstract class BaseStrategy {
                     toRemoveHasContainers.addAll(optimizeArray(this.currentReplacedStep, hasContainers));
                     toRemoveHasContainers.addAll(optimizeLquery(this.currentReplacedStep, hasContainers));
                     toRemoveHasContainers.addAll(optimizeLqueryArray(this.currentReplacedStep, hasContainers));
+                    toRemoveHasContainers.addAll(optimizeKeyset(this.currentReplacedStep, hasContainers));
                     if (toRemoveHasContainers.size() == hasContainers.size()) {
                         if (!currentStep.getLabels().isEmpty()) {
                             final IdentityStep identityStep = new IdentityStep<>(this.traversal);
@@ -1165,6 +1278,37 @@ public abstract class BaseStrategy {
         return result;
     }
 
+    /**
+     * A {@link Keyset} can only be executed by the database, its columns are compared as a row value with the "ID".
+     * Properties stored in multiple columns and labels with user supplied identifiers have no such row value.
+     */
+    private void checkKeyset(List<HasContainer> hasContainers) {
+        for (HasContainer hasContainer : hasContainers) {
+            if (hasContainer.getBiPredicate() instanceof Keyset keyset) {
+                Preconditions.checkArgument(hasContainerKeyNotIdOrLabel(hasContainer), "Keyset pagination is not supported on %s", hasContainer.getKey());
+                Object value = hasContainer.getValue();
+                Preconditions.checkArgument(value != null, "Keyset pagination needs the value of the last element");
+                org.umlg.sqlg.structure.PropertyType propertyType = org.umlg.sqlg.structure.PropertyType.from(value);
+                Preconditions.checkArgument(propertyType.getPostFixes().length == 0 && !propertyType.isArray(),
+                        "Keyset pagination is not supported on %s properties", propertyType.name());
+                RecordId recordId = keyset.getLastId() instanceof RecordId r ? r : RecordId.from(keyset.getLastId());
+                Preconditions.checkArgument(recordId.hasSequenceId(),
+                        "Keyset pagination is only supported on labels with an ID primary key, %s", recordId.getSchemaTable());
+            }
+        }
+    }
+
+    private List<HasContainer> optimizeKeyset(ReplacedStep<?, ?> replacedStep, List<HasContainer> hasContainers) {
+        List<HasContainer> result = new ArrayList<>();
+        for (HasContainer hasContainer : hasContainers) {
+            if (hasContainerKeyNotIdOrLabel(hasContainer) && hasContainer.getBiPredicate() instanceof Keyset) {
+                replacedStep.addHasContainer(hasContainer);
+                result.add(hasContainer);
+            }
+        }
+        return result;
+    }
+
     private List<HasContainer> optimizeArray(ReplacedStep<?, ?> replacedStep, List<HasContainer> hasContainers) {
         List<HasContainer> result = new ArrayList<>();
         for (HasContainer hasContainer : hasContainers) {
@@ -1339,6 +1483,12 @@ public abstract class BaseStrategy {
 
     private boolean unoptimizableRepeatStep() {
         List<RepeatStep> repeatSteps = TraversalHelper.getStepsOfAssignableClassRecursively(RepeatStep.class, this.traversal);
+        //a homogeneous repeat is executed as a recursive query by the SqlgRecursiveRepeatStep instead of a join per loop.
+        for (RepeatStep<?> repeatStep : repeatSteps) {
+            if (SqlgRecursiveRepeatStep.from(repeatStep.getTraversal(), this.sqlgGraph, repeatStep).isPresent()) {
+                return true;
+            }
+        }
         boolean hasUntil = repeatSteps.stream().filter(s -> s.getClass().equals(RepeatStep.class)).allMatch(repeatStep -> repeatStep.getUntilTraversal() != null);
         boolean hasUnoptimizableUntil = false;
         if (hasUntil) {
@@ -15,6 +15,7 @@ import org.umlg.sqlg.sql.parse.ReplacedStep;
 import org.umlg.sqlg.step.SqlgGraphStep;
 import org.umlg.sqlg.step.SqlgStep;
 import org.umlg.sqlg.structure.RecordId;
+import org.umlg.sqlg.util.SqlgTraversalUtil;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -42,9 +43,7 @@ public class GraphStrategy extends BaseStrategy {
         if (!(startStep instanceof GraphStep)) {
             return;
         }
-        if (this.sqlgGraph.features().supportsBatchMode() && this.sqlgGraph.tx().isInNormalBatchMode()) {
-            this.sqlgGraph.tx().flush();
-        }
+        SqlgTraversalUtil.flushIfElementWithoutId(this.sqlgGraph, this.traversal);
         if (this.canNotBeOptimized()) {
             logger.debug("gremlin not optimized due to path or tree step. " + this.traversal + "\nPath to gremlin:\n" + ExceptionUtils.getStackTrace(new Throwable()));
             return;
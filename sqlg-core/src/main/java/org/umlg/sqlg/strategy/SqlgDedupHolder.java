@@ -0,0 +1,45 @@
+package org.umlg.sqlg.strategy;
+
+/**
+ * Holds a dedup() or dedup().by(key) that has been folded into the last replaced step.
+ * The db applies it per query with 'SELECT DISTINCT ON'. If the traversal executes more than one query the step
+ * dedups across the queries as well.
+ * <p>
+ * Date: 2026/10/18
+ */
+public class SqlgDedupHolder {
+
+    /**
+     * The property to dedup on, null to dedup on the element.
+     */
+    private final String key;
+    private boolean applyInStep = false;
+
+    private SqlgDedupHolder(String key) {
+        this.key = key;
+    }
+
+    public static SqlgDedupHolder from() {
+        return new SqlgDedupHolder(null);
+    }
+
+    public static SqlgDedupHolder from(String key) {
+        return new SqlgDedupHolder(key);
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public boolean hasKey() {
+        return this.key != null;
+    }
+
+    public boolean isApplyInStep() {
+        return applyInStep;
+    }
+
+    public void setApplyInStep(boolean applyInStep) {
+        this.applyInStep = applyInStep;
+    }
+}
@@ -0,0 +1,29 @@
+package org.umlg.sqlg.strategy;
+
+/**
+ * Holds a simplePath() or cyclicPath() that has been folded into the last replaced step.
+ * The path's elements are the labeled elements of the query, elements of the same label are compared on their ids
+ * in the sql's where clause.
+ * <p>
+ * Date: 2026/10/18
+ */
+public class SqlgPathFilterHolder {
+
+    private final boolean simple;
+
+    private SqlgPathFilterHolder(boolean simple) {
+        this.simple = simple;
+    }
+
+    public static SqlgPathFilterHolder simplePath() {
+        return new SqlgPathFilterHolder(true);
+    }
+
+    public static SqlgPathFilterHolder cyclicPath() {
+        return new SqlgPathFilterHolder(false);
+    }
+
+    public boolean isSimple() {
+        return simple;
+    }
+}
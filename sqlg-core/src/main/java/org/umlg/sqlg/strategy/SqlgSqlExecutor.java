@@ -3,18 +3,25 @@ package org.umlg.sqlg.strategy;
 import com.google.common.base.Preconditions;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.lang3.tuple.Triple;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.event.Event;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.event.EventCallback;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.umlg.sqlg.sql.parse.SchemaTableTree;
+import org.umlg.sqlg.sql.parse.UnionAllQuery;
+import org.umlg.sqlg.structure.ConnectionStatementCache;
+import org.umlg.sqlg.structure.QueryProbe;
+import org.umlg.sqlg.structure.SchemaTable;
 import org.umlg.sqlg.structure.SchemaTableTreeCache;
 import org.umlg.sqlg.structure.SqlgEdge;
 import org.umlg.sqlg.structure.SqlgGraph;
 import org.umlg.sqlg.structure.topology.EdgeLabel;
 import org.umlg.sqlg.util.SqlgUtil;
 
+import javax.annotation.Nullable;
 import java.sql.*;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
@@ -45,22 +52,25 @@ public class SqlgSqlExecutor {
     public static void executeDropQuery(
             SqlgGraph sqlgGraph,
             SchemaTableTree rootSchemaTableTree,
-            LinkedList<SchemaTableTree> distinctQueryStack) {
+            LinkedList<SchemaTableTree> distinctQueryStack,
+            @Nullable Step<?, ?> step) {
 
         sqlgGraph.getTopology().threadWriteLock();
+        //the dropped rows are not known, cached vertices might be stale.
+        sqlgGraph.tx().getIdentityMap().clear();
         List<DropQuery> sqls = rootSchemaTableTree.constructDropSql(distinctQueryStack);
         for (DropQuery sqlPair : sqls) {
             DROP_QUERY dropQuery = sqlPair.dropQuery();
             String sql = sqlPair.sql();
             Boolean addAdditionalPartitionHasContainer = sqlPair.addAdditionalPartitionHasContainer();
             switch (dropQuery) {
-                case ALTER, TRUNCATE -> executeDropQuery(sqlgGraph, sql, new LinkedList<>(), false);
+                case ALTER, TRUNCATE -> executeDropQuery(sqlgGraph, sql, new LinkedList<>(), false, step);
                 case EDGE -> {
                     LinkedList<SchemaTableTree> tmp = new LinkedList<>(distinctQueryStack);
                     tmp.removeLast();
-                    executeDropQuery(sqlgGraph, sql, tmp, false);
+                    executeDropQuery(sqlgGraph, sql, tmp, false, step);
                 }
-                case NORMAL -> executeDropQuery(sqlgGraph, sql, distinctQueryStack, addAdditionalPartitionHasContainer);
+                case NORMAL -> executeDropQuery(sqlgGraph, sql, distinctQueryStack, addAdditionalPartitionHasContainer, step);
                 default -> throw new IllegalStateException("Unknown DROP_QUERY " + dropQuery);
             }
         }
@@ -69,7 +79,8 @@ public class SqlgSqlExecutor {
     public static Triple<ResultSet, ResultSetMetaData, PreparedStatement> executeRegularQuery(
             SqlgGraph sqlgGraph,
             SchemaTableTree rootSchemaTableTree,
-            LinkedList<SchemaTableTree> distinctQueryStack) {
+            LinkedList<SchemaTableTree> distinctQueryStack,
+            @Nullable QueryProbe queryProbe) {
 
         String sql;
         if (sqlgGraph.configuration().getBoolean("gremlin.cache.enabled", false)) {
@@ -79,72 +90,72 @@ public class SqlgSqlExecutor {
         } else {
             sql = rootSchemaTableTree.constructSql(distinctQueryStack);
         }
-        return executeQuery(sqlgGraph, sql, distinctQueryStack);
+        return executeQuery(sqlgGraph, sql, distinctQueryStack, queryProbe);
+    }
+
+    public static Triple<ResultSet, ResultSetMetaData, PreparedStatement> executeUnionAllQuery(
+            SqlgGraph sqlgGraph,
+            UnionAllQuery unionAllQuery,
+            @Nullable QueryProbe queryProbe) {
+
+        String sql = unionAllQuery.constructSql();
+        return executeQuery(sqlgGraph, sql, unionAllQuery.getParameterStack(), queryProbe);
     }
 
     public static Triple<ResultSet, ResultSetMetaData, PreparedStatement> executeOptionalQuery(
             SqlgGraph sqlgGraph, SchemaTableTree rootSchemaTableTree,
-            Pair<LinkedList<SchemaTableTree>, Set<SchemaTableTree>> leftJoinQuery) {
+            Pair<LinkedList<SchemaTableTree>, Set<SchemaTableTree>> leftJoinQuery,
+            @Nullable QueryProbe queryProbe) {
 
         String sql = rootSchemaTableTree.constructSqlForOptional(leftJoinQuery.getLeft(), leftJoinQuery.getRight());
         LinkedList<SchemaTableTree> distinctQueryStack = leftJoinQuery.getLeft();
-        return executeQuery(sqlgGraph, sql, distinctQueryStack);
+        if (sqlgGraph.tx().isInBatchMode() && !leftJoinQuery.getRight().isEmpty()) {
+            //the left joined tables are read too
+            Set<SchemaTable> schemaTables = new HashSet<>();
+            for (SchemaTableTree schemaTableTree : distinctQueryStack) {
+                schemaTables.add(schemaTableTree.getSchemaTable());
+            }
+            for (SchemaTableTree leftJoin : leftJoinQuery.getRight()) {
+                schemaTables.addAll(leftJoin.getSchemaTablesFromRoot());
+            }
+            sqlgGraph.tx().flush(schemaTables, false);
+        }
+        return executeQuery(sqlgGraph, sql, distinctQueryStack, queryProbe);
     }
 
     public static Triple<ResultSet, ResultSetMetaData, PreparedStatement> executeEmitQuery(
             SqlgGraph sqlgGraph, SchemaTableTree rootSchemaTableTree,
-            LinkedList<SchemaTableTree> leftJoinQuery) {
+            LinkedList<SchemaTableTree> leftJoinQuery,
+            @Nullable QueryProbe queryProbe) {
 
         String sql = rootSchemaTableTree.constructSql(leftJoinQuery);
-        return executeQuery(sqlgGraph, sql, leftJoinQuery);
+        return executeQuery(sqlgGraph, sql, leftJoinQuery, queryProbe);
     }
 
-    private static Triple<ResultSet, ResultSetMetaData, PreparedStatement> executeQuery(SqlgGraph sqlgGraph, String sql, LinkedList<SchemaTableTree> distinctQueryStack) {
-        if (sqlgGraph.tx().isInBatchMode()) {
-            sqlgGraph.tx().flush();
-        }
-        //noinspection CommentedOutCode
+    private static Triple<ResultSet, ResultSetMetaData, PreparedStatement> executeQuery(SqlgGraph sqlgGraph, String sql, LinkedList<SchemaTableTree> distinctQueryStack, @Nullable QueryProbe queryProbe) {
+        flush(sqlgGraph, distinctQueryStack, false);
         try {
             if (!distinctQueryStack.isEmpty() && distinctQueryStack.peekFirst().getStepType() != SchemaTableTree.STEP_TYPE.GRAPH_STEP) {
                 Preconditions.checkState(!distinctQueryStack.isEmpty() && !distinctQueryStack.peekFirst().getParentIdsAndIndexes().isEmpty());
             }
-            Connection conn = sqlgGraph.tx().getConnection();
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug(sql);
             }
-            // explain plan can be useful for performance issues
-            // uncomment if needed, don't think we need this in production
-//            if (logger.isTraceEnabled()){
-//            	String expl="EXPLAIN "+sql;
-//            	try {
-//	            	try (PreparedStatement stmt=conn.prepareStatement(expl)){
-//	                    int parameterCount = 1;
-//	                    if (recordId != null) {
-//	                        stmt.setLong(parameterCount++, recordId.getId());
-//	                    }
-//	                    SqlgUtil.setParametersOnStatement(sqlgGraph, distinctQueryStack, conn, stmt, parameterCount);
-//	            		try(ResultSet rs=stmt.executeQuery()){
-//	            			while(rs.next()){
-//	            				System.out.println(rs.getString(1));
-//	            			}
-//	            		}
-//	            		
-//	            		
-//	            	}
-//            	} catch (SQLException sqle){
-//            		logger.warn(expl);
-//            		logger.warn(sqle.getMessage());
-//            	}
-//            }
-            PreparedStatement preparedStatement = conn.prepareStatement(sql);
+            PreparedStatement preparedStatement = sqlgGraph.tx().getStatementCache().prepare(sql);
             sqlgGraph.tx().add(preparedStatement);
-            SqlgUtil.setParametersOnStatement(sqlgGraph, distinctQueryStack, preparedStatement, false);
+            int parameterCount = SqlgUtil.setParametersOnStatement(sqlgGraph, distinctQueryStack, preparedStatement, false);
             // https://jdbc.postgresql.org/documentation/head/query.html#query-with-cursor
             // this is critical to use a cursor, otherwise we load everything into memory
             if (sqlgGraph.tx().getFetchSize() != null) {
                 preparedStatement.setFetchSize(sqlgGraph.tx().getFetchSize());
             }
+            if (queryProbe != null) {
+                queryProbe.prepared(sql, distinctQueryStack, parameterCount);
+            }
             ResultSet resultSet = preparedStatement.executeQuery();
+            if (queryProbe != null) {
+                queryProbe.executed();
+            }
             ResultSetMetaData resultSetMetaData = resultSet.getMetaData();
             return Triple.of(resultSet, resultSetMetaData, preparedStatement);
         } catch (SQLException e) {
@@ -152,30 +163,53 @@ public class SqlgSqlExecutor {
         }
     }
 
-    private static void executeDropQuery(SqlgGraph sqlgGraph, String sql, LinkedList<SchemaTableTree> distinctQueryStack, boolean includeAdditionalPartitionHasContainer) {
+    /**
+     * In batch mode only the elements cached for the tables the query touches are flushed, the other labels stay cached.
+     */
+    private static void flush(SqlgGraph sqlgGraph, LinkedList<SchemaTableTree> distinctQueryStack, boolean drop) {
         if (sqlgGraph.tx().isInBatchMode()) {
-            sqlgGraph.tx().flush();
+            if (distinctQueryStack.isEmpty()) {
+                sqlgGraph.tx().flush();
+            } else {
+                Set<SchemaTable> schemaTables = new HashSet<>();
+                for (SchemaTableTree schemaTableTree : distinctQueryStack) {
+                    schemaTables.add(schemaTableTree.getSchemaTable());
+                }
+                sqlgGraph.tx().flush(schemaTables, drop);
+            }
         }
+    }
+
+    private static void executeDropQuery(SqlgGraph sqlgGraph, String sql, LinkedList<SchemaTableTree> distinctQueryStack, boolean includeAdditionalPartitionHasContainer, @Nullable Step<?, ?> step) {
+        flush(sqlgGraph, distinctQueryStack, true);
         try {
             if (!distinctQueryStack.isEmpty() && distinctQueryStack.peekFirst().getStepType() != SchemaTableTree.STEP_TYPE.GRAPH_STEP) {
                 Preconditions.checkState(distinctQueryStack.peekFirst() != null);
                 Preconditions.checkState(!distinctQueryStack.peekFirst().getParentIdsAndIndexes().isEmpty());
             }
-            Connection conn = sqlgGraph.tx().getConnection();
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug(sql);
             }
-            PreparedStatement preparedStatement = conn.prepareStatement(sql);
-            sqlgGraph.tx().add(preparedStatement);
-            SqlgUtil.setParametersOnStatement(sqlgGraph, distinctQueryStack, preparedStatement, includeAdditionalPartitionHasContainer);
-            int deleteCount;
-            if (distinctQueryStack.isEmpty()) {
-                deleteCount = preparedStatement.executeUpdate();
-            } else {
-                deleteCount = preparedStatement.executeUpdate();
-            }
-            if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug("Deleted {} rows", deleteCount);
+            QueryProbe queryProbe = QueryProbe.start(sqlgGraph, step);
+            ConnectionStatementCache statementCache = sqlgGraph.tx().getStatementCache();
+            PreparedStatement preparedStatement = statementCache.prepare(sql);
+            try {
+                int parameterCount = SqlgUtil.setParametersOnStatement(sqlgGraph, distinctQueryStack, preparedStatement, includeAdditionalPartitionHasContainer);
+                if (queryProbe != null) {
+                    //drops are not explained, explaining executes them
+                    queryProbe.prepared(sql, null, parameterCount);
+                }
+                int deleteCount = preparedStatement.executeUpdate();
+                if (queryProbe != null) {
+                    queryProbe.executed();
+                    queryProbe.rows(deleteCount);
+                    queryProbe.completed();
+                }
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("Deleted {} rows", deleteCount);
+                }
+            } finally {
+                statementCache.release(preparedStatement);
             }
         } catch (SQLException e) {
             throw new RuntimeException(e);
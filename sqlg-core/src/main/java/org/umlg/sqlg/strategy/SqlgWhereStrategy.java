@@ -44,11 +44,9 @@ public class SqlgWhereStrategy extends AbstractTraversalStrategy<TraversalStrate
 			return;
 		}
         SqlgGraph sqlgGraph = (SqlgGraph) traversal.getGraph().get();
-        //This is because in normal BatchMode the new vertices are cached with it edges.
-        //The query will read from the cache if this is for a cached vertex
-        if (sqlgGraph.features().supportsBatchMode() && sqlgGraph.tx().isInNormalBatchMode()) {
-            sqlgGraph.tx().flush();
-        }
+        //In normal BatchMode the new vertices are cached with their edges, without ids.
+        //The queries flush the labels they read, see SqlgSqlExecutor.
+        SqlgTraversalUtil.flushIfElementWithoutId(sqlgGraph, traversal);
         @SuppressWarnings("unchecked") List<Step<?,?>> steps = new ArrayList(traversal.asAdmin().getSteps());
         ListIterator<Step<?,?>> stepIterator = steps.listIterator();
         // get all steps per label
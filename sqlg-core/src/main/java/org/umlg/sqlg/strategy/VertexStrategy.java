@@ -6,6 +6,8 @@ import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.step.branch.ChooseStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.branch.OptionalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.DedupGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.PathFilterStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.EdgeVertexStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GroupStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.SelectOneStep;
@@ -50,9 +52,7 @@ public class VertexStrategy extends BaseStrategy {
         if (!SqlgTraversalUtil.mayOptimize(traversal)) {
             return;
         }
-        if (this.sqlgGraph.features().supportsBatchMode() && this.sqlgGraph.tx().isInNormalBatchMode()) {
-            this.sqlgGraph.tx().flush();
-        }
+        SqlgTraversalUtil.flushIfElementWithoutId(this.sqlgGraph, this.traversal);
         if (this.canNotBeOptimized()) {
             logger.debug("gremlin not optimized due to path or tree step. " + this.traversal.toString() + "\nPath to gremlin:\n" + ExceptionUtils.getStackTrace(new Throwable()));
             return;
@@ -134,7 +134,8 @@ public class VertexStrategy extends BaseStrategy {
 
     @Override
     protected boolean isReplaceableStep(Class<? extends Step> stepClass) {
-        return CONSECUTIVE_STEPS_TO_REPLACE.contains(stepClass);
+        //dedup and the path filters are only folded into the SqlgGraphStep, the SqlgVertexStep's rows are per incoming traverser.
+        return CONSECUTIVE_STEPS_TO_REPLACE.contains(stepClass) && stepClass != DedupGlobalStep.class && stepClass != PathFilterStep.class;
 //        if (CONSECUTIVE_STEPS_TO_REPLACE.contains(stepClass)) {
 //            final List<Class> GROUP_STEPS = Arrays.asList(
 //                    MaxGlobalStep.class,
@@ -0,0 +1,133 @@
+package org.umlg.sqlg.strategy.barrier;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.*;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.umlg.sqlg.step.barrier.SqlgProjectStepBarrier;
+import org.umlg.sqlg.strategy.SqlgGraphStepStrategy;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.util.SqlgTraversalUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Replaces the {@link ProjectStep} with a {@link SqlgProjectStepBarrier} if any of its by() traversals starts with a
+ * vertex step, i.e. by(out("knows").values("name").fold()). Such a traversal may only contain has and map steps after
+ * its vertex steps and optionally end with a fold() or count(). Barriers are not allowed, they merge the traversers of
+ * different incoming traversers as traverser equality does not include the incoming traverser's index.
+ * <p>
+ * Date: 2026/10/18
+ */
+public class SqlgProjectStepStrategy extends AbstractTraversalStrategy<TraversalStrategy.OptimizationStrategy> implements TraversalStrategy.OptimizationStrategy {
+
+    public SqlgProjectStepStrategy() {
+        super();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        //Only optimize SqlgGraph. StarGraph also passes through here.
+        if (traversal.getGraph().isEmpty() || !(traversal.getGraph().orElseThrow(IllegalStateException::new) instanceof SqlgGraph)) {
+            return;
+        }
+        if (!SqlgTraversalUtil.mayOptimize(traversal)) {
+            return;
+        }
+        for (ProjectStep<?, ?> projectStep : TraversalHelper.getStepsOfClass(ProjectStep.class, traversal)) {
+            List<Traversal.Admin<?, ?>> projectTraversals = new ArrayList<>((List) projectStep.getLocalChildren());
+            List<SqlgProjectStepBarrier.Reducer> reducers = new ArrayList<>();
+            for (Traversal.Admin<?, ?> projectTraversal : projectTraversals) {
+                reducers.add(reducer(projectTraversal));
+            }
+            if (reducers.stream().allMatch(r -> r == null)) {
+                continue;
+            }
+            //the barrier applies the fold() or count() per incoming traverser.
+            for (int i = 0; i < projectTraversals.size(); i++) {
+                SqlgProjectStepBarrier.Reducer reducer = reducers.get(i);
+                if (reducer == SqlgProjectStepBarrier.Reducer.FOLD || reducer == SqlgProjectStepBarrier.Reducer.COUNT) {
+                    Traversal.Admin<?, ?> projectTraversal = projectTraversals.get(i);
+                    projectTraversal.removeStep(projectTraversal.getEndStep());
+                }
+            }
+            SqlgProjectStepBarrier<?, ?> sqlgProjectStepBarrier = new SqlgProjectStepBarrier(
+                    traversal,
+                    projectStep.getProjectKeys(),
+                    projectTraversals,
+                    reducers
+            );
+            for (String label : projectStep.getLabels()) {
+                sqlgProjectStepBarrier.addLabel(label);
+            }
+            TraversalHelper.replaceStep((Step) projectStep, sqlgProjectStepBarrier, traversal);
+        }
+    }
+
+    /**
+     * @return null if the by() traversal must be executed per traverser.
+     */
+    private static SqlgProjectStepBarrier.Reducer reducer(Traversal.Admin<?, ?> projectTraversal) {
+        List<Step> steps = projectTraversal.getSteps();
+        if (steps.isEmpty() || !(steps.get(0) instanceof VertexStep)) {
+            return null;
+        }
+        SqlgProjectStepBarrier.Reducer reducer = SqlgProjectStepBarrier.Reducer.NONE;
+        int last = steps.size();
+        Step<?, ?> endStep = steps.get(steps.size() - 1);
+        if (endStep instanceof FoldStep<?, ?> foldStep && foldStep.isListFold()) {
+            reducer = SqlgProjectStepBarrier.Reducer.FOLD;
+            last--;
+        } else if (endStep instanceof CountGlobalStep) {
+            reducer = SqlgProjectStepBarrier.Reducer.COUNT;
+            last--;
+        }
+        //the vertex steps must be folded into one SqlgVertexStep, it keeps the incoming traverser's index.
+        boolean mapping = false;
+        for (int i = 0; i < last; i++) {
+            Step<?, ?> step = steps.get(i);
+            if (!step.getLabels().isEmpty()) {
+                return null;
+            }
+            if (step instanceof VertexStep || step instanceof EdgeVertexStep) {
+                if (mapping) {
+                    return null;
+                }
+            } else if (step instanceof PropertiesStep || step instanceof PropertyMapStep || step instanceof ElementMapStep ||
+                    step instanceof IdStep || step instanceof LabelStep) {
+                mapping = true;
+            } else if (step instanceof HasStep) {
+                if (mapping) {
+                    return null;
+                }
+            } else {
+                return null;
+            }
+        }
+        return reducer;
+    }
+
+    @Override
+    public Set<Class<? extends OptimizationStrategy>> applyPost() {
+        return Stream.of(
+                SqlgVertexStepStrategy.class,
+                SqlgFoldStepStrategy.class
+        ).collect(Collectors.toSet());
+    }
+
+    @Override
+    public Set<Class<? extends OptimizationStrategy>> applyPrior() {
+        return Stream.of(
+                SqlgGraphStepStrategy.class
+        ).collect(Collectors.toSet());
+    }
+
+}
@@ -11,6 +11,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierS
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.CountStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.umlg.sqlg.step.barrier.SqlgRecursiveRepeatStep;
 import org.umlg.sqlg.step.barrier.SqlgRepeatStepBarrier;
 import org.umlg.sqlg.strategy.SqlgGraphStepStrategy;
 import org.umlg.sqlg.strategy.SqlgRangeHolder;
@@ -48,6 +49,13 @@ public class SqlgRepeatStepStrategy extends AbstractTraversalStrategy<TraversalS
             if (repeatStepOptional.isPresent()) {
                 RepeatStep<?> repeatStep = repeatStepOptional.get();
 
+                Optional<? extends SqlgRecursiveRepeatStep<?>> sqlgRecursiveRepeatStep = SqlgRecursiveRepeatStep.from(traversal, (SqlgGraph) traversal.getGraph().get(), repeatStep);
+                if (sqlgRecursiveRepeatStep.isPresent()) {
+                    //noinspection unchecked
+                    TraversalHelper.replaceStep((Step) repeatStep, sqlgRecursiveRepeatStep.get(), traversal);
+                    continue;
+                }
+
                 //Any traversal with a reducing barrier step can not be optimized. As of yet...
                 List<? extends Traversal.Admin<?, ?>> localChildren = repeatStep.getLocalChildren();
                 for (Traversal.Admin<?, ?> localChild : localChildren) {
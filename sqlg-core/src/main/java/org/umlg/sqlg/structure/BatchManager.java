@@ -7,9 +7,11 @@ import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.umlg.sqlg.sql.dialect.SqlBulkDialect;
 import org.umlg.sqlg.structure.topology.AbstractLabel;
 import org.umlg.sqlg.structure.topology.EdgeLabel;
+import org.umlg.sqlg.structure.topology.Topology;
 import org.umlg.sqlg.structure.topology.VertexLabel;
 
 import java.io.Writer;
+import java.lang.reflect.Array;
 import java.util.*;
 
 import static org.umlg.sqlg.structure.topology.Topology.EDGE_PREFIX;
@@ -21,8 +23,27 @@ import static org.umlg.sqlg.structure.topology.Topology.VERTEX_PREFIX;
  */
 public class BatchManager {
 
+    /**
+     * Configuration key, in normal batch mode the cache is flushed once it holds this many new elements and property
+     * updates. 0, the default, only flushes on commit, an explicit flush or a query.
+     */
+    public static final String BATCH_FLUSH_ROWS = "batch.flush.rows";
+    /**
+     * Configuration key, in normal batch mode the cache is flushed once the estimated size of the cached rows reaches
+     * this many bytes. 0, the default, only flushes on commit, an explicit flush or a query.
+     */
+    public static final String BATCH_FLUSH_BYTES = "batch.flush.bytes";
+    //per cached element and per property, roughly an element, a map and its entries
+    private static final int ROW_OVERHEAD_BYTES = 128;
+    private static final int PROPERTY_OVERHEAD_BYTES = 48;
+
     private final SqlgGraph sqlgGraph;
     private final SqlBulkDialect sqlDialect;
+    private final int flushRows;
+    private final long flushBytes;
+    //what is cached since the last flush
+    private int cachedRows;
+    private long cachedBytes;
 
     //map per label/keys, contains a map of vertices with a triple representing outLabels, inLabels and vertex properties
     private final Map<SchemaTable, Pair<SortedSet<String>, Map<SqlgVertex, Map<String, Object>>>> vertexCache = new HashMap<>();
@@ -49,8 +70,6 @@ public class BatchManager {
     private SchemaTable streamingBatchModeEdgeSchemaTable;
     private List<String> streamingBatchModeEdgeKeys;
 
-    private int batchCount;
-    private long batchIndex;
     private boolean isBusyFlushing;
 
     public enum BatchModeType {
@@ -59,9 +78,17 @@ public class BatchManager {
 
     private BatchModeType batchModeType = BatchModeType.NONE;
 
+    /**
+     * In auto batch mode, see 'batch.mode.auto', the elements cached in {@link BatchModeType#NORMAL} mode get their
+     * id when they are added, not when they are flushed.
+     */
+    private boolean autoBatchMode;
+
     BatchManager(SqlgGraph sqlgGraph, SqlBulkDialect sqlDialect) {
         this.sqlgGraph = sqlgGraph;
         this.sqlDialect = sqlDialect;
+        this.flushRows = sqlgGraph.configuration().getInt(BATCH_FLUSH_ROWS, 0);
+        this.flushBytes = sqlgGraph.configuration().getLong(BATCH_FLUSH_BYTES, 0L);
     }
 
     public boolean isInNormalMode() {
@@ -88,6 +115,22 @@ public class BatchManager {
         this.batchModeType = batchModeType;
     }
 
+    void autoBatchModeOn() {
+        this.autoBatchMode = true;
+        this.batchModeType = BatchModeType.NORMAL;
+    }
+
+    /**
+     * The user explicitly chose the transaction's batch mode, its elements get their id when they are flushed.
+     */
+    void autoBatchModeOff() {
+        this.autoBatchMode = false;
+    }
+
+    public boolean isAutoBatchMode() {
+        return this.autoBatchMode;
+    }
+
     void addTemporaryVertex(SqlgVertex sqlgVertex, Map<String, Object> keyValueMap) {
         SchemaTable schemaTable = SchemaTable.of(sqlgVertex.getSchema(), sqlgVertex.getTable());
         Writer writer = this.streamingVertexOutputStreamCache.get(schemaTable);
@@ -113,13 +156,8 @@ public class BatchManager {
         if (this.isStreamingEdges()) {
             throw new IllegalStateException("streaming edge is in progress, first flush or commit before streaming vertices.");
         }
-        if (this.isInStreamingModeWithLock() && this.batchCount == 0) {
-            //lock the table,
-            this.sqlDialect.lockTable(sqlgGraph, schemaTable, VERTEX_PREFIX);
-            this.batchIndex = this.sqlDialect.nextSequenceVal(sqlgGraph, schemaTable, VERTEX_PREFIX);
-        }
         if (this.isInStreamingModeWithLock()) {
-            sqlgVertex.setInternalPrimaryKey(RecordId.from(schemaTable, ++this.batchIndex));
+            keyValueMap = withAllocatedId(sqlgVertex, vertexLabel, schemaTable, VERTEX_PREFIX, keyValueMap);
         }
         Writer writer = this.streamingVertexOutputStreamCache.get(schemaTable);
         if (writer == null) {
@@ -128,13 +166,55 @@ public class BatchManager {
             this.streamingVertexOutputStreamCache.put(schemaTable, writer);
         }
         this.sqlDialect.writeStreamingVertex(writer, keyValueMap, vertexLabel);
-        if (this.isInStreamingModeWithLock()) {
-            this.batchCount++;
+    }
+
+    /**
+     * In {@link BatchModeType#STREAMING_WITH_LOCK} mode the id is taken from the graph's {@link IdBlockAllocator} and
+     * streamed with the element, so that the element's id is known without locking the table.
+     *
+     * @return a copy of keyValueMap with the allocated "ID" as the first entry.
+     */
+    private Map<String, Object> withAllocatedId(SqlgElement sqlgElement, AbstractLabel abstractLabel, SchemaTable schemaTable, String prefix, Map<String, Object> keyValueMap) {
+        if (abstractLabel.hasIDPrimaryKey()) {
+            long id = allocateId(sqlgElement, abstractLabel, schemaTable, prefix, keyValueMap);
+            LinkedHashMap<String, Object> result = new LinkedHashMap<>();
+            result.put(Topology.ID, id);
+            result.putAll(keyValueMap);
+            return result;
+        } else {
+            allocateId(sqlgElement, abstractLabel, schemaTable, prefix, keyValueMap);
+            return keyValueMap;
+        }
+    }
+
+    /**
+     * Sets the element's id, taken from the graph's {@link IdBlockAllocator} or made from its identifiers.
+     *
+     * @return the allocated id, -1 if the label has user supplied identifiers.
+     */
+    private long allocateId(SqlgElement sqlgElement, AbstractLabel abstractLabel, SchemaTable schemaTable, String prefix, Map<String, Object> keyValueMap) {
+        if (abstractLabel.hasIDPrimaryKey()) {
+            long id = this.sqlgGraph.getIdBlockAllocator().next(schemaTable, prefix);
+            sqlgElement.setInternalPrimaryKey(RecordId.from(schemaTable, id));
+            return id;
+        } else {
+            List<Comparable> identifiers = new ArrayList<>();
+            for (String identifier : abstractLabel.getIdentifiers()) {
+                identifiers.add((Comparable) keyValueMap.get(identifier));
+            }
+            sqlgElement.setInternalPrimaryKey(RecordId.from(schemaTable, identifiers));
+            return -1;
         }
     }
 
     void addVertex(SqlgVertex sqlgVertex, SchemaTable schemaTable, Map<String, Object> keyValueMap) {
         Preconditions.checkState(this.isInBatchMode() && !isInStreamingMode() && !isInStreamingModeWithLock());
+        if (this.autoBatchMode && !schemaTable.isTemporary()) {
+            //the id is allocated before the vertex is cached as it is part of the vertex's hashCode
+            VertexLabel vertexLabel = this.sqlgGraph.getTopology().getVertexLabel(schemaTable.getSchema(), schemaTable.getTable())
+                    .orElseThrow(() -> new IllegalStateException(String.format("VertexLabel %s not found.", schemaTable)));
+            allocateId(sqlgVertex, vertexLabel, schemaTable, VERTEX_PREFIX, keyValueMap);
+        }
         Pair<SortedSet<String>, Map<SqlgVertex, Map<String, Object>>> pairs = this.vertexCache.get(schemaTable);
         if (pairs == null) {
             pairs = Pair.of(new TreeSet<>(keyValueMap.keySet()), new LinkedHashMap<>());
@@ -144,6 +224,7 @@ public class BatchManager {
             pairs.getLeft().addAll(keyValueMap.keySet());
             pairs.getRight().put(sqlgVertex, keyValueMap);
         }
+        cached(1, ROW_OVERHEAD_BYTES + estimateBytes(keyValueMap));
     }
 
     void addEdge(boolean streaming, SqlgEdge sqlgEdge, SqlgVertex outVertex, SqlgVertex inVertex, Map<String, Object> keyValueMap) {
@@ -155,6 +236,9 @@ public class BatchManager {
         EdgeLabel edgeLabel = sqlgGraph.getTopology().getEdgeLabel(outSchemaTable.getSchema(), sqlgEdge.getTable()).orElseThrow(() -> new IllegalStateException(String.format("EdgeLabel not found for %s.%s", outSchemaTable.getSchema(), sqlgEdge.getTable())));
         MetaEdge metaEdge = MetaEdge.from(outSchemaTable, outVertex, inVertex);
         if (!streaming) {
+            if (this.autoBatchMode) {
+                allocateId(sqlgEdge, edgeLabel, outSchemaTable, EDGE_PREFIX, keyValueMap);
+            }
             Pair<SortedSet<String>, Map<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>>> triples = this.edgeCache.get(metaEdge);
             if (triples == null) {
                 triples = Pair.of(new TreeSet<>(keyValueMap.keySet()), new LinkedHashMap<>());
@@ -164,6 +248,7 @@ public class BatchManager {
                 triples.getLeft().addAll(keyValueMap.keySet());
                 triples.getRight().put(sqlgEdge, Triple.of(outVertex, inVertex, keyValueMap));
             }
+            cached(1, ROW_OVERHEAD_BYTES + estimateBytes(keyValueMap));
         } else {
             if (this.streamingBatchModeEdgeSchemaTable == null) {
                 this.streamingBatchModeEdgeSchemaTable = sqlgEdge.getSchemaTablePrefixed();
@@ -174,13 +259,8 @@ public class BatchManager {
             if (this.isStreamingVertices()) {
                 throw new IllegalStateException("streaming vertex is in progress, first flush or commit before streaming edges.");
             }
-            if (this.isInStreamingModeWithLock() && this.batchCount == 0) {
-                //lock the table,
-                this.sqlDialect.lockTable(sqlgGraph, outSchemaTable, EDGE_PREFIX);
-                this.batchIndex = this.sqlDialect.nextSequenceVal(sqlgGraph, outSchemaTable, EDGE_PREFIX);
-            }
             if (this.isInStreamingModeWithLock()) {
-                sqlgEdge.setInternalPrimaryKey(RecordId.from(outSchemaTable, ++this.batchIndex));
+                keyValueMap = withAllocatedId(sqlgEdge, edgeLabel, outSchemaTable, EDGE_PREFIX, keyValueMap);
             }
             Writer writer = this.streamingEdgeOutputStreamCache.get(outSchemaTable);
             if (writer == null) {
@@ -197,10 +277,6 @@ public class BatchManager {
                     inVertex,
                     keyValueMap,
                     edgeLabel);
-
-            if (this.isInStreamingModeWithLock()) {
-                this.batchCount++;
-            }
         }
     }
 
@@ -217,6 +293,89 @@ public class BatchManager {
         this.clear();
     }
 
+    /**
+     * Flushes only the elements cached for the given tables, the elements of the other labels stay cached.
+     * The vertices of a flushed edge are flushed with it as the edge references their ids.
+     * Pending removals and the streaming modes flush everything.
+     *
+     * @param schemaTables          The prefixed vertex and edge tables a query touches.
+     * @param includeEdgesOfVertices Also flush the cached edges of the given vertex tables, a drop deletes them.
+     */
+    public void flush(Set<SchemaTable> schemaTables, boolean includeEdgesOfVertices) {
+        if (!isInNormalMode() || !this.removeVertexCache.isEmpty() || !this.removeEdgeCache.isEmpty()) {
+            flush();
+            return;
+        }
+        Set<SchemaTable> vertexTables = new HashSet<>();
+        Set<SchemaTable> edgeTables = new HashSet<>();
+        for (SchemaTable schemaTable : schemaTables) {
+            if (schemaTable.isVertexTable()) {
+                vertexTables.add(schemaTable.withOutPrefix());
+            } else {
+                edgeTables.add(schemaTable.withOutPrefix());
+            }
+        }
+        Set<SchemaTable> queriedVertexTables = new HashSet<>(vertexTables);
+        Map<MetaEdge, Pair<SortedSet<String>, Map<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>>>> edges = new LinkedHashMap<>();
+        for (Map.Entry<MetaEdge, Pair<SortedSet<String>, Map<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>>>> metaEdgePairEntry : this.edgeCache.entrySet()) {
+            Map<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>> cachedEdges = metaEdgePairEntry.getValue().getRight();
+            if (cachedEdges.isEmpty()) {
+                continue;
+            }
+            //all the edges of a MetaEdge have the same out and in label
+            Triple<SqlgVertex, SqlgVertex, Map<String, Object>> inOutVertices = cachedEdges.values().iterator().next();
+            SchemaTable outSchemaTable = SchemaTable.of(inOutVertices.getLeft().getSchema(), inOutVertices.getLeft().getTable());
+            SchemaTable inSchemaTable = SchemaTable.of(inOutVertices.getMiddle().getSchema(), inOutVertices.getMiddle().getTable());
+            if (edgeTables.contains(metaEdgePairEntry.getKey().getSchemaTable()) ||
+                    (includeEdgesOfVertices && (queriedVertexTables.contains(outSchemaTable) || queriedVertexTables.contains(inSchemaTable)))) {
+
+                edges.put(metaEdgePairEntry.getKey(), metaEdgePairEntry.getValue());
+                edgeTables.add(metaEdgePairEntry.getKey().getSchemaTable());
+                vertexTables.add(outSchemaTable);
+                vertexTables.add(inSchemaTable);
+            }
+        }
+        Map<SchemaTable, Pair<SortedSet<String>, Map<SqlgVertex, Map<String, Object>>>> vertices = select(this.vertexCache, vertexTables);
+        Map<SchemaTable, Pair<SortedSet<String>, Map<SqlgVertex, Map<String, Object>>>> vertexProperties = select(this.vertexPropertyCache, vertexTables);
+        Map<SchemaTable, Pair<SortedSet<String>, Map<SqlgEdge, Map<String, Object>>>> edgeProperties = select(this.edgePropertyCache, edgeTables);
+        if (vertices.isEmpty() && edges.isEmpty() && vertexProperties.isEmpty() && edgeProperties.isEmpty()) {
+            return;
+        }
+        this.isBusyFlushing = true;
+        this.sqlDialect.flushVertexCache(this.sqlgGraph, vertices);
+        this.sqlDialect.flushEdgeCache(this.sqlgGraph, edges);
+        this.sqlDialect.flushVertexPropertyCache(this.sqlgGraph, vertexProperties);
+        this.sqlDialect.flushEdgePropertyCache(this.sqlgGraph, edgeProperties);
+        this.isBusyFlushing = false;
+        this.vertexCache.keySet().removeAll(vertices.keySet());
+        this.edgeCache.keySet().removeAll(edges.keySet());
+        this.vertexPropertyCache.keySet().removeAll(vertexProperties.keySet());
+        this.edgePropertyCache.keySet().removeAll(edgeProperties.keySet());
+        //the estimate of what stays cached, proportional to the rows that stay
+        int flushedRows = rows(vertices) + rows(edges) + rows(vertexProperties) + rows(edgeProperties);
+        int remainingRows = Math.max(0, this.cachedRows - flushedRows);
+        this.cachedBytes = this.cachedRows == 0 ? 0 : this.cachedBytes * remainingRows / this.cachedRows;
+        this.cachedRows = remainingRows;
+    }
+
+    private static int rows(Map<?, ? extends Pair<SortedSet<String>, ? extends Map<?, ?>>> cache) {
+        int rows = 0;
+        for (Pair<SortedSet<String>, ? extends Map<?, ?>> pair : cache.values()) {
+            rows += pair.getRight().size();
+        }
+        return rows;
+    }
+
+    private static <T> Map<SchemaTable, T> select(Map<SchemaTable, T> cache, Set<SchemaTable> schemaTables) {
+        Map<SchemaTable, T> result = new LinkedHashMap<>();
+        for (Map.Entry<SchemaTable, T> entry : cache.entrySet()) {
+            if (schemaTables.contains(entry.getKey())) {
+                result.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return result;
+    }
+
     public void close() {
         this.streamingVertexOutputStreamCache.values().forEach(o -> {
             try {
@@ -233,9 +392,6 @@ public class BatchManager {
                 throw new RuntimeException(e);
             }
         });
-        if (this.isInStreamingModeWithLock()) {
-            this.batchCount = 0;
-        }
         this.streamingEdgeOutputStreamCache.clear();
         this.streamingBatchModeVertexSchemaTable = null;
         this.streamingBatchModeAbstractLabel = null;
@@ -269,11 +425,16 @@ public class BatchManager {
                 SortedSet<String> keys = schemaVertices.getLeft();
                 keys.add(key);
                 Map<String, Object> properties = schemaVertices.getRight().get(sqlgElement);
+                int rows = 0;
+                long bytes = PROPERTY_OVERHEAD_BYTES + estimateBytes(value);
                 if (properties == null) {
                     properties = new LinkedHashMap<>();
                     schemaVertices.getRight().put((SqlgVertex) sqlgElement, properties);
+                    rows = 1;
+                    bytes += ROW_OVERHEAD_BYTES;
                 }
                 properties.put(key, value);
+                cached(rows, bytes);
                 return true;
             }
         } else {
@@ -296,11 +457,16 @@ public class BatchManager {
                 SortedSet<String> keys = schemaEdges.getLeft();
                 keys.add(key);
                 Map<String, Object> properties = schemaEdges.getRight().get(sqlgElement);
+                int rows = 0;
+                long bytes = PROPERTY_OVERHEAD_BYTES + estimateBytes(value);
                 if (properties == null) {
                     properties = new LinkedHashMap<>();
                     schemaEdges.getRight().put((SqlgEdge) sqlgElement, properties);
+                    rows = 1;
+                    bytes += ROW_OVERHEAD_BYTES;
                 }
                 properties.put(key, value);
+                cached(rows, bytes);
                 return true;
             }
         }
@@ -339,7 +505,51 @@ public class BatchManager {
         return map != null && map.getRight().containsKey(vertex);
     }
 
+    boolean edgeIsCached(SqlgEdge edge) {
+        MetaEdge metaEdge = MetaEdge.from(SchemaTable.of(edge.getSchema(), edge.getTable()), edge.getOutVertex(), edge.getInVertex());
+        Pair<SortedSet<String>, Map<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>>> map = this.edgeCache.get(metaEdge);
+        return map != null && map.getRight().containsKey(edge);
+    }
+
+    /**
+     * Counts what is added to the cache and flushes in normal batch mode once 'batch.flush.rows' or
+     * 'batch.flush.bytes' is reached.
+     */
+    private void cached(int rows, long bytes) {
+        this.cachedRows += rows;
+        this.cachedBytes += bytes;
+        if (isInNormalMode() && !this.isBusyFlushing &&
+                ((this.flushRows > 0 && this.cachedRows >= this.flushRows) || (this.flushBytes > 0 && this.cachedBytes >= this.flushBytes))) {
+
+            flush();
+        }
+    }
+
+    private static long estimateBytes(Map<String, Object> keyValueMap) {
+        long bytes = 0;
+        for (Object value : keyValueMap.values()) {
+            bytes += PROPERTY_OVERHEAD_BYTES + estimateBytes(value);
+        }
+        return bytes;
+    }
+
+    private static long estimateBytes(Object value) {
+        if (value == null) {
+            return 0;
+        } else if (value instanceof String string) {
+            return 40 + 2L * string.length();
+        } else if (value instanceof byte[] bytes) {
+            return 16 + bytes.length;
+        } else if (value.getClass().isArray()) {
+            return 16 + 16L * Array.getLength(value);
+        } else {
+            return 24;
+        }
+    }
+
     public void clear() {
+        this.cachedRows = 0;
+        this.cachedBytes = 0;
         this.vertexCache.clear();
         this.edgeCache.clear();
         this.removeEdgeCache.clear();
@@ -0,0 +1,270 @@
+package org.umlg.sqlg.structure;
+
+import java.util.*;
+
+/**
+ * An element's properties stored in an {@code Object[]} indexed by the slots of its label's {@link PropertyLayout}
+ * instead of a {@link HashMap} with an entry per property.
+ * Properties that are not part of the layout, i.e. added to the label after the layout was taken, are kept in a
+ * {@link HashMap} next to the slots.
+ * The slots are only allocated once the element holds more than one in {@value #SLOTS_PER_ENTRY} of the layout's
+ * properties, until then the layout's properties are kept in the {@link HashMap} too. An element loaded with a few of
+ * a wide label's properties does not pay for a slot per property.
+ * Date: 2026/10/18
+ */
+class CompactPropertyMap extends AbstractMap<String, Object> {
+
+    //marks a slot holding a null value, an empty slot is null
+    private static final Object NULL = new Object();
+    //a slot is a reference, a map entry is about 8 references
+    private static final int SLOTS_PER_ENTRY = 8;
+
+    private final PropertyLayout propertyLayout;
+    private Object[] values;
+    private int size;
+    private HashMap<String, Object> overflow;
+    //the layout's properties held in the overflow, the slots are not allocated yet
+    private int unslotted;
+
+    CompactPropertyMap(PropertyLayout propertyLayout) {
+        this.propertyLayout = propertyLayout;
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        if (this.values != null) {
+            int slot = this.propertyLayout.slot((String) key);
+            if (slot != -1) {
+                return unmask(this.values[slot]);
+            }
+        }
+        return this.overflow != null ? this.overflow.get(key) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (!(key instanceof String)) {
+            return false;
+        }
+        if (this.values != null) {
+            int slot = this.propertyLayout.slot((String) key);
+            if (slot != -1) {
+                return this.values[slot] != null;
+            }
+        }
+        return this.overflow != null && this.overflow.containsKey(key);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        int slot = this.propertyLayout.slot(key);
+        if (slot != -1 && this.values != null) {
+            Object old = this.values[slot];
+            this.values[slot] = value != null ? value : NULL;
+            if (old == null) {
+                this.size++;
+            }
+            return unmask(old);
+        }
+        if (this.overflow == null) {
+            this.overflow = new HashMap<>();
+        }
+        if (slot == -1 || this.overflow.containsKey(key)) {
+            return this.overflow.put(key, value);
+        }
+        this.overflow.put(key, value);
+        if (++this.unslotted > this.propertyLayout.size() / SLOTS_PER_ENTRY) {
+            allocateSlots();
+        }
+        return null;
+    }
+
+    /**
+     * Moves the layout's properties from the overflow into the slots.
+     */
+    private void allocateSlots() {
+        this.values = new Object[this.propertyLayout.size()];
+        for (Iterator<Entry<String, Object>> it = this.overflow.entrySet().iterator(); it.hasNext(); ) {
+            Entry<String, Object> entry = it.next();
+            int slot = this.propertyLayout.slot(entry.getKey());
+            if (slot != -1) {
+                this.values[slot] = entry.getValue() != null ? entry.getValue() : NULL;
+                it.remove();
+            }
+        }
+        //do not keep the table the layout's properties grew
+        this.overflow = this.overflow.isEmpty() ? null : new HashMap<>(this.overflow);
+        this.size = this.unslotted;
+        this.unslotted = 0;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        int slot = this.propertyLayout.slot((String) key);
+        if (slot != -1 && this.values != null) {
+            if (this.values[slot] == null) {
+                return null;
+            }
+            Object old = this.values[slot];
+            this.values[slot] = null;
+            this.size--;
+            return unmask(old);
+        }
+        if (this.overflow == null || !this.overflow.containsKey(key)) {
+            return null;
+        }
+        if (slot != -1) {
+            this.unslotted--;
+        }
+        return this.overflow.remove(key);
+    }
+
+    @Override
+    public int size() {
+        return this.size + (this.overflow != null ? this.overflow.size() : 0);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public void clear() {
+        this.values = null;
+        this.size = 0;
+        this.overflow = null;
+        this.unslotted = 0;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return CompactPropertyMap.this.size();
+            }
+        };
+    }
+
+    private static Object unmask(Object value) {
+        return value == NULL ? null : value;
+    }
+
+    private final class EntryIterator implements Iterator<Entry<String, Object>> {
+
+        private int next = -1;
+        private int last = -1;
+        private Iterator<Entry<String, Object>> overflowIterator;
+        private boolean inOverflow;
+        private String lastOverflowKey;
+
+        private EntryIterator() {
+            advance();
+        }
+
+        private void advance() {
+            Object[] values = CompactPropertyMap.this.values;
+            int slot = this.next + 1;
+            while (values != null && slot < values.length && values[slot] == null) {
+                slot++;
+            }
+            this.next = slot;
+        }
+
+        private boolean hasNextSlot() {
+            return CompactPropertyMap.this.values != null && this.next < CompactPropertyMap.this.values.length;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (hasNextSlot()) {
+                return true;
+            }
+            if (this.overflowIterator == null && CompactPropertyMap.this.overflow != null) {
+                this.overflowIterator = CompactPropertyMap.this.overflow.entrySet().iterator();
+            }
+            return this.overflowIterator != null && this.overflowIterator.hasNext();
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (hasNextSlot()) {
+                this.inOverflow = false;
+                this.last = this.next;
+                advance();
+                return new SlotEntry(this.last);
+            }
+            this.inOverflow = true;
+            Entry<String, Object> entry = this.overflowIterator.next();
+            this.lastOverflowKey = entry.getKey();
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            if (this.inOverflow) {
+                this.overflowIterator.remove();
+                if (CompactPropertyMap.this.propertyLayout.slot(this.lastOverflowKey) != -1) {
+                    CompactPropertyMap.this.unslotted--;
+                }
+            } else {
+                if (this.last == -1 || CompactPropertyMap.this.values[this.last] == null) {
+                    throw new IllegalStateException();
+                }
+                CompactPropertyMap.this.values[this.last] = null;
+                CompactPropertyMap.this.size--;
+            }
+        }
+    }
+
+    private final class SlotEntry implements Entry<String, Object> {
+
+        private final int slot;
+
+        private SlotEntry(int slot) {
+            this.slot = slot;
+        }
+
+        @Override
+        public String getKey() {
+            return CompactPropertyMap.this.propertyLayout.key(this.slot);
+        }
+
+        @Override
+        public Object getValue() {
+            return unmask(CompactPropertyMap.this.values[this.slot]);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            Object old = getValue();
+            CompactPropertyMap.this.values[this.slot] = value != null ? value : NULL;
+            return old;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Entry<?, ?> entry && Objects.equals(getKey(), entry.getKey()) && Objects.equals(getValue(), entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+        }
+    }
+}
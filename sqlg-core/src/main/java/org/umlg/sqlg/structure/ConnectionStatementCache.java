@@ -0,0 +1,120 @@
+package org.umlg.sqlg.structure;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reuses {@link PreparedStatement}s by sql for the lifetime of the transaction's connection,
+ * so that repeated queries skip parsing and planning.
+ * A statement is taken with {@link #prepare(String)} and handed back with {@link #release(PreparedStatement)}.
+ * Only released statements are cached, a statement in use is never handed out twice. The least recently released are closed first.
+ * <p>
+ * Date: 2026/10/18
+ */
+public final class ConnectionStatementCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConnectionStatementCache.class);
+    private final StatementCache statementCache;
+    private final Connection connection;
+    private final Map<String, PreparedStatement> idle = new LinkedHashMap<>(16, 0.75F, true);
+    private final Map<PreparedStatement, InUse> inUse = new IdentityHashMap<>();
+    private long generation;
+
+    ConnectionStatementCache(StatementCache statementCache, Connection connection) {
+        this.statementCache = statementCache;
+        this.connection = connection;
+        this.generation = statementCache.getGeneration();
+    }
+
+    public PreparedStatement prepare(String sql) throws SQLException {
+        if (this.statementCache.getMaximumSize() <= 0) {
+            return this.connection.prepareStatement(sql);
+        }
+        checkGeneration();
+        PreparedStatement preparedStatement = this.idle.remove(sql);
+        if (preparedStatement != null && !preparedStatement.isClosed()) {
+            this.statementCache.hit();
+        } else {
+            this.statementCache.miss();
+            preparedStatement = this.connection.prepareStatement(sql);
+        }
+        this.inUse.put(preparedStatement, new InUse(sql, this.generation));
+        return preparedStatement;
+    }
+
+    /**
+     * Returns the statement to the cache. Statements not prepared by this cache are closed.
+     * Any {@link java.sql.ResultSet} of the statement must be closed by the caller.
+     */
+    public void release(PreparedStatement preparedStatement) throws SQLException {
+        InUse inUse = this.inUse.remove(preparedStatement);
+        if (inUse == null || preparedStatement.isClosed() || !checkGeneration() || inUse.generation() != this.generation) {
+            preparedStatement.close();
+            return;
+        }
+        preparedStatement.clearParameters();
+        preparedStatement.setFetchSize(0);
+        PreparedStatement previous = this.idle.put(inUse.sql(), preparedStatement);
+        if (previous != null) {
+            //the same sql was in use twice, keep one.
+            previous.close();
+        }
+        Iterator<PreparedStatement> iterator = this.idle.values().iterator();
+        while (this.idle.size() > this.statementCache.getMaximumSize() && iterator.hasNext()) {
+            PreparedStatement eldest = iterator.next();
+            iterator.remove();
+            eldest.close();
+            this.statementCache.evicted();
+        }
+    }
+
+    /**
+     * @return false if the topology changed since the statements were prepared, the idle statements are then closed.
+     */
+    private boolean checkGeneration() throws SQLException {
+        long current = this.statementCache.getGeneration();
+        if (current != this.generation) {
+            this.statementCache.invalidated(this.idle.size());
+            closeIdle();
+            this.generation = current;
+            return false;
+        }
+        return true;
+    }
+
+    private void closeIdle() throws SQLException {
+        for (PreparedStatement preparedStatement : this.idle.values()) {
+            preparedStatement.close();
+        }
+        this.idle.clear();
+    }
+
+    public int size() {
+        return this.idle.size();
+    }
+
+    void close() {
+        try {
+            closeIdle();
+            for (PreparedStatement preparedStatement : this.inUse.keySet()) {
+                preparedStatement.close();
+            }
+        } catch (SQLException e) {
+            LOGGER.debug("Failed to close cached statements.", e);
+        } finally {
+            this.idle.clear();
+            this.inUse.clear();
+        }
+    }
+
+    private record InUse(String sql, long generation) {
+    }
+}
@@ -0,0 +1,107 @@
+package org.umlg.sqlg.structure;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A transaction scoped first level cache of loaded vertices, keyed by {@link RecordId}.
+ * A row read again in the same transaction reuses the vertex, and its loaded properties, instead of materializing a new one.
+ * Only vertices with all their properties loaded are cached. Writes update the cached vertex in place, writes via another
+ * instance of the same row evict it. Drop traversals clear the map.
+ * The vertices are softly referenced, so that the map never keeps the working set alive under memory pressure.
+ * It is enabled with 'identity.map.enabled' and is not used in batch mode.
+ * <p>
+ * Date: 2026/10/18
+ */
+public final class ElementIdentityMap {
+
+    private final SqlgGraph sqlgGraph;
+    private final boolean enabled;
+    private final Map<RecordId, VertexReference> vertices = new HashMap<>();
+    private final ReferenceQueue<SqlgVertex> referenceQueue = new ReferenceQueue<>();
+
+    ElementIdentityMap(SqlgGraph sqlgGraph, boolean enabled) {
+        this.sqlgGraph = sqlgGraph;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * @return the cached vertex or null if the row was not loaded before in this transaction.
+     */
+    public SqlgVertex get(SchemaTable schemaTable, Long id) {
+        if (!isActive()) {
+            return null;
+        }
+        expunge();
+        VertexReference reference = this.vertices.get(RecordId.from(schemaTable, id));
+        SqlgVertex sqlgVertex = reference != null ? reference.get() : null;
+        if (sqlgVertex != null && (sqlgVertex.removed || sqlgVertex.properties.isEmpty())) {
+            this.vertices.remove(reference.recordId);
+            return null;
+        }
+        return sqlgVertex;
+    }
+
+    /**
+     * Caches the vertex, all its properties must be loaded.
+     */
+    public void put(SqlgVertex sqlgVertex) {
+        if (!isActive() || sqlgVertex.removed || sqlgVertex.recordId == null || !sqlgVertex.recordId.hasSequenceId() || sqlgVertex.recordId.sequenceId() == -1) {
+            return;
+        }
+        expunge();
+        this.vertices.put(sqlgVertex.recordId, new VertexReference(sqlgVertex, this.referenceQueue));
+    }
+
+    /**
+     * Called when the element's row is written to. A cached vertex other than the element is stale and evicted.
+     */
+    void written(SqlgElement sqlgElement) {
+        if (!this.enabled || this.vertices.isEmpty() || !(sqlgElement instanceof SqlgVertex) || sqlgElement.recordId == null) {
+            return;
+        }
+        VertexReference reference = this.vertices.get(sqlgElement.recordId);
+        if (reference != null && (reference.get() != sqlgElement || sqlgElement.removed)) {
+            this.vertices.remove(sqlgElement.recordId);
+        }
+    }
+
+    public int size() {
+        expunge();
+        return this.vertices.size();
+    }
+
+    public void clear() {
+        this.vertices.clear();
+        //noinspection StatementWithEmptyBody
+        while (this.referenceQueue.poll() != null) {
+        }
+    }
+
+    private boolean isActive() {
+        return this.enabled && !this.sqlgGraph.tx().isInBatchMode();
+    }
+
+    private void expunge() {
+        VertexReference reference;
+        while ((reference = (VertexReference) this.referenceQueue.poll()) != null) {
+            this.vertices.remove(reference.recordId, reference);
+        }
+    }
+
+    private static final class VertexReference extends SoftReference<SqlgVertex> {
+
+        private final RecordId recordId;
+
+        private VertexReference(SqlgVertex sqlgVertex, ReferenceQueue<SqlgVertex> referenceQueue) {
+            super(sqlgVertex, referenceQueue);
+            this.recordId = sqlgVertex.recordId;
+        }
+    }
+}
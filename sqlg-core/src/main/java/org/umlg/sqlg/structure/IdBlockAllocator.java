@@ -0,0 +1,83 @@
+package org.umlg.sqlg.structure;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.umlg.sqlg.structure.topology.Topology.EDGE_PREFIX;
+import static org.umlg.sqlg.structure.topology.Topology.VERTEX_PREFIX;
+
+/**
+ * Hands out ids for {@link BatchManager} from blocks reserved up front from each label's ID sequence.
+ * A block is fetched with one round trip and then served from memory, shared by all transactions of the graph.
+ * Reserved ids that are never used become gaps in the sequence, as with any sequence value that is not committed.
+ * The size of a block is configured with 'id.block.size'.
+ * <p>
+ * Date: 2026/10/18
+ */
+public final class IdBlockAllocator {
+
+    private final SqlgGraph sqlgGraph;
+    private final int blockSize;
+    private final Map<SchemaTable, IdBlock> blocks = new ConcurrentHashMap<>();
+
+    IdBlockAllocator(SqlgGraph sqlgGraph, int blockSize) {
+        Preconditions.checkArgument(blockSize > 0, "id.block.size must be greater than 0, found %s", blockSize);
+        this.sqlgGraph = sqlgGraph;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * @param schemaTable The label's schema and table, without prefix.
+     * @param prefix      {@link org.umlg.sqlg.structure.topology.Topology#VERTEX_PREFIX} or {@link org.umlg.sqlg.structure.topology.Topology#EDGE_PREFIX}
+     * @param count       The number of ids required.
+     * @return count unique ids from the label's ID sequence.
+     */
+    public long[] allocate(SchemaTable schemaTable, String prefix, int count) {
+        Preconditions.checkArgument(prefix.equals(VERTEX_PREFIX) || prefix.equals(EDGE_PREFIX), "prefix must be " + VERTEX_PREFIX + " or " + EDGE_PREFIX);
+        long[] result = new long[count];
+        if (count == 0) {
+            return result;
+        }
+        IdBlock idBlock = this.blocks.computeIfAbsent(SchemaTable.of(schemaTable.getSchema(), prefix + schemaTable.getTable()), k -> new IdBlock());
+        synchronized (idBlock) {
+            int taken = idBlock.take(result, 0, count);
+            if (taken < count) {
+                int needed = count - taken;
+                idBlock.refill(this.sqlgGraph.getSqlDialect().nextSequenceValues(this.sqlgGraph, schemaTable, prefix, Math.max(this.blockSize, needed)));
+                idBlock.take(result, taken, needed);
+            }
+        }
+        return result;
+    }
+
+    public long next(SchemaTable schemaTable, String prefix) {
+        return allocate(schemaTable, prefix, 1)[0];
+    }
+
+    /**
+     * Discards all reserved ids. Called on topology changes as a sequence may have been dropped or recreated.
+     */
+    public void clear() {
+        this.blocks.clear();
+    }
+
+    private static final class IdBlock {
+
+        private long[] ids = new long[0];
+        private int position;
+
+        private int take(long[] result, int offset, int count) {
+            int taken = Math.min(count, this.ids.length - this.position);
+            System.arraycopy(this.ids, this.position, result, offset, taken);
+            this.position += taken;
+            return taken;
+        }
+
+        private void refill(long[] ids) {
+            this.ids = ids;
+            this.position = 0;
+        }
+    }
+}
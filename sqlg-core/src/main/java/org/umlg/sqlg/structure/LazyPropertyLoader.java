@@ -0,0 +1,164 @@
+package org.umlg.sqlg.structure;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.umlg.sqlg.structure.topology.VertexLabel;
+
+import java.lang.ref.WeakReference;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+import static org.umlg.sqlg.structure.topology.Topology.VERTEX_PREFIX;
+
+/**
+ * Loads the properties of vertices that were returned without their columns in batches.
+ * Unloaded vertices, i.e. the in and out vertices of an edge or vertices from a query that did not select any property,
+ * are registered per label. When the first of them is touched all the pending vertices of its label are loaded with one
+ * query, 'WHERE "ID" = ANY(?)' or 'WHERE "ID" IN (...)', instead of one query per vertex.
+ * The batch size is configured with 'lazy.load.batch.size', 1 or less disables batching.
+ * Only labels with a sequence id are batched, labels with user supplied identifiers are loaded one at a time.
+ * <p>
+ * Date: 2026/10/18
+ */
+public final class LazyPropertyLoader {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LazyPropertyLoader.class);
+    private final SqlgGraph sqlgGraph;
+    private final int batchSize;
+    private final Map<SchemaTable, Deque<WeakReference<SqlgVertex>>> pending = new HashMap<>();
+
+    LazyPropertyLoader(SqlgGraph sqlgGraph, int batchSize) {
+        this.sqlgGraph = sqlgGraph;
+        this.batchSize = batchSize;
+    }
+
+    public boolean isEnabled() {
+        return this.batchSize > 1;
+    }
+
+    /**
+     * Registers the vertex to be loaded with the next batch of its label. Vertices whose properties are already loaded are ignored.
+     */
+    public void register(SqlgVertex sqlgVertex) {
+        if (!isEnabled() || !isUnloaded(sqlgVertex) || this.sqlgGraph.tx().isInBatchMode()) {
+            return;
+        }
+        Deque<WeakReference<SqlgVertex>> vertices = this.pending.computeIfAbsent(
+                SchemaTable.of(sqlgVertex.getSchema(), sqlgVertex.getTable()),
+                k -> new ArrayDeque<>()
+        );
+        vertices.add(new WeakReference<>(sqlgVertex));
+        //bound the pending vertices, the oldest are then loaded one at a time.
+        if (vertices.size() > 10 * this.batchSize) {
+            vertices.poll();
+        }
+    }
+
+    /**
+     * Loads the vertex together with the pending unloaded vertices of its label.
+     *
+     * @return false if the vertex was not found.
+     */
+    boolean load(SqlgVertex sqlgVertex, VertexLabel vertexLabel) {
+        Map<Long, List<SqlgVertex>> batch = new LinkedHashMap<>();
+        batch.computeIfAbsent(sqlgVertex.recordId.sequenceId(), k -> new ArrayList<>(1)).add(sqlgVertex);
+        Deque<WeakReference<SqlgVertex>> vertices = this.pending.get(SchemaTable.of(sqlgVertex.getSchema(), sqlgVertex.getTable()));
+        if (vertices != null) {
+            int count = 1;
+            while (count < this.batchSize && !vertices.isEmpty()) {
+                SqlgVertex vertex = vertices.poll().get();
+                if (vertex != null && vertex != sqlgVertex && isUnloaded(vertex)) {
+                    List<SqlgVertex> sameId = batch.computeIfAbsent(vertex.recordId.sequenceId(), k -> new ArrayList<>(1));
+                    if (sameId.isEmpty()) {
+                        count++;
+                    }
+                    sameId.add(vertex);
+                }
+            }
+            if (vertices.isEmpty()) {
+                this.pending.remove(SchemaTable.of(sqlgVertex.getSchema(), sqlgVertex.getTable()));
+            }
+        }
+        String sql = sql(sqlgVertex, vertexLabel, batch.size());
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(sql);
+        }
+        ConnectionStatementCache statementCache = this.sqlgGraph.tx().getStatementCache();
+        ElementIdentityMap identityMap = this.sqlgGraph.tx().getIdentityMap();
+        try {
+            PreparedStatement preparedStatement = statementCache.prepare(sql);
+            try {
+                if (this.sqlgGraph.getSqlDialect().supportsBulkWithinOutArrayParameter()) {
+                    Array array = preparedStatement.getConnection().createArrayOf(
+                            this.sqlgGraph.getSqlDialect().getArrayDriverType(PropertyType.LONG_ARRAY),
+                            batch.keySet().toArray(new Long[0])
+                    );
+                    preparedStatement.setArray(1, array);
+                } else {
+                    int parameterIndex = 1;
+                    for (Long id : batch.keySet()) {
+                        preparedStatement.setLong(parameterIndex++, id);
+                    }
+                }
+                boolean found = false;
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        long id = resultSet.getLong("ID");
+                        List<SqlgVertex> loaded = batch.get(id);
+                        if (loaded != null) {
+                            for (SqlgVertex vertex : loaded) {
+                                if (isUnloaded(vertex)) {
+                                    vertex.loadResultSet(resultSet);
+                                    identityMap.put(vertex);
+                                }
+                            }
+                            found = found || id == sqlgVertex.recordId.sequenceId();
+                        }
+                    }
+                }
+                return found;
+            } finally {
+                statementCache.release(preparedStatement);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    void clear() {
+        this.pending.clear();
+    }
+
+    private String sql(SqlgVertex sqlgVertex, VertexLabel vertexLabel, int count) {
+        StringBuilder sql = new StringBuilder("SELECT\n\t");
+        sql.append(this.sqlgGraph.getSqlDialect().maybeWrapInQoutes("ID"));
+        sqlgVertex.appendProperties(vertexLabel, sql);
+        sql.append("\nFROM\n\t");
+        sql.append(this.sqlgGraph.getSqlDialect().maybeWrapInQoutes(sqlgVertex.getSchema()));
+        sql.append(".");
+        sql.append(this.sqlgGraph.getSqlDialect().maybeWrapInQoutes(VERTEX_PREFIX + sqlgVertex.getTable()));
+        sql.append("\nWHERE\n\t");
+        sql.append(this.sqlgGraph.getSqlDialect().maybeWrapInQoutes("ID"));
+        if (this.sqlgGraph.getSqlDialect().supportsBulkWithinOutArrayParameter()) {
+            sql.append(" = ANY(?)");
+        } else {
+            sql.append(" IN (");
+            for (int i = 0; i < count; i++) {
+                sql.append(i == 0 ? "?" : ", ?");
+            }
+            sql.append(")");
+        }
+        if (this.sqlgGraph.getSqlDialect().needsSemicolon()) {
+            sql.append(";");
+        }
+        return sql.toString();
+    }
+
+    private static boolean isUnloaded(SqlgVertex sqlgVertex) {
+        return !sqlgVertex.removed && sqlgVertex.properties.isEmpty() &&
+                sqlgVertex.recordId != null && sqlgVertex.recordId.hasSequenceId() && sqlgVertex.recordId.sequenceId() != -1;
+    }
+}
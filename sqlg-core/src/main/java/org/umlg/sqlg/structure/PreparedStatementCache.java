@@ -1,18 +1,21 @@
 package org.umlg.sqlg.structure;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.IdentityHashMap;
 import java.util.Map;
 
 /**
- * Cache all statements to close them when iteration is done
+ * Cache all statements to close them when iteration is done.
+ * The snapshot connections of {@link org.umlg.sqlg.sql.parse.ParallelQueries} are rolled back and closed with them.
  * Date: 2016/05/15
  * Time: 2:24 PM
  */
 public final class PreparedStatementCache {
 
     private final Map<PreparedStatement, Boolean> cache = new IdentityHashMap<>();
+    private final Map<Connection, Boolean> connections = new IdentityHashMap<>();
 
     void add(PreparedStatement preparedStatement) {
         this.cache.put(preparedStatement, Boolean.TRUE);
@@ -22,11 +25,24 @@ public final class PreparedStatementCache {
         this.cache.remove(preparedStatement);
     }
 
+    void add(Connection connection) {
+        this.connections.put(connection, Boolean.TRUE);
+    }
+
+    void remove(Connection connection) {
+        this.connections.remove(connection);
+    }
+
     public void close() throws SQLException {
         for (PreparedStatement preparedStatement : this.cache.keySet()) {
             preparedStatement.close();
         }
         this.cache.clear();
+        for (Connection connection : this.connections.keySet()) {
+            connection.rollback();
+            connection.close();
+        }
+        this.connections.clear();
     }
 
     public boolean isEmpty() {
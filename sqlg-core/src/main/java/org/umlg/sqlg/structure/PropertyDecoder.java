@@ -0,0 +1,380 @@
+package org.umlg.sqlg.structure;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.umlg.sqlg.structure.topology.Topology;
+import org.umlg.sqlg.util.SqlgUtil;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.*;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.umlg.sqlg.sql.parse.SchemaTableTree.ALIAS_SEPARATOR;
+import static org.umlg.sqlg.structure.PropertyType.*;
+
+/**
+ * Reads one property from a {@link ResultSet} column into a {@link SqlgElement}.
+ * The {@link PropertyType} dispatch and the resolution of the extra columns of {@link ZonedDateTime}, {@link Period} and
+ * {@link Duration} are done once, when the decoder is compiled for a result set, not for every row.
+ * Date: 2026/10/18
+ */
+public final class PropertyDecoder {
+
+    @FunctionalInterface
+    private interface ColumnReader {
+        /**
+         * @return the property value or null if the column is null.
+         */
+        Object read(SqlgGraph sqlgGraph, ResultSet resultSet, int columnIndex) throws SQLException;
+    }
+
+    private final SqlgGraph sqlgGraph;
+    private final String propertyName;
+    private final PropertyType propertyType;
+    private final int columnIndex;
+    private final ColumnReader columnReader;
+    //the dialect converts these values into the element's properties
+    private final boolean other;
+
+    private PropertyDecoder(SqlgGraph sqlgGraph, String propertyName, PropertyType propertyType, int columnIndex, ColumnReader columnReader) {
+        this.sqlgGraph = sqlgGraph;
+        this.propertyName = propertyName;
+        this.propertyType = propertyType;
+        this.columnIndex = columnIndex;
+        this.columnReader = columnReader;
+        this.other = isOther(propertyType);
+    }
+
+    /**
+     * @param schemaTablePrefixed The element's table, used to find the aliased extra columns of multi column types.
+     * @return null if the column is one of the extra columns of a multi column type, they are read with their property.
+     */
+    public static PropertyDecoder of(
+            SqlgGraph sqlgGraph,
+            ResultSet resultSet,
+            SchemaTable schemaTablePrefixed,
+            String propertyName,
+            int columnIndex,
+            Map<String, String> columnNameAliasMap,
+            int stepDepth,
+            PropertyDefinition propertyDefinition,
+            boolean isAverage) {
+
+        if (isExtraColumn(propertyName)) {
+            return null;
+        }
+        PropertyType propertyType = propertyDefinition.propertyType();
+        ColumnReader columnReader = singleColumnReader(propertyType, isAverage);
+        if (columnReader == null) {
+            columnReader = multiColumnReader(resultSet, schemaTablePrefixed, propertyName, columnNameAliasMap, stepDepth, propertyType);
+        }
+        return new PropertyDecoder(sqlgGraph, propertyName, propertyType, columnIndex, columnReader);
+    }
+
+    /**
+     * Reads one property of one row without compiling a decoder, for a column that is read once.
+     * Only the multi column types compile a decoder as their extra columns must be resolved.
+     *
+     * @return true if the property was setted, else false.
+     */
+    public static boolean decode(
+            SqlgGraph sqlgGraph,
+            ResultSet resultSet,
+            SchemaTable schemaTablePrefixed,
+            String propertyName,
+            int columnIndex,
+            Map<String, String> columnNameAliasMap,
+            int stepDepth,
+            PropertyDefinition propertyDefinition,
+            boolean isAverage,
+            SqlgElement sqlgElement) throws SQLException {
+
+        if (isExtraColumn(propertyName)) {
+            return false;
+        }
+        PropertyType propertyType = propertyDefinition.propertyType();
+        ColumnReader columnReader = singleColumnReader(propertyType, isAverage);
+        if (columnReader == null) {
+            return of(sqlgGraph, resultSet, schemaTablePrefixed, propertyName, columnIndex, columnNameAliasMap, stepDepth, propertyDefinition, isAverage)
+                    .decode(resultSet, sqlgElement);
+        }
+        Object value = columnReader.read(sqlgGraph, resultSet, columnIndex);
+        return set(sqlgGraph, sqlgElement, propertyName, propertyType, isOther(propertyType), value);
+    }
+
+    /**
+     * @return true if the property was setted, else false.
+     */
+    public boolean decode(ResultSet resultSet, SqlgElement sqlgElement) throws SQLException {
+        Object value = this.columnReader.read(this.sqlgGraph, resultSet, this.columnIndex);
+        return set(this.sqlgGraph, sqlgElement, this.propertyName, this.propertyType, this.other, value);
+    }
+
+    private static boolean set(SqlgGraph sqlgGraph, SqlgElement sqlgElement, String propertyName, PropertyType propertyType, boolean other, Object value) {
+        if (value == null) {
+            return false;
+        }
+        if (other) {
+            sqlgGraph.getSqlDialect().handleOther(sqlgElement.properties, propertyName, value, propertyType);
+        } else {
+            sqlgElement.properties.put(propertyName, value);
+        }
+        return true;
+    }
+
+    private static boolean isExtraColumn(String propertyName) {
+        return propertyName.endsWith(Topology.ZONEID) ||
+                propertyName.endsWith(Topology.MONTHS) ||
+                propertyName.endsWith(Topology.DAYS) ||
+                propertyName.endsWith(Topology.DURATION_NANOS);
+    }
+
+    private static boolean isOther(PropertyType propertyType) {
+        return switch (propertyType.ordinal()) {
+            case JSON_ORDINAL, GEOGRAPHY_POLYGON_ORDINAL, GEOGRAPHY_POINT_ORDINAL, POLYGON_ORDINAL, LINESTRING_ORDINAL, POINT_ORDINAL -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * The readers of the types stored in one column, apart from the arrays, capture nothing and are not allocated per call.
+     *
+     * @return null for the multi column types.
+     */
+    private static ColumnReader singleColumnReader(PropertyType propertyType, boolean isAverage) {
+        return switch (propertyType.ordinal()) {
+            case BOOLEAN_ORDINAL -> (sqlgGraph, rs, columnIndex) -> {
+                boolean aBoolean = rs.getBoolean(columnIndex);
+                return rs.wasNull() ? null : aBoolean;
+            };
+            case BYTE_ORDINAL -> (sqlgGraph, rs, columnIndex) -> {
+                byte aByte = rs.getByte(columnIndex);
+                return rs.wasNull() ? null : aByte;
+            };
+            case SHORT_ORDINAL -> (sqlgGraph, rs, columnIndex) -> {
+                short s = rs.getShort(columnIndex);
+                return rs.wasNull() ? null : s;
+            };
+            case INTEGER_ORDINAL -> (sqlgGraph, rs, columnIndex) -> {
+                int anInt = rs.getInt(columnIndex);
+                return rs.wasNull() ? null : anInt;
+            };
+            case LONG_ORDINAL -> (sqlgGraph, rs, columnIndex) -> {
+                long aLong = rs.getLong(columnIndex);
+                return rs.wasNull() ? null : aLong;
+            };
+            case FLOAT_ORDINAL -> (sqlgGraph, rs, columnIndex) -> {
+                float aFloat = rs.getFloat(columnIndex);
+                return rs.wasNull() ? null : aFloat;
+            };
+            case DOUBLE_ORDINAL -> isAverage ?
+                    (sqlgGraph, rs, columnIndex) -> {
+                        double aDouble = rs.getDouble(columnIndex);
+                        if (rs.wasNull()) {
+                            return null;
+                        }
+                        long weight = rs.getLong(columnIndex + 1);
+                        return Pair.of(aDouble, weight);
+                    } :
+                    (sqlgGraph, rs, columnIndex) -> {
+                        double aDouble = rs.getDouble(columnIndex);
+                        return rs.wasNull() ? null : aDouble;
+                    };
+            case BIG_DECIMAL_ORDINAL -> isAverage ?
+                    (sqlgGraph, rs, columnIndex) -> {
+                        BigDecimal aBigDecimal = BigDecimal.valueOf(rs.getDouble(columnIndex));
+                        if (rs.wasNull()) {
+                            return null;
+                        }
+                        long weight = rs.getLong(columnIndex + 1);
+                        return Pair.of(aBigDecimal, weight);
+                    } :
+                    (sqlgGraph, rs, columnIndex) -> {
+                        BigDecimal aBigDecimal = BigDecimal.valueOf(rs.getDouble(columnIndex));
+                        return rs.wasNull() ? null : aBigDecimal;
+                    };
+            case LTREE_ORDINAL, STRING_ORDINAL, VARCHAR_ORDINAL -> (sqlgGraph, rs, columnIndex) -> {
+                String string = rs.getString(columnIndex);
+                return rs.wasNull() ? null : string;
+            };
+            case LOCALDATE_ORDINAL -> (sqlgGraph, rs, columnIndex) -> {
+                java.sql.Date date = rs.getDate(columnIndex);
+                return date != null ? date.toLocalDate() : null;
+            };
+            case LOCALDATETIME_ORDINAL -> (sqlgGraph, rs, columnIndex) -> {
+                Timestamp timestamp = rs.getTimestamp(columnIndex);
+                return timestamp != null ? timestamp.toLocalDateTime() : null;
+            };
+            case LOCALTIME_ORDINAL -> (sqlgGraph, rs, columnIndex) -> {
+                Time time = rs.getTime(columnIndex);
+                return time != null ? time.toLocalTime() : null;
+            };
+            case JSON_ORDINAL, GEOGRAPHY_POLYGON_ORDINAL, GEOGRAPHY_POINT_ORDINAL, POLYGON_ORDINAL, LINESTRING_ORDINAL, POINT_ORDINAL ->
+                    (sqlgGraph, rs, columnIndex) -> rs.getObject(columnIndex);
+            case UUID_ORDINAL -> (sqlgGraph, rs, columnIndex) -> {
+                UUID uuid = (UUID) rs.getObject(columnIndex);
+                return rs.wasNull() ? null : uuid;
+            };
+            case boolean_ARRAY_ORDINAL, BOOLEAN_ARRAY_ORDINAL, short_ARRAY_ORDINAL, SHORT_ARRAY_ORDINAL, int_ARRAY_ORDINAL,
+                    INTEGER_ARRAY_ORDINAL, long_ARRAY_ORDINAL, LONG_ARRAY_ORDINAL, float_ARRAY_ORDINAL, FLOAT_ARRAY_ORDINAL,
+                    double_ARRAY_ORDINAL, DOUBLE_ARRAY_ORDINAL, BIG_DECIMAL_ARRAY_ORDINAL, STRING_ARRAY_ORDINAL,
+                    LOCALDATETIME_ARRAY_ORDINAL, LOCALDATE_ARRAY_ORDINAL, LOCALTIME_ARRAY_ORDINAL, JSON_ARRAY_ORDINAL ->
+                    (sqlgGraph, rs, columnIndex) -> {
+                        java.sql.Array array = rs.getArray(columnIndex);
+                        return array != null ? sqlgGraph.getSqlDialect().convertArray(propertyType, array) : null;
+                    };
+            case byte_ARRAY_ORDINAL -> (sqlgGraph, rs, columnIndex) -> {
+                Object object = rs.getObject(columnIndex);
+                return object != null ? sqlgGraph.getSqlDialect().toByteArray(object) : null;
+            };
+            case BYTE_ARRAY_ORDINAL -> (sqlgGraph, rs, columnIndex) -> {
+                Object object = rs.getObject(columnIndex);
+                return object != null ? SqlgUtil.convertPrimitiveByteArrayToByteArray(sqlgGraph.getSqlDialect().toByteArray(object)) : null;
+            };
+            case ZONEDDATETIME_ORDINAL, PERIOD_ORDINAL, DURATION_ORDINAL, ZONEDDATETIME_ARRAY_ORDINAL, DURATION_ARRAY_ORDINAL,
+                    PERIOD_ARRAY_ORDINAL -> null;
+            default -> throw SqlgExceptions.invalidPropertyType(propertyType);
+        };
+    }
+
+    private static ColumnReader multiColumnReader(
+            ResultSet resultSet,
+            SchemaTable schemaTablePrefixed,
+            String propertyName,
+            Map<String, String> columnNameAliasMap,
+            int stepDepth,
+            PropertyType propertyType) {
+
+        switch (propertyType.ordinal()) {
+            case ZONEDDATETIME_ORDINAL -> {
+                Column zoneIdColumn = Column.of(resultSet, schemaTablePrefixed, propertyName, columnNameAliasMap, stepDepth, propertyType.getPostFixes()[0]);
+                return (sqlgGraph, rs, columnIndex) -> {
+                    Timestamp timestamp = rs.getTimestamp(columnIndex);
+                    if (timestamp == null) {
+                        return null;
+                    }
+                    return ZonedDateTime.of(timestamp.toLocalDateTime(), ZoneId.of(zoneIdColumn.getString(rs)));
+                };
+            }
+            case PERIOD_ORDINAL -> {
+                Column monthsColumn = Column.of(resultSet, schemaTablePrefixed, propertyName, columnNameAliasMap, stepDepth, propertyType.getPostFixes()[0]);
+                Column daysColumn = Column.of(resultSet, schemaTablePrefixed, propertyName, columnNameAliasMap, stepDepth, propertyType.getPostFixes()[1]);
+                return (sqlgGraph, rs, columnIndex) -> {
+                    int years = rs.getInt(columnIndex);
+                    if (rs.wasNull()) {
+                        return null;
+                    }
+                    return Period.of(years, monthsColumn.getInt(rs), daysColumn.getInt(rs));
+                };
+            }
+            case DURATION_ORDINAL -> {
+                Column nanosColumn = Column.of(resultSet, schemaTablePrefixed, propertyName, columnNameAliasMap, stepDepth, propertyType.getPostFixes()[0]);
+                return (sqlgGraph, rs, columnIndex) -> {
+                    long seconds = rs.getLong(columnIndex);
+                    if (rs.wasNull()) {
+                        return null;
+                    }
+                    return Duration.ofSeconds(seconds, nanosColumn.getInt(rs));
+                };
+            }
+            case ZONEDDATETIME_ARRAY_ORDINAL -> {
+                Column zoneIdColumn = Column.of(resultSet, schemaTablePrefixed, propertyName, columnNameAliasMap, stepDepth, propertyType.getPostFixes()[0]);
+                return (sqlgGraph, rs, columnIndex) -> {
+                    java.sql.Array array = rs.getArray(columnIndex);
+                    if (array == null) {
+                        return null;
+                    }
+                    String[] objectZoneIdArray = (String[]) sqlgGraph.getSqlDialect().convertArray(PropertyType.STRING_ARRAY, zoneIdColumn.getArray(rs));
+                    LocalDateTime[] localDateTimes = (LocalDateTime[]) sqlgGraph.getSqlDialect().convertArray(PropertyType.LOCALDATETIME_ARRAY, array);
+                    ZonedDateTime[] zonedDateTimes = new ZonedDateTime[localDateTimes.length];
+                    int count = 0;
+                    for (LocalDateTime localDateTime : localDateTimes) {
+                        ZoneId zoneId = ZoneId.of(objectZoneIdArray[count]);
+                        zonedDateTimes[count++] = ZonedDateTime.of(localDateTime, zoneId);
+                    }
+                    return zonedDateTimes;
+                };
+            }
+            case DURATION_ARRAY_ORDINAL -> {
+                Column nanosColumn = Column.of(resultSet, schemaTablePrefixed, propertyName, columnNameAliasMap, stepDepth, propertyType.getPostFixes()[0]);
+                return (sqlgGraph, rs, columnIndex) -> {
+                    java.sql.Array array = rs.getArray(columnIndex);
+                    if (array == null) {
+                        return null;
+                    }
+                    long[] secondsArray = (long[]) sqlgGraph.getSqlDialect().convertArray(PropertyType.long_ARRAY, array);
+                    int[] nanoArray = (int[]) sqlgGraph.getSqlDialect().convertArray(PropertyType.int_ARRAY, nanosColumn.getArray(rs));
+                    Duration[] durations = new Duration[secondsArray.length];
+                    int count = 0;
+                    for (long second : secondsArray) {
+                        durations[count] = Duration.ofSeconds(second, nanoArray[count++]);
+                    }
+                    return durations;
+                };
+            }
+            case PERIOD_ARRAY_ORDINAL -> {
+                Column monthsColumn = Column.of(resultSet, schemaTablePrefixed, propertyName, columnNameAliasMap, stepDepth, propertyType.getPostFixes()[0]);
+                Column daysColumn = Column.of(resultSet, schemaTablePrefixed, propertyName, columnNameAliasMap, stepDepth, propertyType.getPostFixes()[1]);
+                return (sqlgGraph, rs, columnIndex) -> {
+                    java.sql.Array array = rs.getArray(columnIndex);
+                    if (array == null) {
+                        return null;
+                    }
+                    Integer[] yearsIntegers = (Integer[]) sqlgGraph.getSqlDialect().convertArray(PropertyType.INTEGER_ARRAY, array);
+                    Integer[] monthsIntegers = (Integer[]) sqlgGraph.getSqlDialect().convertArray(PropertyType.INTEGER_ARRAY, monthsColumn.getArray(rs));
+                    Integer[] daysIntegers = (Integer[]) sqlgGraph.getSqlDialect().convertArray(PropertyType.INTEGER_ARRAY, daysColumn.getArray(rs));
+                    Period[] periods = new Period[yearsIntegers.length];
+                    int count = 0;
+                    for (Integer year : yearsIntegers) {
+                        periods[count] = Period.of(year, monthsIntegers[count], daysIntegers[count++]);
+                    }
+                    return periods;
+                };
+            }
+            default -> throw SqlgExceptions.invalidPropertyType(propertyType);
+        }
+    }
+
+    public String getPropertyName() {
+        return this.propertyName;
+    }
+
+    /**
+     * One of the extra columns of a multi column type. It is found by label as the extra columns are not part of the
+     * column indexes, the label is resolved to an index once.
+     */
+    private record Column(String label, int index) {
+
+        static Column of(ResultSet resultSet, SchemaTable schemaTablePrefixed, String propertyName, Map<String, String> columnNameAliasMap, int stepDepth, String postFix) {
+            String column = stepDepth + ALIAS_SEPARATOR + schemaTablePrefixed.toString().replace(".", ALIAS_SEPARATOR) + ALIAS_SEPARATOR + propertyName + postFix;
+            String label = columnNameAliasMap.get(column);
+            if (label == null) {
+                label = propertyName + postFix;
+            }
+            int index;
+            try {
+                index = resultSet.findColumn(label);
+            } catch (SQLException e) {
+                //not in the result set, fail as before when the value is read
+                index = -1;
+            }
+            return new Column(label, index);
+        }
+
+        String getString(ResultSet resultSet) throws SQLException {
+            return this.index != -1 ? resultSet.getString(this.index) : resultSet.getString(this.label);
+        }
+
+        int getInt(ResultSet resultSet) throws SQLException {
+            return this.index != -1 ? resultSet.getInt(this.index) : resultSet.getInt(this.label);
+        }
+
+        java.sql.Array getArray(ResultSet resultSet) throws SQLException {
+            return this.index != -1 ? resultSet.getArray(this.index) : resultSet.getArray(this.label);
+        }
+    }
+}
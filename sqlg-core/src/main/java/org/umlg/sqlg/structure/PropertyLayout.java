@@ -0,0 +1,44 @@
+package org.umlg.sqlg.structure;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The column layout of a vertex or edge label, the slot of every property in a {@link CompactPropertyMap}.
+ * A layout is immutable and shared by all the elements of the label created while it was current.
+ * Date: 2026/10/18
+ */
+public final class PropertyLayout {
+
+    private final String[] keys;
+    private final Map<String, Integer> slots;
+
+    private PropertyLayout(String[] keys) {
+        this.keys = keys;
+        this.slots = new HashMap<>((int) (keys.length / 0.75F) + 1);
+        for (int i = 0; i < keys.length; i++) {
+            this.slots.put(keys[i], i);
+        }
+    }
+
+    public static PropertyLayout of(Collection<String> keys) {
+        return new PropertyLayout(keys.toArray(new String[0]));
+    }
+
+    /**
+     * @return the slot of the key, -1 if the key is not part of the layout.
+     */
+    int slot(String key) {
+        Integer slot = this.slots.get(key);
+        return slot != null ? slot : -1;
+    }
+
+    String key(int slot) {
+        return this.keys[slot];
+    }
+
+    public int size() {
+        return this.keys.length;
+    }
+}
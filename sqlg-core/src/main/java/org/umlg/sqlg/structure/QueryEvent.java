@@ -0,0 +1,29 @@
+package org.umlg.sqlg.structure;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+
+import javax.annotation.Nullable;
+
+/**
+ * The timings of an executed query, all in nanoseconds.
+ * The drain time is measured from the execution to the closing of the result set, for lazy traversals it includes the
+ * time the consumer spent between reading the rows.
+ * <p>
+ * Date: 2026/10/18
+ *
+ * @param sql            The executed sql.
+ * @param parameterCount The number of bound parameters.
+ * @param step           The traversal step that executed the query, null if unknown.
+ * @param prepareNanos   Generating the sql, preparing the statement and binding its parameters.
+ * @param executeNanos   Executing the statement.
+ * @param firstRowNanos  From the execution to the first row read, -1 if there were no rows.
+ * @param drainNanos     From the execution to the last row read.
+ * @param rowCount       The number of rows read, for updates the number of rows updated.
+ */
+public record QueryEvent(String sql, int parameterCount, @Nullable Step<?, ?> step, long prepareNanos,
+                         long executeNanos, long firstRowNanos, long drainNanos, long rowCount) {
+
+    public long totalNanos() {
+        return this.prepareNanos + this.executeNanos + this.drainNanos;
+    }
+}
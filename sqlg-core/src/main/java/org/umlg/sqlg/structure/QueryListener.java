@@ -0,0 +1,14 @@
+package org.umlg.sqlg.structure;
+
+/**
+ * Receives a {@link QueryEvent} for every query sqlg executes on behalf of a traversal.
+ * Listeners are registered with {@link SqlgGraph#addQueryListener(QueryListener)} and are called on the thread that
+ * executed the query, after its result set has been closed. They must be fast and must not use the graph.
+ * <p>
+ * Date: 2026/10/18
+ */
+@FunctionalInterface
+public interface QueryListener {
+
+    void queryExecuted(QueryEvent queryEvent);
+}
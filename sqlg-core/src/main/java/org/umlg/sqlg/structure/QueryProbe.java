@@ -0,0 +1,138 @@
+package org.umlg.sqlg.structure;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.umlg.sqlg.sql.parse.SchemaTableTree;
+import org.umlg.sqlg.util.SqlgUtil;
+
+import javax.annotation.Nullable;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a single query for the {@link QueryListener}s and the slow query log.
+ * The slow query log is enabled with 'query.slow.threshold.ms', queries that take at least that long are logged at warn level.
+ * If 'query.slow.explain' is true, the default, and the dialect supports it, the plan of slow selects is logged with them.
+ * Capturing the plan executes the query a second time.
+ * <p>
+ * Date: 2026/10/18
+ */
+public final class QueryProbe {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QueryProbe.class);
+
+    private final SqlgGraph sqlgGraph;
+    private final Step<?, ?> step;
+    private final long start;
+    private String sql;
+    private LinkedList<SchemaTableTree> distinctQueryStack;
+    private int parameterCount;
+    private long prepared;
+    private long executed;
+    private long firstRow = -1;
+    private long rowCount;
+
+    private QueryProbe(SqlgGraph sqlgGraph, @Nullable Step<?, ?> step) {
+        this.sqlgGraph = sqlgGraph;
+        this.step = step;
+        this.start = System.nanoTime();
+    }
+
+    /**
+     * @return a probe or null if there are no listeners and the slow query log is disabled.
+     */
+    public static QueryProbe start(SqlgGraph sqlgGraph, @Nullable Step<?, ?> step) {
+        if (sqlgGraph.getQueryListeners().isEmpty() && sqlgGraph.getSlowQueryThresholdNanos() < 0) {
+            return null;
+        }
+        return new QueryProbe(sqlgGraph, step);
+    }
+
+    /**
+     * @param distinctQueryStack The stack the parameters were bound from, null if the query is not to be explained.
+     */
+    public void prepared(String sql, @Nullable LinkedList<SchemaTableTree> distinctQueryStack, int parameterCount) {
+        this.prepared = System.nanoTime();
+        this.sql = sql;
+        this.distinctQueryStack = distinctQueryStack;
+        this.parameterCount = parameterCount;
+    }
+
+    public void executed() {
+        this.executed = System.nanoTime();
+    }
+
+    public void row() {
+        if (this.rowCount++ == 0) {
+            this.firstRow = System.nanoTime();
+        }
+    }
+
+    public void rows(long count) {
+        this.rowCount += count;
+    }
+
+    public void completed() {
+        long end = System.nanoTime();
+        QueryEvent queryEvent = new QueryEvent(
+                this.sql,
+                this.parameterCount,
+                this.step,
+                this.prepared - this.start,
+                this.executed - this.prepared,
+                this.firstRow == -1 ? -1 : this.firstRow - this.executed,
+                end - this.executed,
+                this.rowCount
+        );
+        for (QueryListener queryListener : this.sqlgGraph.getQueryListeners()) {
+            try {
+                queryListener.queryExecuted(queryEvent);
+            } catch (Exception e) {
+                LOGGER.error("QueryListener failed", e);
+            }
+        }
+        long threshold = this.sqlgGraph.getSlowQueryThresholdNanos();
+        if (threshold >= 0 && queryEvent.totalNanos() >= threshold && LOGGER.isWarnEnabled()) {
+            List<String> plan = explain();
+            LOGGER.warn("slow query, {} ms, {} rows, step {}\n{}{}",
+                    TimeUnit.NANOSECONDS.toMillis(queryEvent.totalNanos()),
+                    queryEvent.rowCount(),
+                    this.step,
+                    this.sql,
+                    plan.isEmpty() ? "" : "\n" + String.join("\n", plan)
+            );
+        }
+    }
+
+    private List<String> explain() {
+        List<String> plan = new ArrayList<>();
+        String explainSql = this.sqlgGraph.getSqlDialect().explainAnalyze(this.sql);
+        if (this.distinctQueryStack == null || explainSql == null || !this.sqlgGraph.isSlowQueryExplain() || !this.sqlgGraph.tx().isOpen()) {
+            return plan;
+        }
+        Connection connection = this.sqlgGraph.tx().getConnection();
+        try {
+            //a failing statement must not abort the traversal's transaction
+            Savepoint savepoint = connection.setSavepoint();
+            try (PreparedStatement preparedStatement = connection.prepareStatement(explainSql)) {
+                SqlgUtil.setParametersOnStatement(this.sqlgGraph, this.distinctQueryStack, preparedStatement, false);
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        plan.add(resultSet.getString(1));
+                    }
+                }
+                connection.releaseSavepoint(savepoint);
+            } catch (SQLException e) {
+                connection.rollback(savepoint);
+                LOGGER.warn("failed to explain slow query", e);
+            }
+        } catch (SQLException e) {
+            LOGGER.warn("failed to explain slow query", e);
+        }
+        return plan;
+    }
+}
@@ -1,37 +1,69 @@
 package org.umlg.sqlg.structure;
 
-import org.apache.commons.collections4.map.LRUMap;
 import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.umlg.sqlg.sql.parse.AliasMapHolder;
 import org.umlg.sqlg.sql.parse.SchemaTableTree;
 
-import java.util.LinkedList;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Caches the sql generated for a distinct query stack.
+ * Reads and writes do not lock, the sql for a miss is constructed outside any lock.
+ * Entries are indexed by the {@link SchemaTable}s they touch, so that a topology change only invalidates the sql of the affected labels.
+ * When the cache is full entries are evicted in insertion order, giving recently accessed entries a second chance.
+ */
 public final class SchemaTableTreeCache {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SchemaTableTreeCache.class);
-    private final LRUMap<Pair<SchemaTableTree, LinkedList<SchemaTableTree>>, Pair<String, AliasMapHolder>> lruMap;
+    private final int maximumSize;
+    private final Map<Pair<SchemaTableTree, LinkedList<SchemaTableTree>>, Entry> cache = new ConcurrentHashMap<>();
+    private final Map<SchemaTable, Set<Pair<SchemaTableTree, LinkedList<SchemaTableTree>>>> keysBySchemaTable = new ConcurrentHashMap<>();
+    private final Queue<Entry> evictionQueue = new ConcurrentLinkedQueue<>();
+    //incremented on every invalidation, sql constructed while it changed is not cached as it might be stale.
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder invalidationCount = new LongAdder();
 
     SchemaTableTreeCache(int cacheSize) {
-        this.lruMap = new LRUMap<>(cacheSize);
+        this.maximumSize = cacheSize;
     }
 
-    private void put(Pair<SchemaTableTree, LinkedList<SchemaTableTree>> key, Pair<String, AliasMapHolder> value) {
-        if (this.lruMap.isFull()) {
-            LOGGER.debug("LRUMap is full!!!");
-        }
-        this.lruMap.put(key, value);
-    }
-
-    private Pair<String, AliasMapHolder> get(Pair<SchemaTableTree, LinkedList<SchemaTableTree>> key) {
-        return this.lruMap.get(key);
+    public void clear() {
+        this.generation.incrementAndGet();
+        this.invalidationCount.add(this.cache.size());
+        this.cache.clear();
+        this.keysBySchemaTable.clear();
+        this.evictionQueue.clear();
     }
 
-    public void clear() {
-        synchronized (this.lruMap) {
-            this.lruMap.clear();
+    /**
+     * Removes all the entries whose sql touches any of the given schemaTables.
+     *
+     * @param schemaTables prefixed, i.e. 'V_' or 'E_', schemaTables.
+     */
+    public void invalidate(Collection<SchemaTable> schemaTables) {
+        if (schemaTables.isEmpty()) {
+            return;
+        }
+        this.generation.incrementAndGet();
+        for (SchemaTable schemaTable : schemaTables) {
+            Set<Pair<SchemaTableTree, LinkedList<SchemaTableTree>>> keys = this.keysBySchemaTable.remove(schemaTable);
+            if (keys != null) {
+                for (Pair<SchemaTableTree, LinkedList<SchemaTableTree>> key : keys) {
+                    Entry entry = this.cache.get(key);
+                    if (entry != null && remove(entry)) {
+                        this.invalidationCount.increment();
+                    }
+                }
+            }
         }
     }
 
@@ -39,28 +71,122 @@ public final class SchemaTableTreeCache {
         SchemaTableTree rootSchemaTableTree = p.getLeft();
         LinkedList<SchemaTableTree> distinctQueryStack = p.getRight();
         String sql;
-        //We do not cache bulk within as the sql has a `VALUES` clause.
+        //We do not cache bulk within that joins onto a `VALUES` clause, bulk within bound as an array parameter is cached.
         if (distinctQueryStack.stream().anyMatch(SchemaTableTree::hasBulkWithinOrOut)) {
             sql = rootSchemaTableTree.constructSql(distinctQueryStack);
         } else {
-            Pair<String, AliasMapHolder> sqlAliasMapHolder = get(p);
-            if (sqlAliasMapHolder == null) {
-                synchronized (this.lruMap) {
-                    sqlAliasMapHolder = get(p);
-                    if (sqlAliasMapHolder == null) {
-                        sql = rootSchemaTableTree.constructSql(distinctQueryStack);
-                        put(p, Pair.of(sql, rootSchemaTableTree.getAliasMapHolder().clone()));
-                    } else {
-                        sql = sqlAliasMapHolder.getKey();
-                        rootSchemaTableTree.setAliasMapHolder(sqlAliasMapHolder.getValue().clone());
+            Entry entry = this.cache.get(p);
+            if (entry == null) {
+                this.missCount.increment();
+                long generationBefore = this.generation.get();
+                sql = rootSchemaTableTree.constructSql(distinctQueryStack);
+                if (this.generation.get() == generationBefore) {
+                    entry = new Entry(p, sql, rootSchemaTableTree.getAliasMapHolder().clone(), schemaTables(rootSchemaTableTree, distinctQueryStack));
+                    put(p, entry);
+                    //an invalidation raced with the put
+                    if (this.generation.get() != generationBefore) {
+                        remove(entry);
                     }
                 }
             } else {
-                sql = sqlAliasMapHolder.getKey();
-                rootSchemaTableTree.setAliasMapHolder(sqlAliasMapHolder.getValue().clone());
+                this.hitCount.increment();
+                entry.accessed = true;
+                sql = entry.sql;
+                rootSchemaTableTree.setAliasMapHolder(entry.aliasMapHolder.clone());
             }
         }
         return sql;
     }
 
+    public int size() {
+        return this.cache.size();
+    }
+
+    public long getHitCount() {
+        return this.hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return this.missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return this.evictionCount.sum();
+    }
+
+    public long getInvalidationCount() {
+        return this.invalidationCount.sum();
+    }
+
+    private void put(Pair<SchemaTableTree, LinkedList<SchemaTableTree>> key, Entry entry) {
+        if (this.cache.putIfAbsent(key, entry) != null) {
+            //another thread constructed the same sql
+            return;
+        }
+        for (SchemaTable schemaTable : entry.schemaTables) {
+            this.keysBySchemaTable.computeIfAbsent(schemaTable, k -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+        this.evictionQueue.offer(entry);
+        evict();
+    }
+
+    private void evict() {
+        //entries already removed by invalidation are still in the queue, they are skipped when polled.
+        int attempts = 2 * this.maximumSize;
+        while (this.cache.size() > this.maximumSize && attempts-- > 0) {
+            Entry entry = this.evictionQueue.poll();
+            if (entry == null) {
+                return;
+            }
+            if (entry.accessed) {
+                entry.accessed = false;
+                this.evictionQueue.offer(entry);
+            } else if (remove(entry)) {
+                this.evictionCount.increment();
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("SchemaTableTreeCache is full, evicted {}", entry.sql);
+                }
+            }
+        }
+    }
+
+    private boolean remove(Entry entry) {
+        if (this.cache.remove(entry.key, entry)) {
+            for (SchemaTable schemaTable : entry.schemaTables) {
+                this.keysBySchemaTable.computeIfPresent(schemaTable, (k, keys) -> {
+                    keys.remove(entry.key);
+                    return keys.isEmpty() ? null : keys;
+                });
+            }
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    private static Set<SchemaTable> schemaTables(SchemaTableTree rootSchemaTableTree, LinkedList<SchemaTableTree> distinctQueryStack) {
+        Set<SchemaTable> result = new HashSet<>();
+        result.add(rootSchemaTableTree.getSchemaTable());
+        for (SchemaTableTree schemaTableTree : distinctQueryStack) {
+            result.add(schemaTableTree.getSchemaTable());
+        }
+        return result;
+    }
+
+    private static final class Entry {
+
+        private final Pair<SchemaTableTree, LinkedList<SchemaTableTree>> key;
+        private final String sql;
+        private final AliasMapHolder aliasMapHolder;
+        private final Set<SchemaTable> schemaTables;
+        private volatile boolean accessed;
+
+        private Entry(Pair<SchemaTableTree, LinkedList<SchemaTableTree>> key, String sql, AliasMapHolder aliasMapHolder, Set<SchemaTable> schemaTables) {
+            this.key = key;
+            this.sql = sql;
+            this.aliasMapHolder = aliasMapHolder;
+            this.schemaTables = schemaTables;
+        }
+    }
+
 }
@@ -2,12 +2,17 @@ package org.umlg.sqlg.structure;
 
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.lang3.tuple.Triple;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.util.iterator.EmptyIterator;
+import org.umlg.sqlg.sql.parse.ParallelQueries;
 import org.umlg.sqlg.sql.parse.SchemaTableTree;
+import org.umlg.sqlg.sql.parse.UnionAllQuery;
 import org.umlg.sqlg.strategy.Emit;
 import org.umlg.sqlg.strategy.SqlgSqlExecutor;
 import org.umlg.sqlg.util.SqlgUtil;
 
+import javax.annotation.Nullable;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
@@ -18,9 +23,10 @@ import java.util.*;
  * Date: 2015/07/01
  * Time: 2:03 PM
  */
-public class SqlgCompiledResultIterator<E> implements Iterator<E> {
+public class SqlgCompiledResultIterator<E> implements CloseableIterator<E> {
 
     private final SqlgGraph sqlgGraph;
+    private final Step<?, ?> step;
     private final Set<SchemaTableTree> rootSchemaTableTrees;
     private boolean forParent = false;
     private Iterator<SchemaTableTree> rootSchemaTableTreeIterator = EmptyIterator.instance();
@@ -37,7 +43,16 @@ public class SqlgCompiledResultIterator<E> implements Iterator<E> {
 
     private List<LinkedList<SchemaTableTree>> subQueryStacks;
 
+    private Iterator<UnionAllQuery> unionAllQueryIterator = EmptyIterator.instance();
+    private UnionAllQuery currentUnionAllQuery;
+
+    private ParallelQueries parallelQueries;
+    private List<SchemaTableTree> parallelRootSchemaTableTrees;
+    private int parallelQueryIndex = -1;
+    private boolean parallelQueryResult = false;
+
     private Triple<ResultSet, ResultSetMetaData, PreparedStatement> queryResult;
+    private QueryProbe queryProbe;
 
     private List<Emit<SqlgElement>> elements = null;
 
@@ -65,11 +80,102 @@ public class SqlgCompiledResultIterator<E> implements Iterator<E> {
     }
 
     public SqlgCompiledResultIterator(SqlgGraph sqlgGraph, Set<SchemaTableTree> rootSchemaTableTrees, boolean forParent) {
+        this(sqlgGraph, rootSchemaTableTrees, forParent, null);
+    }
+
+    /**
+     * @param step The step executing the queries, reported to the {@link QueryListener}s.
+     */
+    public SqlgCompiledResultIterator(SqlgGraph sqlgGraph, Set<SchemaTableTree> rootSchemaTableTrees, boolean forParent, @Nullable Step<?, ?> step) {
         this.sqlgGraph = sqlgGraph;
+        this.step = step;
         this.rootSchemaTableTrees = rootSchemaTableTrees;
         this.rootSchemaTableTreeIterator = rootSchemaTableTrees.iterator();
         this.lazy = sqlgGraph.tx().isLazyQueries();
         this.forParent = forParent;
+        //the SqlgVertexStep's queries are ordered on the incoming traverser's index, they are executed per distinct query.
+        if (!forParent && sqlgGraph.getSqlDialect().supportsUnionAll() && sqlgGraph.configuration().getBoolean("query.union.all.enabled", false)) {
+            prepareUnionAllQueries(sqlgGraph.configuration().getInt("query.union.all.max.statements", 50));
+        }
+        if (!forParent && sqlgGraph.getSqlDialect().supportsSnapshotExport() && sqlgGraph.getParallelQueryThreads() > 0) {
+            prepareParallelQueries();
+        }
+    }
+
+    /**
+     * Collects the regular distinct queries of the remaining root SchemaTableTrees that start from a GraphStep into
+     * {@link ParallelQueries}. They are executed when the first of them is needed.
+     */
+    private void prepareParallelQueries() {
+        List<SchemaTableTree> regularRootSchemaTableTrees = new ArrayList<>();
+        List<SchemaTableTree> parallelRootSchemaTableTrees = new ArrayList<>();
+        ParallelQueries parallelQueries = new ParallelQueries(this.sqlgGraph);
+        while (this.rootSchemaTableTreeIterator.hasNext()) {
+            SchemaTableTree rootSchemaTableTree = this.rootSchemaTableTreeIterator.next();
+            List<LinkedList<SchemaTableTree>> distinctQueries = rootSchemaTableTree.constructDistinctQueries();
+            if (rootSchemaTableTree.getStepType() == SchemaTableTree.STEP_TYPE.GRAPH_STEP &&
+                    distinctQueries.stream().noneMatch(distinctQuery -> distinctQuery.getLast().isDrop())) {
+
+                parallelRootSchemaTableTrees.add(rootSchemaTableTree);
+                for (LinkedList<SchemaTableTree> distinctQuery : distinctQueries) {
+                    parallelQueries.add(rootSchemaTableTree, distinctQuery);
+                }
+            } else {
+                regularRootSchemaTableTrees.add(rootSchemaTableTree);
+            }
+        }
+        //a single query gains nothing from another thread
+        if (parallelQueries.size() < 2) {
+            regularRootSchemaTableTrees.addAll(0, parallelRootSchemaTableTrees);
+        } else {
+            this.parallelQueries = parallelQueries;
+            this.parallelRootSchemaTableTrees = parallelRootSchemaTableTrees;
+        }
+        this.rootSchemaTableTreeIterator = regularRootSchemaTableTrees.iterator();
+    }
+
+    /**
+     * Collects the distinct queries that can be part of a UNION ALL into {@link UnionAllQuery}s of at most maxStatements
+     * queries and the dialect's maximum number of select columns each. The other root SchemaTableTrees execute their distinct queries one by one.
+     */
+    private void prepareUnionAllQueries(int maxStatements) {
+        if (maxStatements < 2) {
+            return;
+        }
+        List<SchemaTableTree> regularRootSchemaTableTrees = new ArrayList<>();
+        List<Pair<SchemaTableTree, LinkedList<SchemaTableTree>>> branches = new ArrayList<>();
+        for (SchemaTableTree rootSchemaTableTree : this.rootSchemaTableTrees) {
+            List<LinkedList<SchemaTableTree>> distinctQueries = rootSchemaTableTree.constructDistinctQueries();
+            List<Pair<LinkedList<SchemaTableTree>, Set<SchemaTableTree>>> optionalQueries = new ArrayList<>();
+            SchemaTableTree.constructDistinctOptionalQueries(rootSchemaTableTree, optionalQueries);
+            List<LinkedList<SchemaTableTree>> emitQueries = new ArrayList<>();
+            SchemaTableTree.constructDistinctEmitBeforeQueries(rootSchemaTableTree, emitQueries);
+            if (!distinctQueries.isEmpty() && optionalQueries.isEmpty() && emitQueries.isEmpty() &&
+                    distinctQueries.stream().allMatch(rootSchemaTableTree::isUnionAllBranch)) {
+
+                for (LinkedList<SchemaTableTree> distinctQuery : distinctQueries) {
+                    branches.add(Pair.of(rootSchemaTableTree, distinctQuery));
+                }
+            } else {
+                regularRootSchemaTableTrees.add(rootSchemaTableTree);
+            }
+        }
+        //a single query gains nothing from the union
+        if (branches.size() < 2) {
+            return;
+        }
+        List<UnionAllQuery> unionAllQueries = new ArrayList<>();
+        UnionAllQuery unionAllQuery = null;
+        for (Pair<SchemaTableTree, LinkedList<SchemaTableTree>> branch : branches) {
+            //a union is bound by the number of statements and by the number of columns of all its branches.
+            if (unionAllQuery == null || unionAllQuery.size() == maxStatements || !unionAllQuery.add(branch.getLeft(), branch.getRight())) {
+                unionAllQuery = new UnionAllQuery(this.sqlgGraph);
+                unionAllQueries.add(unionAllQuery);
+                unionAllQuery.add(branch.getLeft(), branch.getRight());
+            }
+        }
+        this.unionAllQueryIterator = unionAllQueries.iterator();
+        this.rootSchemaTableTreeIterator = regularRootSchemaTableTrees.iterator();
     }
 
     @Override
@@ -103,13 +209,28 @@ public class SqlgCompiledResultIterator<E> implements Iterator<E> {
                             return true;
                         } else {
                             if (this.queryResult != null) {
-                                iterateRegularQueries();
+                                if (this.currentUnionAllQuery != null) {
+                                    iterateUnionAllQuery();
+                                } else {
+                                    iterateRegularQueries();
+                                }
                                 this.first = false;
                             }
                             if (this.elements == null) {
                                 closePreparedStatement();
-                                //try the next distinctQueryStack
-                                if (this.distinctQueriesIterator.hasNext()) {
+                                if (this.currentUnionAllQuery != null) {
+                                    this.currentUnionAllQuery.close();
+                                    this.currentUnionAllQuery = null;
+                                }
+                                //try the next union of distinct queries
+                                if (this.unionAllQueryIterator.hasNext()) {
+                                    this.currentUnionAllQuery = this.unionAllQueryIterator.next();
+                                    executeUnionAllQuery();
+                                    this.first = true;
+                                } else if (this.parallelQueries != null && nextParallelQuery()) {
+                                    this.first = true;
+                                } else if (this.distinctQueriesIterator.hasNext()) {
+                                    //try the next distinctQueryStack
                                     this.currentDistinctQueryStack = this.distinctQueriesIterator.next();
                                     this.subQueryStacks = SchemaTableTree.splitIntoSubStacks(this.currentDistinctQueryStack);
                                     this.currentRootSchemaTableTree.resetColumnAliasMaps();
@@ -241,19 +362,74 @@ public class SqlgCompiledResultIterator<E> implements Iterator<E> {
     }
 
     private void executeDropQuery() {
-        SqlgSqlExecutor.executeDropQuery(this.sqlgGraph, this.currentRootSchemaTableTree, this.currentDistinctQueryStack);
+        SqlgSqlExecutor.executeDropQuery(this.sqlgGraph, this.currentRootSchemaTableTree, this.currentDistinctQueryStack, this.step);
     }
 
     private void executeRegularQuery() {
-        this.queryResult = SqlgSqlExecutor.executeRegularQuery(this.sqlgGraph, this.currentRootSchemaTableTree, this.currentDistinctQueryStack);
+        this.queryProbe = QueryProbe.start(this.sqlgGraph, this.step);
+        this.queryResult = SqlgSqlExecutor.executeRegularQuery(this.sqlgGraph, this.currentRootSchemaTableTree, this.currentDistinctQueryStack, this.queryProbe);
+    }
+
+    private void executeUnionAllQuery() {
+        this.queryProbe = QueryProbe.start(this.sqlgGraph, this.step);
+        this.queryResult = SqlgSqlExecutor.executeUnionAllQuery(this.sqlgGraph, this.currentUnionAllQuery, this.queryProbe);
+    }
+
+    /**
+     * Executes the parallel queries on the first call and moves on to the next of their results.
+     *
+     * @return false if there are no more parallel query results.
+     */
+    private boolean nextParallelQuery() {
+        if (this.parallelQueryIndex == -1) {
+            boolean executed;
+            try {
+                executed = this.parallelQueries.execute(this.step);
+            } catch (RuntimeException e) {
+                closeParallelQueries();
+                throw e;
+            }
+            if (!executed) {
+                //the transaction has written, its writes are only visible on its own connection.
+                List<SchemaTableTree> regularRootSchemaTableTrees = new ArrayList<>(this.parallelRootSchemaTableTrees);
+                this.rootSchemaTableTreeIterator.forEachRemaining(regularRootSchemaTableTrees::add);
+                this.rootSchemaTableTreeIterator = regularRootSchemaTableTrees.iterator();
+                this.parallelQueries = null;
+                return false;
+            }
+        }
+        this.parallelQueryIndex++;
+        if (this.parallelQueryIndex == this.parallelQueries.size()) {
+            closeParallelQueries();
+            return false;
+        }
+        try {
+            this.queryResult = this.parallelQueries.getQueryResult(this.parallelQueryIndex);
+        } catch (RuntimeException e) {
+            closeParallelQueries();
+            throw e;
+        }
+        this.parallelQueries.activate(this.parallelQueryIndex);
+        this.currentRootSchemaTableTree = this.parallelQueries.getRootSchemaTableTree(this.parallelQueryIndex);
+        this.subQueryStacks = this.parallelQueries.getSubQueryStacks(this.parallelQueryIndex);
+        this.queryProbe = this.parallelQueries.getQueryProbe(this.parallelQueryIndex);
+        this.parallelQueryResult = true;
+        return true;
+    }
+
+    private void closeParallelQueries() {
+        this.parallelQueries.close();
+        this.parallelQueries = null;
     }
 
     private void executeOptionalQuery() {
-        this.queryResult = SqlgSqlExecutor.executeOptionalQuery(this.sqlgGraph, this.currentRootSchemaTableTree, this.optionalCurrentLeftJoinResult);
+        this.queryProbe = QueryProbe.start(this.sqlgGraph, this.step);
+        this.queryResult = SqlgSqlExecutor.executeOptionalQuery(this.sqlgGraph, this.currentRootSchemaTableTree, this.optionalCurrentLeftJoinResult, this.queryProbe);
     }
 
     private void executeEmitQuery() {
-        this.queryResult = SqlgSqlExecutor.executeEmitQuery(this.sqlgGraph, this.currentRootSchemaTableTree, this.emitCurrentLeftJoinResult);
+        this.queryProbe = QueryProbe.start(this.sqlgGraph, this.step);
+        this.queryResult = SqlgSqlExecutor.executeEmitQuery(this.sqlgGraph, this.currentRootSchemaTableTree, this.emitCurrentLeftJoinResult, this.queryProbe);
     }
 
     private void iterateRegularQueries() throws SQLException {
@@ -282,6 +458,23 @@ public class SqlgCompiledResultIterator<E> implements Iterator<E> {
         }
         if (!result.isEmpty()) {
             this.elements = result;
+            if (this.queryProbe != null) {
+                this.queryProbe.row();
+            }
+        }
+    }
+
+    private void iterateUnionAllQuery() throws SQLException {
+        List<Emit<SqlgElement>> result = SqlgUtil.loadUnionAllResultSetIntoResultIterator(
+                this.sqlgGraph,
+                this.queryResult.getLeft(),
+                this.currentUnionAllQuery
+        );
+        if (!result.isEmpty()) {
+            this.elements = result;
+            if (this.queryProbe != null) {
+                this.queryProbe.row();
+            }
         }
     }
 
@@ -311,6 +504,9 @@ public class SqlgCompiledResultIterator<E> implements Iterator<E> {
         }
         if (!result.isEmpty()) {
             this.elements = result;
+            if (this.queryProbe != null) {
+                this.queryProbe.row();
+            }
         }
     }
 
@@ -341,15 +537,53 @@ public class SqlgCompiledResultIterator<E> implements Iterator<E> {
         }
         if (!result.isEmpty()) {
             this.elements = result;
+            if (this.queryProbe != null) {
+                this.queryProbe.row();
+            }
+        }
+    }
+
+    /**
+     * Releases the statement of a query that was not read to the end, i.e. the traversal stopped early, and reports it
+     * to the {@link QueryListener}s.
+     */
+    @Override
+    public void close() {
+        closePreparedStatement();
+        if (this.currentUnionAllQuery != null) {
+            this.currentUnionAllQuery.close();
+            this.currentUnionAllQuery = null;
+        }
+        if (this.parallelQueries != null) {
+            closeParallelQueries();
         }
     }
 
     private void closePreparedStatement() {
         if (this.queryResult != null) {
             try {
-                this.queryResult.getRight().close();
+                this.queryResult.getLeft().close();
+                if (this.parallelQueryResult) {
+                    //the statement belongs to a snapshot connection, it is closed with the ParallelQueries.
+                    this.parallelQueryResult = false;
+                    this.queryResult = null;
+                    if (this.queryProbe != null) {
+                        this.queryProbe.completed();
+                        this.queryProbe = null;
+                    }
+                    return;
+                }
                 this.sqlgGraph.tx().getPreparedStatementCache().remove(this.queryResult.getRight());
+                if (this.sqlgGraph.tx().isOpen()) {
+                    this.sqlgGraph.tx().getStatementCache().release(this.queryResult.getRight());
+                } else {
+                    this.queryResult.getRight().close();
+                }
                 this.queryResult = null;
+                if (this.queryProbe != null) {
+                    this.queryProbe.completed();
+                    this.queryProbe = null;
+                }
             } catch (SQLException e) {
                 throw new RuntimeException(e);
             }
@@ -295,11 +295,18 @@ public class SqlgEdge extends SqlgElement implements Edge {
         }
     }
 
+    private boolean isCached() {
+        return this.outVertex != null && this.inVertex != null &&
+                this.sqlgGraph.getSqlDialect().supportsBatchMode() && this.sqlgGraph.tx().isInBatchMode() &&
+                this.sqlgGraph.tx().getBatchManager().edgeIsCached(this);
+    }
+
     //TODO this needs optimizing, an edge created in the transaction need not go to the db to load itself again
     @Override
     protected void load() {
         //recordId can be null when in batchMode
-        if (this.recordId != null && this.properties.isEmpty()) {
+        //in auto batch mode an edge has its recordId before it is flushed, a cached edge has nothing to load.
+        if (this.recordId != null && this.properties.isEmpty() && !isCached()) {
             this.sqlgGraph.tx().readWrite();
             if (this.sqlgGraph.getSqlDialect().supportsBatchMode() && this.sqlgGraph.tx().getBatchManager().isStreaming()) {
                 throw new IllegalStateException("streaming is in progress, first flush or commit before querying.");
@@ -401,22 +408,28 @@ public class SqlgEdge extends SqlgElement implements Edge {
             if (this.sqlgGraph.getSqlDialect().needsSemicolon()) {
                 sql.append(";");
             }
-            Connection conn = this.sqlgGraph.tx().getConnection();
             if (logger.isDebugEnabled()) {
                 logger.debug(sql.toString());
             }
-            try (PreparedStatement preparedStatement = conn.prepareStatement(sql.toString())) {
-                if (edgeLabel.hasIDPrimaryKey()) {
-                    preparedStatement.setLong(1, this.recordId.sequenceId());
-                } else {
-                    int count = 1;
-                    for (Comparable identifierValue : this.recordId.getIdentifiers()) {
-                        preparedStatement.setObject(count++, identifierValue);
+            ConnectionStatementCache statementCache = this.sqlgGraph.tx().getStatementCache();
+            try {
+                PreparedStatement preparedStatement = statementCache.prepare(sql.toString());
+                try {
+                    if (edgeLabel.hasIDPrimaryKey()) {
+                        preparedStatement.setLong(1, this.recordId.sequenceId());
+                    } else {
+                        int count = 1;
+                        for (Comparable identifierValue : this.recordId.getIdentifiers()) {
+                            preparedStatement.setObject(count++, identifierValue);
+                        }
                     }
-                }
-                ResultSet resultSet = preparedStatement.executeQuery();
-                if (resultSet.next()) {
-                    loadResultSet(resultSet, inForeignKeys, outForeignKeys);
+                    try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                        if (resultSet.next()) {
+                            loadResultSet(resultSet, inForeignKeys, outForeignKeys);
+                        }
+                    }
+                } finally {
+                    statementCache.release(preparedStatement);
                 }
             } catch (SQLException e) {
                 throw new RuntimeException(e);
@@ -426,10 +439,22 @@ public class SqlgEdge extends SqlgElement implements Edge {
 
 
 
+    /**
+     * Reuses the vertex if it is in the transaction's identity map, else the vertex is loaded lazily.
+     */
+    private SqlgVertex vertexOf(Long id, String schema, String table) {
+        SqlgVertex sqlgVertex = this.sqlgGraph.tx().getIdentityMap().get(SchemaTable.of(schema, table), id);
+        if (sqlgVertex == null) {
+            sqlgVertex = SqlgVertex.of(this.sqlgGraph, id, schema, table);
+            this.sqlgGraph.tx().getLazyPropertyLoader().register(sqlgVertex);
+        }
+        return sqlgVertex;
+    }
+
     public void loadInVertex(ResultSet resultSet, SchemaTable inVertexSchemaTable, int columnIdx) throws SQLException {
         Long inId = resultSet.getLong(columnIdx);
         if (!resultSet.wasNull()) {
-            this.inVertex = SqlgVertex.of(this.sqlgGraph, inId, inVertexSchemaTable.getSchema(), inVertexSchemaTable.getTable());
+            this.inVertex = vertexOf(inId, inVertexSchemaTable.getSchema(), inVertexSchemaTable.getTable());
         }
     }
 
@@ -449,7 +474,7 @@ public class SqlgEdge extends SqlgElement implements Edge {
     public void loadOutVertex(ResultSet resultSet, SchemaTable outVertexSchemaTable, int columnIdx) throws SQLException {
         Long outId = resultSet.getLong(columnIdx);
         if (!resultSet.wasNull()) {
-            this.outVertex = SqlgVertex.of(this.sqlgGraph, outId, outVertexSchemaTable.getSchema(), outVertexSchemaTable.getTable());
+            this.outVertex = vertexOf(outId, outVertexSchemaTable.getSchema(), outVertexSchemaTable.getTable());
         }
     }
 
@@ -542,13 +567,13 @@ public class SqlgEdge extends SqlgElement implements Edge {
             }
         }
         if (inId != -1) {
-            this.inVertex = SqlgVertex.of(this.sqlgGraph, inId, inVertexColumnName.getSchema(), SqlgUtil.removeTrailingInId(inVertexColumnName.getTable()));
+            this.inVertex = vertexOf(inId, inVertexColumnName.getSchema(), SqlgUtil.removeTrailingInId(inVertexColumnName.getTable()));
         } else {
             Preconditions.checkState(!inComparables.isEmpty(), "The in ids are not found for the edge!");
             this.inVertex = SqlgVertex.of(this.sqlgGraph, inComparables, inVertexColumnName.getSchema(), SqlgUtil.removeTrailingInId(inVertexColumnName.getTable()));
         }
         if (outId != -1) {
-            this.outVertex = SqlgVertex.of(this.sqlgGraph, outId, outVertexColumnName.getSchema(), SqlgUtil.removeTrailingOutId(outVertexColumnName.getTable()));
+            this.outVertex = vertexOf(outId, outVertexColumnName.getSchema(), SqlgUtil.removeTrailingOutId(outVertexColumnName.getTable()));
         } else {
             Preconditions.checkState(!outComparables.isEmpty(), "The out ids are not found for the edge!");
             this.outVertex = SqlgVertex.of(this.sqlgGraph, outComparables, outVertexColumnName.getSchema(), SqlgUtil.removeTrailingOutId(outVertexColumnName.getTable()));
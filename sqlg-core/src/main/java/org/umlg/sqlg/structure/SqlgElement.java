@@ -14,14 +14,9 @@ import org.slf4j.LoggerFactory;
 import org.umlg.sqlg.structure.topology.*;
 import org.umlg.sqlg.util.SqlgUtil;
 
-import java.math.BigDecimal;
 import java.sql.*;
-import java.time.*;
-import java.util.UUID;
 import java.util.*;
 
-import static org.umlg.sqlg.sql.parse.SchemaTableTree.ALIAS_SEPARATOR;
-import static org.umlg.sqlg.structure.PropertyType.*;
 import static org.umlg.sqlg.structure.topology.Topology.EDGE_PREFIX;
 import static org.umlg.sqlg.structure.topology.Topology.VERTEX_PREFIX;
 
@@ -38,7 +33,7 @@ public abstract class SqlgElement implements Element {
     RecordId recordId;
     final SqlgGraph sqlgGraph;
     //Multiple threads can access the same element but should not modify it
-    final Map<String, Object> properties = new HashMap<>();
+    final Map<String, Object> properties;
     private final SqlgElementElementPropertyRollback elementPropertyRollback;
     boolean removed = false;
     //Used in the SqlgBranchStepBarrier to sort the results by the start elements.
@@ -48,6 +43,7 @@ public abstract class SqlgElement implements Element {
         this.sqlgGraph = sqlgGraph;
         this.schema = schema;
         this.table = table;
+        this.properties = newProperties();
         this.elementPropertyRollback = new SqlgElementElementPropertyRollback();
 //        if (!this.graph.tx().isInStreamingBatchMode() && !this.graph.tx().isInStreamingWithLockBatchMode()) {
 //            graph.tx().addElementPropertyRollback(this.elementPropertyRollback);
@@ -62,6 +58,7 @@ public abstract class SqlgElement implements Element {
         this.schema = schema;
         this.table = table;
         this.recordId = RecordId.from(SchemaTable.of(this.schema, this.table), id);
+        this.properties = newProperties();
         this.elementPropertyRollback = new SqlgElementElementPropertyRollback();
 //        if (!this.graph.tx().isInStreamingBatchMode() && !this.graph.tx().isInStreamingWithLockBatchMode()) {
 //            graph.tx().addElementPropertyRollback(this.elementPropertyRollback);
@@ -76,12 +73,33 @@ public abstract class SqlgElement implements Element {
         this.schema = schema;
         this.table = table;
         this.recordId = RecordId.from(SchemaTable.of(this.schema, this.table), identifiers);
+        this.properties = newProperties();
         this.elementPropertyRollback = new SqlgElementElementPropertyRollback();
 //        if (!this.graph.tx().isInStreamingBatchMode() && !this.graph.tx().isInStreamingWithLockBatchMode()) {
 //            graph.tx().addElementPropertyRollback(this.elementPropertyRollback);
 //        }
     }
 
+    /**
+     * With 'element.properties.compact' the properties are held in the slots of the label's {@link PropertyLayout}.
+     */
+    private Map<String, Object> newProperties() {
+        if (this.sqlgGraph.isCompactProperties() && this.schema != null && !this.schema.isEmpty() && this.table != null &&
+                !this.table.startsWith(VERTEX_PREFIX) && !this.table.startsWith(EDGE_PREFIX)) {
+
+            Optional<? extends AbstractLabel> abstractLabel;
+            if (this instanceof SqlgVertex) {
+                abstractLabel = this.sqlgGraph.getTopology().getVertexLabel(this.schema, this.table);
+            } else {
+                abstractLabel = this.sqlgGraph.getTopology().getEdgeLabel(this.schema, this.table);
+            }
+            if (abstractLabel.isPresent()) {
+                return new CompactPropertyMap(abstractLabel.get().getPropertyLayout());
+            }
+        }
+        return new HashMap<>();
+    }
+
     @Override
     public Graph graph() {
         return this.sqlgGraph;
@@ -148,21 +166,27 @@ public abstract class SqlgElement implements Element {
         if (logger.isDebugEnabled()) {
             logger.debug(sql.toString());
         }
-        Connection conn = this.sqlgGraph.tx().getConnection();
-        try (PreparedStatement preparedStatement = conn.prepareStatement(sql.toString())) {
-            if (this.recordId.hasSequenceId()) {
-                preparedStatement.setLong(1, this.recordId.sequenceId());
-            } else {
-                int count = 1;
-                for (Comparable identifier : this.recordId.getIdentifiers()) {
-                    preparedStatement.setObject(count++, identifier);
+        ConnectionStatementCache statementCache = this.sqlgGraph.tx().getStatementCache();
+        try {
+            PreparedStatement preparedStatement = statementCache.prepare(sql.toString());
+            try {
+                if (this.recordId.hasSequenceId()) {
+                    preparedStatement.setLong(1, this.recordId.sequenceId());
+                } else {
+                    int count = 1;
+                    for (Comparable identifier : this.recordId.getIdentifiers()) {
+                        preparedStatement.setObject(count++, identifier);
+                    }
                 }
+                preparedStatement.executeUpdate();
+            } finally {
+                statementCache.release(preparedStatement);
             }
-            preparedStatement.executeUpdate();
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
         this.removed = true;
+        this.sqlgGraph.tx().getIdentityMap().written(this);
     }
 
     @Override
@@ -262,6 +286,7 @@ public abstract class SqlgElement implements Element {
         }
         load();
         updateRow(abstractLabel, propertyDefinition, key, value);
+        this.sqlgGraph.tx().getIdentityMap().written(this);
         return instantiateProperty(key, value);
     }
 
@@ -491,325 +516,7 @@ public abstract class SqlgElement implements Element {
             PropertyDefinition propertyDefinition,
             boolean isAverage) throws SQLException {
 
-        if (propertyName.endsWith(Topology.ZONEID) ||
-                propertyName.endsWith(Topology.MONTHS) ||
-                propertyName.endsWith(Topology.DAYS) ||
-                propertyName.endsWith(Topology.DURATION_NANOS)
-        ) {
-            return false;
-        }
-        switch (propertyDefinition.propertyType().ordinal()) {
-            case BOOLEAN_ORDINAL:
-                boolean aBoolean = resultSet.getBoolean(columnIndex);
-                if (!resultSet.wasNull()) {
-                    this.properties.put(propertyName, aBoolean);
-                    return true;
-                } else {
-                    return false;
-                }
-            case BYTE_ORDINAL:
-                byte aByte = resultSet.getByte(columnIndex);
-                if (!resultSet.wasNull()) {
-                    this.properties.put(propertyName, aByte);
-                    return true;
-                } else {
-                    return false;
-                }
-            case SHORT_ORDINAL:
-                short s = resultSet.getShort(columnIndex);
-                if (!resultSet.wasNull()) {
-                    this.properties.put(propertyName, s);
-                    return true;
-                } else {
-                    return false;
-                }
-            case INTEGER_ORDINAL:
-                int anInt = resultSet.getInt(columnIndex);
-                if (!resultSet.wasNull()) {
-                    this.properties.put(propertyName, anInt);
-                    return true;
-                } else {
-                    return false;
-                }
-            case LONG_ORDINAL:
-                long aLong = resultSet.getLong(columnIndex);
-                if (!resultSet.wasNull()) {
-                    this.properties.put(propertyName, aLong);
-                    return true;
-                } else {
-                    return false;
-                }
-            case FLOAT_ORDINAL:
-                float aFloat = resultSet.getFloat(columnIndex);
-                if (!resultSet.wasNull()) {
-                    this.properties.put(propertyName, aFloat);
-                    return true;
-                } else {
-                    return false;
-                }
-            case DOUBLE_ORDINAL:
-                double aDouble = resultSet.getDouble(columnIndex);
-                if (!resultSet.wasNull()) {
-                    this.properties.put(propertyName, aDouble);
-                    if (isAverage) {
-                        long weight = resultSet.getLong(columnIndex + 1);
-                        this.properties.put(propertyName, Pair.of(aDouble, weight));
-                    }
-                    return true;
-                } else {
-                    return false;
-                }
-            case BIG_DECIMAL_ORDINAL:
-                BigDecimal aBigDecimal = BigDecimal.valueOf(resultSet.getDouble(columnIndex));
-                if (!resultSet.wasNull()) {
-                    this.properties.put(propertyName, aBigDecimal);
-                    if (isAverage) {
-                        long weight = resultSet.getLong(columnIndex + 1);
-                        this.properties.put(propertyName, Pair.of(aBigDecimal, weight));
-                    }
-                    return true;
-                } else {
-                    return false;
-                }
-            case LTREE_ORDINAL:
-            case STRING_ORDINAL:
-                String string = resultSet.getString(columnIndex);
-                if (!resultSet.wasNull()) {
-                    this.properties.put(propertyName, string);
-                    return true;
-                } else {
-                    return false;
-                }
-            case VARCHAR_ORDINAL:
-                string = resultSet.getString(columnIndex);
-                if (!resultSet.wasNull()) {
-                    this.properties.put(propertyName, string);
-                    return true;
-                } else {
-                    return false;
-                }
-            case LOCALDATE_ORDINAL:
-                java.sql.Date date = resultSet.getDate(columnIndex);
-                if (date != null) {
-                    this.properties.put(propertyName, date.toLocalDate());
-                    return true;
-                } else {
-                    return false;
-                }
-            case LOCALDATETIME_ORDINAL:
-                Timestamp timestamp = resultSet.getTimestamp(columnIndex);
-                if (timestamp != null) {
-                    this.properties.put(propertyName, timestamp.toLocalDateTime());
-                    return true;
-                } else {
-                    return false;
-                }
-            case ZONEDDATETIME_ORDINAL:
-                Timestamp timestamp1 = resultSet.getTimestamp(columnIndex);
-                if (timestamp1 != null) {
-                    String zoneIdColumn = stepDepth + ALIAS_SEPARATOR + getSchemaTablePrefixed().toString().replace(".", ALIAS_SEPARATOR) + ALIAS_SEPARATOR + propertyName + propertyDefinition.propertyType().getPostFixes()[0];
-                    String zonedId = columnNameAliasMap.get(zoneIdColumn);
-                    if (zonedId == null) {
-                        zonedId = propertyName + propertyDefinition.propertyType().getPostFixes()[0];
-                    }
-                    String zoneId = resultSet.getString(zonedId);
-                    ZoneId zoneId1 = ZoneId.of(zoneId);
-                    ZonedDateTime zonedDateTimeAGT = ZonedDateTime.of(timestamp1.toLocalDateTime(), zoneId1);
-                    this.properties.put(propertyName, zonedDateTimeAGT);
-                    return true;
-                } else {
-                    return false;
-                }
-            case LOCALTIME_ORDINAL:
-                Time time = resultSet.getTime(columnIndex);
-                if (time != null) {
-                    this.properties.put(propertyName, time.toLocalTime());
-                    return true;
-                } else {
-                    return false;
-                }
-            case PERIOD_ORDINAL:
-                int years = resultSet.getInt(columnIndex);
-                if (!resultSet.wasNull()) {
-                    String monthColumn = stepDepth + ALIAS_SEPARATOR + getSchemaTablePrefixed().toString().replace(".", ALIAS_SEPARATOR) + ALIAS_SEPARATOR + propertyName + propertyDefinition.propertyType().getPostFixes()[0];
-                    String aliasedMonth = columnNameAliasMap.get(monthColumn);
-                    if (aliasedMonth == null) {
-                        aliasedMonth = propertyName + propertyDefinition.propertyType().getPostFixes()[0];
-                    }
-                    int months = resultSet.getInt(aliasedMonth);
-                    String dayColumn = stepDepth + ALIAS_SEPARATOR + getSchemaTablePrefixed().toString().replace(".", ALIAS_SEPARATOR) + ALIAS_SEPARATOR + propertyName + propertyDefinition.propertyType().getPostFixes()[1];
-                    String aliasedDay = columnNameAliasMap.get(dayColumn);
-                    if (aliasedDay == null) {
-                        aliasedDay = propertyName + propertyDefinition.propertyType().getPostFixes()[1];
-                    }
-                    int days = resultSet.getInt(aliasedDay);
-                    this.properties.put(propertyName, Period.of(years, months, days));
-                    return true;
-                } else {
-                    return false;
-                }
-            case DURATION_ORDINAL:
-                long seconds = resultSet.getLong(columnIndex);
-                if (!resultSet.wasNull()) {
-                    //load the months and days as its needed to construct the Period
-                    String nanosColumn = stepDepth + ALIAS_SEPARATOR + getSchemaTablePrefixed().toString().replace(".", ALIAS_SEPARATOR) + ALIAS_SEPARATOR + propertyName + propertyDefinition.propertyType().getPostFixes()[0];
-                    String aliasedNanos = columnNameAliasMap.get(nanosColumn);
-                    if (aliasedNanos == null) {
-                        aliasedNanos = propertyName + propertyDefinition.propertyType().getPostFixes()[0];
-                    }
-                    int nanos = resultSet.getInt(aliasedNanos);
-                    this.properties.put(propertyName, Duration.ofSeconds(seconds, nanos));
-                    return true;
-                } else {
-                    return false;
-                }
-            case JSON_ORDINAL:
-            case GEOGRAPHY_POLYGON_ORDINAL:
-            case GEOGRAPHY_POINT_ORDINAL:
-            case POLYGON_ORDINAL:
-            case LINESTRING_ORDINAL:
-            case POINT_ORDINAL:
-                Object object = resultSet.getObject(columnIndex);
-                if (object != null) {
-                    sqlgGraph.getSqlDialect().handleOther(this.properties, propertyName, object, propertyDefinition.propertyType());
-                    return true;
-                } else {
-                    return false;
-                }
-            case UUID_ORDINAL:
-                UUID uuid = (UUID) resultSet.getObject(columnIndex);
-                if (!resultSet.wasNull()) {
-                    this.properties.put(propertyName, uuid);
-                    return true;
-                } else {
-                    return false;
-                }
-            case boolean_ARRAY_ORDINAL:
-                java.sql.Array array = resultSet.getArray(columnIndex);
-                if (array != null) {
-                    this.properties.put(propertyName, this.sqlgGraph.getSqlDialect().convertArray(propertyDefinition.propertyType(), array));
-                    return true;
-                } else {
-                    return false;
-                }
-            case BOOLEAN_ARRAY_ORDINAL:
-            case short_ARRAY_ORDINAL:
-            case SHORT_ARRAY_ORDINAL:
-            case int_ARRAY_ORDINAL:
-            case INTEGER_ARRAY_ORDINAL:
-            case long_ARRAY_ORDINAL:
-            case LONG_ARRAY_ORDINAL:
-            case float_ARRAY_ORDINAL:
-            case FLOAT_ARRAY_ORDINAL:
-            case double_ARRAY_ORDINAL:
-            case DOUBLE_ARRAY_ORDINAL:
-            case BIG_DECIMAL_ARRAY_ORDINAL:
-            case STRING_ARRAY_ORDINAL:
-            case LOCALDATETIME_ARRAY_ORDINAL:
-            case LOCALDATE_ARRAY_ORDINAL:
-            case LOCALTIME_ARRAY_ORDINAL:
-            case JSON_ARRAY_ORDINAL:
-                array = resultSet.getArray(columnIndex);
-                if (array != null) {
-                    this.properties.put(propertyName, this.sqlgGraph.getSqlDialect().convertArray(propertyDefinition.propertyType(), array));
-                    return true;
-                } else {
-                    return false;
-                }
-            case byte_ARRAY_ORDINAL:
-                Object object6 = resultSet.getObject(columnIndex);
-                if (object6 != null) {
-                    byte[] bytes = this.sqlgGraph.getSqlDialect().toByteArray(object6);
-                    this.properties.put(propertyName, bytes);
-                    return true;
-                } else {
-                    return false;
-                }
-            case BYTE_ARRAY_ORDINAL:
-                Object object7 = resultSet.getObject(columnIndex);
-                if (object7 != null) {
-                    byte[] bytes = this.sqlgGraph.getSqlDialect().toByteArray(object7);
-                    this.properties.put(propertyName, SqlgUtil.convertPrimitiveByteArrayToByteArray(bytes));
-                    return true;
-                } else {
-                    return false;
-                }
-            case ZONEDDATETIME_ARRAY_ORDINAL:
-                array = resultSet.getArray(columnIndex);
-                if (array != null) {
-                    String zoneIdColumn = stepDepth + ALIAS_SEPARATOR + getSchemaTablePrefixed().toString().replace(".", ALIAS_SEPARATOR) + ALIAS_SEPARATOR + propertyName + propertyDefinition.propertyType().getPostFixes()[0];
-                    String zonedId = columnNameAliasMap.get(zoneIdColumn);
-                    if (zonedId == null) {
-                        zonedId = propertyName + propertyDefinition.propertyType().getPostFixes()[0];
-                    }
-                    java.sql.Array zoneIdArray = resultSet.getArray(zonedId);
-                    String[] objectZoneIdArray = (String[]) this.sqlgGraph.getSqlDialect().convertArray(PropertyType.STRING_ARRAY, zoneIdArray);
-                    LocalDateTime[] localDateTimes = (LocalDateTime[]) this.sqlgGraph.getSqlDialect().convertArray(PropertyType.LOCALDATETIME_ARRAY, array);
-                    ZonedDateTime[] zonedDateTimes = new ZonedDateTime[localDateTimes.length];
-                    int count = 0;
-                    for (LocalDateTime localDateTime : localDateTimes) {
-                        ZoneId zoneId1 = ZoneId.of(objectZoneIdArray[count]);
-                        ZonedDateTime zonedDateTime = ZonedDateTime.of(localDateTime, zoneId1);
-                        zonedDateTimes[count++] = zonedDateTime;
-                    }
-                    this.properties.put(propertyName, zonedDateTimes);
-                    return true;
-                } else {
-                    return false;
-                }
-            case DURATION_ARRAY_ORDINAL:
-                array = resultSet.getArray(columnIndex);
-                if (array != null) {
-                    String nanosColumn = stepDepth + ALIAS_SEPARATOR + getSchemaTablePrefixed().toString().replace(".", ALIAS_SEPARATOR) + ALIAS_SEPARATOR + propertyName + propertyDefinition.propertyType().getPostFixes()[0];
-                    String aliasedNanos = columnNameAliasMap.get(nanosColumn);
-                    if (aliasedNanos == null) {
-                        aliasedNanos = propertyName + propertyDefinition.propertyType().getPostFixes()[0];
-                    }
-                    long[] secondsArray = (long[]) this.sqlgGraph.getSqlDialect().convertArray(PropertyType.long_ARRAY, array);
-                    java.sql.Array nanosArray = resultSet.getArray(aliasedNanos);
-                    int[] nanoArray = (int[]) this.sqlgGraph.getSqlDialect().convertArray(PropertyType.int_ARRAY, nanosArray);
-                    Duration[] durations = new Duration[secondsArray.length];
-                    int count = 0;
-                    for (Long second : secondsArray) {
-                        durations[count] = Duration.ofSeconds(second, nanoArray[count++]);
-                    }
-                    this.properties.put(propertyName, durations);
-                    return true;
-                } else {
-                    return false;
-                }
-            case PERIOD_ARRAY_ORDINAL:
-                array = resultSet.getArray(columnIndex);
-                if (array != null) {
-                    String monthsColumn = stepDepth + ALIAS_SEPARATOR + getSchemaTablePrefixed().toString().replace(".", ALIAS_SEPARATOR) + ALIAS_SEPARATOR + propertyName + propertyDefinition.propertyType().getPostFixes()[0];
-                    String aliasedMonths = columnNameAliasMap.get(monthsColumn);
-                    if (aliasedMonths == null) {
-                        aliasedMonths = propertyName + propertyDefinition.propertyType().getPostFixes()[0];
-                    }
-                    String daysColumn = stepDepth + ALIAS_SEPARATOR + getSchemaTablePrefixed().toString().replace(".", ALIAS_SEPARATOR) + ALIAS_SEPARATOR + propertyName + propertyDefinition.propertyType().getPostFixes()[1];
-                    String aliasedDays = columnNameAliasMap.get(daysColumn);
-                    if (aliasedDays == null) {
-                        aliasedDays = propertyName + propertyDefinition.propertyType().getPostFixes()[1];
-                    }
-                    Integer[] yearsIntegers = (Integer[]) this.sqlgGraph.getSqlDialect().convertArray(PropertyType.INTEGER_ARRAY, array);
-                    java.sql.Array monthsArray = resultSet.getArray(aliasedMonths);
-                    Integer[] monthsIntegers = (Integer[]) this.sqlgGraph.getSqlDialect().convertArray(PropertyType.INTEGER_ARRAY, monthsArray);
-                    java.sql.Array daysArray = resultSet.getArray(aliasedDays);
-                    Integer[] daysIntegers = (Integer[]) this.sqlgGraph.getSqlDialect().convertArray(PropertyType.INTEGER_ARRAY, daysArray);
-                    Period[] periods = new Period[yearsIntegers.length];
-                    int count = 0;
-                    for (Integer year : yearsIntegers) {
-                        periods[count] = Period.of(year, monthsIntegers[count], daysIntegers[count++]);
-                    }
-                    this.properties.put(propertyName, periods);
-                    return true;
-                } else {
-                    return false;
-                }
-            default:
-                throw SqlgExceptions.invalidPropertyType(propertyDefinition.propertyType());
-        }
-
+        return PropertyDecoder.decode(this.sqlgGraph, resultSet, getSchemaTablePrefixed(), propertyName, columnIndex, columnNameAliasMap, stepDepth, propertyDefinition, isAverage, this);
     }
 
     public void internalSetProperty(String property, Object value) {
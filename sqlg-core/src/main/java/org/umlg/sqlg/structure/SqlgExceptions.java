@@ -9,6 +9,7 @@ public class SqlgExceptions {
     private static final String BATCH_MODE_NOT_SUPPORTED = "Batch processing is not supported by %s";
     private static final String MULTIPLE_JVM_NOT_SUPPORTED = "Multiple jvm(s) is not supported by %s";
     private static final String TOPOLOGY_RENAME_NOT_SUPPORTED = "Topology rename is not supported by %s";
+    private static final String COPY_COMMAND_NOT_SUPPORTED = "%s is not supported by %s, it requires the copy command";
 
     private SqlgExceptions() {}
 
@@ -28,6 +29,10 @@ public class SqlgExceptions {
         return new UnsupportedOperationException(String.format(BATCH_MODE_NOT_SUPPORTED, dialect));
     }
 
+    public static UnsupportedOperationException copyCommandNotSupported(String operation, String dialect) {
+        return new UnsupportedOperationException(String.format(COPY_COMMAND_NOT_SUPPORTED, operation, dialect));
+    }
+
     public static TopologyLockTimeout topologyLockTimeout(String message) {
         return new TopologyLockTimeout(message);
     }
@@ -36,6 +36,10 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.apache.tinkerpop.gremlin.structure.Graph.OptIn;
 import static org.apache.tinkerpop.gremlin.structure.Graph.OptOut;
@@ -263,12 +267,21 @@ public class SqlgGraph implements Graph {
     private final SqlgTransaction sqlgTransaction;
     private final Topology topology;
     private final SchemaTableTreeCache schemaTableTreeCache;
+    private final IdBlockAllocator idBlockAllocator;
+    private final StatementCache statementCache;
     private final GremlinParser gremlinParser;
     private final SqlDialect sqlDialect;
     private final String jdbcUrl;
     private final ObjectMapper mapper = new ObjectMapper();
     private final Configuration configuration;
     private final ISqlGFeatures features = new SqlgFeatures();
+    private final List<QueryListener> queryListeners = new CopyOnWriteArrayList<>();
+    private final long slowQueryThresholdNanos;
+    private final boolean slowQueryExplain;
+    private final int parallelQueryThreads;
+    private ExecutorService parallelQueryExecutor;
+    private boolean autoBatchMode;
+    private boolean compactProperties;
 
     /**
      * the build version of sqlg
@@ -302,6 +315,7 @@ public class SqlgGraph implements Graph {
                                 new SqlgInjectStepStrategy(),
                                 new SqlgHasNextStepStrategy(),
                                 new SqlgFoldStepStrategy(),
+                                new SqlgProjectStepStrategy(),
 //                                new SqlgAddEdgeStartStepStrategy(),
                                 TopologyStrategy.build().create())
                         .removeStrategies(
@@ -369,6 +383,13 @@ public class SqlgGraph implements Graph {
         // so if there are massive queries, setting the fetch size will avoid out of memory errors
         this.sqlgTransaction.setDefaultFetchSize(this.configuration.getInteger("fetch.size", this.sqlDialect.getDefaultFetchSize()));
 
+        this.idBlockAllocator = new IdBlockAllocator(this, this.configuration.getInt("id.block.size", 1000));
+        this.statementCache = new StatementCache(this.configuration.getInt("statement.cache.size", 100));
+        long slowQueryThresholdMillis = this.configuration.getLong("query.slow.threshold.ms", -1L);
+        this.slowQueryThresholdNanos = slowQueryThresholdMillis < 0 ? -1 : TimeUnit.MILLISECONDS.toNanos(slowQueryThresholdMillis);
+        this.slowQueryExplain = this.configuration.getBoolean("query.slow.explain", true);
+        this.parallelQueryThreads = this.configuration.getInt("query.parallel.threads", 0);
+
         this.tx().readWrite();
         //Instantiating Topology will create the 'public' schema if it does not exist.
         this.topology = new Topology(this);
@@ -379,6 +400,10 @@ public class SqlgGraph implements Graph {
             this.getTopology().ensureSchemaExist(this.sqlDialect.getPublicSchema());
         }
         this.tx().commit();
+        //only after the topology is loaded, its own elements are not batched.
+        this.autoBatchMode = this.configuration.getBoolean("batch.mode.auto", false) &&
+                this.sqlDialect.supportsBatchMode() && this.sqlDialect.supportsAutoBatchMode();
+        this.compactProperties = this.configuration.getBoolean("element.properties.compact", false);
     }
 
     Configuration getConfiguration() {
@@ -398,6 +423,79 @@ public class SqlgGraph implements Graph {
         return schemaTableTreeCache;
     }
 
+    public IdBlockAllocator getIdBlockAllocator() {
+        return idBlockAllocator;
+    }
+
+    public StatementCache getStatementCache() {
+        return statementCache;
+    }
+
+    public void addQueryListener(QueryListener queryListener) {
+        this.queryListeners.add(queryListener);
+    }
+
+    public void removeQueryListener(QueryListener queryListener) {
+        this.queryListeners.remove(queryListener);
+    }
+
+    public List<QueryListener> getQueryListeners() {
+        return this.queryListeners;
+    }
+
+    /**
+     * @return the 'query.slow.threshold.ms' in nanoseconds, -1 if the slow query log is disabled.
+     */
+    public long getSlowQueryThresholdNanos() {
+        return this.slowQueryThresholdNanos;
+    }
+
+    public boolean isSlowQueryExplain() {
+        return this.slowQueryExplain;
+    }
+
+    /**
+     * @return true if 'batch.mode.auto' is set and the dialect supports it, transactions then start in normal batch mode
+     * with the elements' ids allocated when they are added.
+     * The elements are only written on the next query, flush or commit, unique constraint and multiplicity violations
+     * therefore surface there and not on addVertex or addEdge.
+     * {@link SqlgTransaction#normalBatchModeOn()} and {@link SqlgTransaction#batchModeOff()} end the auto batch mode
+     * for the rest of the transaction.
+     */
+    public boolean isAutoBatchMode() {
+        return this.autoBatchMode;
+    }
+
+    /**
+     * @return true if 'element.properties.compact' is set, the elements' properties are then held in an array indexed
+     * by their label's {@link PropertyLayout} instead of a map per element.
+     */
+    public boolean isCompactProperties() {
+        return this.compactProperties;
+    }
+
+    /**
+     * @return the 'query.parallel.threads', 0 if the distinct queries of a traversal are not executed in parallel.
+     */
+    public int getParallelQueryThreads() {
+        return this.parallelQueryThreads;
+    }
+
+    /**
+     * The executor of {@link org.umlg.sqlg.sql.parse.ParallelQueries}, created on first use and shut down when the graph closes.
+     */
+    public synchronized ExecutorService getParallelQueryExecutor() {
+        Preconditions.checkState(this.parallelQueryThreads > 0, "'query.parallel.threads' must be greater than 0");
+        if (this.parallelQueryExecutor == null) {
+            this.parallelQueryExecutor = Executors.newFixedThreadPool(this.parallelQueryThreads, runnable -> {
+                Thread thread = new Thread(runnable, "sqlg-parallel-query");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return this.parallelQueryExecutor;
+    }
+
     public GremlinParser getGremlinParser() {
         return gremlinParser;
     }
@@ -447,13 +545,17 @@ public class SqlgGraph implements Graph {
                 } else if (vertexLabel.isForeign()) {
                     throw SqlgExceptions.invalidMode("Foreign VertexLabel must have user defined identifiers to support addition.");
                 }
-                return new SqlgVertex(this, vertexLabel, schemaTable.getSchema(), schemaTable.getTable(), keyValueMapPair.getRight());
+                SqlgVertex sqlgVertex = new SqlgVertex(this, vertexLabel, schemaTable.getSchema(), schemaTable.getTable(), keyValueMapPair.getRight());
+                this.tx().getIdentityMap().put(sqlgVertex);
+                return sqlgVertex;
             } else {
                 Map<String, Object> keyValueMap = SqlgUtil.validateAndTransformVertexKeysValues(this.sqlDialect, keyValues);
                 final String label = ElementHelper.getLabelValue(keyValues).orElse(Vertex.DEFAULT_LABEL);
                 SchemaTable schemaTable = SchemaTable.from(this, label);
                 VertexLabel vertexLabel = this.getTopology().getVertexLabel(schemaTable.getSchema(), schemaTable.getTable()).orElseThrow(() -> new IllegalStateException(String.format("Failed to find VertexLabel '%s'", schemaTable.getSchema() + "." + schemaTable.getTable())));
-                return new SqlgVertex(this, vertexLabel, schemaTable.getSchema(), schemaTable.getTable(), keyValueMap);
+                SqlgVertex sqlgVertex = new SqlgVertex(this, vertexLabel, schemaTable.getSchema(), schemaTable.getTable(), keyValueMap);
+                this.tx().getIdentityMap().put(sqlgVertex);
+                return sqlgVertex;
             }
         }
     }
@@ -502,6 +604,9 @@ public class SqlgGraph implements Graph {
     }
 
     private void streamTemporaryVertex(Object... keyValues) {
+        if (!this.sqlDialect.supportsCopyCommand()) {
+            throw SqlgExceptions.copyCommandNotSupported("Streaming temporary vertices", this.sqlDialect.dialectName());
+        }
         if (!this.tx().isInStreamingBatchMode()) {
             throw SqlgExceptions.invalidMode(TRANSACTION_MUST_BE_IN + this.tx().getBatchModeType().toString() + MODE_FOR_STREAM_VERTEX);
         }
@@ -561,6 +666,9 @@ public class SqlgGraph implements Graph {
         if (!(this.sqlDialect instanceof SqlBulkDialect sqlBulkDialect)) {
             throw new UnsupportedOperationException(String.format("Bulk mode is not supported for %s", this.sqlDialect.dialectName()));
         }
+        if (!this.sqlDialect.supportsCopyCommand()) {
+            throw SqlgExceptions.copyCommandNotSupported("bulkAddEdges", this.sqlDialect.dialectName());
+        }
         if (!this.tx().isInStreamingBatchMode() && !this.tx().isInStreamingWithLockBatchMode()) {
             throw SqlgExceptions.invalidMode(TRANSACTION_MUST_BE_IN + BatchManager.BatchModeType.STREAMING + " or " + BatchManager.BatchModeType.STREAMING_WITH_LOCK + " mode for bulkAddEdges");
         }
@@ -637,6 +745,12 @@ public class SqlgGraph implements Graph {
         } catch (ClassNotFoundException ignore) {
             //swallow
         }
+        synchronized (this) {
+            if (this.parallelQueryExecutor != null) {
+                this.parallelQueryExecutor.shutdownNow();
+                this.parallelQueryExecutor = null;
+            }
+        }
         this.topology.close();
         this.sqlgDataSource.close();
     }
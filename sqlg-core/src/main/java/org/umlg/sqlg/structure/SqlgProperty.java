@@ -61,6 +61,7 @@ public class SqlgProperty<V> implements Property<V>, Serializable {
     public void remove() {
         this.sqlgGraph.getTopology().threadWriteLock();
         this.element.properties.remove(this.key);
+        this.sqlgGraph.tx().getIdentityMap().written(this.element);
         boolean elementInInsertedCache = false;
         if (this.sqlgGraph.getSqlDialect().supportsBatchMode() && this.sqlgGraph.tx().isInBatchMode()) {
             elementInInsertedCache = this.sqlgGraph.tx().getBatchManager().removeProperty(this, key);
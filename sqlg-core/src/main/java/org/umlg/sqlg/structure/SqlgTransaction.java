@@ -1,6 +1,7 @@
 package org.umlg.sqlg.structure;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
 import org.apache.tinkerpop.gremlin.structure.*;
 import org.apache.tinkerpop.gremlin.structure.util.AbstractThreadLocalTransaction;
 import org.apache.tinkerpop.gremlin.structure.util.TransactionException;
@@ -13,8 +14,7 @@ import org.umlg.sqlg.structure.topology.Topology;
 import org.umlg.sqlg.structure.topology.VertexLabel;
 
 import java.sql.*;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -28,6 +28,11 @@ public class SqlgTransaction extends AbstractThreadLocalTransaction {
     private static final String BATCH_MODE_NOT_SUPPORTED = "Batch mode not supported!";
     @SuppressWarnings("WeakerAccess")
     public static final String QUERY_LAZY = "query.lazy";
+    /**
+     * Configuration key, if true {@link #checkMultiplicity(Vertex, Direction, EdgeLabel, VertexLabel)} only records the
+     * vertex. All recorded vertices are checked on commit with one grouped query per {@link EdgeRole}.
+     */
+    public static final String MULTIPLICITY_CHECK_DEFERRED = "multiplicity.check.deferred";
 
     private final SqlgGraph sqlgGraph;
     private BeforeCommit beforeCommitFunction;
@@ -71,18 +76,26 @@ public class SqlgTransaction extends AbstractThreadLocalTransaction {
                 }
                 // read default setting for laziness
                 boolean lazy = this.sqlgGraph.getConfiguration().getBoolean(QUERY_LAZY, true);
+                LazyPropertyLoader lazyPropertyLoader = new LazyPropertyLoader(this.sqlgGraph, this.sqlgGraph.getConfiguration().getInt("lazy.load.batch.size", 1000));
+                ElementIdentityMap identityMap = new ElementIdentityMap(this.sqlgGraph, this.sqlgGraph.getConfiguration().getBoolean("identity.map.enabled", false));
                 TransactionCache transactionCache;
                 if (supportsBatchMode()) {
                     transactionCache = TransactionCache.of(
                             connection,
+                            this.sqlgGraph.getStatementCache().forConnection(connection),
+                            lazyPropertyLoader,
+                            identityMap,
                             new BatchManager(this.sqlgGraph, ((SqlBulkDialect) this.sqlgGraph.getSqlDialect())),
                             lazy
                     );
                 } else {
-                    transactionCache = TransactionCache.of(connection, lazy);
+                    transactionCache = TransactionCache.of(connection, this.sqlgGraph.getStatementCache().forConnection(connection), lazyPropertyLoader, identityMap, lazy);
                 }
                 transactionCache.setFetchSize(getDefaultFetchSize());
                 this.threadLocalTx.set(transactionCache);
+                if (this.sqlgGraph.isAutoBatchMode()) {
+                    transactionCache.getBatchManager().autoBatchModeOn();
+                }
             } catch (SQLException e) {
                 throw new RuntimeException(e);
             }
@@ -100,6 +113,7 @@ public class SqlgTransaction extends AbstractThreadLocalTransaction {
             if (supportsBatchMode() && this.threadLocalTx.get().getBatchManager().isInBatchMode()) {
                 getBatchManager().flush();
             }
+            checkDeferredMultiplicities();
             connection = this.threadLocalTx.get().getConnection();
             if (this.beforeCommitFunction != null) {
                 this.beforeCommitFunction.doBeforeCommit();
@@ -196,6 +210,9 @@ public class SqlgTransaction extends AbstractThreadLocalTransaction {
 
     public void streamingWithLockBatchModeOn() {
         if (supportsBatchMode()) {
+            if (!this.sqlgGraph.getSqlDialect().supportsCopyCommand()) {
+                throw SqlgExceptions.copyCommandNotSupported(BatchManager.BatchModeType.STREAMING_WITH_LOCK + " batch mode", this.sqlgGraph.getSqlDialect().dialectName());
+            }
             readWrite();
             this.threadLocalTx.get().getBatchManager().batchModeOn(BatchManager.BatchModeType.STREAMING_WITH_LOCK);
         } else {
@@ -212,6 +229,11 @@ public class SqlgTransaction extends AbstractThreadLocalTransaction {
         }
     }
 
+    /**
+     * Sets the batch mode, i.e. restores the mode returned by {@link #getBatchModeType()}.
+     * Unlike {@link #normalBatchModeOn()} and {@link #batchModeOff()} it keeps the transaction's auto batch mode,
+     * see 'batch.mode.auto'.
+     */
     public void batchMode(BatchManager.BatchModeType batchModeType) {
         if (supportsBatchMode()) {
             switch (batchModeType) {
@@ -219,7 +241,10 @@ public class SqlgTransaction extends AbstractThreadLocalTransaction {
                     readWrite();
                     this.threadLocalTx.get().getBatchManager().batchModeOn(BatchManager.BatchModeType.NONE);
                 }
-                case NORMAL -> this.normalBatchModeOn();
+                case NORMAL -> {
+                    readWrite();
+                    this.threadLocalTx.get().getBatchManager().batchModeOn(BatchManager.BatchModeType.NORMAL);
+                }
                 case STREAMING -> this.streamingBatchModeOn();
                 case STREAMING_WITH_LOCK -> this.streamingWithLockBatchModeOn();
                 default -> throw new IllegalStateException("unhandled BatchModeType " + batchModeType.name());
@@ -227,15 +252,32 @@ public class SqlgTransaction extends AbstractThreadLocalTransaction {
         }
     }
 
+    /**
+     * Switches the transaction to normal batch mode, in auto batch mode the elements then get their id when they are
+     * flushed again.
+     */
     public void normalBatchModeOn() {
         if (supportsBatchMode()) {
             readWrite();
+            this.threadLocalTx.get().getBatchManager().autoBatchModeOff();
             this.threadLocalTx.get().getBatchManager().batchModeOn(BatchManager.BatchModeType.NORMAL);
         } else {
             throw new IllegalStateException(BATCH_MODE_NOT_SUPPORTED);
         }
     }
 
+    /**
+     * Switches batch mode off, also the auto batch mode the transaction started in, see 'batch.mode.auto'.
+     * Flush first, what is already cached is only written on the next flush or commit.
+     */
+    public void batchModeOff() {
+        if (supportsBatchMode()) {
+            readWrite();
+            this.threadLocalTx.get().getBatchManager().autoBatchModeOff();
+            this.threadLocalTx.get().getBatchManager().batchModeOn(BatchManager.BatchModeType.NONE);
+        }
+    }
+
     @SuppressWarnings("WeakerAccess")
     public boolean isInBatchMode() {
         return supportsBatchMode() && isInNormalBatchMode() || isInStreamingBatchMode() || isInStreamingWithLockBatchMode();
@@ -287,6 +329,18 @@ public class SqlgTransaction extends AbstractThreadLocalTransaction {
         }
     }
 
+    /**
+     * Flushes only the elements cached for the tables a query touches, see {@link BatchManager#flush(Set, boolean)}.
+     */
+    public void flush(Set<SchemaTable> schemaTables, boolean includeEdgesOfVertices) {
+        if (!this.isInBatchMode()) {
+            throw new IllegalStateException("Transaction must be in batch mode to flush");
+        }
+        if (!this.getBatchManager().isBusyFlushing()) {
+            this.getBatchManager().flush(schemaTables, includeEdgesOfVertices);
+        }
+    }
+
     void addElementPropertyRollback(ElementPropertyRollback elementPropertyRollback) {
         if (!isOpen()) {
             throw new IllegalStateException("A transaction must be in progress to add a elementPropertyRollback function!");
@@ -315,6 +369,41 @@ public class SqlgTransaction extends AbstractThreadLocalTransaction {
         this.threadLocalPreparedStatementTx.get().add(preparedStatement);
     }
 
+    /**
+     * Registers a connection that imported the transaction's snapshot, it is closed when the transaction ends.
+     */
+    public void addSnapshotConnection(Connection connection) {
+        this.threadLocalPreparedStatementTx.get().add(connection);
+    }
+
+    public void removeSnapshotConnection(Connection connection) {
+        this.threadLocalPreparedStatementTx.get().remove(connection);
+    }
+
+    /**
+     * @return The cache of reusable statements for the transaction's connection.
+     */
+    public ConnectionStatementCache getStatementCache() {
+        if (!isOpen()) {
+            readWrite();
+        }
+        return this.threadLocalTx.get().getStatementCache();
+    }
+
+    public LazyPropertyLoader getLazyPropertyLoader() {
+        if (!isOpen()) {
+            readWrite();
+        }
+        return this.threadLocalTx.get().getLazyPropertyLoader();
+    }
+
+    public ElementIdentityMap getIdentityMap() {
+        if (!isOpen()) {
+            readWrite();
+        }
+        return this.threadLocalTx.get().getIdentityMap();
+    }
+
     // only used for tests
     public PreparedStatementCache getPreparedStatementCache() {
         return threadLocalPreparedStatementTx.get();
@@ -386,16 +475,24 @@ public class SqlgTransaction extends AbstractThreadLocalTransaction {
         this.threadLocalTx.get().setWriteTransaction(b);
     }
 
+    /**
+     * Checks the number of edges of the vertex against the {@link Multiplicity} of the {@link EdgeRole}.
+     * With 'multiplicity.check.deferred' the check is recorded and validated on commit, see {@link #MULTIPLICITY_CHECK_DEFERRED}.
+     */
     public void checkMultiplicity(Vertex vertex, Direction direction, EdgeLabel edgeLabel, VertexLabel otherSide) {
-        EdgeRole edgeRole = null;
-        switch (direction) {
-            case OUT -> edgeRole = edgeLabel.getInEdgeRoles(otherSide);
-            case IN -> edgeRole = edgeLabel.getOutEdgeRoles(otherSide);
-            case BOTH -> throw new IllegalStateException("checkMultiplicity requires IN or OUT Direction, not BOTH");
-        }
-        Preconditions.checkNotNull(edgeRole, String.format("'%s' EdgeRole not found for '%s' and '%s'", direction.name(), edgeLabel.getLabel(), otherSide.getLabel()));
+        EdgeRole edgeRole = edgeRole(direction, edgeLabel, otherSide);
         Multiplicity multiplicity = edgeRole.getMultiplicity();
         if (multiplicity.hasLimits()) {
+            if (this.sqlgGraph.getConfiguration().getBoolean(MULTIPLICITY_CHECK_DEFERRED, false)) {
+                readWrite();
+                SqlgVertex sqlgVertex = (SqlgVertex) vertex;
+                VertexLabel vertexLabel = this.sqlgGraph.getTopology().getVertexLabel(sqlgVertex.getSchema(), sqlgVertex.getTable())
+                        .orElseThrow(() -> new IllegalStateException(String.format("VertexLabel '%s.%s' not found", sqlgVertex.getSchema(), sqlgVertex.getTable())));
+                this.threadLocalTx.get().getDeferredMultiplicityChecks()
+                        .computeIfAbsent(new MultiplicityCheck(vertexLabel, direction, edgeLabel, otherSide), k -> Collections.newSetFromMap(new IdentityHashMap<>()))
+                        .add(sqlgVertex);
+                return;
+            }
             long upper = multiplicity.upper();
             long lower = multiplicity.lower();
             long count = this.sqlgGraph.traversal().V(vertex).to(direction, edgeLabel.getLabel())
@@ -413,6 +510,32 @@ public class SqlgTransaction extends AbstractThreadLocalTransaction {
      * Utilizes LEFT JOIN but COUNT on the far side.
      */
     public void checkMultiplicity(VertexLabel vertexLabel, Direction direction, EdgeLabel edgeLabel, VertexLabel otherSide) {
+        checkMultiplicity(vertexLabel, direction, edgeLabel, otherSide, null);
+    }
+
+    /**
+     * Validates the checks recorded by {@link #checkMultiplicity(Vertex, Direction, EdgeLabel, VertexLabel)} in deferred mode.
+     * One grouped query per {@link EdgeRole}, restricted to the recorded vertices, only returns the vertices that fail.
+     */
+    private void checkDeferredMultiplicities() {
+        Map<MultiplicityCheck, Set<SqlgVertex>> deferredMultiplicityChecks = this.threadLocalTx.get().getDeferredMultiplicityChecks();
+        for (Map.Entry<MultiplicityCheck, Set<SqlgVertex>> entry : deferredMultiplicityChecks.entrySet()) {
+            MultiplicityCheck multiplicityCheck = entry.getKey();
+            //the ids are only known once the batch mode cache is flushed
+            Set<RecordId> recordIds = new LinkedHashSet<>();
+            for (SqlgVertex sqlgVertex : entry.getValue()) {
+                if (!sqlgVertex.removed) {
+                    recordIds.add((RecordId) sqlgVertex.id());
+                }
+            }
+            if (!recordIds.isEmpty()) {
+                checkMultiplicity(multiplicityCheck.vertexLabel(), multiplicityCheck.direction(), multiplicityCheck.edgeLabel(), multiplicityCheck.otherSide(), recordIds);
+            }
+        }
+        deferredMultiplicityChecks.clear();
+    }
+
+    private EdgeRole edgeRole(Direction direction, EdgeLabel edgeLabel, VertexLabel otherSide) {
         EdgeRole edgeRole = null;
         switch (direction) {
             case OUT -> edgeRole = edgeLabel.getInEdgeRoles(otherSide);
@@ -420,6 +543,14 @@ public class SqlgTransaction extends AbstractThreadLocalTransaction {
             case BOTH -> throw new IllegalStateException("checkMultiplicity requires IN or OUT Direction, not BOTH");
         }
         Preconditions.checkNotNull(edgeRole, String.format("'%s' EdgeRole not found for '%s' and '%s'", direction.name(), edgeLabel.getLabel(), otherSide.getLabel()));
+        return edgeRole;
+    }
+
+    /**
+     * @param recordIds If not null only these vertices are checked and only the failing vertices are returned.
+     */
+    private void checkMultiplicity(VertexLabel vertexLabel, Direction direction, EdgeLabel edgeLabel, VertexLabel otherSide, Collection<RecordId> recordIds) {
+        EdgeRole edgeRole = edgeRole(direction, edgeLabel, otherSide);
         Multiplicity multiplicity = edgeRole.getMultiplicity();
         if (multiplicity.hasLimits()) {
             StringBuilder sql = new StringBuilder();
@@ -436,16 +567,13 @@ public class SqlgTransaction extends AbstractThreadLocalTransaction {
                     }
                 }
             }
-            sql.append(", COUNT(");
+            String countColumn;
             if (otherSide.hasIDPrimaryKey()) {
-                sql.append("b.");
-                sql.append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(Topology.ID));
-                sql.append(")\n");
+                countColumn = "b." + sqlgGraph.getSqlDialect().maybeWrapInQoutes(Topology.ID);
             } else {
-                String identifier = otherSide.getIdentifiers().get(0);
-                sql.append("b.").append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(identifier));
-                sql.append(")\n");
+                countColumn = "b." + sqlgGraph.getSqlDialect().maybeWrapInQoutes(otherSide.getIdentifiers().get(0));
             }
+            sql.append(", COUNT(").append(countColumn).append(")\n");
             sql.append("FROM\n\t");
             sql.append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(vertexLabel.getSchema().getName()));
             sql.append(".");
@@ -490,59 +618,122 @@ public class SqlgTransaction extends AbstractThreadLocalTransaction {
                     }
                 }
             }
-            sql.append("\nGROUP BY\n\t");
+            StringBuilder groupBy = new StringBuilder();
+            groupBy.append("\nGROUP BY\n\t");
             if (vertexLabel.hasIDPrimaryKey()) {
-                sql.append("a.");
-                sql.append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(Topology.ID));
+                groupBy.append("a.");
+                groupBy.append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(Topology.ID));
             } else {
-                StringBuilder sb = new StringBuilder();
                 int count = 1;
                 for (String identifier : vertexLabel.getIdentifiers()) {
-                    sb.append("a.").append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(identifier));
+                    groupBy.append("a.").append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(identifier));
                     if (count++ < vertexLabel.getIdentifiers().size()) {
-                        sb.append(", ");
+                        groupBy.append(", ");
                     }
                 }
-                sql.append(sb);
             }
-            if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug(sql.toString());
-            }
-            long upper = multiplicity.upper();
-            long lower = multiplicity.lower();
             Connection connection = this.sqlgGraph.tx().getConnection();
-            try (Statement statement = connection.createStatement()) {
-                ResultSet rs = statement.executeQuery(sql.toString());
-                if (vertexLabel.hasIDPrimaryKey()) {
-                    while (rs.next()) {
-                        long id = rs.getLong(1);
-                        long count = rs.getLong(2);
-                        RecordId recordId = RecordId.from(SchemaTable.of(vertexLabel.getSchema().getName(), vertexLabel.getName()), id);
-                        if (upper  != -1 && count > upper) {
-                            throw new IllegalStateException(String.format("Multiplicity check for EdgeLabel '%s' fails for '%s'.\nUpper multiplicity is [%d] current multiplicity is [%d]", edgeLabel.getLabel(), recordId, upper, count));
-                        } else if (count < lower) {
-                            throw new IllegalStateException(String.format("Multiplicity check for EdgeLabel '%s' fails for '%s'.\nLower multiplicity is [%d] current multiplicity is [%d]", edgeLabel.getLabel(), recordId, lower, count));
-                        }
-                    }
-                } else {
-                    while (rs.next()) {
-                        List<Comparable> identifiers = new ArrayList<>();
+            if (recordIds == null) {
+                sql.append(groupBy);
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug(sql.toString());
+                }
+                try (Statement statement = connection.createStatement()) {
+                    ResultSet rs = statement.executeQuery(sql.toString());
+                    checkMultiplicity(rs, vertexLabel, edgeLabel, multiplicity);
+                } catch (SQLException e) {
+                    throw new RuntimeException(e);
+                }
+            } else {
+                //only the failing vertices are returned
+                List<String> having = new ArrayList<>();
+                if (multiplicity.upper() != -1) {
+                    having.add("COUNT(" + countColumn + ") > " + multiplicity.upper());
+                }
+                if (multiplicity.lower() > 0) {
+                    having.add("COUNT(" + countColumn + ") < " + multiplicity.lower());
+                }
+                groupBy.append("\nHAVING\n\t").append(String.join(" OR ", having));
+                int parametersPerVertex = vertexLabel.hasIDPrimaryKey() ? 1 : vertexLabel.getIdentifiers().size();
+                int verticesPerStatement = Math.max(1, this.sqlgGraph.getSqlDialect().sqlInParameterLimit() / parametersPerVertex);
+                for (List<RecordId> chunk : Lists.partition(new ArrayList<>(recordIds), verticesPerStatement)) {
+                    StringBuilder where = new StringBuilder("\nWHERE\n\t");
+                    if (vertexLabel.hasIDPrimaryKey()) {
+                        where.append("a.").append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(Topology.ID)).append(" IN (");
+                        where.append(String.join(", ", Collections.nCopies(chunk.size(), "?")));
+                        where.append(")");
+                    } else {
+                        StringBuilder identifiersEqual = new StringBuilder("(");
+                        int count = 1;
                         for (String identifier : vertexLabel.getIdentifiers()) {
-                            Comparable id = (Comparable) rs.getObject(identifier);
-                            identifiers.add(id);
+                            identifiersEqual.append("a.").append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(identifier)).append(" = ?");
+                            if (count++ < vertexLabel.getIdentifiers().size()) {
+                                identifiersEqual.append(" AND ");
+                            }
                         }
-                        long count = rs.getLong(vertexLabel.getIdentifiers().size() + 1);
-                        RecordId recordId = RecordId.from(SchemaTable.of(vertexLabel.getSchema().getName(), vertexLabel.getName()), identifiers);
-                        if (upper != -1 && count > upper) {
-                            throw new IllegalStateException(String.format("Multiplicity check for EdgeLabel '%s' fails for '%s'.\nUpper multiplicity is [%d] current upper multiplicity is [%d]", edgeLabel.getLabel(), recordId, upper, count));
-                        } else if (count < lower) {
-                            throw new IllegalStateException(String.format("Multiplicity check for EdgeLabel '%s' fails for '%s'.\nLower multiplicity is [%d] current lower multiplicity is [%d]", edgeLabel.getLabel(), recordId, lower, count));
+                        identifiersEqual.append(")");
+                        where.append(String.join(" OR ", Collections.nCopies(chunk.size(), identifiersEqual)));
+                    }
+                    String chunkSql = sql.toString() + where + groupBy;
+                    if (LOGGER.isDebugEnabled()) {
+                        LOGGER.debug(chunkSql);
+                    }
+                    try (PreparedStatement preparedStatement = connection.prepareStatement(chunkSql)) {
+                        int parameterIndex = 1;
+                        for (RecordId recordId : chunk) {
+                            if (vertexLabel.hasIDPrimaryKey()) {
+                                preparedStatement.setLong(parameterIndex++, recordId.sequenceId());
+                            } else {
+                                for (Comparable identifier : recordId.getIdentifiers()) {
+                                    preparedStatement.setObject(parameterIndex++, identifier);
+                                }
+                            }
                         }
+                        ResultSet rs = preparedStatement.executeQuery();
+                        checkMultiplicity(rs, vertexLabel, edgeLabel, multiplicity);
+                    } catch (SQLException e) {
+                        throw new RuntimeException(e);
                     }
                 }
-            } catch (SQLException e) {
-                throw new RuntimeException(e);
             }
         }
     }
+
+    private void checkMultiplicity(ResultSet rs, VertexLabel vertexLabel, EdgeLabel edgeLabel, Multiplicity multiplicity) throws SQLException {
+        long upper = multiplicity.upper();
+        long lower = multiplicity.lower();
+        if (vertexLabel.hasIDPrimaryKey()) {
+            while (rs.next()) {
+                long id = rs.getLong(1);
+                long count = rs.getLong(2);
+                RecordId recordId = RecordId.from(SchemaTable.of(vertexLabel.getSchema().getName(), vertexLabel.getName()), id);
+                if (upper  != -1 && count > upper) {
+                    throw new IllegalStateException(String.format("Multiplicity check for EdgeLabel '%s' fails for '%s'.\nUpper multiplicity is [%d] current multiplicity is [%d]", edgeLabel.getLabel(), recordId, upper, count));
+                } else if (count < lower) {
+                    throw new IllegalStateException(String.format("Multiplicity check for EdgeLabel '%s' fails for '%s'.\nLower multiplicity is [%d] current multiplicity is [%d]", edgeLabel.getLabel(), recordId, lower, count));
+                }
+            }
+        } else {
+            while (rs.next()) {
+                List<Comparable> identifiers = new ArrayList<>();
+                for (String identifier : vertexLabel.getIdentifiers()) {
+                    Comparable id = (Comparable) rs.getObject(identifier);
+                    identifiers.add(id);
+                }
+                long count = rs.getLong(vertexLabel.getIdentifiers().size() + 1);
+                RecordId recordId = RecordId.from(SchemaTable.of(vertexLabel.getSchema().getName(), vertexLabel.getName()), identifiers);
+                if (upper != -1 && count > upper) {
+                    throw new IllegalStateException(String.format("Multiplicity check for EdgeLabel '%s' fails for '%s'.\nUpper multiplicity is [%d] current upper multiplicity is [%d]", edgeLabel.getLabel(), recordId, upper, count));
+                } else if (count < lower) {
+                    throw new IllegalStateException(String.format("Multiplicity check for EdgeLabel '%s' fails for '%s'.\nLower multiplicity is [%d] current lower multiplicity is [%d]", edgeLabel.getLabel(), recordId, lower, count));
+                }
+            }
+        }
+    }
+
+    /**
+     * A deferred {@link #checkMultiplicity(Vertex, Direction, EdgeLabel, VertexLabel)}, the vertices are grouped per check.
+     */
+    record MultiplicityCheck(VertexLabel vertexLabel, Direction direction, EdgeLabel edgeLabel, VertexLabel otherSide) {
+    }
 }
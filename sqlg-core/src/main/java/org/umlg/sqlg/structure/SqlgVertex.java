@@ -332,17 +332,22 @@ public class SqlgVertex extends SqlgElement implements Vertex {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug(sql.toString());
         }
-        Connection conn = this.sqlgGraph.tx().getConnection();
-        try (PreparedStatement preparedStatement = conn.prepareStatement(sql.toString())) {
-            if (this.recordId.hasSequenceId()) {
-                preparedStatement.setLong(1, this.recordId.sequenceId());
-            } else {
-                int count = 1;
-                for (Comparable identifierValue : this.recordId.getIdentifiers()) {
-                    preparedStatement.setObject(count++, identifierValue);
+        ConnectionStatementCache statementCache = this.sqlgGraph.tx().getStatementCache();
+        try {
+            PreparedStatement preparedStatement = statementCache.prepare(sql.toString());
+            try {
+                if (this.recordId.hasSequenceId()) {
+                    preparedStatement.setLong(1, this.recordId.sequenceId());
+                } else {
+                    int count = 1;
+                    for (Comparable identifierValue : this.recordId.getIdentifiers()) {
+                        preparedStatement.setObject(count++, identifierValue);
+                    }
                 }
+                preparedStatement.executeUpdate();
+            } finally {
+                statementCache.release(preparedStatement);
             }
-            preparedStatement.executeUpdate();
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
@@ -474,6 +479,16 @@ public class SqlgVertex extends SqlgElement implements Vertex {
             //Generate the columns to prevent 'ERROR: cached plan must not change result type" error'
             //This happens when the schema changes after the statement is prepared.
             VertexLabel vertexLabel = this.sqlgGraph.getTopology().getSchema(this.schema).orElseThrow(() -> new IllegalStateException(String.format("Schema %s not found", this.schema))).getVertexLabel(this.table).orElseThrow(() -> new IllegalStateException(String.format("VertexLabel %s not found", this.table)));
+            //load the other pending vertices of the label with the same query.
+            if (vertexLabel.hasIDPrimaryKey() && !this.sqlgGraph.tx().isInBatchMode()) {
+                LazyPropertyLoader lazyPropertyLoader = this.sqlgGraph.tx().getLazyPropertyLoader();
+                if (lazyPropertyLoader.isEnabled()) {
+                    if (!lazyPropertyLoader.load(this, vertexLabel)) {
+                        throw new IllegalStateException(String.format("Vertex with label %s and id %s does not exist.", this.schema + "." + this.table, this.recordId.getID().toString()));
+                    }
+                    return;
+                }
+            }
             StringBuilder sql = new StringBuilder("SELECT\n\t");
             sql.append(this.sqlgGraph.getSqlDialect().maybeWrapInQoutes("ID"));
             appendProperties(vertexLabel, sql);
@@ -499,24 +514,31 @@ public class SqlgVertex extends SqlgElement implements Vertex {
             if (this.sqlgGraph.getSqlDialect().needsSemicolon()) {
                 sql.append(";");
             }
-            Connection conn = this.sqlgGraph.tx().getConnection();
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug(sql.toString());
             }
-            try (PreparedStatement preparedStatement = conn.prepareStatement(sql.toString())) {
-                if (vertexLabel.hasIDPrimaryKey()) {
-                    preparedStatement.setLong(1, this.recordId.sequenceId());
-                } else {
-                    int count = 1;
-                    for (Comparable identifierValue : this.recordId.getIdentifiers()) {
-                        preparedStatement.setObject(count++, identifierValue);
+            ConnectionStatementCache statementCache = this.sqlgGraph.tx().getStatementCache();
+            try {
+                PreparedStatement preparedStatement = statementCache.prepare(sql.toString());
+                try {
+                    if (vertexLabel.hasIDPrimaryKey()) {
+                        preparedStatement.setLong(1, this.recordId.sequenceId());
+                    } else {
+                        int count = 1;
+                        for (Comparable identifierValue : this.recordId.getIdentifiers()) {
+                            preparedStatement.setObject(count++, identifierValue);
+                        }
                     }
-                }
-                ResultSet resultSet = preparedStatement.executeQuery();
-                if (resultSet.next()) {
-                    loadResultSet(resultSet);
-                } else {
-                    throw new IllegalStateException(String.format("Vertex with label %s and id %s does not exist.", this.schema + "." + this.table, this.recordId.getID().toString()));
+                    try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                        if (resultSet.next()) {
+                            loadResultSet(resultSet);
+                            this.sqlgGraph.tx().getIdentityMap().put(this);
+                        } else {
+                            throw new IllegalStateException(String.format("Vertex with label %s and id %s does not exist.", this.schema + "." + this.table, this.recordId.getID().toString()));
+                        }
+                    }
+                } finally {
+                    statementCache.release(preparedStatement);
                 }
             } catch (SQLException e) {
                 throw new RuntimeException(e);
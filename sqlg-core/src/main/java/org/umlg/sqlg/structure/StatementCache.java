@@ -0,0 +1,87 @@
+package org.umlg.sqlg.structure;
+
+import java.sql.Connection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Graph wide part of the {@link ConnectionStatementCache}s.
+ * Holds the configured size, the reuse metrics of all connections and the topology generation.
+ * A topology change increments the generation, every connection then closes its cached statements before reusing any.
+ * The size of each connection's cache is configured with 'statement.cache.size', 0 disables caching.
+ * <p>
+ * Date: 2026/10/18
+ */
+public final class StatementCache {
+
+    private final int maximumSize;
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder invalidationCount = new LongAdder();
+
+    StatementCache(int maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    ConnectionStatementCache forConnection(Connection connection) {
+        return new ConnectionStatementCache(this, connection);
+    }
+
+    /**
+     * Called on topology changes, the sql of cached statements might reference columns or tables that changed.
+     */
+    public void invalidate() {
+        this.generation.incrementAndGet();
+    }
+
+    public int getMaximumSize() {
+        return this.maximumSize;
+    }
+
+    long getGeneration() {
+        return this.generation.get();
+    }
+
+    void hit() {
+        this.hitCount.increment();
+    }
+
+    void miss() {
+        this.missCount.increment();
+    }
+
+    void evicted() {
+        this.evictionCount.increment();
+    }
+
+    void invalidated(int count) {
+        this.invalidationCount.add(count);
+    }
+
+    public long getHitCount() {
+        return this.hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return this.missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return this.evictionCount.sum();
+    }
+
+    public long getInvalidationCount() {
+        return this.invalidationCount.sum();
+    }
+
+    /**
+     * @return The fraction of statements that were reused instead of prepared, 0 if none were requested.
+     */
+    public double getReuseRate() {
+        long hits = getHitCount();
+        long total = hits + getMissCount();
+        return total == 0 ? 0D : (double) hits / total;
+    }
+}
@@ -2,7 +2,9 @@ package org.umlg.sqlg.structure;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.WeakHashMap;
 
 /**
@@ -13,7 +15,11 @@ import java.util.WeakHashMap;
 class TransactionCache {
 
     private final Connection connection;
+    private final ConnectionStatementCache statementCache;
+    private final LazyPropertyLoader lazyPropertyLoader;
+    private final ElementIdentityMap identityMap;
     private final Map<ElementPropertyRollback, Object> elementPropertyRollbackFunctions = new WeakHashMap<>();
+    private final Map<SqlgTransaction.MultiplicityCheck, Set<SqlgVertex>> deferredMultiplicityChecks = new LinkedHashMap<>();
     private BatchManager batchManager;
     private boolean writeTransaction;
 
@@ -28,28 +34,37 @@ class TransactionCache {
     private Integer fetchSize = null;
 
 
-    static TransactionCache of(Connection connection, BatchManager batchManager, boolean lazyQueries) {
-        return new TransactionCache(connection, batchManager, lazyQueries);
+    static TransactionCache of(Connection connection, ConnectionStatementCache statementCache, LazyPropertyLoader lazyPropertyLoader, ElementIdentityMap identityMap, BatchManager batchManager, boolean lazyQueries) {
+        return new TransactionCache(connection, statementCache, lazyPropertyLoader, identityMap, batchManager, lazyQueries);
     }
 
-    static TransactionCache of(Connection connection, boolean lazyQueries) {
-        return new TransactionCache(connection, lazyQueries);
+    static TransactionCache of(Connection connection, ConnectionStatementCache statementCache, LazyPropertyLoader lazyPropertyLoader, ElementIdentityMap identityMap, boolean lazyQueries) {
+        return new TransactionCache(connection, statementCache, lazyPropertyLoader, identityMap, lazyQueries);
     }
 
     private TransactionCache(
             Connection connection,
+            ConnectionStatementCache statementCache,
+            LazyPropertyLoader lazyPropertyLoader,
+            ElementIdentityMap identityMap,
             boolean lazyQueries) {
 
         this.connection = connection;
+        this.statementCache = statementCache;
+        this.lazyPropertyLoader = lazyPropertyLoader;
+        this.identityMap = identityMap;
         this.lazyQueries = lazyQueries;
     }
 
     private TransactionCache(
             Connection connection,
+            ConnectionStatementCache statementCache,
+            LazyPropertyLoader lazyPropertyLoader,
+            ElementIdentityMap identityMap,
             BatchManager batchManager,
             boolean lazyQueries) {
 
-        this(connection, lazyQueries);
+        this(connection, statementCache, lazyPropertyLoader, identityMap, lazyQueries);
         this.batchManager = batchManager;
     }
 
@@ -57,6 +72,18 @@ class TransactionCache {
         return this.connection;
     }
 
+    ConnectionStatementCache getStatementCache() {
+        return this.statementCache;
+    }
+
+    LazyPropertyLoader getLazyPropertyLoader() {
+        return this.lazyPropertyLoader;
+    }
+
+    ElementIdentityMap getIdentityMap() {
+        return this.identityMap;
+    }
+
     public boolean isWriteTransaction() {
         return writeTransaction;
     }
@@ -69,15 +96,23 @@ class TransactionCache {
         return this.elementPropertyRollbackFunctions;
     }
 
+    Map<SqlgTransaction.MultiplicityCheck, Set<SqlgVertex>> getDeferredMultiplicityChecks() {
+        return this.deferredMultiplicityChecks;
+    }
+
     BatchManager getBatchManager() {
         return this.batchManager;
     }
 
     void clear() {
         this.elementPropertyRollbackFunctions.clear();
+        this.deferredMultiplicityChecks.clear();
         if (this.batchManager != null) {
             this.batchManager.clear();
         }
+        this.lazyPropertyLoader.clear();
+        this.identityMap.clear();
+        this.statementCache.close();
         try {
             if (!this.connection.isClosed()) {
                 this.connection.close();
@@ -20,6 +20,7 @@ import org.umlg.sqlg.util.ThreadLocalSet;
 import java.sql.*;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import static org.umlg.sqlg.structure.topology.Topology.*;
@@ -38,6 +39,10 @@ public abstract class AbstractLabel implements TopologyInf {
     final Map<String, PropertyColumn> properties = new ConcurrentHashMap<>();
     final Map<String, PropertyColumn> uncommittedProperties = new ThreadLocalMap<>();
     final Set<String> uncommittedRemovedProperties = new ThreadLocalSet<>();
+    //the committed properties' slots for the compact element property storage, see 'element.properties.compact'
+    private volatile VersionedPropertyLayout propertyLayout;
+    //incremented whenever the committed properties change, a layout taken for an older version is stale
+    private final AtomicInteger propertiesVersion = new AtomicInteger();
 
     final Map<String, PropertyColumn> uncommittedUpdatedProperties = new ThreadLocalMap<>();
 
@@ -164,7 +169,8 @@ public abstract class AbstractLabel implements TopologyInf {
         Optional<Partition> partitionOptional = this.getPartition(name);
         if (partitionOptional.isEmpty()) {
             getTopology().startSchemaChange(
-                    String.format("AbstractLabel '%s' ensureRangePartitionExists with '%s', '%s', '%s'", getFullName(), name, from, to)
+                    String.format("AbstractLabel '%s' ensureRangePartitionExists with '%s', '%s', '%s'", getFullName(), name, from, to),
+                    List.of(this)
             );
             partitionOptional = this.getPartition(name);
             return partitionOptional.orElseGet(() -> this.createRangePartition(name, from, to));
@@ -195,7 +201,8 @@ public abstract class AbstractLabel implements TopologyInf {
         Optional<Partition> partitionOptional = this.getPartition(name);
         if (partitionOptional.isEmpty()) {
             getTopology().startSchemaChange(
-                    String.format("AbstractLabel '%s' ensureRangePartitionWithSubPartitionExists with '%s', '%s', '%s'", getFullName(), name, from, to)
+                    String.format("AbstractLabel '%s' ensureRangePartitionWithSubPartitionExists with '%s', '%s', '%s'", getFullName(), name, from, to),
+                    List.of(this)
             );
             partitionOptional = this.getPartition(name);
             return partitionOptional.orElseGet(() -> this.createRangePartitionWithSubPartition(name, from, to, partitionType, partitionExpression));
@@ -222,7 +229,8 @@ public abstract class AbstractLabel implements TopologyInf {
         Optional<Partition> partitionOptional = this.getPartition(name);
         if (partitionOptional.isEmpty()) {
             getTopology().startSchemaChange(
-                    String.format("AbstractLabel '%s' ensureHashPartitionExists with '%s', '%d', '%d'", getFullName(), name, modulus, remainder)
+                    String.format("AbstractLabel '%s' ensureHashPartitionExists with '%s', '%d', '%d'", getFullName(), name, modulus, remainder),
+                    List.of(this)
             );
             partitionOptional = this.getPartition(name);
             return partitionOptional.orElseGet(() -> this.createHashPartition(name, modulus, remainder));
@@ -247,7 +255,8 @@ public abstract class AbstractLabel implements TopologyInf {
         Optional<Partition> partitionOptional = this.getPartition(name);
         if (partitionOptional.isEmpty()) {
             getTopology().startSchemaChange(
-                    String.format("AbstractLabel '%s' ensureListPartitionExists with '%s', '%s'", getFullName(), name, in)
+                    String.format("AbstractLabel '%s' ensureListPartitionExists with '%s', '%s'", getFullName(), name, in),
+                    List.of(this)
             );
             partitionOptional = this.getPartition(name);
             return partitionOptional.orElseGet(() -> this.createListPartition(name, in));
@@ -276,7 +285,8 @@ public abstract class AbstractLabel implements TopologyInf {
         Optional<Partition> partitionOptional = this.getPartition(name);
         if (partitionOptional.isEmpty()) {
             getTopology().startSchemaChange(
-                    String.format("AbstractLabel '%s' ensureListPartitionWithSubPartitionExists with '%s', '%s'", getFullName(), name, in)
+                    String.format("AbstractLabel '%s' ensureListPartitionWithSubPartitionExists with '%s', '%s'", getFullName(), name, in),
+                    List.of(this)
             );
             partitionOptional = this.getPartition(name);
             return partitionOptional.orElseGet(() -> this.createListPartitionWithSubPartition(name, in, partitionType, partitionExpression));
@@ -306,7 +316,8 @@ public abstract class AbstractLabel implements TopologyInf {
         Optional<Partition> partitionOptional = this.getPartition(name);
         if (partitionOptional.isEmpty()) {
             getTopology().startSchemaChange(
-                    String.format("AbstractLabel '%s' ensureHashPartitionWithSubPartitionExists with '%s' '%d' '%d'", getFullName(), name, modulus, remainder)
+                    String.format("AbstractLabel '%s' ensureHashPartitionWithSubPartitionExists with '%s' '%d' '%d'", getFullName(), name, modulus, remainder),
+                    List.of(this)
             );
             partitionOptional = this.getPartition(name);
             return partitionOptional.orElseGet(() -> this.createHashPartitionWithSubPartition(name, modulus, remainder, partitionType, partitionExpression));
@@ -405,7 +416,8 @@ public abstract class AbstractLabel implements TopologyInf {
             }
 
             getTopology().startSchemaChange(
-                    String.format("AbstractLabel '%s' ensureIndexExists with '%s' '%s'", getFullName(), indexType.getName(), properties.stream().map(PropertyColumn::getName).reduce((a, b) -> a + "," + b).orElse(""))
+                    String.format("AbstractLabel '%s' ensureIndexExists with '%s' '%s'", getFullName(), indexType.getName(), properties.stream().map(PropertyColumn::getName).reduce((a, b) -> a + "," + b).orElse("")),
+                    List.of(this)
             );
             for (Index idx : this.getIndexes().values()) {
                 if (idx.getProperties().equals(properties)) {
@@ -421,7 +433,8 @@ public abstract class AbstractLabel implements TopologyInf {
             Optional<Index> indexOptional = this.getIndex(indexName);
             if (indexOptional.isEmpty()) {
                 this.getTopology().startSchemaChange(
-                        String.format("AbstractLabel '%s' ensureIndexExists with '%s' '%s'", getFullName(), indexType.getName(), properties.stream().map(PropertyColumn::getName).reduce((a, b) -> a + "," + b).orElse(""))
+                        String.format("AbstractLabel '%s' ensureIndexExists with '%s' '%s'", getFullName(), indexType.getName(), properties.stream().map(PropertyColumn::getName).reduce((a, b) -> a + "," + b).orElse("")),
+                        List.of(this)
                 );
                 indexOptional = this.getIndex(indexName);
                 if (indexOptional.isEmpty()) {
@@ -541,6 +554,28 @@ public abstract class AbstractLabel implements TopologyInf {
         }
     }
 
+    /**
+     * @return The layout of the committed properties. It is taken again once the committed properties changed, the
+     * elements holding an older layout keep the properties it does not have next to it.
+     */
+    public PropertyLayout getPropertyLayout() {
+        VersionedPropertyLayout result = this.propertyLayout;
+        //read the version before the properties, a change while the layout is taken makes it stale straight away
+        int version = this.propertiesVersion.get();
+        if (result == null || result.version() != version) {
+            result = new VersionedPropertyLayout(version, PropertyLayout.of(this.properties.keySet()));
+            this.propertyLayout = result;
+        }
+        return result.propertyLayout();
+    }
+
+    private void propertiesChanged() {
+        this.propertiesVersion.incrementAndGet();
+    }
+
+    private record VersionedPropertyLayout(int version, PropertyLayout propertyLayout) {
+    }
+
     public ListOrderedSet<String> getIdentifiers() {
         if (getTopology().isSchemaChanged()) {
             ListOrderedSet<String> result = ListOrderedSet.listOrderedSet(new ArrayList<>(this.identifiers.asList()));
@@ -779,6 +814,7 @@ public abstract class AbstractLabel implements TopologyInf {
                 )
         );
         this.properties.put(propertyVertex.value(SQLG_SCHEMA_PROPERTY_NAME), property);
+        propertiesChanged();
     }
 
     void addIdentifier(String propertyName, int index) {
@@ -878,6 +914,7 @@ public abstract class AbstractLabel implements TopologyInf {
             entry.getValue().afterCommit();
             it.remove();
         }
+        propertiesChanged();
         this.identifiers.addAll(this.uncommittedIdentifiers);
         int index = -1;
         for (Iterator<Pair<String, String>> it = this.renamedIdentifiers.iterator(); it.hasNext(); ) {
@@ -965,13 +1002,41 @@ public abstract class AbstractLabel implements TopologyInf {
         return propertyArrayNode;
     }
 
+    /**
+     * The committed properties, identifiers and indexes in the format of {@link #toNotifyJson()}, as if they were all uncommitted.
+     */
+    ObjectNode toCommittedNotifyJson() {
+        ObjectNode result = new ObjectNode(Topology.OBJECT_MAPPER.getNodeFactory());
+        result.set("uncommittedProperties", propertiesToNotifyJson(this.properties.values()));
+        result.set("uncommittedIdentifiers", identifiersToNotifyJson(this.identifiers.asList()));
+        ArrayNode indexArrayNode = new ArrayNode(Topology.OBJECT_MAPPER.getNodeFactory());
+        for (Index index : this.indexes.values()) {
+            indexArrayNode.add(index.toCommittedNotifyJson());
+        }
+        result.set("uncommittedIndexes", indexArrayNode);
+        return result;
+    }
+
+    private static ArrayNode propertiesToNotifyJson(Collection<PropertyColumn> propertyColumns) {
+        ArrayNode propertyArrayNode = new ArrayNode(Topology.OBJECT_MAPPER.getNodeFactory());
+        for (PropertyColumn property : propertyColumns) {
+            propertyArrayNode.add(property.toNotifyJson());
+        }
+        return propertyArrayNode;
+    }
+
+    private static ArrayNode identifiersToNotifyJson(Collection<String> identifiers) {
+        ArrayNode identifierArrayNode = new ArrayNode(Topology.OBJECT_MAPPER.getNodeFactory());
+        for (String identifier : identifiers) {
+            identifierArrayNode.add(identifier);
+        }
+        return identifierArrayNode;
+    }
+
     Optional<JsonNode> toNotifyJson() {
         if (getTopology().isSchemaChanged()) {
             ObjectNode result = new ObjectNode(Topology.OBJECT_MAPPER.getNodeFactory());
-            ArrayNode propertyArrayNode = new ArrayNode(Topology.OBJECT_MAPPER.getNodeFactory());
-            for (PropertyColumn property : this.uncommittedProperties.values()) {
-                propertyArrayNode.add(property.toNotifyJson());
-            }
+            ArrayNode propertyArrayNode = propertiesToNotifyJson(this.uncommittedProperties.values());
             ArrayNode updatedPropertyArrayNode = new ArrayNode(Topology.OBJECT_MAPPER.getNodeFactory());
             for (PropertyColumn property : this.uncommittedUpdatedProperties.values()) {
                 updatedPropertyArrayNode.add(property.toNotifyJson());
@@ -980,10 +1045,7 @@ public abstract class AbstractLabel implements TopologyInf {
             for (String property : this.uncommittedRemovedProperties) {
                 removedPropertyArrayNode.add(property);
             }
-            ArrayNode identifierArrayNode = new ArrayNode(Topology.OBJECT_MAPPER.getNodeFactory());
-            for (String identifier : this.uncommittedIdentifiers) {
-                identifierArrayNode.add(identifier);
-            }
+            ArrayNode identifierArrayNode = identifiersToNotifyJson(this.uncommittedIdentifiers);
             ArrayNode renamedIdentifierArrayNode = new ArrayNode(Topology.OBJECT_MAPPER.getNodeFactory());
             for (Pair<String, String> oldNew : this.renamedIdentifiers) {
                 ObjectNode renamedObjectNode = new ObjectNode(Topology.OBJECT_MAPPER.getNodeFactory());
@@ -1116,6 +1178,7 @@ public abstract class AbstractLabel implements TopologyInf {
                 }
             }
         }
+        propertiesChanged();
         ArrayNode uncommittedPartitionsNode = (ArrayNode) vertexLabelJson.get("uncommittedPartitions");
         if (uncommittedPartitionsNode != null) {
             for (JsonNode partitionNode : uncommittedPartitionsNode) {
@@ -1231,7 +1294,8 @@ public abstract class AbstractLabel implements TopologyInf {
                 "PropertyType must be the same for updatePropertyDefinition. Original: '%s', Updated: '%s' '%s'", currentPropertyDefinition.propertyType(), propertyDefinition.propertyType()
         );
         this.getSchema().getTopology().startSchemaChange(
-                String.format("VertexLabel '%s' updatePropertyDefinition with '%s' '%s'", getFullName(), propertyColumn.getName(), propertyDefinition)
+                String.format("VertexLabel '%s' updatePropertyDefinition with '%s' '%s'", getFullName(), propertyColumn.getName(), propertyDefinition),
+                List.of(this)
         );
         String name = propertyColumn.getName();
         if (!this.uncommittedUpdatedProperties.containsKey(name)) {
@@ -1559,7 +1623,8 @@ public abstract class AbstractLabel implements TopologyInf {
      */
     void removeIndex(Index idx, boolean preserveData) {
         this.getTopology().startSchemaChange(
-                String.format("AbstractLabel '%s' removeIndex with '%s'", getFullName(), idx.getName())
+                String.format("AbstractLabel '%s' removeIndex with '%s'", getFullName(), idx.getName()),
+                List.of(this)
         );
         if (!uncommittedRemovedIndexes.contains(idx.getName())) {
             uncommittedRemovedIndexes.add(idx.getName());
@@ -1583,7 +1648,8 @@ public abstract class AbstractLabel implements TopologyInf {
 
     public void removePartition(Partition partition, boolean preserveData) {
         this.getTopology().startSchemaChange(
-                String.format("AbstractLabel '%s' removePartition with '%s'", getFullName(), partition.getName())
+                String.format("AbstractLabel '%s' removePartition with '%s'", getFullName(), partition.getName()),
+                List.of(this)
         );
 
         for (Partition partition1 : partition.getPartitions().values()) {
@@ -1661,7 +1727,8 @@ public abstract class AbstractLabel implements TopologyInf {
         Preconditions.checkArgument(getIdentifiers().contains(distributionPropertyColumn.getName()), "The distribution column must be part of the primary key");
         if (!this.isDistributed()) {
             this.getTopology().startSchemaChange(
-                    String.format("AbstractLabel '%s' ensureDistributed with '%s'", getFullName(), distributionPropertyColumn.getName())
+                    String.format("AbstractLabel '%s' ensureDistributed with '%s'", getFullName(), distributionPropertyColumn.getName()),
+                    List.of(this)
             );
             if (!this.isDistributed()) {
                 TopologyManager.distributeAbstractLabel(this.sqlgGraph, this, shardCount, distributionPropertyColumn, colocate);
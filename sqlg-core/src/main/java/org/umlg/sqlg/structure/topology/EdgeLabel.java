@@ -209,7 +209,8 @@ public class EdgeLabel extends AbstractLabel {
                 propertyColumn = this.uncommittedProperties.get(column.getKey());
                 if (propertyColumn == null) {
                     this.getSchema().getTopology().startSchemaChange(
-                            String.format("EdgeLabel '%s' ensurePropertiesExist with '%s'", getFullName(), columns.keySet().stream().reduce((a,b) -> a + "," + b).orElse(""))
+                            String.format("EdgeLabel '%s' ensurePropertiesExist with '%s'", getFullName(), columns.keySet().stream().reduce((a,b) -> a + "," + b).orElse("")),
+                            List.of(this)
                     );
                     if (getProperty(column.getKey()).isEmpty()) {
                         TopologyManager.addEdgeColumn(
@@ -999,7 +1000,8 @@ public class EdgeLabel extends AbstractLabel {
             //Make sure the current thread/transaction owns the lock
             Schema schema = this.getSchema();
             schema.getTopology().startSchemaChange(
-                    String.format("EdgeLabel '%s' ensureEdgeVertexLabelExist with '%s', '%s'", getFullName(), direction.name(), vertexLabel.getName())
+                    String.format("EdgeLabel '%s' ensureEdgeVertexLabelExist with '%s', '%s'", getFullName(), direction.name(), vertexLabel.getName()),
+                    List.of(this, vertexLabel)
             );
             if (!foreignKeysContains(direction, vertexLabel, edgeDefinition)) {
                 SchemaTable foreignKeySchemaTable = SchemaTable.of(vertexLabel.getSchema().getName(), vertexLabel.getLabel());
@@ -1387,7 +1389,8 @@ public class EdgeLabel extends AbstractLabel {
     @Override
     void removeProperty(PropertyColumn propertyColumn, boolean preserveData) {
         this.getSchema().getTopology().startSchemaChange(
-                String.format("EdgeLabel '%s' removeProperty with '%s'", getFullName(), propertyColumn.getName())
+                String.format("EdgeLabel '%s' removeProperty with '%s'", getFullName(), propertyColumn.getName()),
+                List.of(this)
         );
         if (!uncommittedRemovedProperties.contains(propertyColumn.getName())) {
             uncommittedRemovedProperties.add(propertyColumn.getName());
@@ -1405,7 +1408,8 @@ public class EdgeLabel extends AbstractLabel {
                 "PropertyType must be the same for updatePropertyDefinition. Original: '%s', Updated: '%s' '%s'", propertyColumn.getPropertyDefinition().propertyType(), propertyDefinition.propertyType()
         );
         this.getSchema().getTopology().startSchemaChange(
-                String.format("EdgeLabel '%s' updatePropertyDefinition with '%s' '%s'", getFullName(), propertyColumn.getName(), propertyDefinition.toString())
+                String.format("EdgeLabel '%s' updatePropertyDefinition with '%s' '%s'", getFullName(), propertyColumn.getName(), propertyDefinition.toString()),
+                List.of(this)
         );
         String name = propertyColumn.getName();
         if (!this.uncommittedUpdatedProperties.containsKey(name)) {
@@ -1426,7 +1430,8 @@ public class EdgeLabel extends AbstractLabel {
     @Override
     void renameProperty(String name, PropertyColumn propertyColumn) {
         this.getSchema().getTopology().startSchemaChange(
-                String.format("EdgeLabel '%s' renameProperty with '%s' '%s'", getFullName(), name, propertyColumn.getName())
+                String.format("EdgeLabel '%s' renameProperty with '%s' '%s'", getFullName(), name, propertyColumn.getName()),
+                List.of(this)
         );
         String oldName = propertyColumn.getName();
         Pair<String, String> namePair = Pair.of(oldName, name);
@@ -1652,7 +1657,8 @@ public class EdgeLabel extends AbstractLabel {
         Preconditions.checkArgument(!label.startsWith(EDGE_PREFIX), "label may not be prefixed with \"%s\"", EDGE_PREFIX);
         Preconditions.checkState(!this.isForeignAbstractLabel, "'%s' is a read only foreign table!", label);
         this.getSchema().getTopology().startSchemaChange(
-                String.format("EdgeLabel '%s' rename with '%s'", getFullName(), label)
+                String.format("EdgeLabel '%s' rename with '%s'", getFullName(), label),
+                List.of(this)
         );
         this.getSchema().renameEdgeLabel(this, label);
     }
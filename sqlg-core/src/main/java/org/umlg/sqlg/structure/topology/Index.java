@@ -191,15 +191,26 @@ public class Index implements TopologyInf {
 
     Optional<JsonNode> toNotifyJson() {
         Preconditions.checkState(this.abstractLabel.getSchema().getTopology().isSchemaChanged() && !this.uncommittedProperties.isEmpty());
+        return Optional.of(toNotifyJson(this.uncommittedIndexType, this.uncommittedProperties));
+    }
+
+    /**
+     * The committed index in the format of {@link #toNotifyJson()}, as if it was uncommitted.
+     */
+    ObjectNode toCommittedNotifyJson() {
+        return toNotifyJson(this.indexType, this.properties);
+    }
+
+    private ObjectNode toNotifyJson(IndexType indexType, List<PropertyColumn> properties) {
         ObjectNode result = new ObjectNode(Topology.OBJECT_MAPPER.getNodeFactory());
         result.put("name", this.name);
-        result.set("indexType", this.uncommittedIndexType.toNotifyJson());
+        result.set("indexType", indexType.toNotifyJson());
         ArrayNode propertyArrayNode = new ArrayNode(Topology.OBJECT_MAPPER.getNodeFactory());
-        for (PropertyColumn property : this.uncommittedProperties) {
+        for (PropertyColumn property : properties) {
             propertyArrayNode.add(property.toNotifyJson());
         }
         result.set("uncommittedProperties", propertyArrayNode);
-        return Optional.of(result);
+        return result;
     }
 
     public static Index fromNotifyJson(AbstractLabel abstractLabel, JsonNode indexNode) {
@@ -215,7 +215,8 @@ public class Partition implements TopologyInf {
 
     private void removePartition(Partition partition, boolean preserveData) {
         this.getAbstractLabel().getSchema().getTopology().startSchemaChange(
-                String.format("Partition '%s' removePartition with '%s'", getName(), partition.getName())
+                String.format("Partition '%s' removePartition with '%s'", getName(), partition.getName()),
+                List.of(this.getAbstractLabel())
         );
         for (Partition partition1 : partition.getPartitions().values()) {
             partition.removePartition(partition1, preserveData);
@@ -1095,7 +1096,8 @@ public class Partition implements TopologyInf {
         Optional<Partition> partitionOptional = this.getPartition(name);
         if (partitionOptional.isEmpty()) {
             this.getAbstractLabel().getSchema().getTopology().startSchemaChange(
-                    String.format("Partition '%s' ensureRangePartitionExists with '%s'", getName(), name)
+                    String.format("Partition '%s' ensureRangePartitionExists with '%s'", getName(), name),
+                    List.of(this.getAbstractLabel())
             );
             partitionOptional = this.getPartition(name);
             partitionOptional.orElseGet(() -> this.createRangePartition(name, from, to));
@@ -1109,7 +1111,8 @@ public class Partition implements TopologyInf {
         Optional<Partition> partitionOptional = this.getPartition(name);
         if (partitionOptional.isEmpty()) {
             this.getAbstractLabel().getSchema().getTopology().startSchemaChange(
-                    String.format("Partition '%s' ensureListPartitionExists with '%s'", getName(), name)
+                    String.format("Partition '%s' ensureListPartitionExists with '%s'", getName(), name),
+                    List.of(this.getAbstractLabel())
             );
             partitionOptional = this.getPartition(name);
             partitionOptional.orElseGet(() -> this.createListPartition(name, in));
@@ -1124,7 +1127,8 @@ public class Partition implements TopologyInf {
         Optional<Partition> partitionOptional = this.getPartition(name);
         if (partitionOptional.isEmpty()) {
             this.getAbstractLabel().getSchema().getTopology().startSchemaChange(
-                    String.format("Partition '%s' ensureHashPartitionExists with '%s'", getName(), name)
+                    String.format("Partition '%s' ensureHashPartitionExists with '%s'", getName(), name),
+                    List.of(this.getAbstractLabel())
             );
             partitionOptional = this.getPartition(name);
             partitionOptional.orElseGet(() -> this.createHashPartition(name, modulus, remainder));
@@ -1147,7 +1151,8 @@ public class Partition implements TopologyInf {
         Optional<Partition> partitionOptional = this.getPartition(name);
         if (partitionOptional.isEmpty()) {
             this.getAbstractLabel().getSchema().getTopology().startSchemaChange(
-                    String.format("Partition '%s' ensureRangePartitionWithSubPartitionExists with '%s'", getName(), name)
+                    String.format("Partition '%s' ensureRangePartitionWithSubPartitionExists with '%s'", getName(), name),
+                    List.of(this.getAbstractLabel())
             );
             partitionOptional = this.getPartition(name);
             return partitionOptional.orElseGet(() -> this.createRangePartitionWithSubPartition(name, from, to, partitionType, partitionExpression));
@@ -1170,7 +1175,8 @@ public class Partition implements TopologyInf {
         Optional<Partition> partitionOptional = this.getPartition(name);
         if (partitionOptional.isEmpty()) {
             this.getAbstractLabel().getSchema().getTopology().startSchemaChange(
-                    String.format("Partition '%s' ensureListPartitionWithSubPartitionExists with '%s'", getName(), name)
+                    String.format("Partition '%s' ensureListPartitionWithSubPartitionExists with '%s'", getName(), name),
+                    List.of(this.getAbstractLabel())
             );
             partitionOptional = this.getPartition(name);
             return partitionOptional.orElseGet(() -> this.createListPartitionWithSubPartition(name, in, partitionType, partitionExpression));
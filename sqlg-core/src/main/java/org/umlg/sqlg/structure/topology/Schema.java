@@ -150,7 +150,8 @@ public class Schema implements TopologyInf {
         final String prefixedTable = VERTEX_PREFIX + label;
         if (!this.threadLocalTemporaryTables.get().containsKey(prefixedTable)) {
             this.topology.startSchemaChange(
-                    String.format("Schema '%s' ensureTemporaryVertexTableExist with '%s'", getName(), label)
+                    String.format("Schema '%s' ensureTemporaryVertexTableExist with '%s'", getName(), label),
+                    List.of()
             );
             if (!this.threadLocalTemporaryTables.get().containsKey(prefixedTable)) {
                 this.threadLocalTemporaryTables.get().put(prefixedTable, columns);
@@ -174,7 +175,9 @@ public class Schema implements TopologyInf {
         if (vertexLabelOptional.isEmpty()) {
             Preconditions.checkState(!this.isForeignSchema, "'%s' is a read only foreign schema!", this.name);
             this.topology.startSchemaChange(
-                    String.format("Schema '%s' ensureVertexLabelExist with '%s'", getName(), label)
+                    String.format("Schema '%s' ensureVertexLabelExist with '%s'", getName(), label),
+                    List.of(),
+                    List.of(getName() + "." + VERTEX_PREFIX + label)
             );
             vertexLabelOptional = this.getVertexLabel(label);
             return vertexLabelOptional.orElseGet(() -> this.createVertexLabel(label, columns, identifiers));
@@ -257,7 +260,9 @@ public class Schema implements TopologyInf {
         Optional<VertexLabel> vertexLabelOptional = this.getVertexLabel(label);
         if (vertexLabelOptional.isEmpty()) {
             this.topology.startSchemaChange(
-                    String.format("Schema '%s' ensurePartitionedVertexLabelExist with '%s'", getName(), label)
+                    String.format("Schema '%s' ensurePartitionedVertexLabelExist with '%s'", getName(), label),
+                    List.of(),
+                    List.of(getName() + "." + VERTEX_PREFIX + label)
             );
             vertexLabelOptional = this.getVertexLabel(label);
             return vertexLabelOptional.orElseGet(
@@ -330,7 +335,9 @@ public class Schema implements TopologyInf {
         if (edgeLabelOptional.isEmpty()) {
             Preconditions.checkState(!this.isForeignSchema, "'A' is a read only foreign schema!");
             this.topology.startSchemaChange(
-                    String.format("Schema '%s' ensureEdgeLabelExist with '%s'", getName(), edgeLabelName)
+                    String.format("Schema '%s' ensureEdgeLabelExist with '%s'", getName(), edgeLabelName),
+                    List.of(),
+                    List.of(getName() + "." + EDGE_PREFIX + edgeLabelName)
             );
             edgeLabelOptional = this.getEdgeLabel(edgeLabelName);
             if (edgeLabelOptional.isEmpty()) {
@@ -444,7 +451,9 @@ public class Schema implements TopologyInf {
         Optional<EdgeLabel> edgeLabelOptional = this.getEdgeLabel(edgeLabelName);
         if (edgeLabelOptional.isEmpty()) {
             this.topology.startSchemaChange(
-                    String.format("Schema '%s' ensureEdgeLabelExist with '%s'", getName(), edgeLabelName)
+                    String.format("Schema '%s' ensureEdgeLabelExist with '%s'", getName(), edgeLabelName),
+                    List.of(),
+                    List.of(getName() + "." + EDGE_PREFIX + edgeLabelName)
             );
             edgeLabelOptional = this.getEdgeLabel(edgeLabelName);
             if (edgeLabelOptional.isEmpty()) {
@@ -567,7 +576,9 @@ public class Schema implements TopologyInf {
         Optional<EdgeLabel> edgeLabelOptional = this.getEdgeLabel(edgeLabelName);
         if (edgeLabelOptional.isEmpty()) {
             this.topology.startSchemaChange(
-                    String.format("Schema '%s' ensurePartitionedEdgeLabelExist with '%s'", getName(), edgeLabelName)
+                    String.format("Schema '%s' ensurePartitionedEdgeLabelExist with '%s'", getName(), edgeLabelName),
+                    List.of(),
+                    List.of(getName() + "." + EDGE_PREFIX + edgeLabelName)
             );
             edgeLabelOptional = this.getEdgeLabel(edgeLabelName);
             if (edgeLabelOptional.isEmpty()) {
@@ -1615,7 +1626,8 @@ public class Schema implements TopologyInf {
      */
     void removeEdgeLabel(EdgeLabel edgeLabel, boolean preserveData) {
         getTopology().startSchemaChange(
-                String.format("Schema '%s' removeEdgeLabel with '%s'", getName(), edgeLabel.getName())
+                String.format("Schema '%s' removeEdgeLabel with '%s'", getName(), edgeLabel.getName()),
+                List.of(edgeLabel)
         );
         String fn = this.name + "." + EDGE_PREFIX + edgeLabel.getName();
 
@@ -1644,7 +1656,8 @@ public class Schema implements TopologyInf {
      */
     void removeVertexLabel(VertexLabel vertexLabel, boolean preserveData) {
         getTopology().startSchemaChange(
-                String.format("Schema '%s' removeVertexLabel with '%s'", getName(), vertexLabel.getName())
+                String.format("Schema '%s' removeVertexLabel with '%s'", getName(), vertexLabel.getName()),
+                List.of(vertexLabel)
         );
         String fn = this.name + "." + VERTEX_PREFIX + vertexLabel.getName();
         if (!this.uncommittedRemovedVertexLabels.contains(fn)) {
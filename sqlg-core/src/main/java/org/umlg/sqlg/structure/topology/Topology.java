@@ -69,6 +69,14 @@ public class Topology {
     private final Map<String, Schema> schemas = new ConcurrentHashMap<>();
 
     private final ThreadLocal<Boolean> schemaChanged = ThreadLocal.withInitial(() -> false);
+    //The SchemaTables whose cached sql must be invalidated again when the transaction completes.
+    //null indicates that the whole cache must be invalidated.
+    private final ThreadLocal<Set<SchemaTable>> schemaTableTreeCacheInvalidations = ThreadLocal.withInitial(HashSet::new);
+    //The schema change locks held by the transaction, see SqlSchemaChangeDialect.lockSchemaChange
+    //sorted in the order the dialect takes them, see SqlSchemaChangeDialect.schemaChangeLockOrder
+    private final ThreadLocal<TreeSet<String>> schemaChangeLocks;
+    //Marks the global topology lock, no schema is named ''
+    private static final String TOPOLOGY_LOCK = "";
     private boolean locked = false;
     private final ThreadLocalMap<String, Schema> uncommittedSchemas = new ThreadLocalMap<>();
     private final Set<String> uncommittedRemovedSchemas = new ConcurrentSkipListSet<>();
@@ -370,6 +378,9 @@ public class Topology {
      */
     public Topology(SqlgGraph sqlgGraph) {
         this.sqlgGraph = sqlgGraph;
+        this.schemaChangeLocks = ThreadLocal.withInitial(
+                () -> new TreeSet<>(((SqlSchemaChangeDialect) sqlgGraph.getSqlDialect()).schemaChangeLockOrder())
+        );
         this.distributed = sqlgGraph.configuration().getBoolean(SqlgGraph.DISTRIBUTED, false);
         boolean canUserCreateSchemas = sqlgGraph.getSqlDialect().canUserCreateSchemas(sqlgGraph);
 
@@ -566,8 +577,100 @@ public class Topology {
 
     /**
      * Global indicator to change the topology.
+     * All cached sql is invalidated, use {@link #startSchemaChange(String, Collection)} if the change is limited to some labels.
+     * The whole topology is locked until the transaction ends.
      */
     void startSchemaChange(String changeDescription) {
+        checkTopologyNotLocked(changeDescription);
+        this.schemaTableTreeCacheInvalidations.set(null);
+        sqlgGraph.getSchemaTableTreeCache().clear();
+        sqlgGraph.getIdBlockAllocator().clear();
+        sqlgGraph.getStatementCache().invalidate();
+        this.sqlgGraph.tx().readWrite();
+        TreeSet<String> locks = this.schemaChangeLocks.get();
+        if (!locks.contains(TOPOLOGY_LOCK)) {
+            ((SqlSchemaChangeDialect) this.sqlgGraph.getSqlDialect()).lockTopology(this.sqlgGraph);
+            locks.add(TOPOLOGY_LOCK);
+        }
+        this.schemaChanged.set(true);
+    }
+
+    /**
+     * Global indicator to change the topology.
+     * Only the cached sql touching the affectedLabels is invalidated.
+     * The affectedLabels are locked until the transaction ends.
+     *
+     * @param affectedLabels The labels whose sql changes.
+     */
+    void startSchemaChange(String changeDescription, Collection<? extends AbstractLabel> affectedLabels) {
+        startSchemaChange(changeDescription, affectedLabels, List.of());
+    }
+
+    /**
+     * Global indicator to change the topology.
+     * Only the cached sql touching the affectedLabels is invalidated.
+     * For a {@link VertexLabel} this includes the sql of its edge labels as their foreign key columns carry the vertex label's name.
+     * The affectedLabels and the createdNames are locked until the transaction ends,
+     * concurrent changes to other schemas and labels are not blocked.
+     *
+     * @param affectedLabels The labels whose sql changes, empty if the change does not alter any existing sql, i.e. creating a new label.
+     * @param createdNames   The qualified names of the schemas or tables being created, i.e. 'public' or 'public.V_Person'.
+     */
+    void startSchemaChange(String changeDescription, Collection<? extends AbstractLabel> affectedLabels, Collection<String> createdNames) {
+        checkTopologyNotLocked(changeDescription);
+        Set<SchemaTable> schemaTables = new HashSet<>();
+        SortedSet<String> lockNames = new TreeSet<>(createdNames);
+        for (AbstractLabel affectedLabel : affectedLabels) {
+            lockNames.add(affectedLabel.getSchema().getName() + "." + affectedLabel.getPrefix() + affectedLabel.getLabel());
+            schemaTables.add(SchemaTable.of(affectedLabel.getSchema().getName(), affectedLabel.getPrefix() + affectedLabel.getLabel()));
+            if (affectedLabel instanceof VertexLabel vertexLabel) {
+                for (EdgeLabel edgeLabel : vertexLabel.getOutEdgeLabels().values()) {
+                    schemaTables.add(SchemaTable.of(edgeLabel.getSchema().getName(), EDGE_PREFIX + edgeLabel.getLabel()));
+                }
+                for (EdgeLabel edgeLabel : vertexLabel.getInEdgeLabels().values()) {
+                    schemaTables.add(SchemaTable.of(edgeLabel.getSchema().getName(), EDGE_PREFIX + edgeLabel.getLabel()));
+                }
+            }
+        }
+        Set<SchemaTable> invalidations = this.schemaTableTreeCacheInvalidations.get();
+        if (invalidations != null) {
+            invalidations.addAll(schemaTables);
+        }
+        sqlgGraph.getSchemaTableTreeCache().invalidate(schemaTables);
+        sqlgGraph.getIdBlockAllocator().clear();
+        if (!schemaTables.isEmpty()) {
+            sqlgGraph.getStatementCache().invalidate();
+        }
+        this.sqlgGraph.tx().readWrite();
+        lockSchemaChange(lockNames);
+        this.schemaChanged.set(true);
+    }
+
+    /**
+     * Takes the locks not yet held by the transaction, in the dialect's order.
+     * A later change of the transaction can need a lock that sorts before the ones it holds, it waits for it like any
+     * other lock. Should two transactions then wait for each other the database aborts one of them, see
+     * {@link SqlgExceptions.DeadLockDetected}.
+     * The shared topology lock is only taken with the transaction's first locks.
+     */
+    private void lockSchemaChange(SortedSet<String> names) {
+        TreeSet<String> locks = this.schemaChangeLocks.get();
+        if (locks.contains(TOPOLOGY_LOCK)) {
+            return;
+        }
+        List<String> toLock = names.stream().filter(name -> !locks.contains(name)).sorted(locks.comparator()).toList();
+        if (toLock.isEmpty()) {
+            return;
+        }
+        SqlSchemaChangeDialect sqlSchemaChangeDialect = (SqlSchemaChangeDialect) this.sqlgGraph.getSqlDialect();
+        if (locks.isEmpty()) {
+            sqlSchemaChangeDialect.lockTopologyShared(this.sqlgGraph);
+        }
+        sqlSchemaChangeDialect.lockSchemaChange(this.sqlgGraph, toLock);
+        locks.addAll(toLock);
+    }
+
+    private void checkTopologyNotLocked(String changeDescription) {
         if (this.locked && this.sqlgGraph.tx().isTopologyLocked()) {
             if (changeDescription == null) {
                 throw new IllegalStateException("The topology is locked! Changes are not allowed, first unlock it. Either globally or for the transaction.");
@@ -575,9 +678,22 @@ public class Topology {
                 throw new IllegalStateException(String.format("The topology is locked! Changes are not allowed, first unlock it. Either globally or for the transaction.\nChange description: '%s'", changeDescription));
             }
         }
-        sqlgGraph.getSchemaTableTreeCache().clear();
-        this.sqlgGraph.tx().readWrite();
-        this.schemaChanged.set(true);
+    }
+
+    /**
+     * Sql cached by other threads between the start of the schema change and the commit or rollback may be stale, invalidate it again.
+     */
+    private void invalidateSchemaTableTreeCache() {
+        Set<SchemaTable> invalidations = this.schemaTableTreeCacheInvalidations.get();
+        if (invalidations == null) {
+            this.sqlgGraph.getSchemaTableTreeCache().clear();
+        } else {
+            this.sqlgGraph.getSchemaTableTreeCache().invalidate(invalidations);
+        }
+        if (invalidations == null || !invalidations.isEmpty()) {
+            this.sqlgGraph.getStatementCache().invalidate();
+        }
+        this.schemaTableTreeCacheInvalidations.remove();
     }
 
     public void lock() {
@@ -615,7 +731,9 @@ public class Topology {
         Schema schema;
         if (schemaOptional.isEmpty()) {
             this.startSchemaChange(
-                    String.format("Topology ensureSchemaExist with '%s'", schemaName)
+                    String.format("Topology ensureSchemaExist with '%s'", schemaName),
+                    List.of(),
+                    List.of(schemaName)
             );
             //search again after the lock is obtained.
             schemaOptional = this.getSchema(schemaName);
@@ -1080,8 +1198,12 @@ public class Topology {
                 }
             }
         } finally {
+            if (isSchemaChanged()) {
+                invalidateSchemaTableTreeCache();
+            }
             z_internalSqlWriteUnlock();
             this.schemaChanged.set(false);
+            this.schemaChangeLocks.remove();
         }
     }
 
@@ -1097,8 +1219,10 @@ public class Topology {
             for (Schema schema : this.schemas.values()) {
                 schema.afterRollback();
             }
+            invalidateSchemaTableTreeCache();
             z_internalSqlWriteUnlock();
             this.schemaChanged.set(false);
+            this.schemaChangeLocks.remove();
         }
     }
 
@@ -1117,7 +1241,34 @@ public class Topology {
                 .limit(1)
                 .toList();
         Preconditions.checkState(logs.size() <= 1, "must load one or zero logs in cacheTopology");
+        LocalDateTime logTimestamp = logs.isEmpty() ? null : logs.get(0).value(SQLG_SCHEMA_LOG_TIMESTAMP);
+
+        TopologySnapshot topologySnapshot = TopologySnapshot.from(this);
+        int replayedLogs = topologySnapshot != null ? topologySnapshot.load(traversalSource) : -1;
+        if (replayedLogs == -1) {
+            loadTopology(traversalSource);
+        } else {
+            LOGGER.debug("cacheTopology loaded the snapshot and replayed {} logs: {}", replayedLogs, sqlgGraph.getJdbcUrl());
+        }
 
+        //populate the allTablesCache
+        for (Schema schema : this.schemas.values()) {
+            if (!schema.isSqlgSchema()) {
+                this.allTableCache.putAll(schema.getAllTables());
+            }
+        }
+        //populate the schemaTableForeignKeyCache
+        this.schemaTableForeignKeyCache.putAll(loadTableLabels());
+        //populate the edgeForeignKey cache
+        this.edgeForeignKeyCache.putAll(loadAllEdgeForeignKeys());
+        if (topologySnapshot != null && replayedLogs != 0) {
+            topologySnapshot.write(logTimestamp);
+        }
+        stopWatch.stop();
+        LOGGER.info("cacheTopology took: {} {}", sqlgGraph.getJdbcUrl(), stopWatch);
+    }
+
+    private void loadTopology(GraphTraversalSource traversalSource) {
         List<Vertex> schemaVertices = traversalSource.V().hasLabel(SQLG_SCHEMA + "." + SQLG_SCHEMA_SCHEMA).toList();
         for (Vertex schemaVertex : schemaVertices) {
             String schemaName = schemaVertex.value("name");
@@ -1164,19 +1315,18 @@ public class Topology {
                 edgeLabel.clearIdentifiersMap();
             }
         }
+    }
 
-        //populate the allTablesCache
-        for (Schema schema : this.schemas.values()) {
-            if (!schema.isSqlgSchema()) {
-                this.allTableCache.putAll(schema.getAllTables());
-            }
+    /**
+     * Removes all user schemas, labels and their cache entries, only the empty public schema remains.
+     * Used when loading a {@link TopologySnapshot} fails halfway and the topology is loaded from sqlg_schema instead.
+     */
+    void clearUserSchemas() {
+        for (String schemaName : new ArrayList<>(this.schemas.keySet())) {
+            removeSchemaFromCaches(schemaName);
         }
-        //populate the schemaTableForeignKeyCache
-        this.schemaTableForeignKeyCache.putAll(loadTableLabels());
-        //populate the edgeForeignKey cache
-        this.edgeForeignKeyCache.putAll(loadAllEdgeForeignKeys());
-        stopWatch.stop();
-        LOGGER.info("cacheTopology took: {} {}", sqlgGraph.getJdbcUrl(), stopWatch);
+        String publicSchemaName = this.sqlgGraph.getSqlDialect().getPublicSchema();
+        this.schemas.put(publicSchemaName, Schema.instantiateSchema(this, publicSchemaName));
     }
 
     @SuppressWarnings("resource")
@@ -1627,6 +1777,8 @@ public class Topology {
                 Preconditions.checkState(backEndPid == pid, "notify pids do not match.");
                 //Clear the cache,
                 this.sqlgGraph.getSchemaTableTreeCache().clear();
+                this.sqlgGraph.getIdBlockAllocator().clear();
+                this.sqlgGraph.getStatementCache().invalidate();
                 ObjectNode log = logs.get(0).value("log");
                 fromNotifyJson(log);
             }
@@ -1635,7 +1787,7 @@ public class Topology {
         }
     }
 
-    private void fromNotifyJson(ObjectNode log) {
+    void fromNotifyJson(ObjectNode log) {
         //First do all the out edges. The in edge logic assumes the out edges are present.
         for (String s : List.of("uncommittedSchemas", "schemas")) {
             ArrayNode schemas = (ArrayNode) log.get(s);
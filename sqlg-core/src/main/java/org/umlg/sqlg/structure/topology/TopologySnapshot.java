@@ -0,0 +1,235 @@
+package org.umlg.sqlg.structure.topology;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.umlg.sqlg.structure.SqlgGraph;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.umlg.sqlg.structure.topology.Topology.*;
+
+/**
+ * A snapshot of the committed topology in a local file, configured with 'topology.snapshot.file'.
+ * <p>
+ * The snapshot is keyed by the timestamp of the last 'sqlg_schema.V_log' entry at the time it was written.
+ * On startup the snapshot is loaded and the newer log entries are replayed on it, the same way other graphs'
+ * topology changes are applied in distributed mode. The log is only written in distributed mode, so the snapshot
+ * is only used if 'distributed' is true.
+ * If the snapshot is missing, for another database or its log entry is missing or no longer present, the topology is
+ * loaded from 'sqlg_schema' and a new snapshot is written. Without a log entry no snapshot is written.
+ * Topologies with partitions, sharding or foreign schemas are not written to a snapshot.
+ * <p>
+ * Date: 2026/10/18
+ */
+final class TopologySnapshot {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TopologySnapshot.class);
+    private static final int VERSION = 1;
+
+    private final Topology topology;
+    private final Path file;
+
+    private TopologySnapshot(Topology topology, Path file) {
+        this.topology = topology;
+        this.file = file;
+    }
+
+    /**
+     * @return the snapshot if one is configured, else null.
+     */
+    static TopologySnapshot from(Topology topology) {
+        SqlgGraph sqlgGraph = topology.getSqlgGraph();
+        String file = sqlgGraph.configuration().getString("topology.snapshot.file", null);
+        if (file == null) {
+            return null;
+        }
+        if (!sqlgGraph.configuration().getBoolean(SqlgGraph.DISTRIBUTED, false)) {
+            LOGGER.warn("'topology.snapshot.file' is ignored, the topology log is only written if '{}' is true", SqlgGraph.DISTRIBUTED);
+            return null;
+        }
+        return new TopologySnapshot(topology, Paths.get(file));
+    }
+
+    /**
+     * Loads the snapshot and replays the newer log entries on it.
+     *
+     * @return the number of replayed log entries, -1 if the snapshot is not usable and nothing was loaded.
+     */
+    int load(GraphTraversalSource traversalSource) {
+        if (!Files.exists(this.file)) {
+            return -1;
+        }
+        ObjectNode snapshot;
+        try {
+            snapshot = (ObjectNode) OBJECT_MAPPER.readTree(this.file.toFile());
+        } catch (IOException | ClassCastException e) {
+            LOGGER.warn("failed to read the topology snapshot {}", this.file, e);
+            return -1;
+        }
+        if (snapshot == null || snapshot.path("version").asInt() != VERSION ||
+                !this.topology.getSqlgGraph().getJdbcUrl().equals(snapshot.path("jdbcUrl").asText())) {
+            LOGGER.debug("topology snapshot {} is not for this version or database", this.file);
+            return -1;
+        }
+        //without its log entry there is no telling which logs are newer, the older ones might have been deleted.
+        JsonNode logTimestampNode = snapshot.path("logTimestamp");
+        if (!logTimestampNode.isTextual()) {
+            LOGGER.warn("topology snapshot {} has no 'logTimestamp'", this.file);
+            return -1;
+        }
+        LocalDateTime logTimestamp;
+        try {
+            logTimestamp = LocalDateTime.parse(logTimestampNode.asText());
+        } catch (DateTimeParseException e) {
+            LOGGER.warn("topology snapshot {} has an invalid 'logTimestamp'", this.file, e);
+            return -1;
+        }
+        long count = traversalSource.V()
+                .hasLabel(SQLG_SCHEMA + "." + SQLG_SCHEMA_LOG)
+                .has(SQLG_SCHEMA_LOG_TIMESTAMP, logTimestamp)
+                .count().next();
+        if (count == 0) {
+            LOGGER.debug("topology snapshot {} is stale, its log entry {} is not present", this.file, logTimestamp);
+            return -1;
+        }
+        List<Vertex> logs = traversalSource.V()
+                .hasLabel(SQLG_SCHEMA + "." + SQLG_SCHEMA_LOG)
+                .has(SQLG_SCHEMA_LOG_TIMESTAMP, P.gt(logTimestamp))
+                .order().by(SQLG_SCHEMA_LOG_TIMESTAMP, Order.asc)
+                .toList();
+        try {
+            this.topology.fromNotifyJson((ObjectNode) snapshot.get("topology"));
+            for (Vertex log : logs) {
+                this.topology.fromNotifyJson(log.<ObjectNode>value(SQLG_SCHEMA_LOG_LOG));
+            }
+        } catch (RuntimeException e) {
+            LOGGER.warn("failed to load the topology snapshot {}", this.file, e);
+            this.topology.clearUserSchemas();
+            return -1;
+        }
+        return logs.size();
+    }
+
+    void write(LocalDateTime logTimestamp) {
+        if (logTimestamp == null) {
+            LOGGER.debug("topology snapshot not written, there is no log entry to key it by");
+            return;
+        }
+        if (!isSupported()) {
+            LOGGER.debug("topology snapshot not written, the topology has partitions, sharding or foreign schemas");
+            return;
+        }
+        ObjectNode snapshot = new ObjectNode(OBJECT_MAPPER.getNodeFactory());
+        snapshot.put("version", VERSION);
+        snapshot.put("jdbcUrl", this.topology.getSqlgGraph().getJdbcUrl());
+        snapshot.put("logTimestamp", logTimestamp.toString());
+        ArrayNode schemaArrayNode = new ArrayNode(OBJECT_MAPPER.getNodeFactory());
+        List<Schema> schemas = new ArrayList<>(this.topology.getSchemas());
+        schemas.sort(Comparator.comparing(Schema::getName));
+        for (Schema schema : schemas) {
+            schemaArrayNode.add(toJson(schema));
+        }
+        ObjectNode topologyNode = new ObjectNode(OBJECT_MAPPER.getNodeFactory());
+        topologyNode.set("schemas", schemaArrayNode);
+        snapshot.set("topology", topologyNode);
+        try {
+            Path parent = this.file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tmp = Files.createTempFile(parent, this.file.getFileName().toString(), ".tmp");
+            OBJECT_MAPPER.writeValue(tmp.toFile(), snapshot);
+            Files.move(tmp, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.warn("failed to write the topology snapshot {}", this.file, e);
+        }
+    }
+
+    private boolean isSupported() {
+        for (Schema schema : this.topology.getSchemas()) {
+            if (schema.isForeignSchema()) {
+                return false;
+            }
+            for (VertexLabel vertexLabel : schema.getVertexLabels().values()) {
+                if (!isSupported(vertexLabel)) {
+                    return false;
+                }
+            }
+            for (EdgeLabel edgeLabel : schema.getEdgeLabels().values()) {
+                if (!isSupported(edgeLabel)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSupported(AbstractLabel abstractLabel) {
+        return !abstractLabel.isForeign() && abstractLabel.getPartitionType().isNone() && !abstractLabel.isDistributed();
+    }
+
+    /**
+     * The schema in the format of {@link Topology#fromNotifyJson(ObjectNode)}, all committed labels are sent as uncommitted.
+     */
+    private static ObjectNode toJson(Schema schema) {
+        ObjectNode schemaNode = new ObjectNode(OBJECT_MAPPER.getNodeFactory());
+        schemaNode.put("name", schema.getName());
+        ArrayNode vertexLabelArrayNode = new ArrayNode(OBJECT_MAPPER.getNodeFactory());
+        for (VertexLabel vertexLabel : schema.getVertexLabels().values()) {
+            ObjectNode vertexLabelNode = new ObjectNode(OBJECT_MAPPER.getNodeFactory());
+            vertexLabelNode.put("label", vertexLabel.getLabel());
+            vertexLabelNode.put("partitionType", vertexLabel.getPartitionType().name());
+            vertexLabelNode.put("partitionExpression", vertexLabel.getPartitionExpression());
+            setProperties(vertexLabelNode, vertexLabel);
+
+            ArrayNode outEdgeLabelArrayNode = new ArrayNode(OBJECT_MAPPER.getNodeFactory());
+            for (EdgeRole edgeRole : vertexLabel.getOutEdgeRoles().values()) {
+                EdgeLabel edgeLabel = edgeRole.getEdgeLabel();
+                ObjectNode edgeLabelNode = new ObjectNode(OBJECT_MAPPER.getNodeFactory());
+                edgeLabelNode.put("schema", edgeLabel.getSchema().getName());
+                edgeLabelNode.put("label", edgeLabel.getLabel());
+                edgeLabelNode.put("partitionType", edgeLabel.getPartitionType().name());
+                edgeLabelNode.put("partitionExpression", edgeLabel.getPartitionExpression());
+                setProperties(edgeLabelNode, edgeLabel);
+                outEdgeLabelArrayNode.add(toJson(edgeRole, edgeLabelNode));
+            }
+            vertexLabelNode.set("outEdgeLabels", outEdgeLabelArrayNode);
+
+            //the in edge labels are loaded after all out edge labels, only their names are needed.
+            ArrayNode inEdgeLabelArrayNode = new ArrayNode(OBJECT_MAPPER.getNodeFactory());
+            for (EdgeRole edgeRole : vertexLabel.getInEdgeRoles().values()) {
+                ObjectNode edgeLabelNode = new ObjectNode(OBJECT_MAPPER.getNodeFactory());
+                edgeLabelNode.put("schema", edgeRole.getEdgeLabel().getSchema().getName());
+                edgeLabelNode.put("label", edgeRole.getEdgeLabel().getLabel());
+                inEdgeLabelArrayNode.add(toJson(edgeRole, edgeLabelNode));
+            }
+            vertexLabelNode.set("inEdgeLabels", inEdgeLabelArrayNode);
+            vertexLabelArrayNode.add(vertexLabelNode);
+        }
+        schemaNode.set("vertexLabels", vertexLabelArrayNode);
+        return schemaNode;
+    }
+
+    private static ObjectNode toJson(EdgeRole edgeRole, ObjectNode edgeLabelNode) {
+        ObjectNode edgeRoleNode = new ObjectNode(OBJECT_MAPPER.getNodeFactory());
+        edgeRoleNode.put("direction", edgeRole.getDirection().name());
+        edgeRoleNode.set("multiplicity", edgeRole.getMultiplicity().toNotifyJson());
+        edgeRoleNode.set("edgeLabel", edgeLabelNode);
+        return edgeRoleNode;
+    }
+
+    private static void setProperties(ObjectNode abstractLabelNode, AbstractLabel abstractLabel) {
+        abstractLabelNode.setAll(abstractLabel.toCommittedNotifyJson());
+    }
+}
@@ -438,7 +438,8 @@ public class VertexLabel extends AbstractLabel {
                 propertyColumn = this.uncommittedProperties.get(column.getKey());
                 if (propertyColumn == null) {
                     this.schema.getTopology().startSchemaChange(
-                            String.format("VertexLabel '%s' ensurePropertiesExist with '%s'", getFullName(), columns.keySet().stream().reduce((a, b) -> a + "," + b).orElse(""))
+                            String.format("VertexLabel '%s' ensurePropertiesExist with '%s'", getFullName(), columns.keySet().stream().reduce((a, b) -> a + "," + b).orElse("")),
+                            List.of(this)
                     );
                     if (getProperty(column.getKey()).isEmpty()) {
                         TopologyManager.addVertexColumn(this.sqlgGraph, this.schema.getName(), VERTEX_PREFIX + getLabel(), column);
@@ -1155,7 +1156,8 @@ public class VertexLabel extends AbstractLabel {
     @Override
     void removeProperty(PropertyColumn propertyColumn, boolean preserveData) {
         this.getSchema().getTopology().startSchemaChange(
-                String.format("VertexLabel '%s' removeProperty with '%s'", getFullName(), propertyColumn.getName())
+                String.format("VertexLabel '%s' removeProperty with '%s'", getFullName(), propertyColumn.getName()),
+                List.of(this)
         );
         if (!this.uncommittedRemovedProperties.contains(propertyColumn.getName())) {
             this.uncommittedRemovedProperties.add(propertyColumn.getName());
@@ -1178,7 +1180,8 @@ public class VertexLabel extends AbstractLabel {
     @Override
     void renameProperty(String name, PropertyColumn propertyColumn) {
         this.getSchema().getTopology().startSchemaChange(
-                String.format("VertexLabel '%s' renameProperty with '%s' '%s'", getFullName(), name, propertyColumn.getName())
+                String.format("VertexLabel '%s' renameProperty with '%s' '%s'", getFullName(), name, propertyColumn.getName()),
+                List.of(this)
         );
         String oldName = propertyColumn.getName();
         Pair<String, String> namePair = Pair.of(oldName, name);
@@ -1246,7 +1249,8 @@ public class VertexLabel extends AbstractLabel {
             edgeRole.getEdgeLabel().remove(preserveData);
         } else {
             getSchema().getTopology().startSchemaChange(
-                    String.format("VertexLabel '%s' removeEdgeRole with '%s'", getFullName(), edgeRole.getName())
+                    String.format("VertexLabel '%s' removeEdgeRole with '%s'", getFullName(), edgeRole.getName()),
+                    List.of(this, edgeRole.getEdgeLabel())
             );
             EdgeLabel edgeLabel = edgeRole.getEdgeLabel();
             switch (edgeRole.getDirection()) {
@@ -1316,7 +1320,8 @@ public class VertexLabel extends AbstractLabel {
         Preconditions.checkArgument(!label.startsWith(VERTEX_PREFIX), "label may not be prefixed with \"%s\"", VERTEX_PREFIX);
         Preconditions.checkState(!this.isForeignAbstractLabel, "'%s' is a read only foreign table!", label);
         this.getSchema().getTopology().startSchemaChange(
-                String.format("VertexLabel '%s' rename with '%s'", getFullName(), label)
+                String.format("VertexLabel '%s' rename with '%s'", getFullName(), label),
+                List.of(this)
         );
         VertexLabel renamedVertexLabel = this.getSchema().renameVertexLabel(this, label);
         Map<String, EdgeLabel> outEdgeLabels = getOutEdgeLabels();
@@ -3,19 +3,27 @@ package org.umlg.sqlg.util;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.LambdaFilterStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.LambdaCollectingBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.LambdaFlatMapStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.LambdaMapStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.InjectStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.LambdaSideEffectStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.SackValueStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.StartStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+import org.umlg.sqlg.structure.SqlgGraph;
 import org.umlg.sqlg.structure.traverser.SqlgTraverserGenerator;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.function.Predicate;
@@ -110,6 +118,39 @@ public class SqlgTraversalUtil {
 //        return !TraversalHelper.hasStepOfAssignableClass(FoldStep.class, traversal);
     }
 
+    /**
+     * In normal batch mode a cached element only gets its id when it is flushed. If the traversal references such an
+     * element everything is flushed before the traversal is optimized, else the queries only flush the labels they
+     * read when they are executed.
+     */
+    public static void flushIfElementWithoutId(SqlgGraph sqlgGraph, final Traversal.Admin<?, ?> traversal) {
+        if (sqlgGraph.features().supportsBatchMode() && sqlgGraph.tx().isInNormalBatchMode() && anyStepRecursively(SqlgTraversalUtil::hasElementWithoutId, traversal)) {
+            sqlgGraph.tx().flush();
+        }
+    }
+
+    private static boolean hasElementWithoutId(Step<?, ?> step) {
+        if (step instanceof GraphStep<?, ?> graphStep) {
+            return Arrays.stream(graphStep.getIds()).anyMatch(SqlgTraversalUtil::isElementWithoutId);
+        } else if (step instanceof InjectStep<?> injectStep) {
+            return Arrays.stream(injectStep.getInjections()).anyMatch(SqlgTraversalUtil::isElementWithoutId);
+        } else if (step instanceof StartStep<?> startStep) {
+            return isElementWithoutId(startStep.getStart());
+        } else if (step instanceof HasContainerHolder hasContainerHolder) {
+            for (HasContainer hasContainer : hasContainerHolder.getHasContainers()) {
+                Object value = hasContainer.getValue();
+                if (isElementWithoutId(value) || (value instanceof Collection<?> values && values.stream().anyMatch(SqlgTraversalUtil::isElementWithoutId))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isElementWithoutId(Object object) {
+        return object instanceof Element element && element.id() == null;
+    }
+
     public static final <S, E> boolean test(final S start, final Traversal.Admin<S, E> traversal) {
         traversal.reset();
         Traverser.Admin<S> admin = SqlgTraverserGenerator.instance().generate(
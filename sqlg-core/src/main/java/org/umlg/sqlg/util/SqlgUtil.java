@@ -21,6 +21,7 @@ import org.umlg.sqlg.sql.dialect.SqlDialect;
 import org.umlg.sqlg.sql.parse.AndOrHasContainer;
 import org.umlg.sqlg.sql.parse.ColumnList;
 import org.umlg.sqlg.sql.parse.SchemaTableTree;
+import org.umlg.sqlg.sql.parse.UnionAllQuery;
 import org.umlg.sqlg.sql.parse.WhereClause;
 import org.umlg.sqlg.strategy.BaseStrategy;
 import org.umlg.sqlg.strategy.Emit;
@@ -97,33 +98,72 @@ public class SqlgUtil {
                 }
                 populateIdCountMap(resultSetMetaData, rootSchemaTableTree, idColumnCountMap);
             }
-            int subQueryDepth = 1;
-            for (LinkedList<SchemaTableTree> subQueryStack : subQueryStacks) {
-
-                List<Emit<SqlgElement>> labeledElements = SqlgUtil.loadLabeledElements(
-                        sqlgGraph,
-                        resultSet,
-                        subQueryStack,
-                        subQueryDepth == subQueryStacks.size(),
-                        idColumnCountMap,
-                        forParent
-                );
-                result.addAll(labeledElements);
-                if (subQueryDepth == subQueryStacks.size()) {
-                    SchemaTableTree lastSchemaTableTree = subQueryStack.getLast();
-                    Preconditions.checkState(!labeledElements.isEmpty());
-                    if (lastSchemaTableTree.getReplacedStepDepth() == lastSchemaTableTree.getStepDepth() &&
-                            lastSchemaTableTree.isEmit() &&
-                            lastSchemaTableTree.isUntilFirst()) {
+            loadSubQueryStacks(sqlgGraph, resultSet, subQueryStacks, idColumnCountMap, forParent, result);
+        }
+        return result;
+    }
 
-                        Emit<SqlgElement> repeatEmit = labeledElements.get(labeledElements.size() - 1);
-                        repeatEmit.setRepeat(true);
-                    }
+    /**
+     * Reads the next row of a {@link UnionAllQuery}, the row is read with the SchemaTableTrees of the branch it belongs to.
+     *
+     * @return A list of @{@link Emit}s that represent a single @{@link org.apache.tinkerpop.gremlin.process.traversal.Path}
+     */
+    public static List<Emit<SqlgElement>> loadUnionAllResultSetIntoResultIterator(
+            SqlgGraph sqlgGraph,
+            ResultSet resultSet,
+            UnionAllQuery unionAllQuery
+    ) throws SQLException {
+
+        List<Emit<SqlgElement>> result = new ArrayList<>();
+        if (resultSet.next()) {
+            int branchIndex = resultSet.getInt(1);
+            unionAllQuery.activate(branchIndex);
+            loadSubQueryStacks(
+                    sqlgGraph,
+                    resultSet,
+                    unionAllQuery.getSubQueryStacks(branchIndex),
+                    unionAllQuery.getIdColumnCountMap(branchIndex),
+                    false,
+                    result
+            );
+        }
+        return result;
+    }
+
+    private static void loadSubQueryStacks(
+            SqlgGraph sqlgGraph,
+            ResultSet resultSet,
+            List<LinkedList<SchemaTableTree>> subQueryStacks,
+            Map<String, Integer> idColumnCountMap,
+            boolean forParent,
+            List<Emit<SqlgElement>> result
+    ) throws SQLException {
+
+        int subQueryDepth = 1;
+        for (LinkedList<SchemaTableTree> subQueryStack : subQueryStacks) {
+
+            List<Emit<SqlgElement>> labeledElements = SqlgUtil.loadLabeledElements(
+                    sqlgGraph,
+                    resultSet,
+                    subQueryStack,
+                    subQueryDepth == subQueryStacks.size(),
+                    idColumnCountMap,
+                    forParent
+            );
+            result.addAll(labeledElements);
+            if (subQueryDepth == subQueryStacks.size()) {
+                SchemaTableTree lastSchemaTableTree = subQueryStack.getLast();
+                Preconditions.checkState(!labeledElements.isEmpty());
+                if (lastSchemaTableTree.getReplacedStepDepth() == lastSchemaTableTree.getStepDepth() &&
+                        lastSchemaTableTree.isEmit() &&
+                        lastSchemaTableTree.isUntilFirst()) {
+
+                    Emit<SqlgElement> repeatEmit = labeledElements.get(labeledElements.size() - 1);
+                    repeatEmit.setRepeat(true);
                 }
-                subQueryDepth++;
             }
+            subQueryDepth++;
         }
-        return result;
     }
 
     //TODO the identifier logic here is very suboptimal
@@ -198,16 +238,28 @@ public class SqlgUtil {
                 if (schemaTableTree.isHasIDPrimaryKey()) {
                     //aggregate queries have no ID
                     if (!schemaTableTree.hasAggregateFunction()) {
-                        String idProperty = schemaTableTree.labeledAliasId();
-                        Integer columnCount = idColumnCountMap.get(idProperty);
-                        id = resultSet.getLong(columnCount);
+                        id = schemaTableTree.loadId(idColumnCountMap, resultSet);
                         resultSetWasNull = resultSet.wasNull();
                     }
                     if (!resultSetWasNull) {
                         if (schemaTableTree.getSchemaTable().isVertexTable()) {
                             String rawLabel = schemaTableTree.getSchemaTable().getTable().substring(VERTEX_PREFIX.length());
-                            sqlgElement = (E) SqlgVertex.of(sqlgGraph, id, schemaTableTree.getSchemaTable().getSchema(), rawLabel);
-                            schemaTableTree.loadProperty(resultSet, sqlgElement);
+                            SqlgVertex cached = null;
+                            ElementIdentityMap identityMap = sqlgGraph.tx().getIdentityMap();
+                            if (identityMap.isEnabled() && !schemaTableTree.hasAggregateFunction()) {
+                                cached = identityMap.get(SchemaTable.of(schemaTableTree.getSchemaTable().getSchema(), rawLabel), id);
+                            }
+                            if (cached != null) {
+                                sqlgElement = (E) cached;
+                            } else {
+                                sqlgElement = (E) SqlgVertex.of(sqlgGraph, id, schemaTableTree.getSchemaTable().getSchema(), rawLabel);
+                                schemaTableTree.loadProperty(resultSet, sqlgElement);
+                                if (identityMap.isEnabled() && schemaTableTree.selectsAllProperties()) {
+                                    identityMap.put((SqlgVertex) sqlgElement);
+                                }
+                                //vertices selected without their properties are loaded in batches when first touched.
+                                sqlgGraph.tx().getLazyPropertyLoader().register((SqlgVertex) sqlgElement);
+                            }
                         } else {
                             String rawLabel = schemaTableTree.getSchemaTable().getTable().substring(EDGE_PREFIX.length());
                             sqlgElement = (E) SqlgEdge.of(sqlgGraph, id, schemaTableTree.getSchemaTable().getSchema(), rawLabel);
@@ -286,7 +338,79 @@ public class SqlgUtil {
         return p == Contains.within && ((Collection<?>) hasContainer.getPredicate().getValue()).size() > sqlgGraph.configuration().getInt("bulk.within.count", BULK_WITHIN_COUNT);
     }
 
-    public static void setParametersOnStatement(
+    /**
+     * A bulk within/without is bound as one array parameter, 'x = ANY(?)' or 'x <> ALL(?)', instead of being joined onto a VALUES expression.
+     * The sql then does not depend on the values or on how many there are and so can be cached.
+     * Only single column ids and simple property types are bound as an array, the rest still use the VALUES join.
+     */
+    public static boolean isBulkWithinAndOutArrayParameter(SqlgGraph sqlgGraph, SchemaTableTree schemaTableTree, HasContainer hasContainer) {
+        return sqlgGraph.getSqlDialect().supportsBulkWithinOutArrayParameter() &&
+                isBulkWithinAndOut(sqlgGraph, hasContainer) &&
+                bulkWithinAndOutArrayType(schemaTableTree, hasContainer) != null;
+    }
+
+    private static PropertyType bulkWithinAndOutArrayType(SchemaTableTree schemaTableTree, HasContainer hasContainer) {
+        if (hasContainer.getKey().equals(T.id.getAccessor())) {
+            return schemaTableTree.isHasIDPrimaryKey() ? LONG_ARRAY : null;
+        }
+        Map<String, PropertyDefinition> propertyDefinitions = schemaTableTree.getPropertyDefinitions();
+        PropertyDefinition propertyDefinition = propertyDefinitions != null ? propertyDefinitions.get(hasContainer.getKey()) : null;
+        if (propertyDefinition == null) {
+            return null;
+        }
+        return switch (propertyDefinition.propertyType().ordinal()) {
+            case STRING_ORDINAL, VARCHAR_ORDINAL -> STRING_ARRAY;
+            case BOOLEAN_ORDINAL -> BOOLEAN_ARRAY;
+            case SHORT_ORDINAL -> SHORT_ARRAY;
+            case INTEGER_ORDINAL -> INTEGER_ARRAY;
+            case LONG_ORDINAL -> LONG_ARRAY;
+            case FLOAT_ORDINAL -> FLOAT_ARRAY;
+            case DOUBLE_ORDINAL -> DOUBLE_ARRAY;
+            default -> null;
+        };
+    }
+
+    private static Object[] bulkWithinAndOutArray(PropertyType arrayType, HasContainer hasContainer) {
+        Collection<?> values = (Collection<?>) hasContainer.getValue();
+        List<Object> result = new ArrayList<>(values.size());
+        for (Object value : values) {
+            //null is never equal to anything, same as for the VALUES join
+            if (value == null) {
+                continue;
+            }
+            if (value instanceof RecordId recordId) {
+                result.add(recordId.sequenceId());
+            } else if (hasContainer.getKey().equals(T.id.getAccessor())) {
+                result.add(RecordId.from(value).sequenceId());
+            } else if (value instanceof Number number) {
+                switch (arrayType.ordinal()) {
+                    case SHORT_ARRAY_ORDINAL -> result.add(number.shortValue());
+                    case INTEGER_ARRAY_ORDINAL -> result.add(number.intValue());
+                    case LONG_ARRAY_ORDINAL -> result.add(number.longValue());
+                    case FLOAT_ARRAY_ORDINAL -> result.add(number.floatValue());
+                    case DOUBLE_ARRAY_ORDINAL -> result.add(number.doubleValue());
+                    default -> result.add(value);
+                }
+            } else {
+                result.add(value);
+            }
+        }
+        return switch (arrayType.ordinal()) {
+            case STRING_ARRAY_ORDINAL -> result.toArray(new String[0]);
+            case BOOLEAN_ARRAY_ORDINAL -> result.toArray(new Boolean[0]);
+            case SHORT_ARRAY_ORDINAL -> result.toArray(new Short[0]);
+            case INTEGER_ARRAY_ORDINAL -> result.toArray(new Integer[0]);
+            case LONG_ARRAY_ORDINAL -> result.toArray(new Long[0]);
+            case FLOAT_ARRAY_ORDINAL -> result.toArray(new Float[0]);
+            case DOUBLE_ARRAY_ORDINAL -> result.toArray(new Double[0]);
+            default -> throw new IllegalStateException("Unhandled bulk within array type " + arrayType.name());
+        };
+    }
+
+    /**
+     * @return the number of parameters set.
+     */
+    public static int setParametersOnStatement(
             SqlgGraph sqlgGraph,
             LinkedList<SchemaTableTree> schemaTableTreeStack,
             PreparedStatement preparedStatement,
@@ -295,7 +419,10 @@ public class SqlgUtil {
         Multimap<PropertyDefinition, Object> keyValueMapAgain = LinkedListMultimap.create();
         for (SchemaTableTree schemaTableTree : schemaTableTreeStack) {
             for (HasContainer hasContainer : schemaTableTree.getHasContainers()) {
-                if (!sqlgGraph.getSqlDialect().supportsBulkWithinOut() || !isBulkWithinAndOut(sqlgGraph, hasContainer)) {
+                if (isBulkWithinAndOutArrayParameter(sqlgGraph, schemaTableTree, hasContainer)) {
+                    PropertyType arrayType = bulkWithinAndOutArrayType(schemaTableTree, hasContainer);
+                    keyValueMapAgain.put(PropertyDefinition.of(arrayType), bulkWithinAndOutArray(arrayType, hasContainer));
+                } else if (!sqlgGraph.getSqlDialect().supportsBulkWithinOut() || !isBulkWithinAndOut(sqlgGraph, hasContainer)) {
                     WhereClause whereClause = WhereClause.from(hasContainer.getPredicate());
                     whereClause.putKeyValueMap(hasContainer, schemaTableTree, keyValueMapAgain);
                 }
@@ -317,7 +444,7 @@ public class SqlgUtil {
             typeAndValuesAgain.add(ImmutablePair.of(propertyDefinition, value));
         }
         //This is for selects
-        setKeyValuesAsParameter(sqlgGraph, false, 1, preparedStatement, typeAndValuesAgain);
+        return setKeyValuesAsParameter(sqlgGraph, false, 1, preparedStatement, typeAndValuesAgain) - 1;
     }
 
     //This is called for inserts
@@ -53,6 +53,11 @@ public class H2Dialect extends BaseSqlDialect {
         return true;
     }
 
+    @Override
+    public boolean supportsMultiRowValuesGeneratedKeys() {
+        return true;
+    }
+
     @Override
     public String dialectName() {
         return "H2Dialect";
@@ -0,0 +1,81 @@
+package org.umlg.sqlg.jmh;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.builder.fluent.Configurations;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.openjdk.jmh.annotations.*;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.util.SqlgUtil;
+
+import java.net.URL;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the chunk sizes of the normal batch mode flush, see 'batch.flush.chunk.size', with and without multi-row
+ * inserts, see 'batch.flush.multi.row.values', and the automatic flush every 'batch.flush.rows' elements.
+ * Postgres flushes with COPY, run it against one of the other dialects.
+ */
+@State(Scope.Benchmark)
+public class BatchFlushBenchmark {
+
+    private static final int NUMBER_OF_VERTICES = 100_000;
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int chunkSize;
+
+    @Param({"false", "true"})
+    public boolean multiRowValues;
+
+    @Param({"0", "50000"})
+    public int flushRows;
+
+    private SqlgGraph sqlgGraph;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        URL sqlProperties = Thread.currentThread().getContextClassLoader().getResource("sqlg.properties");
+        try {
+            Configurations configs = new Configurations();
+            Configuration configuration = configs.properties(sqlProperties);
+            configuration.setProperty("batch.flush.chunk.size", this.chunkSize);
+            configuration.setProperty("batch.flush.multi.row.values", this.multiRowValues);
+            configuration.setProperty("batch.flush.rows", this.flushRows);
+            this.sqlgGraph = SqlgGraph.open(configuration);
+            SqlgUtil.dropDb(this.sqlgGraph);
+            this.sqlgGraph.tx().commit();
+            this.sqlgGraph.close();
+            this.sqlgGraph = SqlgGraph.open(configuration);
+        } catch (ConfigurationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        this.sqlgGraph.close();
+    }
+
+    @Benchmark
+    @Fork(value = 1)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 5)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void addVerticesAndEdges() {
+        LocalDateTime now = LocalDateTime.now();
+        this.sqlgGraph.tx().normalBatchModeOn();
+        Vertex previous = null;
+        for (int i = 0; i < NUMBER_OF_VERTICES; i++) {
+            Vertex vertex = this.sqlgGraph.addVertex(T.label, "Person", "name", "name_" + i, "age", i, "created", now);
+            if (previous != null) {
+                previous.addEdge("knows", vertex, "since", i);
+            }
+            previous = vertex;
+        }
+        this.sqlgGraph.tx().commit();
+    }
+
+}
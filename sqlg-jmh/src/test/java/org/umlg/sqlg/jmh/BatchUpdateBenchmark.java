@@ -0,0 +1,80 @@
+package org.umlg.sqlg.jmh;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.builder.fluent.Configurations;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.openjdk.jmh.annotations.*;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.util.SqlgUtil;
+
+import java.net.URL;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares batch mode property updates with an UPDATE ... FROM (VALUES ...) against COPY into a temporary table,
+ * see 'batch.update.copy.threshold'.
+ */
+@State(Scope.Benchmark)
+public class BatchUpdateBenchmark {
+
+    private static final int NUMBER_OF_VERTICES = 100_000;
+
+    @Param({"false", "true"})
+    public boolean copy;
+
+    private SqlgGraph sqlgGraph;
+    private List<Vertex> vertices;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        URL sqlProperties = Thread.currentThread().getContextClassLoader().getResource("sqlg.properties");
+        try {
+            Configurations configs = new Configurations();
+            Configuration configuration = configs.properties(sqlProperties);
+            configuration.setProperty("batch.update.copy.threshold", this.copy ? 1 : Integer.MAX_VALUE);
+            this.sqlgGraph = SqlgGraph.open(configuration);
+            SqlgUtil.dropDb(this.sqlgGraph);
+            this.sqlgGraph.tx().commit();
+            this.sqlgGraph.close();
+            this.sqlgGraph = SqlgGraph.open(configuration);
+            this.sqlgGraph.tx().normalBatchModeOn();
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = 0; i < NUMBER_OF_VERTICES; i++) {
+                this.sqlgGraph.addVertex(T.label, "Person", "name", "name_" + i, "age", i, "created", now);
+            }
+            this.sqlgGraph.tx().commit();
+            this.vertices = this.sqlgGraph.traversal().V().hasLabel("Person").toList();
+            this.sqlgGraph.tx().rollback();
+        } catch (ConfigurationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        this.sqlgGraph.close();
+    }
+
+    @Benchmark
+    @Fork(value = 1)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 5)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void updateProperties() {
+        LocalDateTime now = LocalDateTime.now();
+        this.sqlgGraph.tx().normalBatchModeOn();
+        int i = 0;
+        for (Vertex vertex : this.vertices) {
+            vertex.property("name", "updated\t" + i);
+            vertex.property("age", i++ * 2);
+            vertex.property("created", now);
+        }
+        this.sqlgGraph.tx().commit();
+    }
+
+}
@@ -0,0 +1,90 @@
+package org.umlg.sqlg.jmh;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.builder.fluent.Configurations;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.openjdk.jmh.annotations.*;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.util.SqlgUtil;
+
+import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the heap retained by the loaded vertices of a wide label with a map per element and with the compact
+ * property storage, see 'element.properties.compact'.
+ * The retained bytes are reported as the 'retainedBytes' counter, run with '-prof gc' for the allocation rates.
+ */
+@State(Scope.Benchmark)
+public class CompactPropertiesBenchmark {
+
+    private static final int NUMBER_OF_VERTICES = 10_000;
+    private static final int NUMBER_OF_COLUMNS = 100;
+
+    @Param({"false", "true"})
+    public boolean compact;
+
+    private SqlgGraph sqlgGraph;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Retained {
+        public long retainedBytes;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        URL sqlProperties = Thread.currentThread().getContextClassLoader().getResource("sqlg.properties");
+        try {
+            Configurations configs = new Configurations();
+            Configuration configuration = configs.properties(sqlProperties);
+            configuration.setProperty("element.properties.compact", this.compact);
+            this.sqlgGraph = SqlgGraph.open(configuration);
+            SqlgUtil.dropDb(this.sqlgGraph);
+            this.sqlgGraph.tx().commit();
+            this.sqlgGraph.close();
+            this.sqlgGraph = SqlgGraph.open(configuration);
+        } catch (ConfigurationException e) {
+            throw new RuntimeException(e);
+        }
+        this.sqlgGraph.tx().normalBatchModeOn();
+        for (int i = 0; i < NUMBER_OF_VERTICES; i++) {
+            LinkedHashMap<String, Object> keyValues = new LinkedHashMap<>();
+            for (int j = 0; j < NUMBER_OF_COLUMNS; j++) {
+                keyValues.put(j % 2 == 0 ? "name" + j : "count" + j, j % 2 == 0 ? "v" + j : (long) i * j);
+            }
+            this.sqlgGraph.addVertex("Wide", keyValues);
+        }
+        this.sqlgGraph.tx().commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.sqlgGraph.close();
+    }
+
+    @Benchmark
+    @Fork(value = 1)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 5)
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Vertex> loadWideLabel(Retained retained) {
+        long before = usedHeap();
+        List<Vertex> vertices = this.sqlgGraph.traversal().V().hasLabel("Wide").toList();
+        retained.retainedBytes += usedHeap() - before;
+        this.sqlgGraph.tx().rollback();
+        return vertices;
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,104 @@
+package org.umlg.sqlg.jmh;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.builder.fluent.Configurations;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.openjdk.jmh.annotations.*;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.util.SqlgUtil;
+
+import java.net.URL;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares postgres' text and binary COPY formats, see 'copy.binary'.
+ */
+@State(Scope.Benchmark)
+public class CopyFormatBenchmark {
+
+    private static final int NUMBER_OF_VERTICES = 100_000;
+
+    @Param({"false", "true"})
+    public boolean binary;
+
+    private SqlgGraph sqlgGraph;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        URL sqlProperties = Thread.currentThread().getContextClassLoader().getResource("sqlg.properties");
+        try {
+            Configurations configs = new Configurations();
+            Configuration configuration = configs.properties(sqlProperties);
+            configuration.setProperty("copy.binary", this.binary);
+            this.sqlgGraph = SqlgGraph.open(configuration);
+            SqlgUtil.dropDb(this.sqlgGraph);
+            this.sqlgGraph.tx().commit();
+            this.sqlgGraph.close();
+            this.sqlgGraph = SqlgGraph.open(configuration);
+        } catch (ConfigurationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        this.sqlgGraph.close();
+    }
+
+    @Benchmark
+    @Fork(value = 1)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 5)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void normalBatchMode() {
+        LocalDateTime now = LocalDateTime.now();
+        ZonedDateTime zonedNow = ZonedDateTime.now();
+        this.sqlgGraph.tx().normalBatchModeOn();
+        Vertex previous = null;
+        for (int i = 0; i < NUMBER_OF_VERTICES; i++) {
+            Vertex v = this.sqlgGraph.addVertex(T.label, "Person",
+                    "name", "name_" + i,
+                    "surname", "surname\t" + i,
+                    "age", i,
+                    "weight", i * 1.5D,
+                    "created", now,
+                    "zoned", zonedNow,
+                    "period", Period.ofDays(i % 28),
+                    "scores", new int[]{i, i + 1, i + 2}
+            );
+            if (previous != null) {
+                previous.addEdge("knows", v, "since", now);
+            }
+            previous = v;
+        }
+        this.sqlgGraph.tx().commit();
+    }
+
+    @Benchmark
+    @Fork(value = 1)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 5)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void streamingBatchMode() {
+        LocalDateTime now = LocalDateTime.now();
+        this.sqlgGraph.tx().streamingBatchModeOn();
+        for (int i = 0; i < NUMBER_OF_VERTICES; i++) {
+            LinkedHashMap<String, Object> values = new LinkedHashMap<>();
+            values.put("name", "name_" + i);
+            values.put("surname", "surname\t" + i);
+            values.put("age", i);
+            values.put("created", now);
+            this.sqlgGraph.streamVertex("Person", values);
+        }
+        this.sqlgGraph.tx().commit();
+    }
+
+}
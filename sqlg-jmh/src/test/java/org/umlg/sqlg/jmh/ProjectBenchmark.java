@@ -0,0 +1,116 @@
+package org.umlg.sqlg.jmh;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.builder.fluent.Configurations;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.openjdk.jmh.annotations.*;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.util.SqlgUtil;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * REST style projections, project("name", "friends").by("name").by(out("knows")...fold()).
+ * The by() traversals that start with a vertex step are executed once for all the persons,
+ * 'perTraverser' hides the vertex step in a local() to execute the by() traversal per person.
+ * For 1000 persons 'fold' executes 2 queries, 'elementMapAndCount' 3 and 'perTraverser' 1001, the gap grows with
+ * the database's round trip time.
+ */
+@State(Scope.Benchmark)
+public class ProjectBenchmark {
+
+    private static final int KNOWS_PER_PERSON = 10;
+
+    @Param({"100", "1000"})
+    public int persons;
+
+    private SqlgGraph sqlgGraph;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        URL sqlProperties = Thread.currentThread().getContextClassLoader().getResource("sqlg.properties");
+        try {
+            Configurations configs = new Configurations();
+            Configuration configuration = configs.properties(sqlProperties);
+            this.sqlgGraph = SqlgGraph.open(configuration);
+            SqlgUtil.dropDb(this.sqlgGraph);
+            this.sqlgGraph.tx().commit();
+            this.sqlgGraph.close();
+            this.sqlgGraph = SqlgGraph.open(configuration);
+        } catch (ConfigurationException e) {
+            throw new RuntimeException(e);
+        }
+        this.sqlgGraph.tx().normalBatchModeOn();
+        List<Vertex> vertices = new ArrayList<>(this.persons);
+        for (int i = 0; i < this.persons; i++) {
+            vertices.add(this.sqlgGraph.addVertex(T.label, "Person", "name", "person" + i, "age", i % 100));
+        }
+        for (int i = 0; i < this.persons; i++) {
+            for (int j = 1; j <= KNOWS_PER_PERSON; j++) {
+                vertices.get(i).addEdge("knows", vertices.get((i + j) % this.persons));
+            }
+        }
+        this.sqlgGraph.tx().commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.sqlgGraph.close();
+    }
+
+    @Benchmark
+    @Fork(value = 1)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Map<String, Object>> fold() {
+        List<Map<String, Object>> result = this.sqlgGraph.traversal().V().hasLabel("Person")
+                .<Object>project("name", "friends")
+                .by("name")
+                .by(__.out("knows").values("name").fold())
+                .toList();
+        this.sqlgGraph.tx().rollback();
+        return result;
+    }
+
+    @Benchmark
+    @Fork(value = 1)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Map<String, Object>> elementMapAndCount() {
+        List<Map<String, Object>> result = this.sqlgGraph.traversal().V().hasLabel("Person")
+                .<Object>project("person", "friends", "friendCount")
+                .by(__.elementMap())
+                .by(__.out("knows").elementMap().fold())
+                .by(__.out("knows").count())
+                .toList();
+        this.sqlgGraph.tx().rollback();
+        return result;
+    }
+
+    @Benchmark
+    @Fork(value = 1)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Map<String, Object>> perTraverser() {
+        List<Map<String, Object>> result = this.sqlgGraph.traversal().V().hasLabel("Person")
+                .<Object>project("name", "friends")
+                .by("name")
+                .by(__.local(__.out("knows").values("name").fold()))
+                .toList();
+        this.sqlgGraph.tx().rollback();
+        return result;
+    }
+}
@@ -0,0 +1,98 @@
+package org.umlg.sqlg.jmh;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.builder.fluent.Configurations;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.openjdk.jmh.annotations.*;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.util.SqlgUtil;
+
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the recursive query for homogeneous repeats with the join per loop and query per loop plans,
+ * see 'repeat.recursive.enabled'.
+ */
+@State(Scope.Benchmark)
+public class RecursiveRepeatBenchmark {
+
+    private static final int NUMBER_OF_TREES = 100;
+
+    @Param({"false", "true"})
+    public boolean recursive;
+
+    @Param({"10", "30"})
+    public int depth;
+
+    private SqlgGraph sqlgGraph;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        URL sqlProperties = Thread.currentThread().getContextClassLoader().getResource("sqlg.properties");
+        try {
+            Configurations configs = new Configurations();
+            Configuration configuration = configs.properties(sqlProperties);
+            configuration.setProperty("repeat.recursive.enabled", this.recursive);
+            configuration.setProperty("repeat.recursive.times.threshold", 1);
+            this.sqlgGraph = SqlgGraph.open(configuration);
+            SqlgUtil.dropDb(this.sqlgGraph);
+            this.sqlgGraph.tx().commit();
+            this.sqlgGraph.close();
+            this.sqlgGraph = SqlgGraph.open(configuration);
+        } catch (ConfigurationException e) {
+            throw new RuntimeException(e);
+        }
+        //every tree is a root with two children per node along a spine of the given depth.
+        this.sqlgGraph.tx().normalBatchModeOn();
+        for (int i = 0; i < NUMBER_OF_TREES; i++) {
+            Vertex parent = this.sqlgGraph.addVertex(T.label, "Node", "name", "root", "depth", 0);
+            for (int j = 1; j <= this.depth; j++) {
+                Vertex spine = this.sqlgGraph.addVertex(T.label, "Node", "name", "spine", "depth", j);
+                Vertex leaf = this.sqlgGraph.addVertex(T.label, "Node", "name", "leaf", "depth", j);
+                parent.addEdge("child", spine);
+                parent.addEdge("child", leaf);
+                parent = spine;
+            }
+        }
+        this.sqlgGraph.tx().commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.sqlgGraph.close();
+    }
+
+    @Benchmark
+    @Fork(value = 1)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long until() {
+        long count = this.sqlgGraph.traversal().V().hasLabel("Node").has("name", "root")
+                .repeat(__.out("child"))
+                .until(__.has("depth", this.depth))
+                .count().next();
+        this.sqlgGraph.tx().rollback();
+        return count;
+    }
+
+    @Benchmark
+    @Fork(value = 1)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long times() {
+        long count = this.sqlgGraph.traversal().V().hasLabel("Node").has("name", "root")
+                .repeat(__.out("child"))
+                .times(this.depth)
+                .count().next();
+        this.sqlgGraph.tx().rollback();
+        return count;
+    }
+}
@@ -0,0 +1,79 @@
+package org.umlg.sqlg.jmh;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.builder.fluent.Configurations;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.openjdk.jmh.annotations.*;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.util.SqlgUtil;
+
+import java.net.URL;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads the vertices of narrow and wide labels, the cost is dominated by decoding the rows' properties.
+ * It only measures the current build, run it on a build without the per result set row decoders for the previous
+ * per row dispatch.
+ */
+@State(Scope.Benchmark)
+public class WideLabelReadBenchmark {
+
+    private static final int NUMBER_OF_VERTICES = 10_000;
+
+    @Param({"10", "100"})
+    public int numberOfColumns;
+
+    private SqlgGraph sqlgGraph;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        URL sqlProperties = Thread.currentThread().getContextClassLoader().getResource("sqlg.properties");
+        try {
+            Configurations configs = new Configurations();
+            Configuration configuration = configs.properties(sqlProperties);
+            this.sqlgGraph = SqlgGraph.open(configuration);
+            SqlgUtil.dropDb(this.sqlgGraph);
+            this.sqlgGraph.tx().commit();
+            this.sqlgGraph.close();
+            this.sqlgGraph = SqlgGraph.open(configuration);
+        } catch (ConfigurationException e) {
+            throw new RuntimeException(e);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        this.sqlgGraph.tx().normalBatchModeOn();
+        for (int i = 0; i < NUMBER_OF_VERTICES; i++) {
+            LinkedHashMap<String, Object> keyValues = new LinkedHashMap<>();
+            for (int j = 0; j < this.numberOfColumns; j++) {
+                switch (j % 4) {
+                    case 0 -> keyValues.put("string" + j, "value_" + i);
+                    case 1 -> keyValues.put("int" + j, i);
+                    case 2 -> keyValues.put("double" + j, i * 1.1D);
+                    default -> keyValues.put("created" + j, now);
+                }
+            }
+            this.sqlgGraph.addVertex("Wide", keyValues);
+        }
+        this.sqlgGraph.tx().commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.sqlgGraph.close();
+    }
+
+    @Benchmark
+    @Fork(value = 1)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Vertex> readAll() {
+        List<Vertex> vertices = this.sqlgGraph.traversal().V().hasLabel("Wide").toList();
+        this.sqlgGraph.tx().rollback();
+        return vertices;
+    }
+}
@@ -70,6 +70,11 @@ public class MariadbDialect extends BaseSqlDialect {
         return true;
     }
 
+    @Override
+    protected String loadDataStatementClass() {
+        return "org.mariadb.jdbc.Statement";
+    }
+
     @Override
     public boolean supportsSchemas() {
         return false;
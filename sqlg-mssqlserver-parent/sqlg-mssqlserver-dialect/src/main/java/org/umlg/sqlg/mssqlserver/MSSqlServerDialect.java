@@ -23,6 +23,8 @@ import org.umlg.sqlg.util.SqlgUtil;
 
 import javax.annotation.Nullable;
 import javax.xml.bind.DatatypeConverter;
+import java.io.IOException;
+import java.io.Writer;
 import java.lang.reflect.Array;
 import java.sql.*;
 import java.time.*;
@@ -1035,6 +1037,58 @@ public class MSSqlServerDialect extends BaseSqlDialect {
         }
     }
 
+    @Override
+    public String constructCompleteCopyCommandSqlVertex(SqlgGraph sqlgGraph, SqlgVertex vertex, Map<String, Object> keyValueMap) {
+        if (keyValueMap.isEmpty()) {
+            Map<String, PropertyDefinition> columns = new HashMap<>();
+            columns.put("dummy", PropertyDefinition.of(PropertyType.from(0)));
+            sqlgGraph.getTopology().ensureVertexLabelPropertiesExist(
+                    vertex.getSchema(),
+                    vertex.getTable(),
+                    columns);
+        }
+        //the destination table of the bulk copy
+        return maybeWrapInQoutes(vertex.getSchema()) + "." + maybeWrapInQoutes(VERTEX_PREFIX + vertex.getTable());
+    }
+
+    @Override
+    public String constructCompleteCopyCommandSqlEdge(SqlgGraph sqlgGraph, SqlgEdge sqlgEdge, VertexLabel outVertexLabel, VertexLabel inVertexLabel, SqlgVertex outVertex, SqlgVertex inVertex, Map<String, Object> keyValueMap) {
+        //the destination table of the bulk copy
+        return maybeWrapInQoutes(sqlgEdge.getSchema()) + "." + maybeWrapInQoutes(EDGE_PREFIX + sqlgEdge.getTable());
+    }
+
+    @Override
+    public Writer streamSql(SqlgGraph sqlgGraph, String sql) {
+        return new SQLServerStreamingBulkCopyWriter(sqlgGraph, sql, sqlgGraph.configuration().getInt(BATCH_STREAMING_CHUNK_SIZE, 1000));
+    }
+
+    @Override
+    public void writeStreamingVertex(Writer writer, Map<String, Object> keyValueMap, VertexLabel vertexLabel) {
+        try {
+            ((SQLServerStreamingBulkCopyWriter) writer).addVertex(SchemaTable.of(vertexLabel.getSchema().getName(), vertexLabel.getLabel()), keyValueMap);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void writeStreamingEdge(
+            Writer writer,
+            SqlgEdge sqlgEdge,
+            VertexLabel outVertexLabel,
+            VertexLabel inVertexLabel,
+            SqlgVertex outVertex,
+            SqlgVertex inVertex,
+            Map<String, Object> keyValueMap,
+            EdgeLabel edgeLabel) {
+
+        try {
+            ((SQLServerStreamingBulkCopyWriter) writer).addEdge(sqlgEdge, outVertex, inVertex, keyValueMap);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     @Override
     public boolean supportsSchemaIfNotExists() {
         return false;
@@ -8,6 +8,7 @@ import org.umlg.sqlg.structure.PropertyType;
 import org.umlg.sqlg.structure.SqlgExceptions;
 import org.umlg.sqlg.structure.SqlgGraph;
 import org.umlg.sqlg.structure.topology.PropertyColumn;
+import org.umlg.sqlg.structure.topology.Topology;
 import org.umlg.sqlg.util.SqlgUtil;
 
 import java.sql.Timestamp;
@@ -58,13 +59,7 @@ abstract class SQLServerBaseCacheBulkRecord implements ISQLServerBulkRecord {
     int addMetaData(SQLServerBulkCopy bulkCopy, SqlgGraph sqlgGraph) throws SQLServerException {
         int i = 1;
         for (String column : this.columns) {
-            PropertyDefinition propertyDefinition;
-            if (this.propertyColumns != null) {
-                PropertyColumn propertyColumn = propertyColumns.get(column);
-                propertyDefinition = propertyColumn.getPropertyDefinition();
-            } else {
-                propertyDefinition = this.properties.get(column);
-            }
+            PropertyDefinition propertyDefinition = propertyDefinition(column);
             switch (propertyDefinition.propertyType().ordinal()) {
                 case BOOLEAN_ORDINAL:
                     //Add the column mappings, skipping the first identity column.
@@ -242,6 +237,16 @@ abstract class SQLServerBaseCacheBulkRecord implements ISQLServerBulkRecord {
         return i;
     }
 
+    private PropertyDefinition propertyDefinition(String column) {
+        if (column.equals(Topology.ID)) {
+            return PropertyDefinition.of(PropertyType.LONG);
+        } else if (this.propertyColumns != null) {
+            return this.propertyColumns.get(column).getPropertyDefinition();
+        } else {
+            return this.properties.get(column);
+        }
+    }
+
     @Override
     public Set<Integer> getColumnOrdinals() {
         return this.columnMetadata.keySet();
@@ -276,12 +281,7 @@ abstract class SQLServerBaseCacheBulkRecord implements ISQLServerBulkRecord {
 
     void addValues(List<Object> values) {
         for (String column : this.columns) {
-            PropertyDefinition propertyDefinition;
-            if (this.propertyColumns != null) {
-                propertyDefinition = this.propertyColumns.get(column).getPropertyDefinition();
-            } else {
-                propertyDefinition = this.properties.get(column);
-            }
+            PropertyDefinition propertyDefinition = propertyDefinition(column);
             Object value = getValue(column);
             switch (propertyDefinition.propertyType().ordinal()) {
                 case BOOLEAN_ORDINAL:
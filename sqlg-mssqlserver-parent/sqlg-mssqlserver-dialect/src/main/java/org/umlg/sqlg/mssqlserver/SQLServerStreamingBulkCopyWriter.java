@@ -0,0 +1,106 @@
+package org.umlg.sqlg.mssqlserver;
+
+import com.microsoft.sqlserver.jdbc.ISQLServerBulkRecord;
+import com.microsoft.sqlserver.jdbc.SQLServerBulkCopy;
+import com.microsoft.sqlserver.jdbc.SQLServerBulkCopyOptions;
+import com.microsoft.sqlserver.jdbc.SQLServerConnection;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.commons.lang3.tuple.Triple;
+import org.umlg.sqlg.structure.*;
+import org.umlg.sqlg.structure.topology.Topology;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Streams vertices or edges to one table with {@link SQLServerBulkCopy}, one bulk copy per chunk of rows.
+ * At most one chunk of rows is held in memory.
+ * <p>
+ * It extends {@link Writer} so that it can travel through the {@link org.umlg.sqlg.sql.dialect.SqlBulkDialect} streaming api.
+ * Character data is not accepted.
+ * Date: 2026/10/18
+ */
+class SQLServerStreamingBulkCopyWriter extends Writer {
+
+    private final SqlgGraph sqlgGraph;
+    private final String destinationTable;
+    private final int chunkSize;
+    private final SortedSet<String> columns = new TreeSet<>();
+    private final List<Map<String, Object>> vertexRows = new ArrayList<>();
+    private final Map<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>> edgeRows = new LinkedHashMap<>();
+    private SchemaTable schemaTable;
+    private MetaEdge metaEdge;
+
+    SQLServerStreamingBulkCopyWriter(SqlgGraph sqlgGraph, String destinationTable, int chunkSize) {
+        this.sqlgGraph = sqlgGraph;
+        this.destinationTable = destinationTable;
+        this.chunkSize = chunkSize;
+    }
+
+    void addVertex(SchemaTable schemaTable, Map<String, Object> keyValueMap) throws IOException {
+        if (this.schemaTable == null) {
+            this.schemaTable = schemaTable;
+            this.columns.addAll(keyValueMap.keySet());
+        }
+        this.vertexRows.add(keyValueMap);
+        if (this.vertexRows.size() == this.chunkSize) {
+            writeChunk();
+        }
+    }
+
+    void addEdge(SqlgEdge sqlgEdge, SqlgVertex outVertex, SqlgVertex inVertex, Map<String, Object> keyValueMap) throws IOException {
+        if (this.metaEdge == null) {
+            this.metaEdge = MetaEdge.from(SchemaTable.of(outVertex.getSchema(), sqlgEdge.getTable()), outVertex, inVertex);
+            this.columns.addAll(keyValueMap.keySet());
+        }
+        this.edgeRows.put(sqlgEdge, Triple.of(outVertex, inVertex, keyValueMap));
+        if (this.edgeRows.size() == this.chunkSize) {
+            writeChunk();
+        }
+    }
+
+    private void writeChunk() throws IOException {
+        try {
+            SQLServerConnection sqlServerConnection = this.sqlgGraph.tx().getConnection().unwrap(SQLServerConnection.class);
+            try (SQLServerBulkCopy bulkCopy = new SQLServerBulkCopy(sqlServerConnection)) {
+                SQLServerBulkCopyOptions options = new SQLServerBulkCopyOptions();
+                //locking the table guarantee that the sequences will be in order.
+                options.setTableLock(true);
+                //ids allocated up front are written as is, not regenerated by the identity column.
+                options.setKeepIdentity(this.columns.contains(Topology.ID));
+                bulkCopy.setBulkCopyOptions(options);
+                bulkCopy.setDestinationTableName(this.destinationTable);
+                ISQLServerBulkRecord bulkRecord;
+                if (this.metaEdge != null) {
+                    bulkRecord = new SQLServerEdgeCacheBulkRecord(bulkCopy, this.sqlgGraph, this.metaEdge, this.metaEdge.getSchemaTable(), Pair.of(this.columns, this.edgeRows));
+                } else {
+                    bulkRecord = new SQLServerVertexCacheBulkRecord(bulkCopy, this.sqlgGraph, this.schemaTable, this.columns, this.vertexRows);
+                }
+                bulkCopy.writeToServer(bulkRecord);
+            }
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+        this.vertexRows.clear();
+        this.edgeRows.clear();
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) {
+        throw new UnsupportedOperationException("bulk copy streaming does not accept character data");
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!this.vertexRows.isEmpty() || !this.edgeRows.isEmpty()) {
+            writeChunk();
+        }
+    }
+
+}
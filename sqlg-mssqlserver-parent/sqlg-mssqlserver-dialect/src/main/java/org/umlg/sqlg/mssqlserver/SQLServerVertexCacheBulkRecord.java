@@ -16,12 +16,19 @@ import static org.umlg.sqlg.structure.topology.Topology.VERTEX_PREFIX;
  */
 class SQLServerVertexCacheBulkRecord extends SQLServerBaseCacheBulkRecord implements ISQLServerBulkRecord {
 
-    private final Iterator<Map.Entry<SqlgVertex, Map<String, Object>>> rowIter;
+    private final Iterator<Map<String, Object>> rowIter;
     private Map<String, Object> currentRow;
     private final boolean dummy;
 
     SQLServerVertexCacheBulkRecord(SQLServerBulkCopy bulkCopy, SqlgGraph sqlgGraph, SchemaTable schemaTable, Pair<SortedSet<String>, Map<SqlgVertex, Map<String, Object>>> vertices) throws SQLServerException {
-        this.rowIter = vertices.getRight().entrySet().iterator();
+        this(bulkCopy, sqlgGraph, schemaTable, vertices.getLeft(), vertices.getRight().values());
+    }
+
+    /**
+     * Used by streaming batch mode, the streamed rows have no {@link SqlgVertex} cached with them.
+     */
+    SQLServerVertexCacheBulkRecord(SQLServerBulkCopy bulkCopy, SqlgGraph sqlgGraph, SchemaTable schemaTable, SortedSet<String> columns, Collection<Map<String, Object>> rows) throws SQLServerException {
+        this.rowIter = rows.iterator();
         if (!schemaTable.isTemporary()) {
             this.propertyColumns = sqlgGraph.getTopology()
                     .getSchema(schemaTable.getSchema()).orElseThrow(() -> new IllegalStateException(String.format("Schema %s not found", schemaTable.getSchema())))
@@ -31,7 +38,7 @@ class SQLServerVertexCacheBulkRecord extends SQLServerBaseCacheBulkRecord implem
             this.properties = sqlgGraph.getTopology().getPublicSchema().getTemporaryTable(VERTEX_PREFIX + schemaTable.getTable());
         }
         int i = 1;
-        this.columns = vertices.getLeft();
+        this.columns = columns;
         this.dummy = this.columns.isEmpty();
         if (this.dummy) {
             bulkCopy.addColumnMapping(i, "dummy");
@@ -66,8 +73,7 @@ class SQLServerVertexCacheBulkRecord extends SQLServerBaseCacheBulkRecord implem
     @Override
     public boolean next() {
         if (this.rowIter.hasNext()) {
-            Map.Entry<SqlgVertex, Map<String, Object>> entry = this.rowIter.next();
-            this.currentRow = entry.getValue();
+            this.currentRow = this.rowIter.next();
             return true;
         } else {
             return false;
@@ -63,6 +63,16 @@ public class MysqlDialect extends BaseSqlDialect {
         return true;
     }
 
+    @Override
+    public boolean supportsMultiRowValuesGeneratedKeys() {
+        return true;
+    }
+
+    @Override
+    protected String loadDataStatementClass() {
+        return "com.mysql.cj.jdbc.JdbcStatement";
+    }
+
     @Override
     public boolean supportsSchemas() {
         return false;
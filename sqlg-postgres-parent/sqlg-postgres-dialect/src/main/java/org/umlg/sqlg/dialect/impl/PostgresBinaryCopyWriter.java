@@ -0,0 +1,427 @@
+package org.umlg.sqlg.dialect.impl;
+
+import org.umlg.sqlg.structure.PropertyType;
+import org.umlg.sqlg.structure.SqlgExceptions;
+import org.umlg.sqlg.util.SqlgUtil;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.*;
+import java.util.TimeZone;
+import java.util.UUID;
+
+import static org.umlg.sqlg.structure.PropertyType.*;
+
+/**
+ * Writes rows in postgres' binary COPY format, i.e. for a 'COPY ... FROM stdin (FORMAT binary)' command.
+ * Values are written as their binary wire representation, there is no string building nor escaping.
+ * <p>
+ * It extends {@link Writer} so that it can travel through the {@link org.umlg.sqlg.sql.dialect.SqlBulkDialect} streaming api.
+ * Character data is not accepted.
+ * <p>
+ * See <a href="https://www.postgresql.org/docs/current/sql-copy.html">binary format</a>
+ * Date: 2026/10/18
+ */
+class PostgresBinaryCopyWriter extends Writer {
+
+    private static final byte[] SIGNATURE = new byte[]{'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+    //2000-01-01T00:00:00Z in epoch seconds
+    private static final long POSTGRES_EPOCH_SECONDS = 946_684_800L;
+    //2000-01-01 as epoch day
+    private static final long POSTGRES_EPOCH_DAY = 10_957L;
+
+    private static final int BOOL_OID = 16;
+    private static final int INT8_OID = 20;
+    private static final int INT2_OID = 21;
+    private static final int INT4_OID = 23;
+    private static final int TEXT_OID = 25;
+    private static final int FLOAT4_OID = 700;
+    private static final int FLOAT8_OID = 701;
+    private static final int DATE_OID = 1082;
+    private static final int TIME_OID = 1083;
+    private static final int TIMESTAMP_OID = 1114;
+    private static final int JSONB_OID = 3802;
+
+    private final DataOutputStream out;
+    //The current row is buffered as the tuple's field count precedes the fields.
+    private final ByteArrayOutputStream rowBuffer = new ByteArrayOutputStream(256);
+    private final DataOutputStream row = new DataOutputStream(this.rowBuffer);
+    private final ByteArrayOutputStream arrayBuffer = new ByteArrayOutputStream(256);
+    private final DataOutputStream array = new DataOutputStream(this.arrayBuffer);
+    private short fieldCount;
+
+    PostgresBinaryCopyWriter(OutputStream outputStream) throws IOException {
+        this.out = new DataOutputStream(outputStream);
+        this.out.write(SIGNATURE);
+        //flags
+        this.out.writeInt(0);
+        //header extension length
+        this.out.writeInt(0);
+    }
+
+    /**
+     * @return true if the propertyType has a binary encoding. Labels with other types fall back to the text COPY format.
+     */
+    static boolean supports(PropertyType propertyType) {
+        return switch (propertyType.ordinal()) {
+            case BOOLEAN_ORDINAL, SHORT_ORDINAL, INTEGER_ORDINAL, LONG_ORDINAL, FLOAT_ORDINAL, DOUBLE_ORDINAL,
+                    BIG_DECIMAL_ORDINAL, STRING_ORDINAL, VARCHAR_ORDINAL, UUID_ORDINAL, JSON_ORDINAL,
+                    LOCALDATE_ORDINAL, LOCALDATETIME_ORDINAL, LOCALTIME_ORDINAL, ZONEDDATETIME_ORDINAL,
+                    PERIOD_ORDINAL, DURATION_ORDINAL,
+                    byte_ARRAY_ORDINAL, BYTE_ARRAY_ORDINAL, boolean_ARRAY_ORDINAL, BOOLEAN_ARRAY_ORDINAL,
+                    short_ARRAY_ORDINAL, SHORT_ARRAY_ORDINAL, int_ARRAY_ORDINAL, INTEGER_ARRAY_ORDINAL,
+                    long_ARRAY_ORDINAL, LONG_ARRAY_ORDINAL, float_ARRAY_ORDINAL, FLOAT_ARRAY_ORDINAL,
+                    double_ARRAY_ORDINAL, DOUBLE_ARRAY_ORDINAL, BIG_DECIMAL_ARRAY_ORDINAL, STRING_ARRAY_ORDINAL,
+                    LOCALDATETIME_ARRAY_ORDINAL, LOCALDATE_ARRAY_ORDINAL, LOCALTIME_ARRAY_ORDINAL,
+                    ZONEDDATETIME_ARRAY_ORDINAL, DURATION_ARRAY_ORDINAL, PERIOD_ARRAY_ORDINAL, JSON_ARRAY_ORDINAL -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * Writes the value as one or more fields, one per column of {@link PostgresDialect#propertyTypeToSqlDefinition(PropertyType)}.
+     */
+    void writeValue(PropertyType propertyType, Object value) throws IOException {
+        switch (propertyType.ordinal()) {
+            case BOOLEAN_ORDINAL -> {
+                if (value == null) {
+                    writeNull();
+                } else {
+                    this.row.writeInt(1);
+                    this.row.writeBoolean((Boolean) value);
+                    this.fieldCount++;
+                }
+            }
+            case SHORT_ORDINAL -> {
+                if (value == null) {
+                    writeNull();
+                } else {
+                    this.row.writeInt(2);
+                    this.row.writeShort(((Number) value).shortValue());
+                    this.fieldCount++;
+                }
+            }
+            case INTEGER_ORDINAL -> {
+                if (value == null) {
+                    writeNull();
+                } else {
+                    writeInt(((Number) value).intValue());
+                }
+            }
+            case LONG_ORDINAL -> {
+                if (value == null) {
+                    writeNull();
+                } else {
+                    writeLong(((Number) value).longValue());
+                }
+            }
+            case FLOAT_ORDINAL -> {
+                if (value == null) {
+                    writeNull();
+                } else {
+                    this.row.writeInt(4);
+                    this.row.writeFloat(((Number) value).floatValue());
+                    this.fieldCount++;
+                }
+            }
+            case DOUBLE_ORDINAL, BIG_DECIMAL_ORDINAL -> {
+                if (value == null) {
+                    writeNull();
+                } else {
+                    this.row.writeInt(8);
+                    this.row.writeDouble(((Number) value).doubleValue());
+                    this.fieldCount++;
+                }
+            }
+            case STRING_ORDINAL, VARCHAR_ORDINAL -> {
+                if (value == null) {
+                    writeNull();
+                } else {
+                    writeBytes(value.toString().getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            case UUID_ORDINAL -> {
+                if (value == null) {
+                    writeNull();
+                } else {
+                    UUID uuid = (UUID) value;
+                    this.row.writeInt(16);
+                    this.row.writeLong(uuid.getMostSignificantBits());
+                    this.row.writeLong(uuid.getLeastSignificantBits());
+                    this.fieldCount++;
+                }
+            }
+            case JSON_ORDINAL -> {
+                if (value == null) {
+                    writeNull();
+                } else {
+                    writeJsonb(this.row, value.toString());
+                    this.fieldCount++;
+                }
+            }
+            case LOCALDATE_ORDINAL -> {
+                if (value == null) {
+                    writeNull();
+                } else {
+                    writeDate(this.row, (LocalDate) value);
+                    this.fieldCount++;
+                }
+            }
+            case LOCALDATETIME_ORDINAL -> {
+                if (value == null) {
+                    writeNull();
+                } else {
+                    writeTimestamp(this.row, (LocalDateTime) value);
+                    this.fieldCount++;
+                }
+            }
+            case LOCALTIME_ORDINAL -> {
+                if (value == null) {
+                    writeNull();
+                } else {
+                    writeTime(this.row, (LocalTime) value);
+                    this.fieldCount++;
+                }
+            }
+            case ZONEDDATETIME_ORDINAL -> {
+                if (value == null) {
+                    writeNull();
+                    writeNull();
+                } else {
+                    ZonedDateTime zonedDateTime = (ZonedDateTime) value;
+                    writeTimestamp(this.row, zonedDateTime.toLocalDateTime());
+                    this.fieldCount++;
+                    writeBytes(TimeZone.getTimeZone(zonedDateTime.getZone()).getID().getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            case PERIOD_ORDINAL -> {
+                if (value == null) {
+                    writeNull();
+                    writeNull();
+                    writeNull();
+                } else {
+                    Period period = (Period) value;
+                    writeInt(period.getYears());
+                    writeInt(period.getMonths());
+                    writeInt(period.getDays());
+                }
+            }
+            case DURATION_ORDINAL -> {
+                if (value == null) {
+                    writeNull();
+                    writeNull();
+                } else {
+                    Duration duration = (Duration) value;
+                    writeLong(duration.getSeconds());
+                    writeInt(duration.getNano());
+                }
+            }
+            case byte_ARRAY_ORDINAL -> {
+                if (value == null) {
+                    writeNull();
+                } else {
+                    writeBytes((byte[]) value);
+                }
+            }
+            case BYTE_ARRAY_ORDINAL -> {
+                if (value == null) {
+                    writeNull();
+                } else {
+                    writeBytes((byte[]) SqlgUtil.convertByteArrayToPrimitiveArray((Byte[]) value));
+                }
+            }
+            case boolean_ARRAY_ORDINAL, BOOLEAN_ARRAY_ORDINAL -> writeArray(BOOL_OID, value, (a, e) -> {
+                a.writeInt(1);
+                a.writeBoolean((Boolean) e);
+            });
+            case short_ARRAY_ORDINAL, SHORT_ARRAY_ORDINAL -> writeArray(INT2_OID, value, (a, e) -> {
+                a.writeInt(2);
+                a.writeShort(((Number) e).shortValue());
+            });
+            case int_ARRAY_ORDINAL, INTEGER_ARRAY_ORDINAL -> writeArray(INT4_OID, value, (a, e) -> {
+                a.writeInt(4);
+                a.writeInt(((Number) e).intValue());
+            });
+            case long_ARRAY_ORDINAL, LONG_ARRAY_ORDINAL -> writeArray(INT8_OID, value, (a, e) -> {
+                a.writeInt(8);
+                a.writeLong(((Number) e).longValue());
+            });
+            case float_ARRAY_ORDINAL, FLOAT_ARRAY_ORDINAL -> writeArray(FLOAT4_OID, value, (a, e) -> {
+                a.writeInt(4);
+                a.writeFloat(((Number) e).floatValue());
+            });
+            case double_ARRAY_ORDINAL, DOUBLE_ARRAY_ORDINAL, BIG_DECIMAL_ARRAY_ORDINAL -> writeArray(FLOAT8_OID, value, (a, e) -> {
+                a.writeInt(8);
+                a.writeDouble(((Number) e).doubleValue());
+            });
+            case STRING_ARRAY_ORDINAL -> writeArray(TEXT_OID, value, (a, e) -> writeText(a, (String) e));
+            case LOCALDATETIME_ARRAY_ORDINAL -> writeArray(TIMESTAMP_OID, value, (a, e) -> writeTimestamp(a, (LocalDateTime) e));
+            case LOCALDATE_ARRAY_ORDINAL -> writeArray(DATE_OID, value, (a, e) -> writeDate(a, (LocalDate) e));
+            case LOCALTIME_ARRAY_ORDINAL -> writeArray(TIME_OID, value, (a, e) -> writeTime(a, (LocalTime) e));
+            case ZONEDDATETIME_ARRAY_ORDINAL -> {
+                writeArray(TIMESTAMP_OID, value, (a, e) -> writeTimestamp(a, ((ZonedDateTime) e).toLocalDateTime()));
+                writeArray(TEXT_OID, value, (a, e) -> writeText(a, TimeZone.getTimeZone(((ZonedDateTime) e).getZone()).getID()));
+            }
+            case DURATION_ARRAY_ORDINAL -> {
+                writeArray(INT8_OID, value, (a, e) -> {
+                    a.writeInt(8);
+                    a.writeLong(((Duration) e).getSeconds());
+                });
+                writeArray(INT4_OID, value, (a, e) -> {
+                    a.writeInt(4);
+                    a.writeInt(((Duration) e).getNano());
+                });
+            }
+            case PERIOD_ARRAY_ORDINAL -> {
+                writeArray(INT4_OID, value, (a, e) -> {
+                    a.writeInt(4);
+                    a.writeInt(((Period) e).getYears());
+                });
+                writeArray(INT4_OID, value, (a, e) -> {
+                    a.writeInt(4);
+                    a.writeInt(((Period) e).getMonths());
+                });
+                writeArray(INT4_OID, value, (a, e) -> {
+                    a.writeInt(4);
+                    a.writeInt(((Period) e).getDays());
+                });
+            }
+            case JSON_ARRAY_ORDINAL -> writeArray(JSONB_OID, value, (a, e) -> writeJsonb(a, e.toString()));
+            default -> throw SqlgExceptions.invalidPropertyType(propertyType);
+        }
+    }
+
+    /**
+     * Completes the current tuple.
+     */
+    void endRow() throws IOException {
+        this.out.writeShort(this.fieldCount);
+        this.rowBuffer.writeTo(this.out);
+        this.rowBuffer.reset();
+        this.fieldCount = 0;
+    }
+
+    private void writeNull() throws IOException {
+        this.row.writeInt(-1);
+        this.fieldCount++;
+    }
+
+    private void writeInt(int value) throws IOException {
+        this.row.writeInt(4);
+        this.row.writeInt(value);
+        this.fieldCount++;
+    }
+
+    private void writeLong(long value) throws IOException {
+        this.row.writeInt(8);
+        this.row.writeLong(value);
+        this.fieldCount++;
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        this.row.writeInt(bytes.length);
+        this.row.write(bytes);
+        this.fieldCount++;
+    }
+
+    /**
+     * Writes a one dimensional array, see postgres' array_send.
+     * Arrays are written to their own buffer first as the field's length precedes the data.
+     */
+    private void writeArray(int elementOid, Object value, ElementWriter elementWriter) throws IOException {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+        int length = java.lang.reflect.Array.getLength(value);
+        boolean hasNull = false;
+        if (!value.getClass().getComponentType().isPrimitive()) {
+            for (Object o : (Object[]) value) {
+                if (o == null) {
+                    hasNull = true;
+                    break;
+                }
+            }
+        }
+        this.arrayBuffer.reset();
+        this.array.writeInt(length == 0 ? 0 : 1);
+        this.array.writeInt(hasNull ? 1 : 0);
+        this.array.writeInt(elementOid);
+        if (length > 0) {
+            this.array.writeInt(length);
+            //lower bound
+            this.array.writeInt(1);
+        }
+        for (int i = 0; i < length; i++) {
+            Object element = java.lang.reflect.Array.get(value, i);
+            if (element == null) {
+                this.array.writeInt(-1);
+            } else {
+                elementWriter.write(this.array, element);
+            }
+        }
+        this.row.writeInt(this.arrayBuffer.size());
+        this.arrayBuffer.writeTo(this.row);
+        this.fieldCount++;
+    }
+
+    private static void writeText(DataOutputStream dataOutputStream, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        dataOutputStream.writeInt(bytes.length);
+        dataOutputStream.write(bytes);
+    }
+
+    private static void writeJsonb(DataOutputStream dataOutputStream, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        dataOutputStream.writeInt(bytes.length + 1);
+        //jsonb version
+        dataOutputStream.writeByte(1);
+        dataOutputStream.write(bytes);
+    }
+
+    private static void writeDate(DataOutputStream dataOutputStream, LocalDate localDate) throws IOException {
+        dataOutputStream.writeInt(4);
+        dataOutputStream.writeInt((int) (localDate.toEpochDay() - POSTGRES_EPOCH_DAY));
+    }
+
+    private static void writeTimestamp(DataOutputStream dataOutputStream, LocalDateTime localDateTime) throws IOException {
+        dataOutputStream.writeInt(8);
+        long seconds = localDateTime.toEpochSecond(ZoneOffset.UTC) - POSTGRES_EPOCH_SECONDS;
+        dataOutputStream.writeLong(seconds * 1_000_000L + localDateTime.getNano() / 1_000);
+    }
+
+    /**
+     * The text format goes via {@link java.sql.Time} which truncates to seconds, so do we.
+     */
+    private static void writeTime(DataOutputStream dataOutputStream, LocalTime localTime) throws IOException {
+        dataOutputStream.writeInt(8);
+        dataOutputStream.writeLong(localTime.toSecondOfDay() * 1_000_000L);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) {
+        throw new UnsupportedOperationException("binary COPY does not accept character data");
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        //file trailer
+        this.out.writeShort(-1);
+        this.out.close();
+    }
+
+    @FunctionalInterface
+    private interface ElementWriter {
+        void write(DataOutputStream dataOutputStream, Object element) throws IOException;
+    }
+
+}
@@ -64,6 +64,28 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
     private static final char ESCAPE = '\\';
     private static final int PARAMETER_LIMIT = 32767;
     private static final String COPY_DUMMY = "_copy_dummy";
+    private static final String COPY_FORMAT_BINARY = " FROM stdin (FORMAT binary);";
+    /**
+     * Configuration key, if true batch mode and streaming use postgres' binary COPY format instead of the escaped text format.
+     * Labels with property types that have no binary encoding, i.e. the gis and ltree types, fall back to the text format.
+     */
+    public static final String COPY_BINARY = "copy.binary";
+    /**
+     * Configuration key, batch mode property updates of at least this many elements of a label are streamed with COPY
+     * into a temporary table and applied with an UPDATE ... FROM join on it, instead of an UPDATE ... FROM (VALUES ...)
+     * with every value inlined as a literal.
+     */
+    public static final String BATCH_UPDATE_COPY_THRESHOLD = "batch.update.copy.threshold";
+    /**
+     * Configuration key, the number of rows copied into the temporary table per UPDATE, see {@link #BATCH_UPDATE_COPY_THRESHOLD}.
+     */
+    public static final String BATCH_UPDATE_COPY_CHUNK_SIZE = "batch.update.copy.chunk.size";
+    //The advisory lock key spaces of schema changes, 'SQLG' and 'SQLH'.
+    //The topology lock is taken exclusively by global changes and shared by the schema and table locks.
+    private static final int TOPOLOGY_LOCK_SPACE = 0x53514C47;
+    private static final int SCHEMA_CHANGE_LOCK_SPACE = 0x53514C48;
+    //postgres' deadlock_detected sql state
+    private static final String DEADLOCK_DETECTED = "40P01";
     private PropertyType postGisType;
 
     private ScheduledFuture<?> future;
@@ -101,6 +123,11 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
         return true;
     }
 
+    @Override
+    public boolean supportsCopyCommand() {
+        return true;
+    }
+
     @Override
     public Set<String> getInternalSchemas() {
         return ImmutableSet.copyOf(Arrays.asList("pg_catalog", "information_schema", "tiger", "tiger_data", "topology", "citus", "citus_internal", "columnar"));
@@ -190,7 +217,6 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
     @SuppressWarnings("Duplicates")
     @Override
     public void flushVertexCache(SqlgGraph sqlgGraph, Map<SchemaTable, Pair<SortedSet<String>, Map<SqlgVertex, Map<String, Object>>>> vertexCache) {
-        Connection con = sqlgGraph.tx().getConnection();
         for (SchemaTable schemaTable : vertexCache.keySet()) {
             Pair<SortedSet<String>, Map<SqlgVertex, Map<String, Object>>> vertices = vertexCache.get(schemaTable);
             VertexLabel vertexLabel = null;
@@ -199,25 +225,14 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
                         () -> new IllegalStateException(String.format("VertexLabel %s not found.", schemaTable)));
             }
 
-            //We pre-create the sequence ids and pass them through in the copy command.
-            List<Long> ids = new LinkedList<>();
+            //We pre-allocate the sequence ids and pass them through in the copy command.
+            //In auto batch mode the vertices already have their id.
+            long[] ids = null;
             if (vertexLabel != null && vertexLabel.hasIDPrimaryKey()) {
-                // get all ids from sequence first
-                String sql = "SELECT NEXTVAL('" + maybeWrapInQoutes(schemaTable.getSchema()) + "." + maybeWrapInQoutes(VERTEX_PREFIX + schemaTable.getTable() + "_ID_seq") + "') from generate_series(1," + vertices.getRight().values().size() + ") ;";
-                if (logger.isDebugEnabled()) {
-                    logger.debug(sql);
-                }
-                try (PreparedStatement preparedStatement = con.prepareStatement(sql)) {
-                    ResultSet resultSet = preparedStatement.executeQuery();
-                    while (resultSet.next()) {
-                        ids.add(resultSet.getLong(1));
-                    }
-                    resultSet.close();
-                } catch (SQLException e) {
-                    throw new RuntimeException(e);
-                }
+                int withoutId = (int) vertices.getRight().keySet().stream().filter(v -> v.id() == null).count();
+                ids = sqlgGraph.getIdBlockAllocator().allocate(schemaTable, VERTEX_PREFIX, withoutId);
             }
-            Iterator<Long> it = ids.iterator();
+            int idIndex = 0;
 
             String sql = internalConstructCompleteCopyCommandSqlVertex(
                     sqlgGraph,
@@ -234,8 +249,13 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
                     //The map must contain all the keys, so make a copy with it all.
                     LinkedHashMap<String, Object> values = new LinkedHashMap<>();
                     if (vertexLabel != null && vertexLabel.hasIDPrimaryKey()) {
-                        long id = it.next();
-                        sqlgVertex.setInternalPrimaryKey(RecordId.from(schemaTable, id));
+                        long id;
+                        if (sqlgVertex.id() != null) {
+                            id = ((RecordId) sqlgVertex.id()).sequenceId();
+                        } else {
+                            id = ids[idIndex++];
+                            sqlgVertex.setInternalPrimaryKey(RecordId.from(schemaTable, id));
+                        }
                         values.put("ID", id);
                     }
                     for (String key : vertices.getLeft()) {
@@ -264,7 +284,6 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
     @SuppressWarnings("Duplicates")
     @Override
     public void flushEdgeCache(SqlgGraph sqlgGraph, Map<MetaEdge, Pair<SortedSet<String>, Map<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>>>> edgeCache) {
-        Connection con = sqlgGraph.tx().getConnection();
         try {
             for (MetaEdge metaEdge : edgeCache.keySet()) {
 
@@ -277,25 +296,12 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
                 Pair<SortedSet<String>, Map<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>>> triples = edgeCache.get(metaEdge);
                 Map<String, PropertyDefinition> propertyDefinitionMap = sqlgGraph.getTopology().getTableFor(metaEdge.getSchemaTable().withPrefix(EDGE_PREFIX));
 
-                Iterator<Long> it = null;
+                long[] ids = null;
                 if (edgeLabel.hasIDPrimaryKey()) {
-                    List<Long> ids = new LinkedList<>();
-                    // get all ids from sequence first
-                    String seqsql = "SELECT NEXTVAL('" + maybeWrapInQoutes(metaEdge.getSchemaTable().getSchema()) + "." + maybeWrapInQoutes(EDGE_PREFIX + metaEdge.getSchemaTable().getTable() + "_ID_seq") + "') from generate_series(1," + triples.getRight().values().size() + ") ;";
-                    if (logger.isDebugEnabled()) {
-                        logger.debug(seqsql);
-                    }
-                    try (PreparedStatement preparedStatement = con.prepareStatement(seqsql)) {
-                        ResultSet resultSet = preparedStatement.executeQuery();
-                        while (resultSet.next()) {
-                            ids.add(resultSet.getLong(1));
-                        }
-                        resultSet.close();
-                    } catch (SQLException e) {
-                        throw new RuntimeException(e);
-                    }
-                    it = ids.iterator();
+                    int withoutId = (int) triples.getRight().keySet().stream().filter(e -> e.id() == null).count();
+                    ids = sqlgGraph.getIdBlockAllocator().allocate(metaEdge.getSchemaTable(), EDGE_PREFIX, withoutId);
                 }
+                int idIndex = 0;
 
                 StringBuilder sql = new StringBuilder();
                 sql.append("COPY ");
@@ -343,16 +349,19 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
                     }
                     break;
                 }
-                sql.append(") ");
-
-                sql.append(" FROM stdin CSV DELIMITER '");
-                sql.append(COPY_COMMAND_DELIMITER);
-                sql.append("' ");
-                sql.append("QUOTE ");
-                sql.append(COPY_COMMAND_QUOTE);
-                sql.append(" ESCAPE '");
-                sql.append(ESCAPE);
-                sql.append("';");
+                sql.append(")");
+                if (useBinaryCopy(sqlgGraph, outVertexLabel, inVertexLabel, triples.getLeft().stream().map(propertyDefinitionMap::get).toList())) {
+                    sql.append(COPY_FORMAT_BINARY);
+                } else {
+                    sql.append(" FROM stdin CSV DELIMITER '");
+                    sql.append(COPY_COMMAND_DELIMITER);
+                    sql.append("' ");
+                    sql.append("QUOTE ");
+                    sql.append(COPY_COMMAND_QUOTE);
+                    sql.append(" ESCAPE '");
+                    sql.append(ESCAPE);
+                    sql.append("';");
+                }
                 if (logger.isDebugEnabled()) {
                     logger.debug(sql.toString());
                 }
@@ -364,8 +373,13 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
                         Triple<SqlgVertex, SqlgVertex, Map<String, Object>> outInVertexKeyValueMap = sqlgEdgeTripleEntry.getValue();
                         LinkedHashMap<String, Object> values = new LinkedHashMap<>();
                         if (edgeLabel.hasIDPrimaryKey()) {
-                            long id = Objects.requireNonNull(it).next();
-                            sqlgEdge.setInternalPrimaryKey(RecordId.from(metaEdge.getSchemaTable(), id));
+                            long id;
+                            if (sqlgEdge.id() != null) {
+                                id = ((RecordId) sqlgEdge.id()).sequenceId();
+                            } else {
+                                id = Objects.requireNonNull(ids)[idIndex++];
+                                sqlgEdge.setInternalPrimaryKey(RecordId.from(metaEdge.getSchemaTable(), id));
+                            }
                             values.put("ID", id);
                         }
                         for (String key : triples.getLeft()) {
@@ -961,6 +975,10 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
             Pair<SortedSet<String>, Map<X, Map<String, Object>>> vertexKeysPropertyCache = schemaVertexPropertyCache.get(schemaTable);
             SortedSet<String> keys = vertexKeysPropertyCache.getLeft();
             Map<? extends SqlgElement, Map<String, Object>> vertexPropertyCache = vertexKeysPropertyCache.getRight();
+            if (vertexPropertyCache.size() >= sqlgGraph.configuration().getInt(BATCH_UPDATE_COPY_THRESHOLD, 1000)) {
+                flushElementPropertyCacheWithCopy(sqlgGraph, forVertices, schemaTable, keys, vertexPropertyCache);
+                continue;
+            }
 
             StringBuilder sql = new StringBuilder();
             sql.append("UPDATE ");
@@ -1093,6 +1111,132 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
 
     }
 
+    /**
+     * Streams the updated properties with COPY into a temporary table and updates the label's table with a join on it.
+     * The rows are copied and applied in chunks of {@link #BATCH_UPDATE_COPY_CHUNK_SIZE}, the temporary table is
+     * truncated in between.
+     */
+    private void flushElementPropertyCacheWithCopy(SqlgGraph sqlgGraph, boolean forVertices, SchemaTable schemaTable, SortedSet<String> keys, Map<? extends SqlgElement, Map<String, Object>> elementPropertyCache) {
+        AbstractLabel abstractLabel;
+        if (forVertices) {
+            abstractLabel = sqlgGraph.getTopology().getSchema(schemaTable.getSchema()).orElseThrow().getVertexLabel(schemaTable.getTable()).orElseThrow();
+        } else {
+            abstractLabel = sqlgGraph.getTopology().getSchema(schemaTable.getSchema()).orElseThrow().getEdgeLabel(schemaTable.getTable()).orElseThrow();
+        }
+        Map<String, PropertyDefinition> keyPropertyDefinition = sqlgGraph.getTopology().getTableFor(schemaTable.withPrefix(forVertices ? VERTEX_PREFIX : EDGE_PREFIX));
+        List<String> idColumns = new ArrayList<>();
+        if (abstractLabel.hasIDPrimaryKey()) {
+            idColumns.add(Topology.ID);
+        } else {
+            for (String identifier : abstractLabel.getIdentifiers()) {
+                idColumns.addAll(columnsForKey(abstractLabel.getProperty(identifier).orElseThrow().getPropertyDefinition(), identifier));
+            }
+        }
+        List<String> keyColumns = new ArrayList<>();
+        for (String key : keys) {
+            keyColumns.addAll(columnsForKey(keyPropertyDefinition.get(key), key));
+        }
+        String table = maybeWrapInQoutes(schemaTable.getSchema()) + "." + maybeWrapInQoutes((forVertices ? VERTEX_PREFIX : EDGE_PREFIX) + schemaTable.getTable());
+        SecureRandom random = new SecureRandom();
+        byte[] bytes = new byte[6];
+        random.nextBytes(bytes);
+        String tmpTable = maybeWrapInQoutes("sqlg_update_" + Base64.getEncoder().encodeToString(bytes));
+        StringBuilder columns = new StringBuilder();
+        for (String column : idColumns) {
+            columns.append(maybeWrapInQoutes(column)).append(", ");
+        }
+        for (String column : keyColumns) {
+            columns.append(maybeWrapInQoutes(column)).append(", ");
+        }
+        columns.setLength(columns.length() - 2);
+
+        //the temporary table takes the column types of the label's table without its constraints
+        String createSql = "CREATE TEMPORARY TABLE " + tmpTable + " ON COMMIT DROP AS SELECT " + columns + " FROM " + table + " WITH NO DATA";
+        String copySql = "COPY " + tmpTable + " (" + columns + ") FROM stdin CSV DELIMITER '" + COPY_COMMAND_DELIMITER + "' QUOTE " + COPY_COMMAND_QUOTE + " ESCAPE '" + ESCAPE + "';";
+        StringBuilder updateSql = new StringBuilder();
+        updateSql.append("UPDATE ").append(table).append(" a \nSET\n\t");
+        int count = 1;
+        for (String column : keyColumns) {
+            updateSql.append(maybeWrapInQoutes(column)).append(" = v.").append(maybeWrapInQoutes(column));
+            if (count++ < keyColumns.size()) {
+                updateSql.append(", ");
+            }
+        }
+        updateSql.append("\nFROM ").append(tmpTable).append(" v\nWHERE ");
+        count = 1;
+        for (String column : idColumns) {
+            updateSql.append("a.").append(maybeWrapInQoutes(column)).append(" = v.").append(maybeWrapInQoutes(column));
+            if (count++ < idColumns.size()) {
+                updateSql.append(" AND\n\t");
+            }
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug(createSql);
+            logger.debug(copySql);
+            logger.debug(updateSql.toString());
+        }
+        int chunkSize = sqlgGraph.configuration().getInt(BATCH_UPDATE_COPY_CHUNK_SIZE, 100_000);
+        Preconditions.checkState(chunkSize > 0, "%s must be greater than 0", BATCH_UPDATE_COPY_CHUNK_SIZE);
+        Connection conn = sqlgGraph.tx().getConnection();
+        try (Statement statement = conn.createStatement()) {
+            statement.execute(createSql);
+            Iterator<? extends Map.Entry<? extends SqlgElement, Map<String, Object>>> iterator = elementPropertyCache.entrySet().iterator();
+            while (iterator.hasNext()) {
+                try (Writer writer = streamSql(sqlgGraph, copySql)) {
+                    for (int i = 0; i < chunkSize && iterator.hasNext(); i++) {
+                        Map.Entry<? extends SqlgElement, Map<String, Object>> entry = iterator.next();
+                        writeUpdatedProperties(writer, abstractLabel, keys, keyPropertyDefinition, entry.getKey(), entry.getValue());
+                    }
+                }
+                statement.executeUpdate(updateSql.toString());
+                if (iterator.hasNext()) {
+                    statement.execute("TRUNCATE " + tmpTable);
+                }
+            }
+            statement.execute("DROP TABLE " + tmpTable);
+        } catch (SQLException | IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void writeUpdatedProperties(Writer writer, AbstractLabel abstractLabel, SortedSet<String> keys, Map<String, PropertyDefinition> keyPropertyDefinition, SqlgElement sqlgElement, Map<String, Object> properties) throws IOException {
+        RecordId.ID id = ((RecordId) sqlgElement.id()).getID();
+        if (abstractLabel.hasIDPrimaryKey()) {
+            writer.write(Long.toString(id.getSequenceId()));
+        } else {
+            int countIdentifiers = 0;
+            for (Comparable identifier : id.getIdentifiers()) {
+                if (countIdentifiers > 0) {
+                    writer.write(COPY_COMMAND_DELIMITER);
+                }
+                String identifierProperty = abstractLabel.getIdentifiers().get(countIdentifiers++);
+                valueToStreamBytes(writer, abstractLabel.getProperty(identifierProperty).orElseThrow().getPropertyDefinition(), identifier);
+            }
+        }
+        for (String key : keys) {
+            Object value;
+            if (properties.containsKey(key)) {
+                value = properties.get(key);
+            } else {
+                //missing properties are set to their existing value
+                value = sqlgElement.value(key);
+            }
+            writer.write(COPY_COMMAND_DELIMITER);
+            valueToStreamBytes(writer, keyPropertyDefinition.get(key), value);
+        }
+        writer.write("\n");
+    }
+
+    private List<String> columnsForKey(PropertyDefinition propertyDefinition, String key) {
+        List<String> result = new ArrayList<>();
+        result.add(key);
+        String[] sqlDefinitions = propertyTypeToSqlDefinition(propertyDefinition.propertyType());
+        for (int i = 1; i < sqlDefinitions.length; i++) {
+            result.add(key + propertyDefinition.propertyType().getPostFixes()[i - 1]);
+        }
+        return result;
+    }
+
     @Override
     public String constructCompleteCopyCommandTemporarySqlVertex(SqlgGraph sqlgGraph, SqlgVertex vertex, Map<String, Object> keyValueMap) {
         return internalConstructCompleteCopyCommandSqlVertex(sqlgGraph, true, vertex, keyValueMap);
@@ -1109,7 +1253,14 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
     }
 
     private String internalConstructCompleteCopyCommandSqlVertex(SqlgGraph sqlgGraph, boolean isTemp, SqlgVertex vertex, Map<String, Object> keyValueMap) {
-        return internalConstructCompleteCopyCommandSqlVertex(sqlgGraph, isTemp, vertex.getSchema(), vertex.getTable(), false, keyValueMap.keySet());
+        //STREAMING_WITH_LOCK streams the pre-allocated id as the first entry.
+        boolean needID = keyValueMap.containsKey(Topology.ID);
+        Set<String> keys = keyValueMap.keySet();
+        if (needID) {
+            keys = new LinkedHashSet<>(keys);
+            keys.remove(Topology.ID);
+        }
+        return internalConstructCompleteCopyCommandSqlVertex(sqlgGraph, isTemp, vertex.getSchema(), vertex.getTable(), needID, keys);
     }
 
     private String internalConstructCompleteCopyCommandSqlVertex(SqlgGraph sqlgGraph, boolean isTemp, String schema, String table, boolean needID, Set<String> keys) {
@@ -1119,6 +1270,7 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
         } else {
             propertyDefinitionMap = sqlgGraph.getTopology().getTableFor(SchemaTable.of(schema, VERTEX_PREFIX + table));
         }
+        boolean binary = !isTemp && useBinaryCopy(sqlgGraph, keys.stream().map(propertyDefinitionMap::get).toList());
         StringBuilder sql = new StringBuilder();
         sql.append("COPY ");
         if (!isTemp) {
@@ -1158,17 +1310,21 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
             }
         }
         sql.append(")");
-        sql.append(" FROM stdin CSV DELIMITER '");
-        sql.append(COPY_COMMAND_DELIMITER);
-        sql.append("' ");
-        sql.append("QUOTE ");
-        sql.append(COPY_COMMAND_QUOTE);
-        sql.append(" ESCAPE '");
-        sql.append(ESCAPE);
-        sql.append("'");
-        sql.append(" NULL'");
-        sql.append(BATCH_NULL);
-        sql.append("';");
+        if (binary) {
+            sql.append(COPY_FORMAT_BINARY);
+        } else {
+            sql.append(" FROM stdin CSV DELIMITER '");
+            sql.append(COPY_COMMAND_DELIMITER);
+            sql.append("' ");
+            sql.append("QUOTE ");
+            sql.append(COPY_COMMAND_QUOTE);
+            sql.append(" ESCAPE '");
+            sql.append(ESCAPE);
+            sql.append("'");
+            sql.append(" NULL'");
+            sql.append(BATCH_NULL);
+            sql.append("';");
+        }
         if (logger.isDebugEnabled()) {
             logger.debug(sql.toString());
         }
@@ -1208,28 +1364,61 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
             }
 
         }
-        int count = 1;
         for (String key : keyValueMap.keySet()) {
-            if (count <= keyValueMap.size()) {
-                sql.append(", ");
+            sql.append(", ");
+            if (key.equals(Topology.ID)) {
+                sql.append("\"ID\"");
+            } else {
+                appendKeyForStream(propertyDefinitionMap.get(key), sql, key);
             }
-            count++;
-            appendKeyForStream(propertyDefinitionMap.get(key), sql, key);
         }
-        sql.append(") ");
-
-        sql.append(" FROM stdin CSV DELIMITER '");
-        sql.append(COPY_COMMAND_DELIMITER);
-        sql.append("' ");
-        sql.append("QUOTE ");
-        sql.append(COPY_COMMAND_QUOTE);
-        sql.append(";");
+        sql.append(")");
+        if (useBinaryCopy(sqlgGraph, outVertexLabel, inVertexLabel, keyValueMap.keySet().stream().filter(k -> !k.equals(Topology.ID)).map(propertyDefinitionMap::get).toList())) {
+            sql.append(COPY_FORMAT_BINARY);
+        } else {
+            sql.append(" FROM stdin CSV DELIMITER '");
+            sql.append(COPY_COMMAND_DELIMITER);
+            sql.append("' ");
+            sql.append("QUOTE ");
+            sql.append(COPY_COMMAND_QUOTE);
+            sql.append(";");
+        }
         if (logger.isDebugEnabled()) {
             logger.debug(sql.toString());
         }
         return sql.toString();
     }
 
+    /**
+     * @return true if {@link #COPY_BINARY} is on for the graph and every column has a binary encoding.
+     */
+    private boolean useBinaryCopy(SqlgGraph sqlgGraph, Collection<PropertyDefinition> propertyDefinitions) {
+        if (!sqlgGraph.configuration().getBoolean(COPY_BINARY, false)) {
+            return false;
+        }
+        for (PropertyDefinition propertyDefinition : propertyDefinitions) {
+            if (propertyDefinition == null || !PostgresBinaryCopyWriter.supports(propertyDefinition.propertyType())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean useBinaryCopy(SqlgGraph sqlgGraph, VertexLabel outVertexLabel, VertexLabel inVertexLabel, Collection<PropertyDefinition> propertyDefinitions) {
+        if (!useBinaryCopy(sqlgGraph, propertyDefinitions)) {
+            return false;
+        }
+        for (VertexLabel vertexLabel : List.of(outVertexLabel, inVertexLabel)) {
+            for (String identifier : vertexLabel.getIdentifiers()) {
+                Optional<PropertyColumn> propertyColumn = vertexLabel.getProperty(identifier);
+                if (propertyColumn.isEmpty() || !PostgresBinaryCopyWriter.supports(propertyColumn.get().getPropertyDefinition().propertyType())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
     private void appendKeyForStream(PropertyDefinition propertyDefinition, StringBuilder sql, String key) {
         String[] sqlDefinitions = propertyTypeToSqlDefinition(propertyDefinition.propertyType());
         int countPerKey = 1;
@@ -1309,6 +1498,10 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
 
     @Override
     public void writeStreamingVertex(Writer writer, Map<String, Object> keyValueMap, VertexLabel vertexLabel) {
+        if (writer instanceof PostgresBinaryCopyWriter binaryCopyWriter) {
+            writeBinaryStreamingVertex(binaryCopyWriter, keyValueMap, vertexLabel);
+            return;
+        }
         try {
             int countKeys = 1;
             if (keyValueMap.isEmpty()) {
@@ -1337,6 +1530,28 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
         }
     }
 
+    private void writeBinaryStreamingVertex(PostgresBinaryCopyWriter writer, Map<String, Object> keyValueMap, VertexLabel vertexLabel) {
+        try {
+            if (keyValueMap.isEmpty()) {
+                //the copy dummy column
+                writer.writeValue(PropertyType.BOOLEAN, Boolean.TRUE);
+            } else {
+                for (Map.Entry<String, Object> entry : keyValueMap.entrySet()) {
+                    String key = entry.getKey();
+                    //noinspection StringEquality
+                    if (key == Topology.ID) {
+                        writer.writeValue(PropertyType.LONG, entry.getValue());
+                    } else {
+                        writer.writeValue(vertexLabel.getProperties().get(key).getPropertyDefinition().propertyType(), entry.getValue());
+                    }
+                }
+            }
+            writer.endRow();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     @Override
     public void writeTemporaryStreamingVertex(Writer writer, Map<String, Object> keyValueMap) {
         try {
@@ -1376,6 +1591,10 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
             Map<String, Object> keyValueMap,
             EdgeLabel edgeLabel) {
 
+        if (writer instanceof PostgresBinaryCopyWriter binaryCopyWriter) {
+            writeBinaryStreamingEdge(binaryCopyWriter, outVertexLabel, inVertexLabel, outVertex, inVertex, keyValueMap, edgeLabel);
+            return;
+        }
         try {
             String encoding = "UTF-8";
             if (outVertexLabel.hasIDPrimaryKey()) {
@@ -1431,6 +1650,47 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
         }
     }
 
+    private void writeBinaryStreamingEdge(
+            PostgresBinaryCopyWriter writer,
+            VertexLabel outVertexLabel,
+            VertexLabel inVertexLabel,
+            SqlgVertex outVertex,
+            SqlgVertex inVertex,
+            Map<String, Object> keyValueMap,
+            EdgeLabel edgeLabel) {
+
+        try {
+            writeBinaryForeignKey(writer, outVertexLabel, outVertex);
+            writeBinaryForeignKey(writer, inVertexLabel, inVertex);
+            for (Map.Entry<String, Object> entry : keyValueMap.entrySet()) {
+                String key = entry.getKey();
+                if (key.equals(Topology.ID)) {
+                    writer.writeValue(PropertyType.LONG, entry.getValue());
+                } else {
+                    writer.writeValue(edgeLabel.getProperties().get(key).getPropertyDefinition().propertyType(), entry.getValue());
+                }
+            }
+            writer.endRow();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void writeBinaryForeignKey(PostgresBinaryCopyWriter writer, VertexLabel vertexLabel, SqlgVertex vertex) throws IOException {
+        RecordId.ID id = ((RecordId) vertex.id()).getID();
+        if (vertexLabel.hasIDPrimaryKey()) {
+            writer.writeValue(PropertyType.LONG, id.getSequenceId());
+        } else {
+            int count = 0;
+            for (String identifier : vertexLabel.getIdentifiers()) {
+                PropertyDefinition propertyDefinition = vertexLabel.getProperty(identifier).orElseThrow(
+                        () -> new IllegalStateException(String.format("identifier %s must be present on %s", identifier, vertexLabel.getFullName()))
+                ).getPropertyDefinition();
+                writer.writeValue(propertyDefinition.propertyType(), id.getIdentifiers().get(count++));
+            }
+        }
+    }
+
     private void valueToStreamBytes(Writer outputStream, PropertyDefinition propertyDefinition, Object value) {
         String s = valueToStringForBulkLoad(propertyDefinition, value);
         try {
@@ -2323,8 +2583,11 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
         try {
             pgConnection = conn.unwrap(PGConnection.class);
             OutputStream out = new PGCopyOutputStream(pgConnection, sql);
+            if (sql.endsWith(COPY_FORMAT_BINARY)) {
+                return new PostgresBinaryCopyWriter(out);
+            }
             return new OutputStreamWriter(out, StandardCharsets.UTF_8);
-        } catch (SQLException e) {
+        } catch (SQLException | IOException e) {
             throw new RuntimeException(e);
         }
     }
@@ -2642,6 +2905,28 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
         return result;
     }
 
+    @Override
+    public long[] nextSequenceValues(SqlgGraph sqlgGraph, SchemaTable schemaTable, String prefix, int count) {
+        Preconditions.checkArgument(prefix.equals(VERTEX_PREFIX) || prefix.equals(EDGE_PREFIX), "prefix must be " + VERTEX_PREFIX + " or " + EDGE_PREFIX);
+        long[] result = new long[count];
+        Connection conn = sqlgGraph.tx().getConnection();
+        String sql = "SELECT NEXTVAL('" + maybeWrapInQoutes(schemaTable.getSchema()) + "." + maybeWrapInQoutes(prefix + schemaTable.getTable() + "_ID_seq") + "') from generate_series(1," + count + ");";
+        if (logger.isDebugEnabled()) {
+            logger.debug(sql);
+        }
+        try (PreparedStatement preparedStatement = conn.prepareStatement(sql)) {
+            ResultSet resultSet = preparedStatement.executeQuery();
+            int i = 0;
+            while (resultSet.next()) {
+                result[i++] = resultSet.getLong(1);
+            }
+            resultSet.close();
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+        return result;
+    }
+
     @SuppressWarnings("Duplicates")
     @Override
     public long currSequenceVal(SqlgGraph sqlgGraph, SchemaTable schemaTable, String prefix) {
@@ -2695,6 +2980,59 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
         return true;
     }
 
+    @Override
+    public boolean supportsBulkWithinOutArrayParameter() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsRecursiveRepeat() {
+        return true;
+    }
+
+    @Override
+    public String explainAnalyze(String sql) {
+        return "EXPLAIN (ANALYZE, BUFFERS) " + sql;
+    }
+
+    @Override
+    public boolean supportsDistinctOn() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsUnionAll() {
+        return true;
+    }
+
+    /**
+     * Postgres' target lists are limited to MaxTupleAttributeNumber columns.
+     */
+    @Override
+    public int getMaximumSelectColumns() {
+        return 1664;
+    }
+
+    @Override
+    public boolean supportsAutoBatchMode() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsSnapshotExport() {
+        return true;
+    }
+
+    @Override
+    public String exportSnapshot() {
+        return "SELECT pg_export_snapshot(), txid_current_if_assigned()";
+    }
+
+    @Override
+    public String importSnapshot(String snapshotId) {
+        return "SET TRANSACTION SNAPSHOT '" + snapshotId + "'";
+    }
+
     @Override
     public boolean isPostgresql() {
         return true;
@@ -3332,6 +3670,50 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
         }
     }
 
+    @Override
+    public void lockTopology(SqlgGraph sqlgGraph) {
+        advisoryLock(sqlgGraph, "SELECT pg_advisory_xact_lock(" + TOPOLOGY_LOCK_SPACE + ", 0)");
+    }
+
+    @Override
+    public void lockTopologyShared(SqlgGraph sqlgGraph) {
+        advisoryLock(sqlgGraph, "SELECT pg_advisory_xact_lock_shared(" + TOPOLOGY_LOCK_SPACE + ", 0)");
+    }
+
+    /**
+     * The key's String.hashCode is the lock, it is specified so every jvm derives the same lock from the same key.
+     * Different keys with the same hashCode share a lock, their changes are then serialized as if they were one label.
+     * The keys of one change are ordered by their hashCode, see {@link #schemaChangeLockOrder()}, so sharing a lock
+     * costs concurrency. A later change of the same transaction can still wait for a lock that sorts before the ones it
+     * holds, postgres' deadlock detection aborts one of the transactions should they wait for each other.
+     */
+    @Override
+    public void lockSchemaChange(SqlgGraph sqlgGraph, Collection<String> keys) {
+        for (String key : keys) {
+            advisoryLock(sqlgGraph, "SELECT pg_advisory_xact_lock(" + SCHEMA_CHANGE_LOCK_SPACE + ", " + key.hashCode() + ")");
+        }
+    }
+
+    @Override
+    public Comparator<String> schemaChangeLockOrder() {
+        return Comparator.comparingInt(String::hashCode).thenComparing(Comparator.naturalOrder());
+    }
+
+    private void advisoryLock(SqlgGraph sqlgGraph, String sql) {
+        if (logger.isDebugEnabled()) {
+            logger.debug(sql);
+        }
+        Connection conn = sqlgGraph.tx().getConnection();
+        try (Statement statement = conn.createStatement()) {
+            statement.execute(sql);
+        } catch (SQLException e) {
+            if (DEADLOCK_DETECTED.equals(e.getSQLState())) {
+                throw SqlgExceptions.deadLockDetected(String.format("%s, the transaction must be rolled back and retried.", e.getMessage()));
+            }
+            throw new RuntimeException(e);
+        }
+    }
+
     @Override
     public void registerListener(SqlgGraph sqlgGraph) {
         this.executorService = Executors.newSingleThreadExecutor(r -> new Thread(r, "Sqlg notification merge " + sqlgGraph.toString()));
@@ -3363,6 +3745,8 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
     @Override
     public int notifyChange(SqlgGraph sqlgGraph, LocalDateTime timestamp, JsonNode jsonNode) {
         Connection connection = sqlgGraph.tx().getConnection();
+        //Only the log append is serialized, the log lock is taken as the transaction commits.
+        lock(sqlgGraph);
         try {
 
             PGConnection pgConnection = connection.unwrap(PGConnection.class);
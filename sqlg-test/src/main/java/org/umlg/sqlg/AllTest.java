@@ -48,11 +48,16 @@ import org.umlg.sqlg.test.memory.TestMemoryUsage;
 import org.umlg.sqlg.test.mergestep.TestMerge;
 import org.umlg.sqlg.test.mod.*;
 import org.umlg.sqlg.test.partition.TestJoinAcrossPartition;
+import org.umlg.sqlg.test.preparedStatement.TestStatementCache;
+import org.umlg.sqlg.test.preparedStatement.TestQueryListener;
 import org.umlg.sqlg.test.process.dropstep.*;
+import org.umlg.sqlg.test.properties.TestCompactProperties;
 import org.umlg.sqlg.test.properties.TestEscapedValues;
+import org.umlg.sqlg.test.properties.TestLazyPropertyLoading;
 import org.umlg.sqlg.test.properties.TestPropertyValues;
 import org.umlg.sqlg.test.reducing.*;
 import org.umlg.sqlg.test.remove.TestRemoveEdge;
+import org.umlg.sqlg.test.repeatstep.TestRecursiveRepeatStep;
 import org.umlg.sqlg.test.repeatstep.TestUnoptimizedRepeatStep;
 import org.umlg.sqlg.test.roles.TestReadOnlyRole;
 import org.umlg.sqlg.test.rollback.TestRollback;
@@ -314,7 +319,28 @@ import org.umlg.sqlg.test.where.TestTraversalFilterStepBarrier;
         TestPostgresLtree.class,
         TestSchemaTableTreeCache.class,
         TestTopologyPropertyColumnUpdate.class,
-        TestTopologyPropertyColumnUpdateDistributed.class
+        TestTopologyPropertyColumnUpdateDistributed.class,
+        TestBatchBinaryCopy.class,
+        TestStatementCache.class,
+        TestLazyPropertyLoading.class,
+        TestElementIdentityMap.class,
+        TestRecursiveRepeatStep.class,
+        TestQueryListener.class,
+        TestTopologySnapshot.class,
+        TestDedupStep.class,
+        TestPathFilterStep.class,
+        TestProjectStep.class,
+        TestUnionAllQuery.class,
+        TestParallelQuery.class,
+        TestKeysetPagination.class,
+        TestAutoBatchMode.class,
+        TestBatchLabelScopedFlush.class,
+        TestBatchUpdateCopy.class,
+        TestSchemaChangeLock.class,
+        TestStreamingChunkedInsert.class,
+        TestBatchChunkedFlush.class,
+        TestMultiplicityDeferred.class,
+        TestCompactProperties.class
 })
 public class AllTest {
 
@@ -35,6 +35,8 @@ import org.umlg.sqlg.step.SqlgGraphStep;
 import org.umlg.sqlg.step.SqlgStep;
 import org.umlg.sqlg.step.SqlgVertexStep;
 import org.umlg.sqlg.strategy.SqlgSqlExecutor;
+import org.umlg.sqlg.structure.QueryEvent;
+import org.umlg.sqlg.structure.QueryListener;
 import org.umlg.sqlg.structure.SqlgDataSource;
 import org.umlg.sqlg.structure.SqlgGraph;
 import org.umlg.sqlg.util.SqlgUtil;
@@ -295,6 +297,25 @@ public abstract class BaseTest {
         }
     }
 
+    /**
+     * run the runnable with a {@link QueryListener} on the graph
+     *
+     * @param sqlgGraph The graph to listen on.
+     * @param runnable  The code that executes the queries.
+     * @return the queries the runnable executed
+     */
+    protected static List<QueryEvent> queryEvents(SqlgGraph sqlgGraph, Runnable runnable) {
+        List<QueryEvent> queryEvents = new ArrayList<>();
+        QueryListener queryListener = queryEvents::add;
+        sqlgGraph.addQueryListener(queryListener);
+        try {
+            runnable.run();
+        } finally {
+            sqlgGraph.removeQueryListener(queryListener);
+        }
+        return queryEvents;
+    }
+
     protected void loadModern(SqlgGraph sqlgGraph) {
         Io.Builder<GraphSONIo> builder = GraphSONIo.build(GraphSONVersion.V3_0);
         final GraphReader reader = sqlgGraph.io(builder).reader().create();
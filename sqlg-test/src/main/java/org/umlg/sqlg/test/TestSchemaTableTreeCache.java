@@ -1,5 +1,6 @@
 package org.umlg.sqlg.test;
 
+import org.apache.commons.configuration2.Configuration;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
@@ -18,6 +19,8 @@ import org.umlg.sqlg.strategy.SqlgRangeHolder;
 import org.umlg.sqlg.structure.PropertyDefinition;
 import org.umlg.sqlg.structure.PropertyType;
 import org.umlg.sqlg.structure.SchemaTable;
+import org.umlg.sqlg.structure.SchemaTableTreeCache;
+import org.umlg.sqlg.structure.SqlgGraph;
 
 import java.util.HashMap;
 import java.util.List;
@@ -67,6 +70,86 @@ public class TestSchemaTableTreeCache extends BaseTest {
 
     }
 
+    @Test
+    public void testCacheInvalidatesOnlyAffectedLabels() {
+        Configuration conf = getConfigurationClone();
+        conf.setProperty("gremlin.cache.enabled", true);
+        try (SqlgGraph sqlgGraph = SqlgGraph.open(conf)) {
+            sqlgGraph.addVertex(T.label, "A", "prop1", "1");
+            Vertex b = sqlgGraph.addVertex(T.label, "B", "prop1", "1");
+            Vertex c = sqlgGraph.addVertex(T.label, "C", "prop1", "1");
+            b.addEdge("bc", c);
+            sqlgGraph.tx().commit();
+            SchemaTableTreeCache cache = sqlgGraph.getSchemaTableTreeCache();
+
+            Assert.assertEquals(1, sqlgGraph.traversal().V().hasLabel("A").toList().size());
+            Assert.assertEquals(1, sqlgGraph.traversal().V().hasLabel("B").out("bc").toList().size());
+            long misses = cache.getMissCount();
+            long hits = cache.getHitCount();
+            Assert.assertEquals(1, sqlgGraph.traversal().V().hasLabel("A").toList().size());
+            Assert.assertEquals(1, sqlgGraph.traversal().V().hasLabel("B").out("bc").toList().size());
+            Assert.assertEquals(misses, cache.getMissCount());
+            Assert.assertEquals(hits + 2, cache.getHitCount());
+
+            //A change to C must not invalidate the sql for A
+            sqlgGraph.addVertex(T.label, "C", "prop2", "2");
+            sqlgGraph.tx().commit();
+            Assert.assertEquals(1, sqlgGraph.traversal().V().hasLabel("A").toList().size());
+            Assert.assertEquals(misses, cache.getMissCount());
+            List<Vertex> cs = sqlgGraph.traversal().V().hasLabel("B").out("bc").toList();
+            Assert.assertEquals(misses + 1, cache.getMissCount());
+            Assert.assertEquals(1, cs.size());
+            Assert.assertFalse(cs.get(0).property("prop2").isPresent());
+            Assert.assertEquals("2", sqlgGraph.traversal().V().hasLabel("C").has("prop2", "2").next().value("prop2"));
+
+            //A change rolled back must not leave stale sql behind
+            sqlgGraph.addVertex(T.label, "A", "prop3", "3");
+            Assert.assertEquals(2, sqlgGraph.traversal().V().hasLabel("A").toList().size());
+            sqlgGraph.tx().rollback();
+            Assert.assertEquals(1, sqlgGraph.traversal().V().hasLabel("A").toList().size());
+            Assert.assertTrue(cache.getInvalidationCount() > 0);
+        }
+    }
+
+    @Test
+    public void testBulkWithinIsCached() {
+        Assume.assumeTrue(isPostgres());
+        Configuration conf = getConfigurationClone();
+        conf.setProperty("gremlin.cache.enabled", true);
+        try (SqlgGraph sqlgGraph = SqlgGraph.open(conf)) {
+            for (int i = 0; i < 100; i++) {
+                sqlgGraph.addVertex(T.label, "A", "name", "a" + i, "age", i);
+            }
+            sqlgGraph.tx().commit();
+            SchemaTableTreeCache cache = sqlgGraph.getSchemaTableTreeCache();
+
+            GraphTraversal<Vertex, Vertex> traversal = sqlgGraph.traversal().V().hasLabel("A").has("name", P.within("a1", "a2", "a3"));
+            String sql = getSQL(traversal);
+            Assert.assertTrue(sql, sql.contains("= ANY(?)"));
+            Assert.assertFalse(sql, sql.contains("VALUES"));
+
+            Assert.assertEquals(3, sqlgGraph.traversal().V().hasLabel("A").has("name", P.within("a1", "a2", "a3")).toList().size());
+            long misses = cache.getMissCount();
+            long hits = cache.getHitCount();
+            //a different number of values must reuse the same sql
+            Assert.assertEquals(5, sqlgGraph.traversal().V().hasLabel("A").has("name", P.within("a1", "a2", "a3", "a4", "a5")).toList().size());
+            Assert.assertEquals(2, sqlgGraph.traversal().V().hasLabel("A").has("name", P.within("a6", "a7", "x")).toList().size());
+            Assert.assertEquals(misses, cache.getMissCount());
+            Assert.assertEquals(hits + 2, cache.getHitCount());
+
+            //a single value is '= ?' and must not hit the array sql
+            Assert.assertEquals(1, sqlgGraph.traversal().V().hasLabel("A").has("name", P.within("a1")).toList().size());
+            Assert.assertEquals(misses + 1, cache.getMissCount());
+
+            Assert.assertEquals(97, sqlgGraph.traversal().V().hasLabel("A").has("age", P.without(1, 2, 3L)).toList().size());
+            Assert.assertEquals(95, sqlgGraph.traversal().V().hasLabel("A").has("age", P.without(1, 2, 3, 4, 5)).toList().size());
+
+            List<Object> ids = sqlgGraph.traversal().V().hasLabel("A").limit(10).id().toList();
+            Assert.assertEquals(10, sqlgGraph.traversal().V().hasLabel("A").has(T.id, P.within(ids)).toList().size());
+            Assert.assertEquals(10, sqlgGraph.traversal().V(ids.toArray()).toList().size());
+        }
+    }
+
 //    @Test
     public void testSchemaTableTreeHashCode() {
 
@@ -0,0 +1,149 @@
+package org.umlg.sqlg.test.batch;
+
+import org.apache.commons.collections4.set.ListOrderedSet;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.*;
+import org.umlg.sqlg.structure.PropertyDefinition;
+import org.umlg.sqlg.structure.PropertyType;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.util.*;
+
+/**
+ * Tests transactions started in normal batch mode with the ids allocated when the elements are added, see 'batch.mode.auto'.
+ * Date: 2026/10/18
+ */
+public class TestAutoBatchMode extends BaseTest {
+
+    @BeforeClass
+    public static void beforeClass() {
+        BaseTest.beforeClass();
+        configuration.addProperty("batch.mode.auto", true);
+    }
+
+    @Before
+    public void beforeTest() {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsAutoBatchMode());
+    }
+
+    @Test
+    public void testTransactionStartsInBatchMode() {
+        Assert.assertTrue(this.sqlgGraph.isAutoBatchMode());
+        this.sqlgGraph.tx().readWrite();
+        Assert.assertTrue(this.sqlgGraph.tx().isInNormalBatchMode());
+        this.sqlgGraph.tx().commit();
+        this.sqlgGraph.tx().readWrite();
+        Assert.assertTrue(this.sqlgGraph.tx().isInNormalBatchMode());
+    }
+
+    @Test
+    public void testIdsBeforeFlush() {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        Vertex a2 = this.sqlgGraph.addVertex(T.label, "A", "name", "a2");
+        Vertex b = this.sqlgGraph.addVertex(T.label, "B", "name", "b");
+        Edge e1 = a1.addEdge("ab", b, "weight", 1);
+        Edge e2 = a2.addEdge("ab", b, "weight", 2);
+        Assert.assertTrue(this.sqlgGraph.tx().isInNormalBatchMode());
+        Assert.assertNotNull(a1.id());
+        Assert.assertNotNull(a2.id());
+        Assert.assertNotEquals(a1.id(), a2.id());
+        Assert.assertNotNull(b.id());
+        Assert.assertNotNull(e1.id());
+        Assert.assertNotNull(e2.id());
+        Map<Object, Vertex> byId = new HashMap<>();
+        byId.put(a1.id(), a1);
+        byId.put(a2.id(), a2);
+        byId.put(b.id(), b);
+        Set<Object> edgeIds = Set.of(e1.id(), e2.id());
+
+        //the query flushes the cache, the elements keep their ids
+        Assert.assertEquals("a1", this.sqlgGraph.traversal().V(a1.id()).next().value("name"));
+        Assert.assertEquals(byId.keySet(), new HashSet<>(this.sqlgGraph.traversal().V().id().toList()));
+        Assert.assertEquals(edgeIds, new HashSet<>(this.sqlgGraph.traversal().E().id().toList()));
+        this.sqlgGraph.tx().commit();
+
+        for (Vertex vertex : this.sqlgGraph.traversal().V().toList()) {
+            Assert.assertEquals(byId.get(vertex.id()).<String>value("name"), vertex.value("name"));
+        }
+        Assert.assertEquals(2, this.sqlgGraph.traversal().V(b.id()).in("ab").count().next(), 0);
+        Assert.assertEquals(2, this.sqlgGraph.traversal().E(e2.id()).next().<Integer>value("weight"), 0);
+    }
+
+    @Test
+    public void testReadYourWrites() {
+        for (int i = 0; i < 10; i++) {
+            this.sqlgGraph.addVertex(T.label, "A", "index", i);
+        }
+        Assert.assertEquals(10, this.sqlgGraph.traversal().V().hasLabel("A").count().next(), 0);
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A", "index", 10);
+        a.property("name", "a");
+        Assert.assertEquals("a", this.sqlgGraph.traversal().V().hasLabel("A").has("index", 10).next().value("name"));
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(11, this.sqlgGraph.traversal().V().hasLabel("A").count().next(), 0);
+    }
+
+    @Test
+    public void testRollback() {
+        this.sqlgGraph.addVertex(T.label, "A", "name", "a");
+        this.sqlgGraph.tx().commit();
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "aa");
+        Assert.assertNotNull(a.id());
+        this.sqlgGraph.tx().rollback();
+        Assert.assertEquals(1, this.sqlgGraph.traversal().V().hasLabel("A").count().next(), 0);
+    }
+
+    @Test
+    public void testUserSuppliedIdentifiers() {
+        this.sqlgGraph.getTopology().getPublicSchema().ensureVertexLabelExist(
+                "Person",
+                new LinkedHashMap<>() {{
+                    put("name", PropertyDefinition.of(PropertyType.varChar(100)));
+                    put("surname", PropertyDefinition.of(PropertyType.varChar(100)));
+                }},
+                ListOrderedSet.listOrderedSet(List.of("name", "surname"))
+        );
+        this.sqlgGraph.tx().commit();
+        Vertex person = this.sqlgGraph.addVertex(T.label, "Person", "name", "John", "surname", "Smith");
+        Object id = person.id();
+        Assert.assertNotNull(id);
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(id, this.sqlgGraph.traversal().V().hasLabel("Person").next().id());
+        Assert.assertEquals("Smith", this.sqlgGraph.traversal().V(id).next().value("surname"));
+    }
+
+    @Test
+    public void testPropertylessEdgeIsNotLoadedBeforeFlush() {
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A");
+        Vertex b = this.sqlgGraph.addVertex(T.label, "B");
+        Edge e = a.addEdge("ab", b);
+        Assert.assertNotNull(e.id());
+        //the edge is still cached, there is no row to load it from
+        Assert.assertFalse(e.properties().hasNext());
+        Assert.assertEquals(a, e.outVertex());
+        Assert.assertEquals(b, e.inVertex());
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(e, this.sqlgGraph.traversal().E(e.id()).next());
+    }
+
+    @Test
+    public void testExplicitBatchModeEndsAutoBatchMode() {
+        this.sqlgGraph.tx().readWrite();
+        Assert.assertTrue(this.sqlgGraph.tx().getBatchManager().isAutoBatchMode());
+        this.sqlgGraph.tx().normalBatchModeOn();
+        Assert.assertFalse(this.sqlgGraph.tx().getBatchManager().isAutoBatchMode());
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a");
+        //normal batch mode allocates the id on flush
+        Assert.assertNull(a.id());
+        this.sqlgGraph.tx().commit();
+        Assert.assertNotNull(a.id());
+
+        this.sqlgGraph.tx().readWrite();
+        Assert.assertTrue(this.sqlgGraph.tx().getBatchManager().isAutoBatchMode());
+        this.sqlgGraph.tx().batchModeOff();
+        Assert.assertFalse(this.sqlgGraph.tx().getBatchManager().isAutoBatchMode());
+        Assert.assertFalse(this.sqlgGraph.tx().isInBatchMode());
+        this.sqlgGraph.tx().commit();
+    }
+}
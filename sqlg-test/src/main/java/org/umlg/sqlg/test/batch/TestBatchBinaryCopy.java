@@ -0,0 +1,156 @@
+package org.umlg.sqlg.test.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.*;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.structure.SqlgVertex;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.time.*;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Tests batch mode and streaming with postgres' binary COPY format switched on via 'copy.binary'.
+ * Date: 2026/10/18
+ */
+public class TestBatchBinaryCopy extends BaseTest {
+
+    @BeforeClass
+    public static void beforeClass() {
+        BaseTest.beforeClass();
+        configuration.addProperty("copy.binary", true);
+    }
+
+    @Before
+    public void beforeTest() {
+        Assume.assumeTrue(isPostgres());
+    }
+
+    @Test
+    public void testNormalBatchModeAllTypes() {
+        ObjectNode json = new ObjectMapper().createObjectNode();
+        json.put("username", "john\t\"doe\"\n");
+        LocalDateTime localDateTime = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        LocalDate localDate = LocalDate.now();
+        LocalTime localTime = LocalTime.now().truncatedTo(ChronoUnit.SECONDS);
+        ZonedDateTime zonedDateTime = ZonedDateTime.of(localDateTime, ZoneId.of("Africa/Johannesburg"));
+        Period period = Period.of(1, 2, 3);
+        Duration duration = Duration.ofSeconds(5, 6);
+        UUID uuid = UUID.randomUUID();
+
+        this.sqlgGraph.tx().normalBatchModeOn();
+        for (int i = 0; i < 100; i++) {
+            this.sqlgGraph.addVertex(T.label, "A",
+                    "string", "a\t" + i + "\\ \u0001",
+                    "boolean", i % 2 == 0,
+                    "short", (short) i,
+                    "integer", i,
+                    "long", (long) i,
+                    "float", (float) i,
+                    "double", (double) i,
+                    "localDateTime", localDateTime,
+                    "localDate", localDate,
+                    "localTime", localTime,
+                    "zonedDateTime", zonedDateTime,
+                    "period", period,
+                    "duration", duration,
+                    "json", json,
+                    "uuid", uuid,
+                    "bytes", new byte[]{1, 2, 3},
+                    "ints", new int[]{i, i + 1},
+                    "longs", new Long[]{(long) i, (long) i + 1},
+                    "strings", new String[]{"a,{b}", "c d", ""},
+                    "localDateTimes", new LocalDateTime[]{localDateTime, localDateTime.plusDays(1)},
+                    "zonedDateTimes", new ZonedDateTime[]{zonedDateTime},
+                    "periods", new Period[]{period, Period.of(3, 2, 1)},
+                    "durations", new Duration[]{duration}
+            );
+        }
+        this.sqlgGraph.tx().commit();
+        assertAllTypes(this.sqlgGraph, json, localDateTime, localDate, localTime, zonedDateTime, period, duration, uuid);
+    }
+
+    private void assertAllTypes(SqlgGraph sqlgGraph, ObjectNode json, LocalDateTime localDateTime, LocalDate localDate, LocalTime localTime, ZonedDateTime zonedDateTime, Period period, Duration duration, UUID uuid) {
+        List<Vertex> vertices = sqlgGraph.traversal().V().hasLabel("A").order().by("integer").toList();
+        Assert.assertEquals(100, vertices.size());
+        for (int i = 0; i < 100; i++) {
+            Vertex a = vertices.get(i);
+            Assert.assertEquals("a\t" + i + "\\ \u0001", a.value("string"));
+            Assert.assertEquals(i % 2 == 0, a.value("boolean"));
+            Assert.assertEquals(Short.valueOf((short) i), a.value("short"));
+            Assert.assertEquals(Integer.valueOf(i), a.value("integer"));
+            Assert.assertEquals(Long.valueOf(i), a.value("long"));
+            Assert.assertEquals(Float.valueOf(i), a.value("float"));
+            Assert.assertEquals(Double.valueOf(i), a.value("double"));
+            Assert.assertEquals(localDateTime, a.value("localDateTime"));
+            Assert.assertEquals(localDate, a.value("localDate"));
+            Assert.assertEquals(localTime, a.value("localTime"));
+            Assert.assertEquals(zonedDateTime, a.value("zonedDateTime"));
+            Assert.assertEquals(period, a.value("period"));
+            Assert.assertEquals(duration, a.value("duration"));
+            Assert.assertEquals(json, a.value("json"));
+            Assert.assertEquals(uuid, a.value("uuid"));
+            Assert.assertArrayEquals(new byte[]{1, 2, 3}, a.value("bytes"));
+            Assert.assertArrayEquals(new int[]{i, i + 1}, a.value("ints"));
+            Assert.assertArrayEquals(new Long[]{(long) i, (long) i + 1}, a.value("longs"));
+            Assert.assertArrayEquals(new String[]{"a,{b}", "c d", ""}, a.value("strings"));
+            Assert.assertArrayEquals(new LocalDateTime[]{localDateTime, localDateTime.plusDays(1)}, a.value("localDateTimes"));
+            Assert.assertArrayEquals(new ZonedDateTime[]{zonedDateTime}, a.value("zonedDateTimes"));
+            Assert.assertArrayEquals(new Period[]{period, Period.of(3, 2, 1)}, a.value("periods"));
+            Assert.assertArrayEquals(new Duration[]{duration}, a.value("durations"));
+        }
+    }
+
+    @Test
+    public void testNormalBatchModeNullsAndEdges() {
+        this.sqlgGraph.tx().normalBatchModeOn();
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1", "age", 1);
+        Vertex a2 = this.sqlgGraph.addVertex(T.label, "A", "name", "a2");
+        Vertex b1 = this.sqlgGraph.addVertex(T.label, "B");
+        a1.addEdge("ab", b1, "weight", 1.5D, "period", Period.of(1, 1, 1));
+        a2.addEdge("ab", b1);
+        this.sqlgGraph.tx().commit();
+
+        Assert.assertEquals(1, (int) this.sqlgGraph.traversal().V(a1.id()).next().value("age"));
+        Assert.assertFalse(this.sqlgGraph.traversal().V(a2.id()).next().property("age").isPresent());
+        Assert.assertEquals(2, this.sqlgGraph.traversal().V().hasLabel("B").in("ab").count().next(), 0);
+        Edge edge = this.sqlgGraph.traversal().V(a1.id()).outE("ab").next();
+        Assert.assertEquals(1.5D, edge.<Double>value("weight"), 0D);
+        Assert.assertEquals(Period.of(1, 1, 1), edge.value("period"));
+        Assert.assertFalse(this.sqlgGraph.traversal().V(a2.id()).outE("ab").next().property("weight").isPresent());
+    }
+
+    @Test
+    public void testStreamingVerticesAndEdges() {
+        this.sqlgGraph.tx().streamingBatchModeOn();
+        for (int i = 0; i < 1000; i++) {
+            this.sqlgGraph.streamVertex(T.label, "A", "name", "a" + i, "index", i);
+        }
+        this.sqlgGraph.tx().flush();
+        for (int i = 0; i < 1000; i++) {
+            this.sqlgGraph.streamVertex(T.label, "B", "name", "b" + i);
+        }
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(1000, this.sqlgGraph.traversal().V().hasLabel("A").count().next(), 0);
+        Assert.assertEquals(999, (int) this.sqlgGraph.traversal().V().hasLabel("A").has("name", "a999").values("index").next());
+
+        List<Vertex> as = this.sqlgGraph.traversal().V().hasLabel("A").toList();
+        List<Vertex> bs = this.sqlgGraph.traversal().V().hasLabel("B").toList();
+        this.sqlgGraph.tx().streamingBatchModeOn();
+        for (int i = 0; i < 1000; i++) {
+            LinkedHashMap<String, Object> keyValues = new LinkedHashMap<>();
+            keyValues.put("weight", i);
+            ((SqlgVertex) as.get(i)).streamEdge("ab", bs.get(i), keyValues);
+        }
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(1000, this.sqlgGraph.traversal().E().hasLabel("ab").count().next(), 0);
+        Assert.assertEquals(1000, this.sqlgGraph.traversal().V().hasLabel("A").out("ab").count().next(), 0);
+    }
+}
@@ -0,0 +1,130 @@
+package org.umlg.sqlg.test.batch;
+
+import org.apache.commons.collections4.set.ListOrderedSet;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.*;
+import org.umlg.sqlg.structure.PropertyDefinition;
+import org.umlg.sqlg.structure.PropertyType;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.util.*;
+
+/**
+ * Tests the normal batch mode flush in chunks, see 'batch.flush.chunk.size', and the automatic flush once
+ * 'batch.flush.rows' elements are cached.
+ * Date: 2026/10/18
+ */
+public class TestBatchChunkedFlush extends BaseTest {
+
+    @BeforeClass
+    public static void beforeClass() {
+        BaseTest.beforeClass();
+        //more than one chunk per label
+        configuration.addProperty("batch.flush.chunk.size", 7);
+        configuration.addProperty("batch.flush.rows", 25);
+        configuration.addProperty("batch.flush.multi.row.values", true);
+    }
+
+    @Before
+    public void beforeTest() {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsBatchMode());
+    }
+
+    @Test
+    public void testFlushInChunks() {
+        this.sqlgGraph.tx().normalBatchModeOn();
+        List<Vertex> as = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            as.add(this.sqlgGraph.addVertex(T.label, "A", "name", "a" + i));
+        }
+        Vertex b = this.sqlgGraph.addVertex(T.label, "B");
+        this.sqlgGraph.tx().flush();
+        Set<Object> ids = new HashSet<>();
+        for (Vertex a : as) {
+            Assert.assertNotNull(a.id());
+            ids.add(a.id());
+        }
+        Assert.assertEquals(20, ids.size());
+        for (Vertex a : as) {
+            a.addEdge("ab", b, "weight", a.<String>value("name"));
+        }
+        this.sqlgGraph.tx().commit();
+        for (Vertex a : as) {
+            Vertex other = this.sqlgGraph.traversal().V(a.id()).out("ab").next();
+            Assert.assertEquals(b, other);
+            Assert.assertEquals(a.<String>value("name"), this.sqlgGraph.traversal().V(a.id()).outE("ab").next().value("weight"));
+        }
+        Assert.assertEquals(20, this.sqlgGraph.traversal().E().hasLabel("ab").count().next(), 0);
+    }
+
+    @Test
+    public void testAutoFlushOnRows() {
+        this.sqlgGraph.tx().normalBatchModeOn();
+        List<Vertex> vertices = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            vertices.add(this.sqlgGraph.addVertex(T.label, "A", "index", i));
+        }
+        //the first 25 are flushed
+        for (int i = 0; i < 25; i++) {
+            Assert.assertNotNull(vertices.get(i).id());
+        }
+        for (int i = 25; i < 30; i++) {
+            Assert.assertNull(vertices.get(i).id());
+        }
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(30, this.sqlgGraph.traversal().V().hasLabel("A").count().next(), 0);
+    }
+
+    @Test
+    public void testAutoFlushEdgesOfFlushedVertices() {
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A");
+        this.sqlgGraph.tx().commit();
+        this.sqlgGraph.tx().normalBatchModeOn();
+        for (int i = 0; i < 60; i++) {
+            Vertex b = this.sqlgGraph.addVertex(T.label, "B", "index", i);
+            a.addEdge("ab", b);
+        }
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(60, this.sqlgGraph.traversal().V(a.id()).out("ab").count().next(), 0);
+        Assert.assertEquals(60, this.sqlgGraph.traversal().E().hasLabel("ab").toList().stream().map(Edge::id).distinct().count());
+    }
+
+    @Test
+    public void testAutoFlushPropertyUpdates() {
+        for (int i = 0; i < 40; i++) {
+            this.sqlgGraph.addVertex(T.label, "A", "index", i);
+        }
+        this.sqlgGraph.tx().commit();
+        this.sqlgGraph.tx().normalBatchModeOn();
+        for (Vertex vertex : this.sqlgGraph.traversal().V().hasLabel("A").toList()) {
+            vertex.property("index", vertex.<Integer>value("index") + 100);
+        }
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(0, this.sqlgGraph.traversal().V().hasLabel("A").has("index", P.lt(100)).count().next(), 0);
+    }
+
+    @Test
+    public void testFlushInChunksWithIdentifiers() {
+        this.sqlgGraph.getTopology().getPublicSchema().ensureVertexLabelExist(
+                "Person",
+                new LinkedHashMap<>() {{
+                    put("name", PropertyDefinition.of(PropertyType.varChar(100)));
+                    put("surname", PropertyDefinition.of(PropertyType.varChar(100)));
+                }},
+                ListOrderedSet.listOrderedSet(List.of("name", "surname"))
+        );
+        this.sqlgGraph.tx().commit();
+        this.sqlgGraph.tx().normalBatchModeOn();
+        Vertex first = this.sqlgGraph.addVertex(T.label, "Person", "name", "n0", "surname", "s0");
+        for (int i = 1; i < 20; i++) {
+            Vertex person = this.sqlgGraph.addVertex(T.label, "Person", "name", "n" + i, "surname", "s" + i);
+            first.addEdge("knows", person);
+        }
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(20, this.sqlgGraph.traversal().V().hasLabel("Person").count().next(), 0);
+        Assert.assertEquals(19, this.sqlgGraph.traversal().V().hasLabel("Person").has("name", "n0").out("knows").count().next(), 0);
+    }
+}
@@ -0,0 +1,135 @@
+package org.umlg.sqlg.test.batch;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.umlg.sqlg.test.BaseTest;
+
+/**
+ * Tests that a query in normal batch mode only flushes the labels it reads.
+ * In normal batch mode a cached element gets its id when it is flushed.
+ * Date: 2026/10/18
+ */
+public class TestBatchLabelScopedFlush extends BaseTest {
+
+    @Before
+    public void beforeTest() {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsBatchMode());
+    }
+
+    //creating a label in batch mode flushes everything, the labels are created first.
+    private void createLabels() {
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a0");
+        a.addEdge("ab", this.sqlgGraph.addVertex(T.label, "B", "name", "b0"));
+        a.addEdge("ac", this.sqlgGraph.addVertex(T.label, "C", "name", "c0"));
+        this.sqlgGraph.addVertex(T.label, "D", "name", "d0");
+        this.sqlgGraph.tx().commit();
+    }
+
+    @Test
+    public void testQueryFlushesItsLabelOnly() {
+        createLabels();
+        this.sqlgGraph.tx().normalBatchModeOn();
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a");
+        Vertex b = this.sqlgGraph.addVertex(T.label, "B", "name", "b");
+        Assert.assertNull(a.id());
+        Assert.assertNull(b.id());
+
+        Assert.assertEquals(2, this.sqlgGraph.traversal().V().hasLabel("A").count().next(), 0);
+        Assert.assertNotNull(a.id());
+        Assert.assertNull(b.id());
+
+        Assert.assertEquals("b", this.sqlgGraph.traversal().V().hasLabel("B").has("name", "b").next().value("name"));
+        Assert.assertNotNull(b.id());
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(6, this.sqlgGraph.traversal().V().count().next(), 0);
+    }
+
+    @Test
+    public void testEdgeFlushesItsVertices() {
+        createLabels();
+        this.sqlgGraph.tx().normalBatchModeOn();
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a");
+        Vertex b = this.sqlgGraph.addVertex(T.label, "B", "name", "b");
+        Vertex c = this.sqlgGraph.addVertex(T.label, "C", "name", "c");
+        Edge ab = a.addEdge("ab", b);
+        Edge ac = a.addEdge("ac", c);
+
+        Assert.assertEquals(1, this.sqlgGraph.traversal().V().hasLabel("D").count().next(), 0);
+        Assert.assertNull(a.id());
+
+        Assert.assertEquals(2, this.sqlgGraph.traversal().E().hasLabel("ab").count().next(), 0);
+        Assert.assertNotNull(ab.id());
+        Assert.assertNotNull(a.id());
+        Assert.assertNotNull(b.id());
+        Assert.assertNull(c.id());
+        Assert.assertNull(ac.id());
+
+        Assert.assertEquals(c, this.sqlgGraph.traversal().V(a.id()).out("ac").next());
+        Assert.assertNotNull(c.id());
+        Assert.assertNotNull(ac.id());
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(2, this.sqlgGraph.traversal().V(a.id()).out().count().next(), 0);
+    }
+
+    @Test
+    public void testUpdatedPropertiesAreFlushed() {
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a");
+        Vertex b = this.sqlgGraph.addVertex(T.label, "B", "name", "b");
+        this.sqlgGraph.tx().commit();
+        this.sqlgGraph.tx().normalBatchModeOn();
+        b = this.sqlgGraph.traversal().V(b.id()).next();
+        a.property("name", "aa");
+        b.property("name", "bb");
+        Assert.assertEquals(1, this.sqlgGraph.traversal().V().hasLabel("A").has("name", "aa").count().next(), 0);
+        Assert.assertEquals(1, this.sqlgGraph.traversal().V().hasLabel("B").has("name", "bb").count().next(), 0);
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals("aa", this.sqlgGraph.traversal().V(a.id()).next().value("name"));
+        Assert.assertEquals("bb", this.sqlgGraph.traversal().V(b.id()).next().value("name"));
+    }
+
+    @Test
+    public void testTraversalFromCachedVertex() {
+        createLabels();
+        this.sqlgGraph.tx().normalBatchModeOn();
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a");
+        Vertex b = this.sqlgGraph.addVertex(T.label, "B", "name", "b");
+        a.addEdge("ab", b);
+        //the vertex has no id yet, everything is flushed first.
+        Assert.assertEquals(b, this.sqlgGraph.traversal().V(a).out("ab").next());
+        Assert.assertNotNull(a.id());
+        this.sqlgGraph.tx().commit();
+    }
+
+    @Test
+    public void testDropFlushesTheEdgesOfTheLabel() {
+        createLabels();
+        Vertex a = this.sqlgGraph.traversal().V().hasLabel("A").next();
+        this.sqlgGraph.tx().normalBatchModeOn();
+        Vertex b = this.sqlgGraph.addVertex(T.label, "B", "name", "b");
+        a.addEdge("ab", b);
+        this.sqlgGraph.traversal().V().hasLabel("A").drop().iterate();
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(0, this.sqlgGraph.traversal().V().hasLabel("A").count().next(), 0);
+        Assert.assertEquals(0, this.sqlgGraph.traversal().E().hasLabel("ab").count().next(), 0);
+        Assert.assertEquals(2, this.sqlgGraph.traversal().V().hasLabel("B").count().next(), 0);
+    }
+
+    @Test
+    public void testRemovedVertexFlushesEverything() {
+        createLabels();
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a");
+        this.sqlgGraph.tx().commit();
+        this.sqlgGraph.tx().normalBatchModeOn();
+        Vertex b = this.sqlgGraph.addVertex(T.label, "B", "name", "b");
+        this.sqlgGraph.traversal().V(a.id()).next().remove();
+        Assert.assertEquals(1, this.sqlgGraph.traversal().V().hasLabel("D").count().next(), 0);
+        Assert.assertNotNull(b.id());
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(1, this.sqlgGraph.traversal().V().hasLabel("A").count().next(), 0);
+    }
+}
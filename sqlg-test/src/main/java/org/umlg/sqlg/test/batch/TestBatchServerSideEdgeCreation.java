@@ -38,7 +38,7 @@ public class TestBatchServerSideEdgeCreation extends BaseTest {
 
     @Before
     public void beforeTest() {
-        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsStreamingBatchMode());
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsCopyCommand());
     }
 
     private void testBulkEdges_assert(SqlgGraph sqlgGraph) { assertEquals(10, sqlgGraph.traversal().V().hasLabel("A").count().next(), 0);
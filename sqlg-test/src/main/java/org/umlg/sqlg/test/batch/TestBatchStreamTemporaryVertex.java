@@ -32,7 +32,7 @@ public class TestBatchStreamTemporaryVertex extends BaseTest {
 
     @Before
     public void beforeTest() {
-        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsStreamingBatchMode());
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsCopyCommand());
     }
 
     @Test
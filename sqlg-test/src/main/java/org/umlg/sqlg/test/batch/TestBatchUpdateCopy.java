@@ -0,0 +1,141 @@
+package org.umlg.sqlg.test.batch;
+
+import org.apache.commons.collections4.set.ListOrderedSet;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.*;
+import org.umlg.sqlg.structure.PropertyDefinition;
+import org.umlg.sqlg.structure.PropertyType;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Tests batch mode property updates streamed with COPY into a temporary table, see 'batch.update.copy.threshold'.
+ * Date: 2026/10/18
+ */
+public class TestBatchUpdateCopy extends BaseTest {
+
+    @BeforeClass
+    public static void beforeClass() {
+        BaseTest.beforeClass();
+        configuration.addProperty("batch.update.copy.threshold", 1);
+        //more than one chunk per label
+        configuration.addProperty("batch.update.copy.chunk.size", 7);
+    }
+
+    @Before
+    public void beforeTest() {
+        Assume.assumeTrue(isPostgres());
+    }
+
+    @Test
+    public void testUpdateVertices() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        ZonedDateTime zonedNow = ZonedDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        for (int i = 0; i < 50; i++) {
+            this.sqlgGraph.addVertex(T.label, "A", "name", "a" + i, "age", i, "created", now, "zoned", zonedNow, "scores", new int[]{i});
+        }
+        this.sqlgGraph.tx().commit();
+
+        this.sqlgGraph.tx().normalBatchModeOn();
+        for (Vertex vertex : this.sqlgGraph.traversal().V().hasLabel("A").toList()) {
+            int age = vertex.value("age");
+            vertex.property("name", "name\t\"" + age);
+            vertex.property("created", now.plusDays(age));
+            vertex.property("zoned", zonedNow.plusDays(age));
+            vertex.property("scores", new int[]{age, age + 1});
+        }
+        this.sqlgGraph.tx().commit();
+
+        List<Vertex> vertices = this.sqlgGraph.traversal().V().hasLabel("A").toList();
+        Assert.assertEquals(50, vertices.size());
+        for (Vertex vertex : vertices) {
+            int age = vertex.value("age");
+            Assert.assertEquals("name\t\"" + age, vertex.value("name"));
+            Assert.assertEquals(now.plusDays(age), vertex.value("created"));
+            Assert.assertEquals(zonedNow.plusDays(age), vertex.value("zoned"));
+            Assert.assertArrayEquals(new int[]{age, age + 1}, vertex.value("scores"));
+        }
+    }
+
+    @Test
+    public void testMissingPropertiesKeepTheirValue() {
+        List<Vertex> vertices = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            vertices.add(this.sqlgGraph.addVertex(T.label, "A", "name", "a" + i, "surname", "s" + i));
+        }
+        this.sqlgGraph.tx().commit();
+        this.sqlgGraph.tx().normalBatchModeOn();
+        for (int i = 0; i < 20; i++) {
+            Vertex vertex = this.sqlgGraph.traversal().V(vertices.get(i).id()).next();
+            if (i % 2 == 0) {
+                vertex.property("name", "name" + i);
+            } else {
+                vertex.property("surname", "t" + i);
+            }
+        }
+        this.sqlgGraph.tx().commit();
+        for (int i = 0; i < 20; i++) {
+            Vertex vertex = this.sqlgGraph.traversal().V(vertices.get(i).id()).next();
+            if (i % 2 == 0) {
+                Assert.assertEquals("name" + i, vertex.value("name"));
+                Assert.assertEquals("s" + i, vertex.value("surname"));
+            } else {
+                Assert.assertEquals("a" + i, vertex.value("name"));
+                Assert.assertEquals("t" + i, vertex.value("surname"));
+            }
+        }
+    }
+
+    @Test
+    public void testUpdateEdges() {
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A");
+        for (int i = 0; i < 30; i++) {
+            a.addEdge("ab", this.sqlgGraph.addVertex(T.label, "B"), "weight", i);
+        }
+        this.sqlgGraph.tx().commit();
+        this.sqlgGraph.tx().normalBatchModeOn();
+        for (Edge edge : this.sqlgGraph.traversal().E().hasLabel("ab").toList()) {
+            edge.property("weight", edge.<Integer>value("weight") * 10);
+        }
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(30, this.sqlgGraph.traversal().E().hasLabel("ab").toList().size());
+        for (Edge edge : this.sqlgGraph.traversal().E().hasLabel("ab").toList()) {
+            Assert.assertEquals(0, edge.<Integer>value("weight") % 10);
+        }
+        Assert.assertEquals(2900, this.sqlgGraph.traversal().E().hasLabel("ab").values("weight").max().next());
+    }
+
+    @Test
+    public void testUpdateWithIdentifiers() {
+        this.sqlgGraph.getTopology().getPublicSchema().ensureVertexLabelExist(
+                "Person",
+                new LinkedHashMap<>() {{
+                    put("name", PropertyDefinition.of(PropertyType.varChar(100)));
+                    put("surname", PropertyDefinition.of(PropertyType.varChar(100)));
+                    put("age", PropertyDefinition.of(PropertyType.INTEGER));
+                }},
+                ListOrderedSet.listOrderedSet(List.of("name", "surname"))
+        );
+        for (int i = 0; i < 15; i++) {
+            this.sqlgGraph.addVertex(T.label, "Person", "name", "n" + i, "surname", "s" + i, "age", i);
+        }
+        this.sqlgGraph.tx().commit();
+        this.sqlgGraph.tx().normalBatchModeOn();
+        for (Vertex vertex : this.sqlgGraph.traversal().V().hasLabel("Person").toList()) {
+            vertex.property("age", vertex.<Integer>value("age") + 100);
+        }
+        this.sqlgGraph.tx().commit();
+        for (int i = 0; i < 15; i++) {
+            Vertex vertex = this.sqlgGraph.traversal().V().hasLabel("Person").has("name", "n" + i).next();
+            Assert.assertEquals(i + 100, vertex.<Integer>value("age"), 0);
+        }
+    }
+}
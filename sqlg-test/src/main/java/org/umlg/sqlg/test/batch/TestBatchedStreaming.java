@@ -15,6 +15,7 @@ import org.umlg.sqlg.structure.SqlgGraph;
 import org.umlg.sqlg.test.BaseTest;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Date: 2015/10/03
@@ -34,7 +35,7 @@ public class TestBatchedStreaming extends BaseTest {
 
     @Before
     public void beforeTest() {
-        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsStreamingBatchMode());
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsCopyCommand());
     }
 
     @Test
@@ -57,7 +58,7 @@ public class TestBatchedStreaming extends BaseTest {
 
     @Test
     public void testWithLock() {
-        Assume.assumeTrue(sqlgGraph.getSqlDialect().supportsStreamingBatchMode());
+        Assume.assumeTrue(sqlgGraph.getSqlDialect().supportsCopyCommand());
         int size = 1_000_000;
 
         Map<String, PropertyDefinition> properties = new HashMap<>();
@@ -82,6 +83,49 @@ public class TestBatchedStreaming extends BaseTest {
         Assert.assertEquals(size, this.sqlgGraph.traversal().V().hasLabel("A").count().next(), 0L);
     }
     
+    @Test
+    public void testStreamingWithLockConcurrentIds() throws InterruptedException {
+        this.sqlgGraph.getTopology().getPublicSchema().ensureVertexLabelExist("A", new HashMap<>() {{
+            put("name", PropertyDefinition.of(PropertyType.STRING));
+        }});
+        this.sqlgGraph.tx().commit();
+        Vertex before = this.sqlgGraph.addVertex(T.label, "A", "name", "before");
+        this.sqlgGraph.tx().commit();
+
+        int threads = 4;
+        int count = 2_500;
+        Map<Object, String> ids = new ConcurrentHashMap<>();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final int thread = t;
+            workers.add(new Thread(() -> {
+                this.sqlgGraph.tx().streamingWithLockBatchModeOn();
+                for (int i = 0; i < count; i++) {
+                    String name = "thread_" + thread + "_" + i;
+                    Vertex v = this.sqlgGraph.addVertex(T.label, "A", "name", name);
+                    ids.put(v.id(), name);
+                }
+                this.sqlgGraph.tx().commit();
+            }));
+        }
+        workers.forEach(Thread::start);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        Vertex after = this.sqlgGraph.addVertex(T.label, "A", "name", "after");
+        this.sqlgGraph.tx().commit();
+
+        Assert.assertEquals(threads * count, ids.size());
+        Assert.assertFalse(ids.containsKey(before.id()));
+        Assert.assertFalse(ids.containsKey(after.id()));
+        Assert.assertEquals(threads * count + 2, this.sqlgGraph.traversal().V().hasLabel("A").count().next(), 0L);
+        List<Vertex> vertices = this.sqlgGraph.traversal().V(ids.keySet().toArray()).toList();
+        Assert.assertEquals(threads * count, vertices.size());
+        for (Vertex vertex : vertices) {
+            Assert.assertEquals(ids.get(vertex.id()), vertex.value("name"));
+        }
+    }
+
     @Test
     public void testNullProperties() throws InterruptedException {
         this.sqlgGraph.tx().streamingBatchModeOn();
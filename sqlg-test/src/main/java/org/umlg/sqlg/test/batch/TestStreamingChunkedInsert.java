@@ -0,0 +1,124 @@
+package org.umlg.sqlg.test.batch;
+
+import org.apache.commons.collections4.set.ListOrderedSet;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.*;
+import org.umlg.sqlg.structure.PropertyDefinition;
+import org.umlg.sqlg.structure.PropertyType;
+import org.umlg.sqlg.structure.SqlgVertex;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Tests streaming batch mode across more than one chunk, see 'batch.streaming.chunk.size'.
+ * Date: 2026/10/18
+ */
+public class TestStreamingChunkedInsert extends BaseTest {
+
+    @BeforeClass
+    public static void beforeClass() {
+        BaseTest.beforeClass();
+        //more than one chunk per label
+        configuration.addProperty("batch.streaming.chunk.size", 7);
+    }
+
+    @Before
+    public void beforeTest() {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsStreamingBatchMode());
+    }
+
+    @Test
+    public void testStreamVertices() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        this.sqlgGraph.tx().streamingBatchModeOn();
+        for (int i = 0; i < 50; i++) {
+            LinkedHashMap<String, Object> keyValues = new LinkedHashMap<>();
+            keyValues.put("name", "a\t\\" + i);
+            keyValues.put("age", i);
+            keyValues.put("created", now.plusDays(i));
+            keyValues.put("born", LocalDate.of(2000, 1, 1).plusDays(i));
+            keyValues.put("surname", i % 2 == 0 ? null : "s" + i);
+            this.sqlgGraph.streamVertex("A", keyValues);
+        }
+        this.sqlgGraph.tx().commit();
+        List<Vertex> vertices = this.sqlgGraph.traversal().V().hasLabel("A").toList();
+        Assert.assertEquals(50, vertices.size());
+        for (Vertex vertex : vertices) {
+            int age = vertex.value("age");
+            Assert.assertEquals("a\t\\" + age, vertex.value("name"));
+            Assert.assertEquals(now.plusDays(age), vertex.value("created"));
+            Assert.assertEquals(LocalDate.of(2000, 1, 1).plusDays(age), vertex.value("born"));
+            Assert.assertEquals(age % 2 != 0, vertex.property("surname").isPresent());
+        }
+    }
+
+    @Test
+    public void testStreamVerticesWithoutProperties() {
+        this.sqlgGraph.tx().streamingBatchModeOn();
+        for (int i = 0; i < 20; i++) {
+            this.sqlgGraph.streamVertex("A", new LinkedHashMap<>());
+        }
+        this.sqlgGraph.tx().flush();
+        for (int i = 0; i < 3; i++) {
+            this.sqlgGraph.streamVertex("B", new LinkedHashMap<>());
+        }
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(20, this.sqlgGraph.traversal().V().hasLabel("A").count().next(), 0);
+        Assert.assertEquals(3, this.sqlgGraph.traversal().V().hasLabel("B").count().next(), 0);
+    }
+
+    @Test
+    public void testStreamEdges() {
+        List<SqlgVertex> as = new ArrayList<>();
+        List<SqlgVertex> bs = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            as.add((SqlgVertex) this.sqlgGraph.addVertex(T.label, "A", "index", i));
+            bs.add((SqlgVertex) this.sqlgGraph.addVertex(T.label, "B", "index", i));
+        }
+        this.sqlgGraph.tx().commit();
+        this.sqlgGraph.tx().streamingBatchModeOn();
+        for (int i = 0; i < 30; i++) {
+            LinkedHashMap<String, Object> keyValues = new LinkedHashMap<>();
+            keyValues.put("weight", i);
+            as.get(i).streamEdge("ab", bs.get(i), keyValues);
+        }
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(30, this.sqlgGraph.traversal().E().hasLabel("ab").count().next(), 0);
+        for (int i = 0; i < 30; i++) {
+            List<Vertex> others = this.sqlgGraph.traversal().V().hasLabel("A").has("index", i).out("ab").toList();
+            Assert.assertEquals(1, others.size());
+            Assert.assertEquals(i, others.get(0).<Integer>value("index"), 0);
+        }
+        Assert.assertEquals(29, this.sqlgGraph.traversal().E().hasLabel("ab").values("weight").max().next());
+    }
+
+    @Test
+    public void testStreamEdgesWithIdentifiers() {
+        this.sqlgGraph.getTopology().getPublicSchema().ensureVertexLabelExist(
+                "Person",
+                new LinkedHashMap<>() {{
+                    put("name", PropertyDefinition.of(PropertyType.varChar(100)));
+                    put("surname", PropertyDefinition.of(PropertyType.varChar(100)));
+                }},
+                ListOrderedSet.listOrderedSet(List.of("name", "surname"))
+        );
+        List<SqlgVertex> persons = new ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            persons.add((SqlgVertex) this.sqlgGraph.addVertex(T.label, "Person", "name", "n" + i, "surname", "s" + i));
+        }
+        this.sqlgGraph.tx().commit();
+        this.sqlgGraph.tx().streamingBatchModeOn();
+        for (int i = 1; i < 15; i++) {
+            persons.get(0).streamEdge("knows", persons.get(i));
+        }
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(14, this.sqlgGraph.traversal().V().hasLabel("Person").has("name", "n0").out("knows").count().next(), 0);
+    }
+}
@@ -20,7 +20,7 @@ public class TestStreamingFromCsvImport extends BaseTest {
 
     @Before
     public void beforeTest() {
-        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsStreamingBatchMode());
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsCopyCommand());
     }
 
     @Test
@@ -18,7 +18,7 @@ public class TestLoadEdgeWithSpecialCharacters extends BaseTest {
 
     @Before
     public void beforeTest() {
-        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsStreamingBatchMode());
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsCopyCommand());
     }
 
     @Test
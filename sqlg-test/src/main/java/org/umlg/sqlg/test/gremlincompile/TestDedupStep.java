@@ -0,0 +1,161 @@
+package org.umlg.sqlg.test.gremlincompile;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.DefaultGraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.DedupGlobalStep;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Test;
+import org.umlg.sqlg.step.SqlgGraphStep;
+import org.umlg.sqlg.structure.QueryEvent;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Tests dedup() executed as 'SELECT DISTINCT ON'.
+ * Date: 2026/10/18
+ */
+public class TestDedupStep extends BaseTest {
+
+    private List<Vertex> fanIn() {
+        List<Vertex> bs = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            bs.add(this.sqlgGraph.addVertex(T.label, "B", "name", "b" + i, "group", i % 2));
+        }
+        for (int i = 0; i < 10; i++) {
+            Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a" + i);
+            for (Vertex b : bs) {
+                a.addEdge("ab", b);
+            }
+        }
+        this.sqlgGraph.tx().commit();
+        return bs;
+    }
+
+    private long rowCount(Runnable runnable) {
+        return queryEvents(this.sqlgGraph, runnable).stream().mapToLong(QueryEvent::rowCount).sum();
+    }
+
+    @Test
+    public void testDedup() {
+        List<Vertex> bs = fanIn();
+        DefaultGraphTraversal<Vertex, Vertex> traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().hasLabel("A").out("ab").dedup();
+        List<Vertex> vertices = traversal.toList();
+        Assert.assertEquals(new HashSet<>(bs), new HashSet<>(vertices));
+        Assert.assertEquals(5, vertices.size());
+        if (this.sqlgGraph.getSqlDialect().supportsDistinctOn()) {
+            Assert.assertEquals(1, traversal.getSteps().size());
+            Assert.assertTrue(traversal.getSteps().get(0) instanceof SqlgGraphStep);
+            Assert.assertEquals(5, rowCount(() -> this.sqlgGraph.traversal().V().hasLabel("A").out("ab").dedup().toList()));
+        } else {
+            Assert.assertTrue(traversal.getSteps().stream().anyMatch(s -> s instanceof DedupGlobalStep));
+        }
+    }
+
+    @Test
+    public void testDedupOrderRange() {
+        List<Vertex> bs = fanIn();
+        DefaultGraphTraversal<Vertex, Vertex> traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().hasLabel("A").out("ab").dedup().order().by("name", Order.desc).limit(2);
+        List<Vertex> vertices = traversal.toList();
+        Assert.assertEquals(List.of(bs.get(4), bs.get(3)), vertices);
+        if (this.sqlgGraph.getSqlDialect().supportsDistinctOn()) {
+            Assert.assertEquals(1, traversal.getSteps().size());
+            Assert.assertEquals(2, rowCount(() -> this.sqlgGraph.traversal().V().hasLabel("A").out("ab").dedup().order().by("name", Order.desc).limit(2).toList()));
+        }
+        vertices = this.sqlgGraph.traversal().V().hasLabel("A").out("ab").dedup().range(1, 3).toList();
+        Assert.assertEquals(2, vertices.size());
+        Assert.assertEquals(2, new HashSet<>(vertices).size());
+    }
+
+    @Test
+    public void testDedupByProperty() {
+        fanIn();
+        this.sqlgGraph.addVertex(T.label, "B", "name", "noGroup");
+        this.sqlgGraph.tx().commit();
+        DefaultGraphTraversal<Vertex, Vertex> traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().hasLabel("B").dedup().by("group");
+        List<Vertex> vertices = traversal.toList();
+        Assert.assertEquals(2, vertices.size());
+        Assert.assertEquals(new HashSet<>(List.of(0, 1)), new HashSet<>(List.of(vertices.get(0).<Integer>value("group"), vertices.get(1).<Integer>value("group"))));
+        if (this.sqlgGraph.getSqlDialect().supportsDistinctOn()) {
+            Assert.assertEquals(1, traversal.getSteps().size());
+        }
+        Assert.assertEquals(2, this.sqlgGraph.traversal().V().hasLabel("A").out("ab").dedup().by("group").toList().size());
+    }
+
+    @Test
+    public void testDedupOverMultipleQueries() {
+        List<Vertex> bs = fanIn();
+        Vertex c = this.sqlgGraph.addVertex(T.label, "C", "name", "c");
+        for (Vertex b : bs) {
+            b.addEdge("ab", c);
+        }
+        this.sqlgGraph.tx().commit();
+        //A and B both have 'ab' edges to the same B and C vertices, every label is a query of its own.
+        List<Vertex> vertices = this.sqlgGraph.traversal().V().hasLabel("A", "B").out("ab").dedup().toList();
+        Assert.assertEquals(6, vertices.size());
+        Assert.assertEquals(6, new HashSet<>(vertices).size());
+        vertices = this.sqlgGraph.traversal().V().hasLabel("A", "B").out("ab").dedup().limit(3).toList();
+        Assert.assertEquals(3, new HashSet<>(vertices).size());
+        vertices = this.sqlgGraph.traversal().V().hasLabel("A", "B").out("ab").dedup().order().by("name").limit(2).toList();
+        Assert.assertEquals(List.of(bs.get(0), bs.get(1)), vertices);
+    }
+
+    @Test
+    public void testDedupDuplicatePath() {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        Vertex a2 = this.sqlgGraph.addVertex(T.label, "A", "name", "a2");
+        Vertex a3 = this.sqlgGraph.addVertex(T.label, "A", "name", "a3");
+        a1.addEdge("aa", a2);
+        a1.addEdge("aa", a3);
+        a2.addEdge("aa", a3);
+        a3.addEdge("aa", a3);
+        this.sqlgGraph.tx().commit();
+        List<Vertex> vertices = this.sqlgGraph.traversal().V().hasLabel("A").out("aa").out("aa").dedup().toList();
+        Assert.assertEquals(List.of(a3), vertices);
+        vertices = this.sqlgGraph.traversal().V().hasLabel("A").out("aa").out("aa").dedup().limit(1).toList();
+        Assert.assertEquals(List.of(a3), vertices);
+    }
+
+    @Test
+    public void testOrderBeforeDedupIsKept() {
+        fanIn();
+        //dedup keeps the first traverser of every group, that is the first in the order before it.
+        DefaultGraphTraversal<Vertex, Vertex> traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().hasLabel("B").order().by("name", Order.desc).dedup().by("group");
+        List<Vertex> vertices = traversal.toList();
+        Assert.assertEquals(List.of("b4", "b3"), vertices.stream().map(v -> v.<String>value("name")).toList());
+        Assert.assertTrue(traversal.getSteps().stream().anyMatch(s -> s instanceof DedupGlobalStep));
+
+        traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().hasLabel("A").out("ab").order().by("name", Order.desc).dedup();
+        vertices = traversal.toList();
+        Assert.assertEquals(List.of("b4", "b3", "b2", "b1", "b0"), vertices.stream().map(v -> v.<String>value("name")).toList());
+        Assert.assertTrue(traversal.getSteps().stream().anyMatch(s -> s instanceof DedupGlobalStep));
+    }
+
+    @Test
+    public void testDedupNotOptimized() {
+        fanIn();
+        //dedup on a labeled element
+        Assert.assertEquals(5, this.sqlgGraph.traversal().V().hasLabel("A").out("ab").as("b").dedup("b").toList().size());
+        //the path is needed
+        Assert.assertEquals(5, this.sqlgGraph.traversal().V().hasLabel("A").as("a").out("ab").dedup().select("a").toList().size());
+        //dedup on the values
+        Assert.assertEquals(2, this.sqlgGraph.traversal().V().hasLabel("A").out("ab").values("group").dedup().toList().size());
+        //dedup per incoming traverser
+        Assert.assertEquals(50, this.sqlgGraph.traversal().V().hasLabel("A").local(__.out("ab").dedup()).toList().size());
+        //a range before the dedup
+        int size = this.sqlgGraph.traversal().V().hasLabel("A").out("ab").limit(2).dedup().toList().size();
+        Assert.assertTrue(size == 1 || size == 2);
+        //count after the dedup
+        Assert.assertEquals(5, this.sqlgGraph.traversal().V().hasLabel("A").out("ab").dedup().count().next(), 0);
+    }
+}
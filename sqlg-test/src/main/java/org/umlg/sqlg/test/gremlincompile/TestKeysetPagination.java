@@ -0,0 +1,148 @@
+package org.umlg.sqlg.test.gremlincompile;
+
+import org.apache.commons.collections4.set.ListOrderedSet;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Test;
+import org.umlg.sqlg.predicate.Keyset;
+import org.umlg.sqlg.structure.QueryEvent;
+import org.umlg.sqlg.structure.PropertyDefinition;
+import org.umlg.sqlg.structure.PropertyType;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Tests keyset pagination with {@link Keyset}.
+ * Date: 2026/10/18
+ */
+public class TestKeysetPagination extends BaseTest {
+
+    private void persons() {
+        //every 'created' value is shared by 3 persons, the pages break on them.
+        for (int i = 0; i < 25; i++) {
+            this.sqlgGraph.addVertex(T.label, "Person", "created", i / 3, "name", "p" + i, "tenant", i % 2 == 0 ? "t1" : "t2");
+        }
+        this.sqlgGraph.tx().commit();
+    }
+
+    private List<Vertex> pages(Order order, int pageSize, String tenant) {
+        List<Vertex> result = new ArrayList<>();
+        Vertex last = null;
+        while (true) {
+            GraphTraversal<Vertex, Vertex> traversal = this.sqlgGraph.traversal().V().hasLabel("Person");
+            if (tenant != null) {
+                traversal = traversal.has("tenant", tenant);
+            }
+            if (last != null) {
+                traversal = traversal.has("created", Keyset.after(order, last, "created"));
+            }
+            List<Vertex> page = traversal.order().by("created", order).by(T.id, order).limit(pageSize).toList();
+            result.addAll(page);
+            if (page.size() < pageSize) {
+                return result;
+            }
+            last = page.get(page.size() - 1);
+        }
+    }
+
+    @Test
+    public void testKeysetAsc() {
+        persons();
+        List<Vertex> expected = this.sqlgGraph.traversal().V().hasLabel("Person").order().by("created").by(T.id).toList();
+        List<Vertex> vertices = new ArrayList<>();
+        List<QueryEvent> queryEvents = queryEvents(this.sqlgGraph, () -> vertices.addAll(pages(Order.asc, 4, null)));
+        Assert.assertEquals(25, vertices.size());
+        Assert.assertEquals(expected, vertices);
+        //6 full pages and the last one
+        Assert.assertEquals(7, queryEvents.size());
+        for (QueryEvent queryEvent : queryEvents) {
+            Assert.assertTrue(queryEvent.rowCount() <= 4);
+        }
+    }
+
+    @Test
+    public void testKeysetDesc() {
+        persons();
+        List<Vertex> expected = this.sqlgGraph.traversal().V().hasLabel("Person").order().by("created", Order.desc).by(T.id, Order.desc).toList();
+        List<Vertex> vertices = pages(Order.desc, 5, null);
+        Assert.assertEquals(expected, vertices);
+        Assert.assertEquals(8, vertices.get(0).<Integer>value("created"), 0);
+    }
+
+    @Test
+    public void testKeysetWithHas() {
+        persons();
+        List<Vertex> expected = this.sqlgGraph.traversal().V().hasLabel("Person").has("tenant", "t1").order().by("created").by(T.id).toList();
+        List<Vertex> vertices = pages(Order.asc, 3, "t1");
+        Assert.assertEquals(13, vertices.size());
+        Assert.assertEquals(expected, vertices);
+    }
+
+    @Test
+    public void testKeysetAfterValue() {
+        persons();
+        Vertex first = this.sqlgGraph.traversal().V().hasLabel("Person").order().by("created").by(T.id).next();
+        List<Vertex> vertices = this.sqlgGraph.traversal().V().hasLabel("Person")
+                .has("created", Keyset.after(Order.asc, 0, first.id()))
+                .order().by("created").by(T.id)
+                .toList();
+        Assert.assertEquals(24, vertices.size());
+        Assert.assertFalse(vertices.contains(first));
+        Assert.assertEquals(0, vertices.get(0).<Integer>value("created"), 0);
+        Assert.assertEquals(0, vertices.get(1).<Integer>value("created"), 0);
+        Assert.assertEquals(1, vertices.get(2).<Integer>value("created"), 0);
+    }
+
+    @Test
+    public void testKeysetOnMultipleColumnPropertyIsRejected() {
+        ZonedDateTime zonedDateTime = ZonedDateTime.now();
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A", "zonedDateTime", zonedDateTime);
+        this.sqlgGraph.tx().commit();
+        try {
+            this.sqlgGraph.traversal().V().hasLabel("A")
+                    .has("zonedDateTime", Keyset.after(a, "zonedDateTime"))
+                    .order().by("zonedDateTime").by(T.id)
+                    .toList();
+            Assert.fail("Keyset pagination on a ZonedDateTime must be rejected");
+        } catch (IllegalArgumentException e) {
+            //noop
+        }
+    }
+
+    @Test
+    public void testKeysetOnUserSuppliedIdsIsRejected() {
+        this.sqlgGraph.getTopology().getPublicSchema().ensureVertexLabelExist(
+                "A",
+                new LinkedHashMap<>() {{
+                    put("uid", PropertyDefinition.of(PropertyType.varChar(100)));
+                    put("created", PropertyDefinition.of(PropertyType.INTEGER));
+                }},
+                ListOrderedSet.listOrderedSet(List.of("uid"))
+        );
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A", "uid", "a", "created", 1);
+        this.sqlgGraph.tx().commit();
+        try {
+            this.sqlgGraph.traversal().V().hasLabel("A")
+                    .has("created", Keyset.after(a, "created"))
+                    .order().by("created").by(T.id)
+                    .toList();
+            Assert.fail("Keyset pagination on a label with user supplied ids must be rejected");
+        } catch (IllegalArgumentException e) {
+            //noop
+        }
+    }
+
+    @Test
+    public void testKeysetEquals() {
+        Assert.assertEquals(Keyset.after(Order.asc, 1, 2L), Keyset.after(Order.asc, 1, 2L));
+        Assert.assertNotEquals(Keyset.after(Order.asc, 1, 2L), Keyset.after(Order.desc, 1, 2L));
+        Assert.assertNotEquals(Keyset.after(Order.asc, 1, 2L), Keyset.after(Order.asc, 1, 3L));
+    }
+}
@@ -0,0 +1,133 @@
+package org.umlg.sqlg.test.gremlincompile;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.*;
+import org.umlg.sqlg.structure.QueryEvent;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.util.*;
+
+/**
+ * Tests the distinct queries of a traversal executed in parallel on snapshot connections, see 'query.parallel.threads'.
+ * Date: 2026/10/18
+ */
+public class TestParallelQuery extends BaseTest {
+
+    private SqlgGraph parallelGraph;
+
+    @Before
+    public void before() throws Exception {
+        super.before();
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsSnapshotExport());
+        Configuration conf = getConfigurationClone();
+        conf.setProperty("query.parallel.threads", 3);
+        this.parallelGraph = SqlgGraph.open(conf);
+    }
+
+    @After
+    public void after() {
+        if (this.parallelGraph != null) {
+            this.parallelGraph.close();
+        }
+        super.after();
+    }
+
+    private Set<Vertex> addLabels(String tenant) {
+        Set<Vertex> result = new HashSet<>();
+        for (int i = 0; i < 6; i++) {
+            result.add(this.parallelGraph.addVertex(T.label, "A" + i, "tenant", tenant, "name", "a" + i, "index" + i, i));
+        }
+        return result;
+    }
+
+    @Test
+    public void testManyLabels() {
+        Set<Vertex> expected = addLabels("t1");
+        addLabels("t2");
+        this.parallelGraph.tx().commit();
+
+        List<Vertex> vertices = new ArrayList<>();
+        List<QueryEvent> queryEvents = queryEvents(this.parallelGraph, () -> vertices.addAll(this.parallelGraph.traversal().V().has("tenant", "t1").toList()));
+        Assert.assertEquals(expected, new HashSet<>(vertices));
+        Assert.assertEquals(6, vertices.size());
+        Assert.assertEquals(6, queryEvents.size());
+        Assert.assertEquals(6, queryEvents.stream().mapToLong(QueryEvent::rowCount).sum());
+        for (Vertex vertex : vertices) {
+            int i = Integer.parseInt(vertex.label().substring(1));
+            Assert.assertEquals("a" + i, vertex.value("name"));
+            Assert.assertEquals(i, vertex.<Integer>value("index" + i), 0);
+        }
+        Assert.assertEquals(6, this.parallelGraph.traversal().V().has("tenant", "t1").count().next(), 0);
+    }
+
+    @Test
+    public void testFanOut() {
+        Vertex a = this.parallelGraph.addVertex(T.label, "A", "name", "a");
+        Set<Vertex> expected = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            Vertex b = this.parallelGraph.addVertex(T.label, "B" + i, "name", "b" + i);
+            a.addEdge("ab", b);
+            expected.add(b);
+        }
+        this.parallelGraph.tx().commit();
+        List<Path> paths = this.parallelGraph.traversal().V().hasLabel("A").as("a").out().as("b").path().toList();
+        Assert.assertEquals(4, paths.size());
+        for (Path path : paths) {
+            Assert.assertEquals(a, path.get("a"));
+            Assert.assertEquals("a", ((Vertex) path.get("a")).value("name"));
+            Assert.assertTrue(expected.contains(path.<Vertex>get("b")));
+        }
+    }
+
+    @Test
+    public void testUncommittedWritesAreVisible() {
+        addLabels("t1");
+        this.parallelGraph.tx().commit();
+        Set<Vertex> expected = addLabels("t2");
+        Assert.assertEquals(expected, new HashSet<>(this.parallelGraph.traversal().V().has("tenant", "t2").toList()));
+        this.parallelGraph.tx().rollback();
+        Assert.assertEquals(0, this.parallelGraph.traversal().V().has("tenant", "t2").toList().size());
+    }
+
+    @Test
+    public void testBatchMode() {
+        addLabels("t1");
+        this.parallelGraph.tx().commit();
+        this.parallelGraph.tx().normalBatchModeOn();
+        Set<Vertex> expected = addLabels("t2");
+        Assert.assertEquals(expected, new HashSet<>(this.parallelGraph.traversal().V().has("tenant", "t2").toList()));
+        this.parallelGraph.tx().commit();
+    }
+
+    @Test
+    public void testNotIteratedToTheEnd() {
+        addLabels("t1");
+        this.parallelGraph.tx().commit();
+        //the snapshot connections are returned to the pool when the transaction ends
+        for (int i = 0; i < 50; i++) {
+            Assert.assertTrue(this.parallelGraph.traversal().V().has("tenant", "t1").hasNext());
+            this.parallelGraph.tx().rollback();
+        }
+        Assert.assertEquals(6, this.parallelGraph.traversal().V().has("tenant", "t1").toList().size());
+    }
+
+    @Test
+    public void testClosedBeforeTheQueriesComplete() throws Exception {
+        addLabels("t1");
+        this.parallelGraph.tx().commit();
+        //the first query's result is handed over while the others may still be executing
+        for (int i = 0; i < 50; i++) {
+            GraphTraversal<Vertex, Vertex> traversal = this.parallelGraph.traversal().V().has("tenant", "t1");
+            Assert.assertTrue(traversal.hasNext());
+            traversal.next();
+            traversal.close();
+        }
+        this.parallelGraph.tx().rollback();
+        Assert.assertEquals(6, this.parallelGraph.traversal().V().has("tenant", "t1").toList().size());
+    }
+}
@@ -0,0 +1,121 @@
+package org.umlg.sqlg.test.gremlincompile;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.DefaultGraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.PathFilterStep;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Test;
+import org.umlg.sqlg.step.SqlgGraphStep;
+import org.umlg.sqlg.structure.QueryEvent;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tests simplePath() and cyclicPath() executed as predicates in the sql.
+ * Date: 2026/10/18
+ */
+public class TestPathFilterStep extends BaseTest {
+
+    private long rowCount(Runnable runnable) {
+        return queryEvents(this.sqlgGraph, runnable).stream().mapToLong(QueryEvent::rowCount).sum();
+    }
+
+    @Test
+    public void testSimplePath() {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        Vertex a2 = this.sqlgGraph.addVertex(T.label, "A", "name", "a2");
+        Vertex a3 = this.sqlgGraph.addVertex(T.label, "A", "name", "a3");
+        a1.addEdge("aa", a2);
+        a2.addEdge("aa", a1);
+        a2.addEdge("aa", a3);
+        this.sqlgGraph.tx().commit();
+
+        DefaultGraphTraversal<Vertex, Vertex> traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().hasLabel("A").out("aa").out("aa").simplePath();
+        List<Vertex> vertices = traversal.toList();
+        Assert.assertEquals(List.of(a3), vertices);
+        Assert.assertEquals(1, traversal.getSteps().size());
+        Assert.assertTrue(traversal.getSteps().get(0) instanceof SqlgGraphStep);
+        Assert.assertEquals(1, rowCount(() -> this.sqlgGraph.traversal().V().hasLabel("A").out("aa").out("aa").simplePath().toList()));
+
+        List<Path> paths = this.sqlgGraph.traversal().V().hasLabel("A").out("aa").out("aa").simplePath().path().toList();
+        Assert.assertEquals(1, paths.size());
+        Assert.assertEquals(List.of(a1, a2, a3), paths.get(0).objects());
+
+        //the edges are part of the path
+        paths = this.sqlgGraph.traversal().V().hasLabel("A").outE("aa").inV().outE("aa").inV().simplePath().path().toList();
+        Assert.assertEquals(1, paths.size());
+        Assert.assertEquals(5, paths.get(0).size());
+        Assert.assertEquals(a3, paths.get(0).get(4));
+    }
+
+    @Test
+    public void testCyclicPath() {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        Vertex a2 = this.sqlgGraph.addVertex(T.label, "A", "name", "a2");
+        Vertex a3 = this.sqlgGraph.addVertex(T.label, "A", "name", "a3");
+        a1.addEdge("aa", a2);
+        a2.addEdge("aa", a1);
+        a2.addEdge("aa", a3);
+        this.sqlgGraph.tx().commit();
+
+        DefaultGraphTraversal<Vertex, Vertex> traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().hasLabel("A").out("aa").out("aa").cyclicPath();
+        List<Vertex> vertices = traversal.toList();
+        Assert.assertEquals(new HashSet<>(List.of(a1, a2)), new HashSet<>(vertices));
+        Assert.assertEquals(2, vertices.size());
+        Assert.assertEquals(1, traversal.getSteps().size());
+        Assert.assertEquals(2, rowCount(() -> this.sqlgGraph.traversal().V().hasLabel("A").out("aa").out("aa").cyclicPath().toList()));
+
+        vertices = this.sqlgGraph.traversal().V().hasLabel("A").out("aa").out("aa").cyclicPath().order().by("name").limit(1).toList();
+        Assert.assertEquals(List.of(a1), vertices);
+    }
+
+    @Test
+    public void testPathFilterAcrossLabels() {
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a");
+        Vertex b = this.sqlgGraph.addVertex(T.label, "B", "name", "b");
+        Vertex c = this.sqlgGraph.addVertex(T.label, "C", "name", "c");
+        a.addEdge("ab", b);
+        b.addEdge("bc", c);
+        c.addEdge("ca", a);
+        this.sqlgGraph.tx().commit();
+        //no label occurs twice, every path is simple.
+        Assert.assertEquals(List.of(c), this.sqlgGraph.traversal().V().hasLabel("A").out("ab").out("bc").simplePath().toList());
+        Assert.assertTrue(this.sqlgGraph.traversal().V().hasLabel("A").out("ab").out("bc").cyclicPath().toList().isEmpty());
+        //back to A
+        Assert.assertTrue(this.sqlgGraph.traversal().V().hasLabel("A").out("ab").out("bc").out("ca").simplePath().toList().isEmpty());
+        Assert.assertEquals(List.of(a), this.sqlgGraph.traversal().V().hasLabel("A").out("ab").out("bc").out("ca").cyclicPath().toList());
+        //a label per query
+        Set<Vertex> vertices = new HashSet<>(this.sqlgGraph.traversal().V().out().out().simplePath().toList());
+        Assert.assertEquals(Set.of(a, b, c), vertices);
+    }
+
+    @Test
+    public void testPathFilterNotOptimized() {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        Vertex a2 = this.sqlgGraph.addVertex(T.label, "A", "name", "a2");
+        Vertex a3 = this.sqlgGraph.addVertex(T.label, "A", "name", "a3");
+        a1.addEdge("aa", a2);
+        a2.addEdge("aa", a1);
+        a2.addEdge("aa", a3);
+        this.sqlgGraph.tx().commit();
+        //a section of the path
+        DefaultGraphTraversal<Vertex, Vertex> traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal()
+                .V().hasLabel("A").as("x").out("aa").as("y").out("aa").simplePath().from("y");
+        Assert.assertEquals(3, traversal.toList().size());
+        Assert.assertTrue(traversal.getSteps().stream().anyMatch(s -> s instanceof PathFilterStep));
+        //the path starts outside the local traversal
+        Assert.assertEquals(1, this.sqlgGraph.traversal().V().hasLabel("A").local(__.out("aa").out("aa").simplePath()).toList().size());
+        //a range before the path filter
+        Assert.assertEquals(1, this.sqlgGraph.traversal().V().hasLabel("A").out("aa").out("aa").limit(3).simplePath().toList().size());
+        //the path continues after the path filter
+        Assert.assertEquals(List.of(a3), this.sqlgGraph.traversal().V().hasLabel("A").out("aa").simplePath().out("aa").simplePath().toList());
+    }
+}
@@ -0,0 +1,179 @@
+package org.umlg.sqlg.test.gremlincompile;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.DefaultGraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.ProjectStep;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Test;
+import org.umlg.sqlg.step.barrier.SqlgProjectStepBarrier;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.util.*;
+
+/**
+ * Tests project() with by() traversals executed once for all the incoming traversers.
+ * Date: 2026/10/18
+ */
+public class TestProjectStep extends BaseTest {
+
+    private List<Vertex> persons() {
+        List<Vertex> persons = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            persons.add(this.sqlgGraph.addVertex(T.label, "Person", "name", "p" + i, "index", i));
+        }
+        //every person knows the next 'index' persons
+        for (int i = 0; i < 10; i++) {
+            for (int j = 1; j <= i && i + j < 10; j++) {
+                persons.get(i).addEdge("knows", persons.get(i + j));
+            }
+        }
+        this.sqlgGraph.tx().commit();
+        return persons;
+    }
+
+    private int queryCount(Runnable runnable) {
+        return queryEvents(this.sqlgGraph, runnable).size();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testProjectFold() {
+        List<Vertex> persons = persons();
+        DefaultGraphTraversal<Vertex, Map<String, Object>> traversal = (DefaultGraphTraversal<Vertex, Map<String, Object>>) this.sqlgGraph.traversal()
+                .V().hasLabel("Person")
+                .order().by("index")
+                .<Object>project("name", "friends")
+                .by("name")
+                .by(__.out("knows").values("name").fold());
+        List<Map<String, Object>> result = traversal.toList();
+        Assert.assertTrue(traversal.getSteps().stream().anyMatch(s -> s instanceof SqlgProjectStepBarrier));
+        Assert.assertEquals(10, result.size());
+        for (int i = 0; i < 10; i++) {
+            Map<String, Object> projection = result.get(i);
+            Assert.assertEquals("p" + i, projection.get("name"));
+            Set<String> expected = new HashSet<>();
+            for (Vertex friend : this.sqlgGraph.traversal().V(persons.get(i)).out("knows").toList()) {
+                expected.add(friend.value("name"));
+            }
+            Assert.assertEquals(expected, new HashSet<>((List<String>) projection.get("friends")));
+            Assert.assertEquals(expected.size(), ((List<String>) projection.get("friends")).size());
+        }
+    }
+
+    @Test
+    public void testProjectIsBatched() {
+        persons();
+        int queries = queryCount(() -> this.sqlgGraph.traversal()
+                .V().hasLabel("Person")
+                .project("name", "friends")
+                .by("name")
+                .by(__.out("knows").values("name").fold())
+                .toList());
+        //one for the persons and one for all their friends
+        Assert.assertEquals(2, queries);
+    }
+
+    @Test
+    public void testProjectCountAndFirst() {
+        List<Vertex> persons = persons();
+        List<Map<String, Object>> result = this.sqlgGraph.traversal()
+                .V().hasLabel("Person")
+                .order().by("index")
+                .<Object>project("count", "friend", "friendMap")
+                .by(__.out("knows").count())
+                .by(__.out("knows").has("index", 9).values("name"))
+                .by(__.out("knows").has("index", 9).elementMap().fold())
+                .toList();
+        Assert.assertEquals(10, result.size());
+        for (int i = 0; i < 10; i++) {
+            Map<String, Object> projection = result.get(i);
+            Assert.assertEquals(this.sqlgGraph.traversal().V(persons.get(i)).out("knows").count().next(), projection.get("count"));
+            boolean knows9 = this.sqlgGraph.traversal().V(persons.get(i)).out("knows").has("index", 9).hasNext();
+            if (knows9) {
+                Assert.assertEquals("p9", projection.get("friend"));
+                Assert.assertEquals(1, ((List<?>) projection.get("friendMap")).size());
+            } else {
+                //a by() without a result leaves the key out
+                Assert.assertFalse(projection.containsKey("friend"));
+                Assert.assertTrue(((List<?>) projection.get("friendMap")).isEmpty());
+            }
+        }
+    }
+
+    @Test
+    public void testProjectDuplicateTraversers() {
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a");
+        Vertex b1 = this.sqlgGraph.addVertex(T.label, "B", "name", "b1");
+        Vertex b2 = this.sqlgGraph.addVertex(T.label, "B", "name", "b2");
+        Vertex c = this.sqlgGraph.addVertex(T.label, "C", "name", "c");
+        a.addEdge("ab", b1);
+        a.addEdge("ab", b2);
+        b1.addEdge("bc", c);
+        b2.addEdge("bc", c);
+        c.addEdge("cd", this.sqlgGraph.addVertex(T.label, "D", "name", "d1"));
+        c.addEdge("cd", this.sqlgGraph.addVertex(T.label, "D", "name", "d2"));
+        this.sqlgGraph.tx().commit();
+        //c is reached twice, every traverser is projected on its own.
+        List<Map<String, Object>> result = this.sqlgGraph.traversal().V(a).out("ab").out("bc")
+                .<Object>project("name", "d")
+                .by("name")
+                .by(__.out("cd").values("name").fold())
+                .toList();
+        Assert.assertEquals(2, result.size());
+        for (Map<String, Object> projection : result) {
+            Assert.assertEquals("c", projection.get("name"));
+            Assert.assertEquals(Set.of("d1", "d2"), new HashSet<>((List<?>) projection.get("d")));
+        }
+        Assert.assertEquals(2, this.sqlgGraph.traversal().V(a).out("ab").out("bc").barrier()
+                .project("d").by(__.out("cd").count())
+                .toList().stream().filter(m -> m.get("d").equals(2L)).count());
+    }
+
+    @Test
+    public void testProjectByRing() {
+        List<Vertex> persons = persons();
+        //the third key starts over with the first by()
+        List<Map<String, Object>> result = this.sqlgGraph.traversal()
+                .V().hasLabel("Person")
+                .order().by("index")
+                .<Object>project("name", "count", "again")
+                .by("name")
+                .by(__.out("knows").count())
+                .toList();
+        Assert.assertEquals(10, result.size());
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals("p" + i, result.get(i).get("name"));
+            Assert.assertEquals("p" + i, result.get(i).get("again"));
+            Assert.assertEquals(this.sqlgGraph.traversal().V(persons.get(i)).out("knows").count().next(), result.get(i).get("count"));
+        }
+    }
+
+    @Test
+    public void testProjectWithBarrierNotBatched() {
+        List<Vertex> persons = persons();
+        DefaultGraphTraversal<Vertex, Map<String, Object>> traversal = (DefaultGraphTraversal<Vertex, Map<String, Object>>) this.sqlgGraph.traversal()
+                .V().hasLabel("Person")
+                .order().by("index")
+                .<Object>project("count")
+                .by(__.out("knows").barrier().count());
+        List<Map<String, Object>> result = traversal.toList();
+        Assert.assertTrue(traversal.getSteps().stream().anyMatch(s -> s instanceof ProjectStep));
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(this.sqlgGraph.traversal().V(persons.get(i)).out("knows").count().next(), result.get(i).get("count"));
+        }
+    }
+
+    @Test
+    public void testProjectNotBatched() {
+        persons();
+        DefaultGraphTraversal<Vertex, Map<String, Object>> traversal = (DefaultGraphTraversal<Vertex, Map<String, Object>>) this.sqlgGraph.traversal()
+                .V().hasLabel("Person")
+                .<Object>project("name", "index")
+                .by("name")
+                .by(__.values("index"));
+        Assert.assertEquals(10, traversal.toList().size());
+        Assert.assertTrue(traversal.getSteps().stream().anyMatch(s -> s instanceof ProjectStep));
+    }
+}
@@ -0,0 +1,163 @@
+package org.umlg.sqlg.test.gremlincompile;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.*;
+import org.umlg.sqlg.structure.QueryEvent;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.*;
+
+/**
+ * Tests the distinct queries of a traversal executed as one UNION ALL statement, see 'query.union.all.enabled'.
+ * Date: 2026/10/18
+ */
+public class TestUnionAllQuery extends BaseTest {
+
+    private SqlgGraph unionGraph;
+
+    @Before
+    public void before() throws Exception {
+        super.before();
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsUnionAll());
+        Configuration conf = getConfigurationClone();
+        conf.setProperty("query.union.all.enabled", true);
+        conf.setProperty("query.union.all.max.statements", 3);
+        this.unionGraph = SqlgGraph.open(conf);
+    }
+
+    @After
+    public void after() {
+        if (this.unionGraph != null) {
+            this.unionGraph.close();
+        }
+        super.after();
+    }
+
+    @Test
+    public void testManyLabels() {
+        ZonedDateTime zonedDateTime = ZonedDateTime.of(LocalDateTime.now(), ZoneId.of("Africa/Harare"));
+        Set<Vertex> expected = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            expected.add(this.unionGraph.addVertex(T.label, "A" + i, "tenant", "t1", "name", "a" + i, "index" + i, i));
+            this.unionGraph.addVertex(T.label, "A" + i, "tenant", "t2", "name", "a" + i, "index" + i, i);
+        }
+        expected.add(this.unionGraph.addVertex(T.label, "Z", "tenant", "t1", "zonedDateTime", zonedDateTime));
+        this.unionGraph.tx().commit();
+
+        List<Vertex> vertices = new ArrayList<>();
+        List<QueryEvent> queryEvents = queryEvents(this.unionGraph, () -> vertices.addAll(this.unionGraph.traversal().V().has("tenant", "t1").toList()));
+        Assert.assertEquals(expected, new HashSet<>(vertices));
+        Assert.assertEquals(6, vertices.size());
+        //6 labels in unions of 3
+        Assert.assertEquals(2, queryEvents.size());
+        Assert.assertTrue(queryEvents.get(0).sql().contains("UNION ALL"));
+        Assert.assertEquals(6, queryEvents.stream().mapToLong(QueryEvent::rowCount).sum());
+        for (Vertex vertex : vertices) {
+            if (vertex.label().equals("Z")) {
+                Assert.assertEquals(zonedDateTime, vertex.value("zonedDateTime"));
+                Assert.assertFalse(vertex.property("name").isPresent());
+            } else {
+                int i = Integer.parseInt(vertex.label().substring(1));
+                Assert.assertEquals("a" + i, vertex.value("name"));
+                Assert.assertEquals(i, vertex.<Integer>value("index" + i), 0);
+                Assert.assertFalse(vertex.property("index" + ((i + 1) % 5)).isPresent());
+            }
+        }
+    }
+
+    @Test
+    public void testUnionBoundByColumns() {
+        Set<Vertex> expected = new HashSet<>();
+        for (int i = 0; i < 3; i++) {
+            Map<String, Object> keyValues = new HashMap<>();
+            keyValues.put("tenant", "t1");
+            for (int j = 0; j < 1000; j++) {
+                keyValues.put("property" + j, j);
+            }
+            expected.add(this.unionGraph.addVertex("A" + i, keyValues));
+        }
+        this.unionGraph.tx().commit();
+
+        List<Vertex> vertices = new ArrayList<>();
+        List<QueryEvent> queryEvents = queryEvents(this.unionGraph, () -> vertices.addAll(this.unionGraph.traversal().V().has("tenant", "t1").toList()));
+        Assert.assertEquals(expected, new HashSet<>(vertices));
+        //the 3 labels fit in one union by statements but not by columns
+        Assert.assertEquals(3, queryEvents.size());
+        for (Vertex vertex : vertices) {
+            Assert.assertEquals(999, vertex.<Integer>value("property999"), 0);
+        }
+    }
+
+    @Test
+    public void testManyEdgeLabels() {
+        Vertex a = this.unionGraph.addVertex(T.label, "A");
+        Set<Edge> expected = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            Vertex b = this.unionGraph.addVertex(T.label, "B" + i);
+            expected.add(a.addEdge("ab" + i, b, "weight", i));
+        }
+        this.unionGraph.tx().commit();
+        List<Edge> edges = this.unionGraph.traversal().E().has("weight").toList();
+        Assert.assertEquals(expected, new HashSet<>(edges));
+        for (Edge edge : edges) {
+            Assert.assertEquals(a, edge.outVertex());
+            Assert.assertEquals("B" + edge.<Integer>value("weight"), edge.inVertex().label());
+        }
+    }
+
+    @Test
+    public void testFanOut() {
+        Vertex a = this.unionGraph.addVertex(T.label, "A", "name", "a");
+        Set<Vertex> expected = new HashSet<>();
+        for (int i = 0; i < 3; i++) {
+            Vertex b = this.unionGraph.addVertex(T.label, "B" + i, "name", "b" + i);
+            a.addEdge("ab", b);
+            expected.add(b);
+        }
+        Vertex c = this.unionGraph.addVertex(T.label, "C", "name", "c");
+        a.addEdge("ac", c);
+        expected.add(c);
+        this.unionGraph.tx().commit();
+
+        List<Vertex> vertices = new ArrayList<>();
+        List<QueryEvent> queryEvents = queryEvents(this.unionGraph, () -> vertices.addAll(this.unionGraph.traversal().V().hasLabel("A").out().toList()));
+        Assert.assertEquals(expected, new HashSet<>(vertices));
+        Assert.assertEquals(4, vertices.size());
+        Assert.assertEquals(2, queryEvents.size());
+
+        //the root is part of every path
+        List<Path> paths = this.unionGraph.traversal().V().hasLabel("A").as("a").out().as("b").path().toList();
+        Assert.assertEquals(4, paths.size());
+        for (Path path : paths) {
+            Assert.assertEquals(a, path.get("a"));
+            Assert.assertEquals("a", ((Vertex) path.get("a")).value("name"));
+            Assert.assertTrue(expected.contains(path.<Vertex>get("b")));
+        }
+    }
+
+    @Test
+    public void testOrderAndRange() {
+        for (int i = 0; i < 4; i++) {
+            this.unionGraph.addVertex(T.label, "A" + i, "tenant", "t1", "index", i);
+        }
+        this.unionGraph.tx().commit();
+        List<Vertex> vertices = this.unionGraph.traversal().V().has("tenant", "t1").order().by("index", Order.desc).toList();
+        Assert.assertEquals(4, vertices.size());
+        for (int i = 0; i < 4; i++) {
+            Assert.assertEquals(3 - i, vertices.get(i).<Integer>value("index"), 0);
+        }
+        vertices = this.unionGraph.traversal().V().has("tenant", "t1").order().by("index").limit(2).toList();
+        Assert.assertEquals(2, vertices.size());
+        Assert.assertEquals(0, vertices.get(0).<Integer>value("index"), 0);
+        Assert.assertEquals(1, vertices.get(1).<Integer>value("index"), 0);
+    }
+}
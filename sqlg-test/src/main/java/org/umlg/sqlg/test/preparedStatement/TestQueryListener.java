@@ -0,0 +1,108 @@
+package org.umlg.sqlg.test.preparedStatement;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Test;
+import org.umlg.sqlg.step.SqlgGraphStep;
+import org.umlg.sqlg.structure.QueryEvent;
+import org.umlg.sqlg.structure.QueryListener;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests the {@link QueryListener} and the slow query log, see 'query.slow.threshold.ms'.
+ * Date: 2026/10/18
+ */
+public class TestQueryListener extends BaseTest {
+
+    @Test
+    public void testListenerReceivesEvents() {
+        for (int i = 0; i < 10; i++) {
+            this.sqlgGraph.addVertex(T.label, "A", "name", "a", "index", i);
+        }
+        this.sqlgGraph.tx().commit();
+        List<QueryEvent> queryEvents = new ArrayList<>();
+        QueryListener queryListener = queryEvents::add;
+        this.sqlgGraph.addQueryListener(queryListener);
+        try {
+            List<Vertex> vertices = this.sqlgGraph.traversal().V().hasLabel("A").has("name", "a").toList();
+            Assert.assertEquals(10, vertices.size());
+            Assert.assertEquals(1, queryEvents.size());
+            QueryEvent queryEvent = queryEvents.get(0);
+            Assert.assertTrue(queryEvent.sql().contains("V_A"));
+            Assert.assertEquals(1, queryEvent.parameterCount());
+            Assert.assertEquals(10, queryEvent.rowCount());
+            Assert.assertTrue(queryEvent.step() instanceof SqlgGraphStep);
+            Assert.assertTrue(queryEvent.prepareNanos() >= 0);
+            Assert.assertTrue(queryEvent.executeNanos() >= 0);
+            Assert.assertTrue(queryEvent.firstRowNanos() >= 0);
+            Assert.assertTrue(queryEvent.drainNanos() >= queryEvent.firstRowNanos());
+
+            queryEvents.clear();
+            Assert.assertFalse(this.sqlgGraph.traversal().V().hasLabel("A").has("name", "b").hasNext());
+            Assert.assertEquals(1, queryEvents.size());
+            Assert.assertEquals(0, queryEvents.get(0).rowCount());
+            Assert.assertEquals(-1, queryEvents.get(0).firstRowNanos());
+
+            queryEvents.clear();
+            this.sqlgGraph.traversal().V().hasLabel("A").has("index", 0).drop().iterate();
+            Assert.assertFalse(queryEvents.isEmpty());
+            Assert.assertEquals(1, queryEvents.stream().mapToLong(QueryEvent::rowCount).sum());
+            this.sqlgGraph.tx().commit();
+        } finally {
+            this.sqlgGraph.removeQueryListener(queryListener);
+        }
+        queryEvents.clear();
+        this.sqlgGraph.traversal().V().hasLabel("A").toList();
+        Assert.assertTrue(queryEvents.isEmpty());
+    }
+
+    @Test
+    public void testListenerReceivesEventOfTraversalClosedEarly() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            this.sqlgGraph.addVertex(T.label, "A", "name", "a", "index", i);
+        }
+        this.sqlgGraph.tx().commit();
+        List<QueryEvent> queryEvents = new ArrayList<>();
+        QueryListener queryListener = queryEvents::add;
+        this.sqlgGraph.addQueryListener(queryListener);
+        try {
+            GraphTraversal<Vertex, Vertex> traversal = this.sqlgGraph.traversal().V().hasLabel("A");
+            Assert.assertNotNull(traversal.next());
+            Assert.assertTrue(queryEvents.isEmpty());
+            traversal.close();
+            Assert.assertEquals(1, queryEvents.size());
+            Assert.assertTrue(queryEvents.get(0).sql().contains("V_A"));
+            Assert.assertTrue(queryEvents.get(0).rowCount() >= 1);
+            traversal.close();
+            Assert.assertEquals(1, queryEvents.size());
+            this.sqlgGraph.tx().commit();
+        } finally {
+            this.sqlgGraph.removeQueryListener(queryListener);
+        }
+    }
+
+    @Test
+    public void testSlowQueryLogKeepsTheTransaction() {
+        Configuration conf = getConfigurationClone();
+        conf.setProperty("query.slow.threshold.ms", 0);
+        try (SqlgGraph sqlgGraph = SqlgGraph.open(conf)) {
+            Vertex a = sqlgGraph.addVertex(T.label, "A", "name", "a");
+            Vertex b = sqlgGraph.addVertex(T.label, "B", "name", "b");
+            a.addEdge("ab", b);
+            sqlgGraph.tx().commit();
+            //every query is slow and is explained in the traversal's transaction
+            Assert.assertEquals(1, sqlgGraph.traversal().V().hasLabel("A").has("name", "a").out("ab").toList().size());
+            sqlgGraph.addVertex(T.label, "A", "name", "a");
+            Assert.assertEquals(2, sqlgGraph.traversal().V().hasLabel("A").has("name", "a").toList().size());
+            sqlgGraph.tx().commit();
+            Assert.assertEquals(2, sqlgGraph.traversal().V().hasLabel("A").count().next(), 0);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package org.umlg.sqlg.test.preparedStatement;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Test;
+import org.umlg.sqlg.structure.RecordId;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.structure.SqlgVertex;
+import org.umlg.sqlg.structure.StatementCache;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests the reuse of prepared statements within a transaction, see 'statement.cache.size'.
+ * Date: 2026/10/18
+ */
+public class TestStatementCache extends BaseTest {
+
+    @Test
+    public void testPointLookupsReuseStatements() {
+        List<Object> ids = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ids.add(this.sqlgGraph.addVertex(T.label, "A", "name", "a" + i).id());
+        }
+        this.sqlgGraph.tx().commit();
+        StatementCache statementCache = this.sqlgGraph.getStatementCache();
+        long hits = statementCache.getHitCount();
+        long misses = statementCache.getMissCount();
+        for (Object id : ids) {
+            SqlgVertex vertex = SqlgVertex.of(this.sqlgGraph, ((RecordId) id).sequenceId(), this.sqlgGraph.getSqlDialect().getPublicSchema(), "A");
+            Assert.assertTrue(vertex.value("name").toString().startsWith("a"));
+        }
+        Assert.assertEquals(misses + 1, statementCache.getMissCount());
+        Assert.assertTrue(statementCache.getHitCount() >= hits + 9);
+        Assert.assertEquals(1, this.sqlgGraph.tx().getStatementCache().size());
+        this.sqlgGraph.tx().commit();
+        Assert.assertTrue(statementCache.getReuseRate() > 0D);
+    }
+
+    @Test
+    public void testTraversalsReuseStatements() {
+        for (int i = 0; i < 10; i++) {
+            this.sqlgGraph.addVertex(T.label, "A", "name", "a" + i);
+        }
+        this.sqlgGraph.tx().commit();
+        StatementCache statementCache = this.sqlgGraph.getStatementCache();
+        long hits = statementCache.getHitCount();
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(1, this.sqlgGraph.traversal().V().hasLabel("A").has("name", "a" + i).toList().size());
+        }
+        Assert.assertTrue(statementCache.getHitCount() >= hits + 9);
+        //nested iteration of the same sql must not share a statement
+        List<Vertex> outer = new ArrayList<>();
+        this.sqlgGraph.traversal().V().hasLabel("A").forEachRemaining(v -> {
+            outer.add(v);
+            Assert.assertEquals(10, this.sqlgGraph.traversal().V().hasLabel("A").toList().size());
+        });
+        Assert.assertEquals(10, outer.size());
+        this.sqlgGraph.tx().commit();
+    }
+
+    @Test
+    public void testRemoveReusesStatements() {
+        for (int i = 0; i < 10; i++) {
+            this.sqlgGraph.addVertex(T.label, "A", "name", "a" + i);
+        }
+        this.sqlgGraph.tx().commit();
+        StatementCache statementCache = this.sqlgGraph.getStatementCache();
+        List<Vertex> vertices = this.sqlgGraph.traversal().V().hasLabel("A").toList();
+        long hits = statementCache.getHitCount();
+        for (Vertex vertex : vertices) {
+            vertex.remove();
+        }
+        Assert.assertTrue(statementCache.getHitCount() > hits);
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(0, this.sqlgGraph.traversal().V().hasLabel("A").count().next(), 0);
+    }
+
+    @Test
+    public void testTopologyChangeInvalidatesStatements() {
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a");
+        this.sqlgGraph.tx().commit();
+        StatementCache statementCache = this.sqlgGraph.getStatementCache();
+        Assert.assertEquals(1, this.sqlgGraph.traversal().V().hasLabel("A").toList().size());
+        Assert.assertEquals(1, this.sqlgGraph.tx().getStatementCache().size());
+        long invalidations = statementCache.getInvalidationCount();
+        a.property("surname", "b");
+        Assert.assertEquals("b", this.sqlgGraph.traversal().V().hasLabel("A").next().value("surname"));
+        Assert.assertTrue(statementCache.getInvalidationCount() > invalidations);
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals("b", this.sqlgGraph.traversal().V().hasLabel("A").next().value("surname"));
+    }
+
+    @Test
+    public void testDisabled() {
+        Configuration conf = getConfigurationClone();
+        conf.setProperty("statement.cache.size", 0);
+        try (SqlgGraph sqlgGraph = SqlgGraph.open(conf)) {
+            for (int i = 0; i < 10; i++) {
+                sqlgGraph.addVertex(T.label, "A", "name", "a" + i);
+            }
+            sqlgGraph.tx().commit();
+            for (int i = 0; i < 10; i++) {
+                Assert.assertEquals(1, sqlgGraph.traversal().V().hasLabel("A").has("name", "a" + i).toList().size());
+            }
+            Assert.assertEquals(0, sqlgGraph.tx().getStatementCache().size());
+            Assert.assertEquals(0, sqlgGraph.getStatementCache().getHitCount());
+            sqlgGraph.tx().commit();
+        }
+    }
+}
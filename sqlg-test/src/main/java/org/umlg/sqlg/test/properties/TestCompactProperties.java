@@ -0,0 +1,111 @@
+package org.umlg.sqlg.test.properties;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.umlg.sqlg.structure.PropertyLayout;
+import org.umlg.sqlg.structure.topology.VertexLabel;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tests the elements' properties held in the slots of their label's layout, see 'element.properties.compact'.
+ * Date: 2026/10/18
+ */
+public class TestCompactProperties extends BaseTest {
+
+    @BeforeClass
+    public static void beforeClass() {
+        BaseTest.beforeClass();
+        configuration.addProperty("element.properties.compact", true);
+    }
+
+    @Test
+    public void testLoadProperties() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        ZonedDateTime zonedNow = ZonedDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        for (int i = 0; i < 10; i++) {
+            this.sqlgGraph.addVertex(T.label, "A", "name", "a" + i, "age", i, "created", now, "zoned", zonedNow);
+        }
+        this.sqlgGraph.addVertex(T.label, "A", "name", "noAge");
+        this.sqlgGraph.tx().commit();
+        List<Vertex> vertices = this.sqlgGraph.traversal().V().hasLabel("A").has("age").toList();
+        Assert.assertEquals(10, vertices.size());
+        for (Vertex vertex : vertices) {
+            Assert.assertEquals("a" + vertex.value("age"), vertex.value("name"));
+            Assert.assertEquals(now, vertex.value("created"));
+            Assert.assertEquals(zonedNow, vertex.value("zoned"));
+            Assert.assertEquals(Set.of("name", "age", "created", "zoned"), vertex.keys());
+        }
+        Vertex noAge = this.sqlgGraph.traversal().V().hasLabel("A").has("name", "noAge").next();
+        Assert.assertFalse(noAge.property("age").isPresent());
+        Assert.assertEquals(Set.of("name"), noAge.keys());
+    }
+
+    @Test
+    public void testUpdateAndRemoveProperties() {
+        this.sqlgGraph.addVertex(T.label, "A", "name", "a", "age", 1);
+        this.sqlgGraph.tx().commit();
+        Vertex a = this.sqlgGraph.traversal().V().hasLabel("A").next();
+        a.property("age", 2);
+        Assert.assertEquals(2, a.<Integer>value("age"), 0);
+        a.property("age").remove();
+        Assert.assertFalse(a.property("age").isPresent());
+        Assert.assertEquals(Set.of("name"), a.keys());
+        this.sqlgGraph.tx().commit();
+        a = this.sqlgGraph.traversal().V().hasLabel("A").next();
+        Assert.assertFalse(a.property("age").isPresent());
+        Assert.assertEquals("a", a.value("name"));
+    }
+
+    @Test
+    public void testPropertyAddedAfterTheLayout() {
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a");
+        this.sqlgGraph.tx().commit();
+        a = this.sqlgGraph.traversal().V(a.id()).next();
+        //'surname' is not part of the vertex's layout
+        a.property("surname", "s");
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals("s", a.value("surname"));
+        Assert.assertEquals(Set.of("name", "surname"), a.keys());
+        Vertex reloaded = this.sqlgGraph.traversal().V(a.id()).next();
+        Assert.assertEquals("s", reloaded.value("surname"));
+        Assert.assertEquals(Set.of("name", "surname"), reloaded.keys());
+    }
+
+    @Test
+    public void testRenamedPropertyTakesANewLayout() {
+        this.sqlgGraph.addVertex(T.label, "A", "name", "a");
+        this.sqlgGraph.tx().commit();
+        VertexLabel vertexLabel = this.sqlgGraph.getTopology().getPublicSchema().getVertexLabel("A").orElseThrow();
+        PropertyLayout propertyLayout = vertexLabel.getPropertyLayout();
+        Assert.assertSame(propertyLayout, vertexLabel.getPropertyLayout());
+        //the number of properties does not change
+        vertexLabel.getProperty("name").orElseThrow().rename("surname");
+        this.sqlgGraph.tx().commit();
+        Assert.assertNotSame(propertyLayout, vertexLabel.getPropertyLayout());
+        Vertex a = this.sqlgGraph.traversal().V().hasLabel("A").next();
+        Assert.assertEquals("a", a.value("surname"));
+        Assert.assertEquals(Set.of("surname"), a.keys());
+    }
+
+    @Test
+    public void testEdgeProperties() {
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A");
+        Vertex b = this.sqlgGraph.addVertex(T.label, "B");
+        a.addEdge("ab", b, "weight", 1.5D, "name", "ab");
+        this.sqlgGraph.tx().commit();
+        Edge edge = this.sqlgGraph.traversal().E().hasLabel("ab").next();
+        Assert.assertEquals(1.5D, edge.value("weight"), 0D);
+        Assert.assertEquals("ab", edge.value("name"));
+        Assert.assertEquals(Set.of("weight", "name"), edge.keys());
+    }
+}
@@ -0,0 +1,89 @@
+package org.umlg.sqlg.test.properties;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Test;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.structure.StatementCache;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tests the batched loading of vertices returned without their properties, see 'lazy.load.batch.size'.
+ * Date: 2026/10/18
+ */
+public class TestLazyPropertyLoading extends BaseTest {
+
+    @Test
+    public void testEdgeVerticesAreLoadedInOneQuery() {
+        for (int i = 0; i < 10; i++) {
+            Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a" + i);
+            Vertex b = this.sqlgGraph.addVertex(T.label, "B", "name", "b" + i);
+            a.addEdge("ab", b, "weight", i);
+        }
+        this.sqlgGraph.tx().commit();
+        List<Edge> edges = this.sqlgGraph.traversal().E().hasLabel("ab").toList();
+        Assert.assertEquals(10, edges.size());
+        StatementCache statementCache = this.sqlgGraph.getStatementCache();
+        long queries = statementCache.getHitCount() + statementCache.getMissCount();
+        Set<String> names = new HashSet<>();
+        for (Edge edge : edges) {
+            names.add(edge.inVertex().value("name"));
+        }
+        Assert.assertEquals(10, names.size());
+        Assert.assertTrue(names.stream().allMatch(n -> n.startsWith("b")));
+        Assert.assertEquals(queries + 1, statementCache.getHitCount() + statementCache.getMissCount());
+        for (Edge edge : edges) {
+            Assert.assertTrue(edge.outVertex().<String>value("name").startsWith("a"));
+        }
+        Assert.assertEquals(queries + 2, statementCache.getHitCount() + statementCache.getMissCount());
+        this.sqlgGraph.tx().commit();
+    }
+
+    @Test
+    public void testRemovedVerticesAreNotLoaded() {
+        for (int i = 0; i < 10; i++) {
+            Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a" + i);
+            Vertex b = this.sqlgGraph.addVertex(T.label, "B", "name", "b" + i);
+            a.addEdge("ab", b, "weight", i);
+        }
+        this.sqlgGraph.tx().commit();
+        List<Edge> edges = this.sqlgGraph.traversal().E().hasLabel("ab").toList();
+        Vertex removed = edges.get(0).inVertex();
+        removed.remove();
+        for (int i = 1; i < edges.size(); i++) {
+            Assert.assertTrue(edges.get(i).inVertex().<String>value("name").startsWith("b"));
+        }
+        Assert.assertEquals(9, this.sqlgGraph.traversal().V().hasLabel("B").count().next(), 0);
+        this.sqlgGraph.tx().commit();
+    }
+
+    @Test
+    public void testDisabled() {
+        Configuration conf = getConfigurationClone();
+        conf.setProperty("lazy.load.batch.size", 0);
+        try (SqlgGraph sqlgGraph = SqlgGraph.open(conf)) {
+            for (int i = 0; i < 10; i++) {
+                Vertex a = sqlgGraph.addVertex(T.label, "A", "name", "a" + i);
+                Vertex b = sqlgGraph.addVertex(T.label, "B", "name", "b" + i);
+                a.addEdge("ab", b, "weight", i);
+            }
+            sqlgGraph.tx().commit();
+            Assert.assertFalse(sqlgGraph.tx().getLazyPropertyLoader().isEnabled());
+            List<Edge> edges = sqlgGraph.traversal().E().hasLabel("ab").toList();
+            StatementCache statementCache = sqlgGraph.getStatementCache();
+            long queries = statementCache.getHitCount() + statementCache.getMissCount();
+            for (Edge edge : edges) {
+                Assert.assertTrue(edge.inVertex().<String>value("name").startsWith("b"));
+            }
+            Assert.assertEquals(queries + 10, statementCache.getHitCount() + statementCache.getMissCount());
+            sqlgGraph.tx().commit();
+        }
+    }
+}
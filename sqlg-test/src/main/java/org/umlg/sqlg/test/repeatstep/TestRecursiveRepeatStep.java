@@ -0,0 +1,244 @@
+package org.umlg.sqlg.test.repeatstep;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.DefaultGraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.umlg.sqlg.step.barrier.SqlgRecursiveRepeatStep;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Tests the compilation of homogeneous repeat steps to 'WITH RECURSIVE'.
+ * Date: 2026/10/18
+ */
+public class TestRecursiveRepeatStep extends BaseTest {
+
+    @Before
+    public void before() throws Exception {
+        super.before();
+        Assume.assumeTrue(isPostgres());
+    }
+
+    /**
+     * a0 -> a1 -> ... -> a{depth}
+     */
+    private List<Vertex> chain(SqlgGraph sqlgGraph, int depth) {
+        List<Vertex> vertices = new ArrayList<>();
+        Vertex previous = sqlgGraph.addVertex(T.label, "A", "name", "a0", "depth", 0);
+        vertices.add(previous);
+        for (int i = 1; i <= depth; i++) {
+            Vertex next = sqlgGraph.addVertex(T.label, "A", "name", "a" + i, "depth", i);
+            previous.addEdge("parent", next);
+            vertices.add(next);
+            previous = next;
+        }
+        sqlgGraph.tx().commit();
+        return vertices;
+    }
+
+    private static boolean isRecursive(DefaultGraphTraversal<?, ?> traversal) {
+        return traversal.getSteps().stream().anyMatch(s -> s instanceof SqlgRecursiveRepeatStep);
+    }
+
+    @Test
+    public void testUntil() {
+        chain(this.sqlgGraph, 40);
+        DefaultGraphTraversal<Vertex, Vertex> traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal().V()
+                .hasLabel("A").has("name", "a0")
+                .repeat(__.out("parent"))
+                .until(__.has("name", "a35"));
+        List<Vertex> vertices = traversal.toList();
+        Assert.assertTrue(isRecursive(traversal));
+        Assert.assertEquals(1, vertices.size());
+        Assert.assertEquals("a35", vertices.get(0).value("name"));
+
+        //the until is checked before the first loop
+        vertices = this.sqlgGraph.traversal().V().hasLabel("A").has("name", P.within("a0", "a1"))
+                .until(__.has("depth", P.lte(1)))
+                .repeat(__.out("parent"))
+                .toList();
+        Assert.assertEquals(2, vertices.size());
+
+        //leaves that never satisfy the until are not returned
+        vertices = this.sqlgGraph.traversal().V().hasLabel("A").has("name", "a0")
+                .repeat(__.out("parent"))
+                .until(__.has("name", "notThere"))
+                .toList();
+        Assert.assertTrue(vertices.isEmpty());
+    }
+
+    @Test
+    public void testUntilIn() {
+        chain(this.sqlgGraph, 40);
+        List<Vertex> vertices = this.sqlgGraph.traversal().V().hasLabel("A").has("name", "a40")
+                .repeat(__.in("parent"))
+                .until(__.has("depth", P.lt(3)))
+                .toList();
+        Assert.assertEquals(1, vertices.size());
+        Assert.assertEquals("a2", vertices.get(0).value("name"));
+    }
+
+    @Test
+    public void testUntilEmit() {
+        chain(this.sqlgGraph, 40);
+        List<Vertex> vertices = this.sqlgGraph.traversal().V().hasLabel("A").has("name", "a0")
+                .repeat(__.out("parent"))
+                .until(__.has("name", "a10"))
+                .emit()
+                .toList();
+        Assert.assertEquals(10, vertices.size());
+        vertices = this.sqlgGraph.traversal().V().hasLabel("A").has("name", "a0")
+                .emit()
+                .repeat(__.out("parent"))
+                .until(__.has("name", "a10"))
+                .toList();
+        Assert.assertEquals(11, vertices.size());
+    }
+
+    @Test
+    public void testTimes() {
+        chain(this.sqlgGraph, 40);
+        DefaultGraphTraversal<Vertex, Vertex> traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal().V()
+                .hasLabel("A").has("name", P.within("a0", "a5"))
+                .repeat(__.out("parent"))
+                .times(30);
+        Set<String> names = traversal.toStream().map(v -> v.<String>value("name")).collect(Collectors.toSet());
+        Assert.assertTrue(isRecursive(traversal));
+        Assert.assertEquals(Set.of("a30", "a35"), names);
+
+        Assert.assertEquals(20, this.sqlgGraph.traversal().V().hasLabel("A").has("name", "a0")
+                .repeat(__.out("parent")).emit().times(20).count().next(), 0);
+
+        //fewer loops than the threshold are joined
+        traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal().V()
+                .hasLabel("A").has("name", "a0")
+                .repeat(__.out("parent"))
+                .times(2);
+        Assert.assertEquals("a2", traversal.next().value("name"));
+        Assert.assertFalse(isRecursive(traversal));
+    }
+
+    @Test
+    public void testMultiplicityIsKept() {
+        Vertex root = this.sqlgGraph.addVertex(T.label, "A", "name", "root");
+        Vertex left = this.sqlgGraph.addVertex(T.label, "A", "name", "left");
+        Vertex right = this.sqlgGraph.addVertex(T.label, "A", "name", "right");
+        Vertex leaf = this.sqlgGraph.addVertex(T.label, "A", "name", "leaf");
+        root.addEdge("parent", left);
+        root.addEdge("parent", right);
+        left.addEdge("parent", leaf);
+        right.addEdge("parent", leaf);
+        this.sqlgGraph.tx().commit();
+        List<Vertex> vertices = this.sqlgGraph.traversal().V().hasLabel("A").has("name", "root")
+                .repeat(__.out("parent"))
+                .until(__.has("name", "leaf"))
+                .toList();
+        Assert.assertEquals(2, vertices.size());
+        Assert.assertEquals(leaf, vertices.get(0));
+    }
+
+    @Test
+    public void testCycleTerminates() {
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a");
+        Vertex b = this.sqlgGraph.addVertex(T.label, "A", "name", "b");
+        Vertex c = this.sqlgGraph.addVertex(T.label, "A", "name", "c");
+        a.addEdge("parent", b);
+        b.addEdge("parent", a);
+        b.addEdge("parent", c);
+        this.sqlgGraph.tx().commit();
+        List<Vertex> vertices = this.sqlgGraph.traversal().V().hasLabel("A").has("name", "a")
+                .repeat(__.out("parent"))
+                .until(__.has("name", "c"))
+                .toList();
+        Assert.assertEquals(1, vertices.size());
+        Assert.assertEquals(c, vertices.get(0));
+    }
+
+    @Test
+    public void testUntilBindsTheValueAsThePropertyType() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        Vertex previous = this.sqlgGraph.addVertex(T.label, "A", "name", "a0", "created", now, "zoned", ZonedDateTime.now());
+        for (int i = 1; i <= 20; i++) {
+            Vertex next = this.sqlgGraph.addVertex(T.label, "A", "name", "a" + i, "created", now.plusDays(i), "zoned", ZonedDateTime.now());
+            previous.addEdge("parent", next);
+            previous = next;
+        }
+        this.sqlgGraph.tx().commit();
+        DefaultGraphTraversal<Vertex, Vertex> traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal().V()
+                .hasLabel("A").has("name", "a0")
+                .repeat(__.out("parent"))
+                .until(__.has("created", P.gte(now.plusDays(15))));
+        List<Vertex> vertices = traversal.toList();
+        Assert.assertTrue(isRecursive(traversal));
+        Assert.assertEquals(1, vertices.size());
+        Assert.assertEquals("a15", vertices.get(0).value("name"));
+
+        //a ZonedDateTime is stored in two columns, the until is not compiled
+        traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal().V()
+                .hasLabel("A").has("name", "a0")
+                .repeat(__.out("parent"))
+                .until(__.has("zoned", P.gt(ZonedDateTime.now().plusYears(1))));
+        Assert.assertTrue(traversal.toList().isEmpty());
+        Assert.assertFalse(isRecursive(traversal));
+    }
+
+    @Test
+    public void testPathIsNotCompiled() {
+        chain(this.sqlgGraph, 10);
+        DefaultGraphTraversal<Vertex, Object> traversal = (DefaultGraphTraversal<Vertex, Object>) this.sqlgGraph.traversal().V()
+                .hasLabel("A").has("name", "a0")
+                .repeat(__.out("parent"))
+                .until(__.has("name", "a5"))
+                .path().<Object>map(p -> p.get().size());
+        Assert.assertEquals(6, traversal.next());
+        Assert.assertFalse(isRecursive(traversal));
+    }
+
+    @Test
+    public void testDisabledByThreshold() {
+        Configuration conf = getConfigurationClone();
+        conf.setProperty("repeat.recursive.times.threshold", 100);
+        try (SqlgGraph sqlgGraph = SqlgGraph.open(conf)) {
+            chain(sqlgGraph, 20);
+            DefaultGraphTraversal<Vertex, Vertex> traversal = (DefaultGraphTraversal<Vertex, Vertex>) sqlgGraph.traversal().V()
+                    .hasLabel("A").has("name", "a0")
+                    .repeat(__.out("parent"))
+                    .times(20);
+            Assert.assertEquals("a20", traversal.next().value("name"));
+            Assert.assertFalse(isRecursive(traversal));
+        }
+    }
+
+    @Test
+    public void testBatchMode() {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsBatchMode());
+        List<Vertex> chain = chain(this.sqlgGraph, 10);
+        this.sqlgGraph.tx().normalBatchModeOn();
+        Vertex a11 = this.sqlgGraph.addVertex(T.label, "A", "name", "a11", "depth", 11);
+        chain.get(10).addEdge("parent", a11);
+        //the graph step only flushes the vertices, the recursive query flushes the edges it reads
+        DefaultGraphTraversal<Vertex, Vertex> traversal = (DefaultGraphTraversal<Vertex, Vertex>) this.sqlgGraph.traversal().V()
+                .hasLabel("A").has("name", "a0")
+                .repeat(__.out("parent"))
+                .until(__.has("name", "a11"));
+        List<Vertex> vertices = traversal.toList();
+        Assert.assertTrue(isRecursive(traversal));
+        Assert.assertEquals(1, vertices.size());
+        Assert.assertEquals(a11, vertices.get(0));
+        this.sqlgGraph.tx().commit();
+    }
+}
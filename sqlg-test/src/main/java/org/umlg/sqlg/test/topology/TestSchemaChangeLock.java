@@ -0,0 +1,133 @@
+package org.umlg.sqlg.test.topology;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Tests that schema changes lock the labels they change, not the whole topology.
+ * Date: 2026/10/18
+ */
+public class TestSchemaChangeLock extends BaseTest {
+
+    @Before
+    public void beforeTest() {
+        Assume.assumeTrue(isPostgres());
+    }
+
+    @Test
+    public void testSchemaChangeTakesAdvisoryLocks() throws SQLException {
+        this.sqlgGraph.addVertex(T.label, "A");
+        Assert.assertEquals(1, countAdvisoryLocks("ExclusiveLock"));
+        Assert.assertEquals(1, countAdvisoryLocks("ShareLock"));
+        this.sqlgGraph.addVertex(T.label, "B");
+        Assert.assertEquals(2, countAdvisoryLocks("ExclusiveLock"));
+        this.sqlgGraph.tx().commit();
+        this.sqlgGraph.addVertex(T.label, "A");
+        Assert.assertEquals(0, countAdvisoryLocks("ExclusiveLock"));
+        this.sqlgGraph.tx().commit();
+    }
+
+    @Test
+    public void testOutOfOrderLocksTheLabel() throws SQLException {
+        this.sqlgGraph.addVertex(T.label, "B");
+        Assert.assertEquals(1, countAdvisoryLocks("ExclusiveLock"));
+        Assert.assertEquals(1, countAdvisoryLocks("ShareLock"));
+        //'public.V_A' sorts before the held 'public.V_B', it is locked all the same, the topology stays shared
+        this.sqlgGraph.addVertex(T.label, "A");
+        Assert.assertEquals(2, countAdvisoryLocks("ExclusiveLock"));
+        Assert.assertEquals(1, countAdvisoryLocks("ShareLock"));
+        this.sqlgGraph.addVertex(T.label, "C");
+        Assert.assertEquals(3, countAdvisoryLocks("ExclusiveLock"));
+        this.sqlgGraph.tx().commit();
+    }
+
+    @Test
+    public void testConcurrentOutOfOrderChangesCommit() throws Exception {
+        //each transaction holds its first label when it creates the label that sorts before it
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (String tenant : List.of("1", "2")) {
+                futures.add(executorService.submit(() -> {
+                    this.sqlgGraph.addVertex(T.label, "B" + tenant);
+                    barrier.await(10, TimeUnit.SECONDS);
+                    this.sqlgGraph.addVertex(T.label, "A" + tenant);
+                    this.sqlgGraph.tx().commit();
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(20, TimeUnit.SECONDS);
+            }
+        } finally {
+            executorService.shutdown();
+        }
+        for (String label : List.of("A1", "B1", "A2", "B2")) {
+            Assert.assertEquals(1, this.sqlgGraph.traversal().V().hasLabel(label).count().next(), 0);
+        }
+    }
+
+    @Test
+    public void testIndependentLabelsDoNotBlock() throws Exception {
+        this.sqlgGraph.addVertex(T.label, "A", "name", "a");
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> future = executorService.submit(() -> {
+                this.sqlgGraph.addVertex(T.label, "B", "name", "b");
+                this.sqlgGraph.tx().commit();
+            });
+            future.get(10, TimeUnit.SECONDS);
+        } finally {
+            executorService.shutdown();
+        }
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(1, this.sqlgGraph.traversal().V().hasLabel("A").count().next(), 0);
+        Assert.assertEquals(1, this.sqlgGraph.traversal().V().hasLabel("B").count().next(), 0);
+    }
+
+    @Test
+    public void testSameLabelWaits() throws Exception {
+        this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> future = executorService.submit(() -> {
+                this.sqlgGraph.addVertex(T.label, "A", "name", "a2");
+                this.sqlgGraph.tx().commit();
+            });
+            try {
+                future.get(2, TimeUnit.SECONDS);
+                Assert.fail("creating the same label must wait for the first transaction");
+            } catch (TimeoutException ignore) {
+            }
+            this.sqlgGraph.tx().commit();
+            future.get(10, TimeUnit.SECONDS);
+        } finally {
+            executorService.shutdown();
+        }
+        Assert.assertEquals(2, this.sqlgGraph.traversal().V().hasLabel("A").count().next(), 0);
+    }
+
+    private int countAdvisoryLocks(String mode) throws SQLException {
+        Connection connection = this.sqlgGraph.tx().getConnection();
+        try (Statement statement = connection.createStatement()) {
+            ResultSet resultSet = statement.executeQuery(
+                    "SELECT count(*) FROM pg_locks WHERE locktype = 'advisory' AND pid = pg_backend_pid() AND mode = '" + mode + "'"
+            );
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+}
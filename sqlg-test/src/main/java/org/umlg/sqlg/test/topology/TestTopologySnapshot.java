@@ -0,0 +1,147 @@
+package org.umlg.sqlg.test.topology;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.commons.collections4.set.ListOrderedSet;
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.builder.fluent.Configurations;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.umlg.sqlg.structure.Multiplicity;
+import org.umlg.sqlg.structure.PropertyDefinition;
+import org.umlg.sqlg.structure.PropertyType;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.structure.topology.*;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests loading the topology from 'topology.snapshot.file'.
+ * Date: 2026/10/18
+ */
+public class TestTopologySnapshot extends BaseTest {
+
+    @BeforeClass
+    public static void beforeClass() {
+        URL sqlProperties = Thread.currentThread().getContextClassLoader().getResource("sqlg.properties");
+        try {
+            Configurations configs = new Configurations();
+            configuration = configs.properties(sqlProperties);
+            Assume.assumeTrue(isPostgres());
+            configuration.addProperty("distributed", true);
+            if (!configuration.containsKey("jdbc.url"))
+                throw new IllegalArgumentException(String.format("SqlGraph configuration requires that the %s be set", "jdbc.url"));
+        } catch (ConfigurationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void createTopology() {
+        VertexLabel personVertexLabel = this.sqlgGraph.getTopology().getPublicSchema().ensureVertexLabelExist(
+                "Person",
+                Map.of("name", PropertyDefinition.of(PropertyType.STRING), "surname", PropertyDefinition.of(PropertyType.STRING)),
+                ListOrderedSet.listOrderedSet(List.of("name"))
+        );
+        personVertexLabel.ensureIndexExists(IndexType.UNIQUE, List.of(personVertexLabel.getProperty("surname").orElseThrow()));
+        VertexLabel carVertexLabel = this.sqlgGraph.getTopology().ensureSchemaExist("Fleet").ensureVertexLabelExist(
+                "Car",
+                Map.of("make", PropertyDefinition.of(PropertyType.STRING))
+        );
+        personVertexLabel.ensureEdgeLabelExist("drives", carVertexLabel, EdgeDefinition.of(Multiplicity.of(0, 1), Multiplicity.of(1, 1)));
+        EdgeLabel ownsEdgeLabel = personVertexLabel.ensureEdgeLabelExist("owns", carVertexLabel, Map.of("since", PropertyDefinition.of(PropertyType.INTEGER)));
+        ownsEdgeLabel.ensureIndexExists(IndexType.NON_UNIQUE, List.of(ownsEdgeLabel.getProperty("since").orElseThrow()));
+        this.sqlgGraph.tx().commit();
+    }
+
+    @Test
+    public void testSnapshotIsWrittenAndReplayed() throws IOException {
+        Path file = Files.createTempDirectory("sqlg").resolve("topology.json");
+        Configuration conf = getConfigurationClone();
+        conf.setProperty("topology.snapshot.file", file.toString());
+        //the snapshot is keyed by the last log entry
+        this.sqlgGraph.getTopology().getPublicSchema().ensureVertexLabelExist("Start");
+        this.sqlgGraph.tx().commit();
+        //a full load writes the snapshot
+        try (SqlgGraph sqlgGraph1 = SqlgGraph.open(conf)) {
+            Assert.assertEquals(this.sqlgGraph.getTopology(), sqlgGraph1.getTopology());
+        }
+        Assert.assertTrue(Files.exists(file));
+
+        //the log entries written after the snapshot are replayed on it
+        createTopology();
+        try (SqlgGraph sqlgGraph1 = SqlgGraph.open(conf)) {
+            Assert.assertEquals(this.sqlgGraph.getTopology(), sqlgGraph1.getTopology());
+            VertexLabel personVertexLabel = sqlgGraph1.getTopology().getPublicSchema().getVertexLabel("Person").orElseThrow();
+            Assert.assertEquals(ListOrderedSet.listOrderedSet(List.of("name")), personVertexLabel.getIdentifiers());
+            Assert.assertEquals(1, personVertexLabel.getIndexes().size());
+            EdgeRole edgeRole = personVertexLabel.getOutEdgeRoles().get("public.drives");
+            Assert.assertEquals(Multiplicity.of(0, 1), edgeRole.getMultiplicity());
+        }
+        Assert.assertTrue(Files.readString(file).contains("Person"));
+
+        //no log entries to replay, the snapshot alone is loaded
+        try (SqlgGraph sqlgGraph1 = SqlgGraph.open(conf)) {
+            Assert.assertEquals(this.sqlgGraph.getTopology(), sqlgGraph1.getTopology());
+        }
+    }
+
+    @Test
+    public void testSnapshotIsUsed() throws IOException {
+        Path file = Files.createTempDirectory("sqlg").resolve("topology.json");
+        Configuration conf = getConfigurationClone();
+        conf.setProperty("topology.snapshot.file", file.toString());
+        createTopology();
+        try (SqlgGraph ignored = SqlgGraph.open(conf)) {
+            Assert.assertTrue(Files.exists(file));
+        }
+        //a label only present in the snapshot proves that it was loaded
+        ObjectNode snapshot = (ObjectNode) Topology.OBJECT_MAPPER.readTree(file.toFile());
+        ArrayNode schemas = (ArrayNode) snapshot.get("topology").get("schemas");
+        for (int i = 0; i < schemas.size(); i++) {
+            if (schemas.get(i).get("name").asText().equals(this.sqlgGraph.getSqlDialect().getPublicSchema())) {
+                ObjectNode ghost = ((ArrayNode) schemas.get(i).get("vertexLabels")).addObject();
+                ghost.put("label", "Ghost");
+                ghost.put("partitionType", "NONE");
+            }
+        }
+        Topology.OBJECT_MAPPER.writeValue(file.toFile(), snapshot);
+        try (SqlgGraph sqlgGraph1 = SqlgGraph.open(conf)) {
+            Assert.assertTrue(sqlgGraph1.getTopology().getPublicSchema().getVertexLabel("Ghost").isPresent());
+        }
+
+        //a snapshot whose log entry is not present is stale
+        snapshot = (ObjectNode) Topology.OBJECT_MAPPER.readTree(file.toFile());
+        snapshot.put("logTimestamp", "2000-01-01T00:00:00");
+        Topology.OBJECT_MAPPER.writeValue(file.toFile(), snapshot);
+        try (SqlgGraph sqlgGraph1 = SqlgGraph.open(conf)) {
+            Assert.assertFalse(sqlgGraph1.getTopology().getPublicSchema().getVertexLabel("Ghost").isPresent());
+            Assert.assertEquals(this.sqlgGraph.getTopology(), sqlgGraph1.getTopology());
+        }
+        Assert.assertFalse(Files.readString(file).contains("Ghost"));
+
+        //a snapshot without its log entry's timestamp is not used
+        snapshot = (ObjectNode) Topology.OBJECT_MAPPER.readTree(file.toFile());
+        snapshot.remove("logTimestamp");
+        Topology.OBJECT_MAPPER.writeValue(file.toFile(), snapshot);
+        try (SqlgGraph sqlgGraph1 = SqlgGraph.open(conf)) {
+            Assert.assertEquals(this.sqlgGraph.getTopology(), sqlgGraph1.getTopology());
+        }
+        Assert.assertTrue(Files.readString(file).contains("logTimestamp"));
+
+        //an unreadable snapshot is replaced
+        Files.writeString(file, "not json");
+        try (SqlgGraph sqlgGraph1 = SqlgGraph.open(conf)) {
+            Assert.assertEquals(this.sqlgGraph.getTopology(), sqlgGraph1.getTopology());
+        }
+        Assert.assertTrue(Files.readString(file).contains("Person"));
+    }
+}
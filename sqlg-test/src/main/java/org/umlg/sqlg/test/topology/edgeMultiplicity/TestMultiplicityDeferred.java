@@ -0,0 +1,156 @@
+package org.umlg.sqlg.test.topology.edgeMultiplicity;
+
+import org.apache.commons.collections4.set.ListOrderedSet;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.umlg.sqlg.structure.Multiplicity;
+import org.umlg.sqlg.structure.PropertyDefinition;
+import org.umlg.sqlg.structure.PropertyType;
+import org.umlg.sqlg.structure.topology.EdgeDefinition;
+import org.umlg.sqlg.structure.topology.EdgeLabel;
+import org.umlg.sqlg.structure.topology.Schema;
+import org.umlg.sqlg.structure.topology.VertexLabel;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Tests the multiplicity checks deferred to commit, see 'multiplicity.check.deferred'.
+ * Date: 2026/10/18
+ */
+public class TestMultiplicityDeferred extends BaseTest {
+
+    @BeforeClass
+    public static void beforeClass() {
+        BaseTest.beforeClass();
+        configuration.addProperty("multiplicity.check.deferred", true);
+    }
+
+    @Test
+    public void testDeferredCheckPasses() {
+        Schema publicSchema = this.sqlgGraph.getTopology().getPublicSchema();
+        VertexLabel aVertexLabel = publicSchema.ensureVertexLabelExist("A");
+        VertexLabel bVertexLabel = publicSchema.ensureVertexLabelExist("B");
+        EdgeLabel edgeLabel = aVertexLabel.ensureEdgeLabelExist("ab", bVertexLabel,
+                EdgeDefinition.of(
+                        Multiplicity.of(0, -1),
+                        Multiplicity.of(1, 2))
+        );
+        this.sqlgGraph.tx().commit();
+
+        for (int i = 0; i < 10; i++) {
+            Vertex a = this.sqlgGraph.addVertex(T.label, "A");
+            //not valid yet, the check only runs on commit
+            this.sqlgGraph.tx().checkMultiplicity(a, Direction.OUT, edgeLabel, bVertexLabel);
+            a.addEdge("ab", this.sqlgGraph.addVertex(T.label, "B"));
+            a.addEdge("ab", this.sqlgGraph.addVertex(T.label, "B"));
+            this.sqlgGraph.tx().checkMultiplicity(a, Direction.OUT, edgeLabel, bVertexLabel);
+        }
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(20, this.sqlgGraph.traversal().E().hasLabel("ab").count().next(), 0);
+    }
+
+    @Test
+    public void testDeferredCheckFailsOnCommit() {
+        Schema publicSchema = this.sqlgGraph.getTopology().getPublicSchema();
+        VertexLabel aVertexLabel = publicSchema.ensureVertexLabelExist("A");
+        VertexLabel bVertexLabel = publicSchema.ensureVertexLabelExist("B");
+        EdgeLabel edgeLabel = aVertexLabel.ensureEdgeLabelExist("ab", bVertexLabel,
+                EdgeDefinition.of(
+                        Multiplicity.of(0, -1),
+                        Multiplicity.of(1, 2))
+        );
+        this.sqlgGraph.tx().commit();
+
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A");
+        a1.addEdge("ab", this.sqlgGraph.addVertex(T.label, "B"));
+        this.sqlgGraph.tx().checkMultiplicity(a1, Direction.OUT, edgeLabel, bVertexLabel);
+        Vertex a2 = this.sqlgGraph.addVertex(T.label, "A");
+        a2.addEdge("ab", this.sqlgGraph.addVertex(T.label, "B"));
+        a2.addEdge("ab", this.sqlgGraph.addVertex(T.label, "B"));
+        a2.addEdge("ab", this.sqlgGraph.addVertex(T.label, "B"));
+        this.sqlgGraph.tx().checkMultiplicity(a2, Direction.OUT, edgeLabel, bVertexLabel);
+        try {
+            this.sqlgGraph.tx().commit();
+            Assert.fail("Expected multiplicity failure.");
+        } catch (IllegalStateException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("Upper multiplicity is [2] current multiplicity is [3]"));
+        }
+        Assert.assertEquals(0, this.sqlgGraph.traversal().V().hasLabel("A").count().next(), 0);
+
+        Vertex a3 = this.sqlgGraph.addVertex(T.label, "A");
+        this.sqlgGraph.tx().checkMultiplicity(a3, Direction.OUT, edgeLabel, bVertexLabel);
+        try {
+            this.sqlgGraph.tx().commit();
+            Assert.fail("Expected multiplicity failure.");
+        } catch (IllegalStateException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("Lower multiplicity is [1] current multiplicity is [0]"));
+        }
+    }
+
+    @Test
+    public void testDeferredCheckInBatchMode() {
+        Schema publicSchema = this.sqlgGraph.getTopology().getPublicSchema();
+        VertexLabel aVertexLabel = publicSchema.ensureVertexLabelExist("A");
+        VertexLabel bVertexLabel = publicSchema.ensureVertexLabelExist("B");
+        EdgeLabel edgeLabel = aVertexLabel.ensureEdgeLabelExist("ab", bVertexLabel,
+                EdgeDefinition.of(
+                        Multiplicity.of(1, 1),
+                        Multiplicity.of(0, -1))
+        );
+        this.sqlgGraph.tx().commit();
+
+        if (this.sqlgGraph.getSqlDialect().supportsBatchMode()) {
+            this.sqlgGraph.tx().normalBatchModeOn();
+        }
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A");
+        for (int i = 0; i < 10; i++) {
+            Vertex b = this.sqlgGraph.addVertex(T.label, "B");
+            a.addEdge("ab", b);
+            this.sqlgGraph.tx().checkMultiplicity(b, Direction.IN, edgeLabel, aVertexLabel);
+        }
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(10, this.sqlgGraph.traversal().V(a.id()).out("ab").count().next(), 0);
+    }
+
+    @Test
+    public void testDeferredCheckWithIdentifiers() {
+        Schema publicSchema = this.sqlgGraph.getTopology().getPublicSchema();
+        VertexLabel aVertexLabel = publicSchema.ensureVertexLabelExist("A",
+                new LinkedHashMap<>() {{
+                    put("uid1", PropertyDefinition.of(PropertyType.varChar(100)));
+                    put("uid2", PropertyDefinition.of(PropertyType.varChar(100)));
+                }},
+                ListOrderedSet.listOrderedSet(List.of("uid1", "uid2"))
+        );
+        VertexLabel bVertexLabel = publicSchema.ensureVertexLabelExist("B");
+        EdgeLabel edgeLabel = aVertexLabel.ensureEdgeLabelExist("ab", bVertexLabel,
+                EdgeDefinition.of(
+                        Multiplicity.of(0, -1),
+                        Multiplicity.of(0, 1))
+        );
+        this.sqlgGraph.tx().commit();
+
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "uid1", "1", "uid2", "1");
+        Vertex a2 = this.sqlgGraph.addVertex(T.label, "A", "uid1", "2", "uid2", "2");
+        a1.addEdge("ab", this.sqlgGraph.addVertex(T.label, "B"));
+        this.sqlgGraph.tx().checkMultiplicity(a1, Direction.OUT, edgeLabel, bVertexLabel);
+        this.sqlgGraph.tx().checkMultiplicity(a2, Direction.OUT, edgeLabel, bVertexLabel);
+        this.sqlgGraph.tx().commit();
+
+        a1.addEdge("ab", this.sqlgGraph.addVertex(T.label, "B"));
+        this.sqlgGraph.tx().checkMultiplicity(a1, Direction.OUT, edgeLabel, bVertexLabel);
+        try {
+            this.sqlgGraph.tx().commit();
+            Assert.fail("Expected multiplicity failure.");
+        } catch (IllegalStateException e) {
+            //noop
+        }
+        Assert.assertEquals(1, this.sqlgGraph.traversal().V().hasLabel("A").out("ab").count().next(), 0);
+    }
+}
@@ -0,0 +1,109 @@
+package org.umlg.sqlg.test.vertex;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Test;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.structure.StatementCache;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.util.List;
+
+/**
+ * Tests the transaction scoped identity map, see 'identity.map.enabled'.
+ * Date: 2026/10/18
+ */
+public class TestElementIdentityMap extends BaseTest {
+
+    @Test
+    public void testRevisitedVertexIsReused() {
+        Configuration conf = getConfigurationClone();
+        conf.setProperty("identity.map.enabled", true);
+        try (SqlgGraph sqlgGraph = SqlgGraph.open(conf)) {
+            Vertex hub = sqlgGraph.addVertex(T.label, "Hub", "name", "hub");
+            for (int i = 0; i < 10; i++) {
+                Vertex a = sqlgGraph.addVertex(T.label, "A", "name", "a" + i);
+                a.addEdge("ab", hub, "weight", i);
+            }
+            sqlgGraph.tx().commit();
+            List<Vertex> hubs = sqlgGraph.traversal().V().hasLabel("A").out("ab").toList();
+            Assert.assertEquals(10, hubs.size());
+            for (Vertex vertex : hubs) {
+                Assert.assertSame(hubs.get(0), vertex);
+            }
+            Assert.assertSame(hubs.get(0), sqlgGraph.traversal().V().hasLabel("Hub").next());
+
+            //the in vertex of the edges is the cached hub, no lazy load is needed.
+            List<Edge> edges = sqlgGraph.traversal().E().hasLabel("ab").toList();
+            StatementCache statementCache = sqlgGraph.getStatementCache();
+            long queries = statementCache.getHitCount() + statementCache.getMissCount();
+            for (Edge edge : edges) {
+                Assert.assertSame(hubs.get(0), edge.inVertex());
+                Assert.assertEquals("hub", edge.inVertex().value("name"));
+            }
+            Assert.assertEquals(queries, statementCache.getHitCount() + statementCache.getMissCount());
+            sqlgGraph.tx().commit();
+        }
+    }
+
+    @Test
+    public void testWritesUpdateTheCachedVertex() {
+        Configuration conf = getConfigurationClone();
+        conf.setProperty("identity.map.enabled", true);
+        try (SqlgGraph sqlgGraph = SqlgGraph.open(conf)) {
+            Vertex a = sqlgGraph.addVertex(T.label, "A", "name", "a");
+            sqlgGraph.tx().commit();
+            Vertex cached = sqlgGraph.traversal().V().hasLabel("A").next();
+            cached.property("name", "b");
+            Assert.assertSame(cached, sqlgGraph.traversal().V().hasLabel("A").next());
+            Assert.assertEquals("b", sqlgGraph.traversal().V().hasLabel("A").next().value("name"));
+
+            //a write via another instance evicts the cached one.
+            a.property("name", "c");
+            Vertex reloaded = sqlgGraph.traversal().V().hasLabel("A").next();
+            Assert.assertNotSame(cached, reloaded);
+            Assert.assertEquals("c", reloaded.value("name"));
+
+            reloaded.property("name").remove();
+            Assert.assertFalse(sqlgGraph.traversal().V().hasLabel("A").next().property("name").isPresent());
+
+            sqlgGraph.traversal().V().hasLabel("A").drop().iterate();
+            Assert.assertEquals(0, sqlgGraph.tx().getIdentityMap().size());
+            Assert.assertFalse(sqlgGraph.traversal().V().hasLabel("A").hasNext());
+            sqlgGraph.tx().commit();
+        }
+    }
+
+    @Test
+    public void testRestrictedPropertiesAreNotCached() {
+        Configuration conf = getConfigurationClone();
+        conf.setProperty("identity.map.enabled", true);
+        try (SqlgGraph sqlgGraph = SqlgGraph.open(conf)) {
+            sqlgGraph.addVertex(T.label, "A", "name", "a", "surname", "s");
+            sqlgGraph.tx().commit();
+            Assert.assertEquals("a", sqlgGraph.traversal().V().hasLabel("A").values("name").next());
+            Assert.assertEquals(0, sqlgGraph.tx().getIdentityMap().size());
+            Vertex vertex = sqlgGraph.traversal().V().hasLabel("A").next();
+            Assert.assertEquals(1, sqlgGraph.tx().getIdentityMap().size());
+            Assert.assertEquals("s", vertex.value("surname"));
+            sqlgGraph.tx().commit();
+            Assert.assertEquals(0, sqlgGraph.tx().getIdentityMap().size());
+            sqlgGraph.tx().rollback();
+        }
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        this.sqlgGraph.addVertex(T.label, "A", "name", "a");
+        this.sqlgGraph.tx().commit();
+        Assert.assertFalse(this.sqlgGraph.tx().getIdentityMap().isEnabled());
+        Vertex v1 = this.sqlgGraph.traversal().V().hasLabel("A").next();
+        Vertex v2 = this.sqlgGraph.traversal().V().hasLabel("A").next();
+        Assert.assertNotSame(v1, v2);
+        Assert.assertEquals(v1, v2);
+        this.sqlgGraph.tx().commit();
+    }
+}